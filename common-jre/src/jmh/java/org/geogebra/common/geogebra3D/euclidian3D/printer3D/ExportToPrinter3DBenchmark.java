@@ -0,0 +1,190 @@
+package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.geogebra3D.euclidian3D.EuclidianController3DForExport;
+import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3DForExport;
+import org.geogebra.common.main.AppCommon3D;
+import org.geogebra.common.main.settings.EuclidianSettings3D;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the text formats, which build the whole file in memory, with the
+ * streamed binary formats. Run with <code>-prof gc</code> to see the
+ * allocations; <code>exportPeakHeap</code> reports the peak heap usage of a
+ * single export as <code>peakHeapBytes</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExportToPrinter3DBenchmark {
+
+	@Param({ "stl", "stlBinary", "dae", "glb" })
+	public String format;
+
+	private EuclidianView3DForExport view;
+	private Format exportFormat;
+
+	/**
+	 * Counts the written bytes instead of keeping them.
+	 */
+	private static class CountingStream extends OutputStream {
+		private long length;
+
+		@Override
+		public void write(int b) {
+			length++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			length += len;
+		}
+	}
+
+	/**
+	 * Peak heap usage above the usage after a full GC. The peaks of the heap
+	 * pools are added, so this is an upper bound when a GC runs during the
+	 * export.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class HeapCounters {
+		/** highest peak of the current iteration */
+		public long peakHeapBytes;
+		private final List<MemoryPoolMXBean> pools = new ArrayList<>();
+		private long baseline;
+
+		/**
+		 * Finds the heap pools.
+		 */
+		public HeapCounters() {
+			for (MemoryPoolMXBean pool : ManagementFactory
+					.getMemoryPoolMXBeans()) {
+				if (pool.getType() == MemoryType.HEAP) {
+					pools.add(pool);
+				}
+			}
+		}
+
+		/**
+		 * Starts a new iteration.
+		 */
+		@Setup(Level.Iteration)
+		public void clear() {
+			peakHeapBytes = 0;
+		}
+
+		/**
+		 * Collects garbage and resets the peaks before each export.
+		 */
+		@Setup(Level.Invocation)
+		public void resetPeak() {
+			System.gc();
+			baseline = 0;
+			for (MemoryPoolMXBean pool : pools) {
+				pool.resetPeakUsage();
+				baseline += pool.getUsage().getUsed();
+			}
+		}
+
+		/**
+		 * Reads the peaks after each export.
+		 */
+		@TearDown(Level.Invocation)
+		public void readPeak() {
+			long peak = 0;
+			for (MemoryPoolMXBean pool : pools) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+			peakHeapBytes = Math.max(peakHeapBytes, peak - baseline);
+		}
+	}
+
+	/**
+	 * Creates the objects and the export view.
+	 */
+	@Setup
+	public void setup() {
+		AppCommon3D app = AppCommonFactory.create3D();
+		String[] commands = {
+				"Surface((u, v, sin(u) cos(v)), u, -5, 5, v, -5, 5)",
+				"Sphere((0, 0, 3), 2)", "Cube((3, 3, 0), (4, 3, 0))",
+				"Curve(cos(t), sin(t), t / 5, t, 0, 20)" };
+		for (String command : commands) {
+			app.getKernel().getAlgebraProcessor()
+					.processAlgebraCommand(command, false);
+		}
+		view = new EuclidianView3DForExport(
+				new EuclidianController3DForExport(app),
+				new EuclidianSettings3D(app));
+		switch (format) {
+		case "stlBinary":
+			exportFormat = new FormatSTLBinary();
+			break;
+		case "dae":
+			exportFormat = new FormatCollada();
+			break;
+		case "glb":
+			exportFormat = new FormatGLB();
+			break;
+		default:
+			exportFormat = new FormatSTL();
+			break;
+		}
+	}
+
+	/**
+	 * Exports all objects.
+	 *
+	 * @return file size
+	 * @throws IOException
+	 *             not expected, the stream doesn't throw
+	 */
+	@Benchmark
+	public long export() throws IOException {
+		CountingStream out = new CountingStream();
+		if (!view.export3DToStream(exportFormat, out)) {
+			throw new IllegalStateException("export not possible");
+		}
+		return out.length;
+	}
+
+	/**
+	 * Exports all objects, measuring the peak heap usage.
+	 *
+	 * @param heap
+	 *            heap counters
+	 * @return file size
+	 * @throws IOException
+	 *             not expected, the stream doesn't throw
+	 */
+	@Benchmark
+	public long exportPeakHeap(HeapCounters heap) throws IOException {
+		return export();
+	}
+}
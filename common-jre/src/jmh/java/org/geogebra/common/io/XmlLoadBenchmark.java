@@ -0,0 +1,117 @@
+package org.geogebra.common.io;
+
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing and loading of the XML of a large construction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class XmlLoadBenchmark {
+
+	@Param({ "1000", "5000" })
+	public int points;
+
+	private AppCommon app;
+	private String xml;
+	private final QDParser parser = new QDParser();
+
+	private static class CountingHandler implements DocHandler {
+		private int count;
+
+		@Override
+		public void startElement(String tag, LinkedHashMap<String, String> h) {
+			count += h.size();
+		}
+
+		@Override
+		public void endElement(String tag) {
+			count++;
+		}
+
+		@Override
+		public void startDocument() {
+			count = 0;
+		}
+
+		@Override
+		public void endDocument() {
+			// nothing to do
+		}
+
+		@Override
+		public void text(String str) {
+			count++;
+		}
+	}
+
+	/**
+	 * Creates a construction with free points, segments, midpoints and
+	 * circles and stores its XML.
+	 */
+	@Setup
+	public void setup() {
+		app = AppCommonFactory.create();
+		for (int i = 0; i < points; i++) {
+			process("P_{" + i + "} = (" + Math.cos(i) + ", " + Math.sin(i)
+					+ ")");
+			if (i > 0) {
+				String prev = "P_{" + (i - 1) + "}";
+				String cur = "P_{" + i + "}";
+				process("s_{" + i + "} = Segment(" + prev + ", " + cur + ")");
+				process("M_{" + i + "} = Midpoint(s_{" + i + "})");
+				process("c_{" + i + "} = Circle(M_{" + i + "}, " + cur + ")");
+			}
+		}
+		xml = app.getXML();
+	}
+
+	private void process(String command) {
+		app.getKernel().getAlgebraProcessor().processAlgebraCommand(command,
+				false);
+	}
+
+	/**
+	 * @return number of events
+	 * @throws Exception
+	 *             if the XML is invalid
+	 */
+	@Benchmark
+	public int parse() throws Exception {
+		CountingHandler handler = new CountingHandler();
+		parser.reset();
+		parser.parse(handler, new StringReader(xml));
+		return handler.count;
+	}
+
+	/**
+	 * @return number of loaded elements
+	 * @throws Exception
+	 *             if the XML is invalid
+	 */
+	@Benchmark
+	public int load() throws Exception {
+		app.getXMLio().processXMLString(xml, true, false);
+		return app.getKernel().getConstruction().steps();
+	}
+}
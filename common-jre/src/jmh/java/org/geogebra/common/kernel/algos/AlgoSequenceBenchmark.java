@@ -0,0 +1,69 @@
+package org.geogebra.common.kernel.algos;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Updates a long sequence of numbers and statistics of it, as when dragging
+ * a slider, with sequential and parallel evaluation. Run with
+ * <code>-prof gc</code> to see the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AlgoSequenceBenchmark {
+
+	@Param({ "1000", "100000" })
+	public int size;
+
+	@Param({ "false", "true" })
+	public boolean parallel;
+
+	private GeoNumeric slider;
+	private GeoNumeric mean;
+
+	/**
+	 * Creates the sequence.
+	 */
+	@Setup
+	public void setup() {
+		AppCommon app = AppCommonFactory.create();
+		app.getKernel().setParallelSequences(parallel);
+		slider = (GeoNumeric) app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("a = 1", false)[0];
+		app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("l = Sequence(sin(a k), k, 1, " + size
+						+ ")", false);
+		mean = (GeoNumeric) app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("m = Mean(l)", false)[0];
+	}
+
+	/**
+	 * Changes the slider, which updates the sequence and its mean.
+	 *
+	 * @return mean of the sequence
+	 */
+	@Benchmark
+	public double updateSlider() {
+		slider.setValue(slider.getValue() + 0.01);
+		slider.updateCascade();
+		return mean.getValue();
+	}
+}
@@ -0,0 +1,90 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.implicit.GeoImplicitCurve;
+import org.geogebra.common.kernel.kernelND.CurveEvaluable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares evaluating the expression tree and the compiled expression in the
+ * workloads of the curve plotter and of the implicit curve quadtree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CompiledExpressionBenchmark {
+
+	/** about the number of samples of a function graph in a large view */
+	private static final int SAMPLES = 4000;
+
+	@Param({ "false", "true" })
+	public boolean compiled;
+
+	private GeoFunction function;
+	private GeoImplicitCurve implicitCurve;
+	private final double[] point = new double[2];
+
+	/**
+	 * Creates the function and the implicit curve.
+	 */
+	@Setup
+	public void setup() {
+		AppCommon app = AppCommonFactory.create();
+		app.getKernel().setCompiledFunctions(compiled);
+		add(app, "a=3");
+		function = (GeoFunction) add(app,
+				"f(x)=sin(a x) / x + x^3 / 10 - sqrt(abs(x))");
+		implicitCurve = (GeoImplicitCurve) add(app,
+				"sin(x) + cos(a y) = x y / 10");
+	}
+
+	private static GeoElement add(AppCommon app, String input) {
+		return app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand(input, false)[0];
+	}
+
+	/**
+	 * Samples the function graph as the curve plotter does.
+	 *
+	 * @return sum of the values (to avoid dead code elimination)
+	 */
+	@Benchmark
+	public double functionGraph() {
+		CurveEvaluable curve = function.getCompiledCurve();
+		double sum = 0;
+		for (int i = 0; i < SAMPLES; i++) {
+			curve.evaluateCurve(-10 + 20.0 * i / SAMPLES, point);
+			sum += point[1];
+		}
+		return sum;
+	}
+
+	/**
+	 * Updates the path of the implicit curve.
+	 *
+	 * @return number of points of the path
+	 */
+	@Benchmark
+	public int implicitCurve() {
+		implicitCurve.updatePath();
+		return implicitCurve.getLocus().getPoints().size();
+	}
+}
@@ -0,0 +1,85 @@
+package org.geogebra.common.kernel.discrete;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
+import org.geogebra.common.kernel.discrete.delaunay.PointDt;
+import org.geogebra.common.kernel.discrete.geom.Point2D;
+import org.geogebra.common.kernel.discrete.geom.algorithms.ConvexHull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Delaunay triangulation and convex hull of random points. The convex hull
+ * of the primitive arrays is compared with the one of the list of points.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DiscreteBenchmark {
+
+	@Param({ "10000", "100000", "1000000" })
+	public int size;
+
+	private double[] xs;
+	private double[] ys;
+	private PointDt[] points;
+	private List<Point2D> pointList;
+
+	/**
+	 * Creates the points, the same ones for each run.
+	 */
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		xs = new double[size];
+		ys = new double[size];
+		points = new PointDt[size];
+		pointList = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			xs[i] = random.nextDouble() * 1000;
+			ys[i] = random.nextDouble() * 1000;
+			points[i] = new PointDt(xs[i], ys[i]);
+			pointList.add(new Point2D(xs[i], ys[i]));
+		}
+	}
+
+	/**
+	 * @return number of triangles
+	 */
+	@Benchmark
+	public int delaunay() {
+		return new DelaunayTriangulation(points).trianglesSize();
+	}
+
+	/**
+	 * @return number of hull points
+	 */
+	@Benchmark
+	public int convexHull() {
+		return ConvexHull.makeHull(xs, ys, size).length;
+	}
+
+	/**
+	 * @return number of hull points
+	 */
+	@Benchmark
+	public int convexHullOfList() {
+		return ConvexHull.makeHull(pointList).size();
+	}
+}
@@ -0,0 +1,83 @@
+package org.geogebra.common.kernel.geos;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.SegmentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Computes and reads the points of a locus, stored in arrays or, as after
+ * {@link GeoLocus#getPoints()}, as point objects. Run with
+ * <code>-prof gc</code> to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GeoLocusBenchmark {
+
+	@Param({ "100", "10000" })
+	public int size;
+
+	@Param({ "true", "false" })
+	public boolean packed;
+
+	private Construction cons;
+	private GeoLocus locus;
+
+	/**
+	 * Creates the locus.
+	 */
+	@Setup
+	public void setup() {
+		AppCommon app = AppCommonFactory.create();
+		cons = app.getKernel().getConstruction();
+		locus = new GeoLocus(cons);
+	}
+
+	/**
+	 * Fills the locus like its algorithm and reads the points like the
+	 * drawing.
+	 *
+	 * @return sum of the coordinates
+	 */
+	@Benchmark
+	public double computeAndDraw() {
+		locus.clearPoints();
+		if (!packed) {
+			locus.getPoints();
+		}
+		for (int i = 0; i < size; i++) {
+			locus.insertPoint(i, Math.sin(i),
+					i == 0 ? SegmentType.MOVE_TO : SegmentType.LINE_TO);
+		}
+		double sum = 0;
+		for (int i = 0; i < locus.getPointLength(); i++) {
+			sum += locus.getPointX(i) + locus.getPointY(i);
+		}
+		return sum;
+	}
+
+	/**
+	 * @return new empty locus
+	 */
+	@Benchmark
+	public GeoLocus createLocus() {
+		return new GeoLocus(cons);
+	}
+}
@@ -0,0 +1,64 @@
+package org.geogebra.common.kernel.implicit;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the sequential and the parallel quadtree on implicit curves of
+ * high degree and on a curve that is not a polynomial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GeoImplicitCurveBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean parallel;
+
+	@Param({ "(x^2 + y^2)^3 = 4x^2 y^2",
+			"y^2 (y^2 - 4) = x^2 (x^2 - 5)",
+			"x^8 + y^8 - 5x^4 y^2 + 3x y^5 = 2",
+			"(x^2 + y^2 - 1)^3 (x^2 + y^2 - 9) = x^2 y^3",
+			"sin(x y) = cos(x + y)" })
+	public String equation;
+
+	private GeoImplicitCurve curve;
+
+	/**
+	 * Creates the curve.
+	 */
+	@Setup
+	public void setup() {
+		AppCommon app = AppCommonFactory.create();
+		app.getKernel().setParallelImplicitCurves(parallel);
+		curve = (GeoImplicitCurve) app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand(equation, false)[0];
+	}
+
+	/**
+	 * Updates the path of the curve.
+	 *
+	 * @return number of points of the path
+	 */
+	@Benchmark
+	public int updatePath() {
+		curve.updatePath();
+		return curve.getLocus().getPoints().size();
+	}
+}
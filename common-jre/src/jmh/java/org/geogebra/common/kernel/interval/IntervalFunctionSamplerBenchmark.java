@@ -0,0 +1,74 @@
+package org.geogebra.common.kernel.interval;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Samples functions with interval arithmetic as the plotter does on every
+ * repaint. Run with <code>-prof gc</code> to see the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IntervalFunctionSamplerBenchmark {
+
+	@Param({ "sin(x) x^2 / (x + 1)", "tan(x)", "1 / x", "sqrt(x) + ln(x)",
+			"cos(x)^3 - 2sin(3x)" })
+	public String function;
+
+	@Param({ "1500" })
+	public int samples;
+
+	private IntervalFunctionSampler sampler;
+	private IntervalTuple range;
+
+	/**
+	 * Creates the function and the sampler.
+	 */
+	@Setup
+	public void setup() {
+		AppCommon app = AppCommonFactory.create();
+		GeoFunction geo = (GeoFunction) app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("f(x) = " + function, false)[0];
+		range = new IntervalTuple(new Interval(-10, 10), new Interval(-10, 10));
+		sampler = new IntervalFunctionSampler(geo, range, samples);
+	}
+
+	/**
+	 * Samples the whole range.
+	 *
+	 * @return number of samples
+	 */
+	@Benchmark
+	public int result() {
+		return sampler.result().count();
+	}
+
+	/**
+	 * Updates the range and samples it, as after zooming.
+	 *
+	 * @return number of samples
+	 */
+	@Benchmark
+	public int updateAndResult() {
+		sampler.update(range);
+		return sampler.result().count();
+	}
+}
@@ -0,0 +1,143 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.algos.SymbolicParametersBotanaAlgo;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.prover.NoSymbolicParametersException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the TreeMap based and the packed polynomial arithmetic on the
+ * Botana hypotheses of a triangle with its notable points.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PPolynomialBenchmark {
+
+	private static final String[] CONSTRUCTION = { "A=(0,0)", "B=(3,0)",
+			"C=(1,2)", "a=Segment(B,C)", "b=Segment(C,A)", "c=Segment(A,B)",
+			"D=Midpoint(a)", "E=Midpoint(b)", "F=Midpoint(c)", "g=Line(A,D)",
+			"h=Line(B,E)", "G=Intersect(g,h)", "p=PerpendicularLine(A,a)",
+			"q=PerpendicularLine(B,b)", "H=Intersect(p,q)",
+			"r=PerpendicularBisector(A,B)", "s=PerpendicularBisector(B,C)",
+			"O=Intersect(r,s)", "k=Circle(D,E,F)", "N=Center(k)" };
+
+	@Param({ "false", "true" })
+	public boolean packed;
+
+	private ArrayList<PPolynomial> hypotheses = new ArrayList<>();
+	private TreeMap<PVariable, BigInteger> substitutions = new TreeMap<>();
+
+	/**
+	 * Creates the construction and collects its hypotheses.
+	 */
+	@Setup
+	public void setup() {
+		AppCommon app = AppCommonFactory.create();
+		for (String cmd : CONSTRUCTION) {
+			app.getKernel().getAlgebraProcessor().processAlgebraCommand(cmd,
+					false);
+		}
+		for (GeoElement geo : app.getKernel().getConstruction()
+				.getGeoSetConstructionOrder()) {
+			if (!(geo instanceof SymbolicParametersBotanaAlgo)) {
+				continue;
+			}
+			SymbolicParametersBotanaAlgo botana = (SymbolicParametersBotanaAlgo) geo;
+			try {
+				PVariable[] vars = botana.getBotanaVars(geo);
+				if ("A".equals(geo.getLabelSimple())) {
+					substitutions.put(vars[0], BigInteger.ZERO);
+					substitutions.put(vars[1], BigInteger.ZERO);
+				} else if ("B".equals(geo.getLabelSimple())) {
+					substitutions.put(vars[0], BigInteger.ZERO);
+					substitutions.put(vars[1], BigInteger.ONE);
+				}
+				PPolynomial[] polys = botana.getBotanaPolynomials(geo);
+				if (polys != null) {
+					for (PPolynomial poly : polys) {
+						hypotheses.add(poly);
+					}
+				}
+			} catch (NoSymbolicParametersException e) {
+				// not supported by the Botana method, skip it
+			}
+		}
+	}
+
+	private PPolynomial multiply(PPolynomial p, PPolynomial q) {
+		return packed ? p.multiply(q) : p.multiplyTreeMap(q);
+	}
+
+	private PPolynomial substitute(PPolynomial p) {
+		return packed ? p.substitute(substitutions)
+				: p.substituteTreeMap(substitutions);
+	}
+
+	/**
+	 * Squares and pairwise products, as in distance and incidence conditions.
+	 *
+	 * @return number of terms (to avoid dead code elimination)
+	 */
+	@Benchmark
+	public int products() {
+		int terms = 0;
+		PPolynomial previous = new PPolynomial(1);
+		for (PPolynomial h : hypotheses) {
+			terms += multiply(h, h).getTerms().size();
+			terms += multiply(previous, h).getTerms().size();
+			previous = h;
+		}
+		return terms;
+	}
+
+	/**
+	 * Square of the sum of all hypotheses.
+	 *
+	 * @return number of terms
+	 */
+	@Benchmark
+	public int power() {
+		PPolynomial sum = new PPolynomial();
+		for (PPolynomial h : hypotheses) {
+			sum = sum.add(h);
+		}
+		return (packed ? sum.pow(2) : sum.powTreeMap(2)).getTerms().size();
+	}
+
+	/**
+	 * Fixing the coordinates of the first two points in the products.
+	 *
+	 * @return number of terms
+	 */
+	@Benchmark
+	public int substitution() {
+		int terms = 0;
+		PPolynomial previous = new PPolynomial(1);
+		for (PPolynomial h : hypotheses) {
+			terms += substitute(multiply(previous, h)).getTerms().size();
+			previous = h;
+		}
+		return terms;
+	}
+}
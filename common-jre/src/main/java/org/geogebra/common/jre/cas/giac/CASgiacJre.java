@@ -1,14 +1,15 @@
 package org.geogebra.common.jre.cas.giac;
 
+import java.util.concurrent.Callable;
+
 import org.geogebra.common.cas.CASparser;
-import org.geogebra.common.cas.error.TimeoutException;
 import org.geogebra.common.cas.giac.CASgiacB;
 import org.geogebra.common.cas.giac.binding.CASGiacBinding;
 import org.geogebra.common.jre.cas.giac.binding.CASGiacBindingJre;
-import org.geogebra.common.util.debug.Log;
 
 /**
- * Giac for Desktop and Android
+ * Giac for Desktop and Android, evaluating in the sessions of
+ * {@link GiacSessionPool}
  */
 public abstract class CASgiacJre extends CASgiacB {
 
@@ -24,58 +25,49 @@ public abstract class CASgiacJre extends CASgiacB {
         return new CASGiacBindingJre();
     }
 
+    @Override
+	protected String evaluate(final String exp, final long timeoutMillis0)
+			throws Throwable {
+		if (!useThread()) {
+			return super.evaluate(exp, timeoutMillis0);
+		}
+		GiacSessionPool pool = GiacSessionPool.getInstance();
+		final GiacSessionPool.Session session = pool
+				.checkOut(createBinding());
+		try {
+			String result = session.evaluate(this, new Callable<String>() {
+				@Override
+				public String call() {
+					return evalRaw(exp, timeoutMillis0, session.getContext());
+				}
+			}, timeoutMillis);
+			return postProcessResult(result);
+		} finally {
+			pool.checkIn(session);
+		}
+	}
+
     @Override
 	/**
-	 * synchronized needed in case CAS called from a thread eg Input Bar preview
-	 * eg sin(x)>0
+	 * Only used without threads (for debugging), the sessions of the pool are
+	 * used otherwise. synchronized needed in case CAS called from a thread eg
+	 * Input Bar preview eg sin(x)>0
 	 */
 	synchronized protected void callEvaluateFunction(Runnable evaluateFunction)
 			throws Throwable {
-        if (useThread()) {
-            // send expression to CAS
-            Thread thread = new EvaluateThread(evaluateFunction);
-
-            thread.start();
-            thread.join(timeoutMillis);
-            thread.interrupt();
-            // thread.interrupt() doesn't seem to stop it, so add this for
-            // good measure:
-            stopThread(thread);
-            // in fact, stop will do nothing (never implemented)
-            // Log.debug("giac: after interrupt/stop");
-
-            // if we haven't got a result, CAS took too long to return
-            // eg Solve[sin(5/4 pi+x)-cos(x-3/4 pi)=sqrt(6) *
-            // cos(x)-sqrt(2)]
-            if (threadResult == null) {
-                Log.debug("Thread timeout from Giac");
-                throw new TimeoutException("Thread timeout from Giac");
-            }
-        } else {
-            evaluateFunction.run();
-        }
-    }
+		evaluateFunction.run();
+	}
 
+	/**
+	 * @return whether to evaluate in the threads of the Giac session pool
+	 */
     protected abstract boolean useThread();
 
+	/**
+	 * Called after a thread timeout.
+	 *
+	 * @param thread
+	 *            thread of a Giac session
+	 */
     protected abstract void stopThread(Thread thread);
-
-    class EvaluateThread extends Thread {
-        private Runnable evaluateFunction;
-
-        public EvaluateThread(Runnable evaluateFunction) {
-            this.evaluateFunction = evaluateFunction;
-        }
-
-        @Override
-        public void run() {
-            try {
-                evaluateFunction.run();
-            } catch (Throwable t) {
-                Log.debug("problem from JNI Giac: " + t.toString());
-                // force error in GeoGebra
-				threadResult = FORCE_ERROR;
-            }
-        }
-    }
 }
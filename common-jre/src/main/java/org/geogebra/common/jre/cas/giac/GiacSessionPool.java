@@ -0,0 +1,296 @@
+package org.geogebra.common.jre.cas.giac;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.geogebra.common.cas.error.TimeoutException;
+import org.geogebra.common.cas.giac.CASgiac;
+import org.geogebra.common.cas.giac.binding.CASGiacBinding;
+import org.geogebra.common.cas.giac.binding.Context;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Pool of independent Giac sessions, shared by all kernels of the JVM. Every
+ * session has its own Giac context and its own evaluation thread, so CAS
+ * computations of different kernels (or of different threads of the same
+ * kernel, like the prover) can run in parallel.
+ *
+ * A session that timed out is discarded, since its context may be left in an
+ * inconsistent state; a fresh one is created on demand.
+ */
+public final class GiacSessionPool {
+
+	private static final GiacSessionPool INSTANCE = new GiacSessionPool();
+	private static final AtomicInteger threadCounter = new AtomicInteger();
+
+	private final ArrayDeque<Session> idle = new ArrayDeque<>();
+	private final long startTime = System.nanoTime();
+	private int size = Math.max(1,
+			Math.min(4, Runtime.getRuntime().availableProcessors()));
+	/** number of living sessions, both idle and busy */
+	private int sessions;
+	private int busy;
+	private int peakBusy;
+	private long checkouts;
+	private long waits;
+	private long totalWaitNanos;
+	private long maxWaitNanos;
+	private long totalBusyNanos;
+	private long timeouts;
+
+	/**
+	 * Use {@link #getInstance()}, only tests create their own pools.
+	 */
+	GiacSessionPool() {
+		// singleton
+	}
+
+	/**
+	 * @return the pool of this JVM
+	 */
+	public static GiacSessionPool getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Sets the maximal number of sessions. Surplus sessions are closed when
+	 * they are returned to the pool.
+	 *
+	 * @param size
+	 *            maximal number of parallel Giac sessions
+	 */
+	public synchronized void setSize(int size) {
+		this.size = Math.max(1, size);
+		while (sessions > this.size && !idle.isEmpty()) {
+			idle.pop().close();
+			sessions--;
+		}
+		notifyAll();
+	}
+
+	/**
+	 * @return maximal number of parallel Giac sessions
+	 */
+	public synchronized int getSize() {
+		return size;
+	}
+
+	/**
+	 * Waits for an idle session, creating a new one if the pool is not full.
+	 *
+	 * @param binding
+	 *            binding to create the context of a new session
+	 * @return session for exclusive use, must be given back by
+	 *         {@link #checkIn(Session)}
+	 * @throws InterruptedException
+	 *             when interrupted while waiting
+	 */
+	Session checkOut(CASGiacBinding binding) throws InterruptedException {
+		long start = System.nanoTime();
+		Session session;
+		synchronized (this) {
+			if (idle.isEmpty() && sessions >= size) {
+				waits++;
+				while (idle.isEmpty() && sessions >= size) {
+					wait();
+				}
+			}
+			session = idle.poll();
+			if (session == null) {
+				sessions++;
+			}
+			busy++;
+			peakBusy = Math.max(peakBusy, busy);
+			checkouts++;
+			long wait = System.nanoTime() - start;
+			totalWaitNanos += wait;
+			maxWaitNanos = Math.max(maxWaitNanos, wait);
+		}
+		if (session == null) {
+			try {
+				session = new Session(binding.createContext());
+			} catch (RuntimeException | Error e) {
+				synchronized (this) {
+					sessions--;
+					busy--;
+					notifyAll();
+				}
+				throw e;
+			}
+		}
+		session.checkedOutAt = System.nanoTime();
+		return session;
+	}
+
+	/**
+	 * Gives a session back to the pool.
+	 *
+	 * @param session
+	 *            session obtained by {@link #checkOut(CASGiacBinding)}
+	 */
+	synchronized void checkIn(Session session) {
+		busy--;
+		totalBusyNanos += System.nanoTime() - session.checkedOutAt;
+		if (session.broken || sessions > size) {
+			session.close();
+			sessions--;
+		} else {
+			idle.push(session);
+		}
+		notifyAll();
+	}
+
+	/**
+	 * @return number of living sessions
+	 */
+	public synchronized int getSessionCount() {
+		return sessions;
+	}
+
+	/**
+	 * @return number of sessions in use
+	 */
+	public synchronized int getBusyCount() {
+		return busy;
+	}
+
+	/**
+	 * @return maximal number of sessions that were in use at the same time
+	 */
+	public synchronized int getPeakBusyCount() {
+		return peakBusy;
+	}
+
+	/**
+	 * @return number of evaluations
+	 */
+	public synchronized long getCheckoutCount() {
+		return checkouts;
+	}
+
+	/**
+	 * @return number of evaluations that had to wait for a session
+	 */
+	public synchronized long getWaitCount() {
+		return waits;
+	}
+
+	/**
+	 * @return average time spent waiting for a session in milliseconds
+	 */
+	public synchronized double getAverageWaitMillis() {
+		return checkouts == 0 ? 0 : totalWaitNanos / 1E6 / checkouts;
+	}
+
+	/**
+	 * @return longest time spent waiting for a session in milliseconds
+	 */
+	public synchronized double getMaxWaitMillis() {
+		return maxWaitNanos / 1E6;
+	}
+
+	/**
+	 * @return number of evaluations that were stopped by the thread timeout
+	 */
+	public synchronized long getTimeoutCount() {
+		return timeouts;
+	}
+
+	/**
+	 * @return ratio of the time the sessions were in use to the time they
+	 *         could have been used since startup (between 0 and 1)
+	 */
+	public synchronized double getUtilization() {
+		long elapsed = Math.max(1, System.nanoTime() - startTime);
+		return Math.min(1, totalBusyNanos / ((double) elapsed * size));
+	}
+
+	private synchronized void timeout() {
+		timeouts++;
+	}
+
+	/**
+	 * Giac context with its own evaluation thread.
+	 */
+	final class Session implements ThreadFactory {
+		private final Context context;
+		private final ExecutorService executor;
+		private Thread thread;
+		private boolean broken;
+		private long checkedOutAt;
+
+		Session(Context context) {
+			this.context = context;
+			this.executor = Executors.newSingleThreadExecutor(this);
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			thread = new Thread(r,
+					"Giac session " + threadCounter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+		/**
+		 * @return Giac context of this session
+		 */
+		Context getContext() {
+			return context;
+		}
+
+		/**
+		 * Runs a computation in the thread of this session.
+		 *
+		 * @param cas
+		 *            CAS that knows how to stop the thread on timeout
+		 * @param evaluateFunction
+		 *            computation using the context of this session
+		 * @param timeoutMillis
+		 *            timeout of the thread in milliseconds
+		 * @return result or {@link CASgiac#FORCE_ERROR} if the computation
+		 *         failed
+		 * @throws TimeoutException
+		 *             if the computation took too long
+		 * @throws InterruptedException
+		 *             if the calling thread was interrupted
+		 */
+		String evaluate(CASgiacJre cas, Callable<String> evaluateFunction,
+				long timeoutMillis)
+				throws TimeoutException, InterruptedException {
+			Future<String> future = executor.submit(evaluateFunction);
+			try {
+				return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+			} catch (ExecutionException e) {
+				Log.debug("problem from JNI Giac: " + e.getCause());
+				// force error in GeoGebra
+				return CASgiac.FORCE_ERROR;
+			} catch (java.util.concurrent.TimeoutException e) {
+				// if we haven't got a result, CAS took too long to return
+				// eg Solve[sin(5/4 pi+x)-cos(x-3/4 pi)=sqrt(6) *
+				// cos(x)-sqrt(2)]
+				broken = true;
+				future.cancel(true);
+				cas.stopThread(thread);
+				timeout();
+				Log.debug("Thread timeout from Giac");
+				throw new TimeoutException("Thread timeout from Giac");
+			} catch (InterruptedException e) {
+				broken = true;
+				future.cancel(true);
+				throw e;
+			}
+		}
+
+		void close() {
+			executor.shutdownNow();
+		}
+	}
+}
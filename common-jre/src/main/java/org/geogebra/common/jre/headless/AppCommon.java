@@ -117,6 +117,7 @@ public class AppCommon extends App {
 		FormatFactory.setPrototypeIfNull(new FormatFactoryJre());
 		StringUtil.setPrototypeIfNull(new StringUtil());
 		UtilFactoryJre.setupRegexFactory();
+		UtilFactoryJre.setupParallelExecutor();
 	}
 
     @Override
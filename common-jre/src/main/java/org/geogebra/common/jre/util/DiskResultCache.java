@@ -0,0 +1,404 @@
+package org.geogebra.common.jre.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.geogebra.common.util.ResultCache;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Persistent result cache in an append-only file that is memory mapped for
+ * reading.
+ *
+ * Entries are addressed by the SHA-256 digest of the normalized command, so
+ * any number of processes can read the file without locking; writers take a
+ * lock on a separate lock file and publish new records by moving the end
+ * stored in the header. When the records grow over the limit, the least
+ * recently used ones are dropped by rewriting the rest at the start of the
+ * file. The file is never replaced or truncated, since neither works on a
+ * file that is mapped by another process on every platform. A generation
+ * number in the header tells the other processes to reload; records they
+ * read while a compaction is running fail the checksum and are misses.
+ */
+public class DiskResultCache extends ResultCache {
+
+	private static final long MAGIC = 0x4747425245534332L;
+	/** magic, generation and end of the records */
+	static final int HEADER_SIZE = 24;
+	private static final int GENERATION_OFFSET = 8;
+	private static final int END_OFFSET = 16;
+	private static final int DIGEST_SIZE = 32;
+	/** key length, value length and digest */
+	private static final int RECORD_HEADER_SIZE = 8 + DIGEST_SIZE;
+	/** checksum */
+	private static final int RECORD_TRAILER_SIZE = 4;
+	private static final long REFRESH_INTERVAL_MILLIS = 1000;
+
+	private final Path path;
+	private final Path lockPath;
+	private final long maxBytes;
+	/** record offsets by digest, least recently used first */
+	private final LinkedHashMap<ByteBuffer, Long> index = new LinkedHashMap<>(
+			16, 0.75f, true);
+	private MappedByteBuffer buffer;
+	private long generation;
+	/** end of the last complete record */
+	private long scanned;
+	private long lastRefresh;
+	private long hits;
+	private long misses;
+	private long compactions;
+
+	/**
+	 * @param path
+	 *            cache file, created if needed
+	 * @param maxBytes
+	 *            size of the records that triggers compaction
+	 * @throws IOException
+	 *             if the file cannot be created or read
+	 */
+	public DiskResultCache(Path path, long maxBytes) throws IOException {
+		this.path = path;
+		this.lockPath = path.resolveSibling(path.getFileName() + ".lock");
+		this.maxBytes = Math.min(maxBytes, Integer.MAX_VALUE);
+		try (FileChannel lockChannel = openLock();
+				FileLock lock = lockChannel.lock()) {
+			if (!Files.exists(path) || Files.size(path) < HEADER_SIZE) {
+				try (FileChannel channel = FileChannel.open(path,
+						StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+					writeHeader(channel, System.currentTimeMillis(),
+							HEADER_SIZE);
+				}
+			}
+			reload();
+		}
+	}
+
+	@Override
+	public synchronized String get(String key) {
+		String normalized = normalize(key);
+		ByteBuffer digest = digest(normalized);
+		try {
+			Long offset = index.get(digest);
+			if (offset == null && System.currentTimeMillis()
+					- lastRefresh > REFRESH_INTERVAL_MILLIS) {
+				refresh();
+				offset = index.get(digest);
+			}
+			if (offset != null && readGeneration() != generation) {
+				// compacted by another process, the offsets are stale
+				reload();
+				offset = index.get(digest);
+			}
+			if (offset != null) {
+				String value = readValue(offset, normalized);
+				if (value != null) {
+					hits++;
+					return value;
+				}
+			}
+		} catch (IOException e) {
+			Log.debug("cannot read result cache: " + e.getMessage());
+		}
+		misses++;
+		return null;
+	}
+
+	@Override
+	public synchronized void put(String key, String value) {
+		String normalized = normalize(key);
+		ByteBuffer digest = digest(normalized);
+		if (index.containsKey(digest)) {
+			return;
+		}
+		try (FileChannel lockChannel = openLock();
+				FileLock lock = lockChannel.lock()) {
+			refresh();
+			if (index.containsKey(digest)) {
+				return;
+			}
+			ByteBuffer record = createRecord(digest,
+					normalized.getBytes(StandardCharsets.UTF_8),
+					value.getBytes(StandardCharsets.UTF_8));
+			try (FileChannel channel = FileChannel.open(path,
+					StandardOpenOption.WRITE)) {
+				// overwrites the remains of an interrupted write
+				write(channel, record, scanned);
+				writeHeader(channel, generation, scanned + record.limit());
+			}
+			index.put(digest, scanned);
+			scanned += record.limit();
+			if (scanned > maxBytes) {
+				compact();
+			}
+		} catch (IOException e) {
+			Log.debug("cannot write result cache: " + e.getMessage());
+		}
+	}
+
+	@Override
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	@Override
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	@Override
+	public synchronized int getSize() {
+		return index.size();
+	}
+
+	/**
+	 * @return number of compactions done by this process
+	 */
+	public synchronized long getCompactions() {
+		return compactions;
+	}
+
+	/**
+	 * @return size of the header and the records in bytes
+	 */
+	public synchronized long getFileSize() {
+		return scanned;
+	}
+
+	private FileChannel openLock() throws IOException {
+		return FileChannel.open(lockPath, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE);
+	}
+
+	/**
+	 * Reads the records written by other processes since the last refresh,
+	 * or all of them if the file was compacted.
+	 */
+	private void refresh() throws IOException {
+		lastRefresh = System.currentTimeMillis();
+		if (readGeneration() != generation) {
+			reload();
+			return;
+		}
+		long end = map(HEADER_SIZE).getLong(END_OFFSET);
+		if (end > scanned) {
+			scan(end);
+		}
+	}
+
+	private void reload() throws IOException {
+		index.clear();
+		buffer = null;
+		ByteBuffer header = map(HEADER_SIZE);
+		if (header.getLong(0) != MAGIC) {
+			throw new IOException("not a result cache: " + path);
+		}
+		generation = header.getLong(GENERATION_OFFSET);
+		scanned = HEADER_SIZE;
+		lastRefresh = System.currentTimeMillis();
+		scan(header.getLong(END_OFFSET));
+	}
+
+	private long readGeneration() throws IOException {
+		return map(HEADER_SIZE).getLong(GENERATION_OFFSET);
+	}
+
+	/**
+	 * @param end
+	 *            end of the part that is needed
+	 * @return the whole file mapped, remapped if it got longer than the
+	 *         mapped part
+	 */
+	private MappedByteBuffer map(long end) throws IOException {
+		if (buffer == null || buffer.capacity() < end) {
+			try (FileChannel channel = FileChannel.open(path,
+					StandardOpenOption.READ)) {
+				long size = channel.size();
+				if (size < end || size > Integer.MAX_VALUE) {
+					throw new IOException("damaged result cache: " + path);
+				}
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			}
+		}
+		return buffer;
+	}
+
+	/**
+	 * Indexes the complete records between the scanned part and the given
+	 * end; stops at the first incomplete one.
+	 */
+	private void scan(long end) throws IOException {
+		ByteBuffer buf = map(end);
+		long pos = scanned;
+		while (pos < end) {
+			ByteBuffer record = readRecord(buf, pos, end);
+			if (record == null) {
+				break;
+			}
+			byte[] digest = new byte[DIGEST_SIZE];
+			record.position(8);
+			record.get(digest);
+			index.put(ByteBuffer.wrap(digest), pos);
+			pos += record.limit();
+		}
+		scanned = pos;
+	}
+
+	private String readValue(long offset, String key) throws IOException {
+		ByteBuffer record = readRecord(map(scanned), offset, scanned);
+		if (record == null) {
+			// overwritten by a compaction that is still running
+			return null;
+		}
+		int keyLength = record.getInt(0);
+		byte[] keyBytes = new byte[keyLength];
+		record.position(RECORD_HEADER_SIZE);
+		record.get(keyBytes);
+		if (!Arrays.equals(keyBytes, key.getBytes(StandardCharsets.UTF_8))) {
+			// digest collision
+			return null;
+		}
+		byte[] valueBytes = new byte[record.getInt(4)];
+		record.get(valueBytes);
+		return new String(valueBytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Copies a record, so that it cannot change between checking and using
+	 * it when another process writes the file.
+	 *
+	 * @param buf
+	 *            mapped file
+	 * @param offset
+	 *            start of the record
+	 * @param end
+	 *            end of the records
+	 * @return copy of the record, null if it is incomplete or damaged
+	 */
+	private static ByteBuffer readRecord(ByteBuffer buf, long offset,
+			long end) {
+		if (offset < HEADER_SIZE
+				|| offset + RECORD_HEADER_SIZE + RECORD_TRAILER_SIZE > end) {
+			return null;
+		}
+		int keyLength = buf.getInt((int) offset);
+		int valueLength = buf.getInt((int) offset + 4);
+		long recordEnd = offset + RECORD_HEADER_SIZE + (long) keyLength
+				+ valueLength + RECORD_TRAILER_SIZE;
+		if (keyLength < 0 || valueLength < 0 || recordEnd > end) {
+			return null;
+		}
+		ByteBuffer source = buf.duplicate();
+		source.position((int) offset);
+		source.limit((int) recordEnd);
+		ByteBuffer record = ByteBuffer.allocate(source.remaining());
+		record.put(source);
+		int length = record.position() - RECORD_TRAILER_SIZE;
+		CRC32 crc = new CRC32();
+		crc.update(record.array(), 8, length - 8);
+		if (record.getInt(length) != (int) crc.getValue()
+				|| record.getInt(0) != keyLength
+				|| record.getInt(4) != valueLength) {
+			return null;
+		}
+		record.clear();
+		return record;
+	}
+
+	private static ByteBuffer createRecord(ByteBuffer digest, byte[] key,
+			byte[] value) {
+		ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE
+				+ key.length + value.length + RECORD_TRAILER_SIZE);
+		record.putInt(key.length);
+		record.putInt(value.length);
+		record.put(digest.duplicate());
+		record.put(key);
+		record.put(value);
+		CRC32 crc = new CRC32();
+		crc.update(record.array(), 8, record.position() - 8);
+		record.putInt((int) crc.getValue());
+		record.flip();
+		return record;
+	}
+
+	/**
+	 * Keeps the most recently used half of the allowed size at the start of
+	 * the file. Needs the write lock.
+	 */
+	private void compact() throws IOException {
+		ArrayList<Map.Entry<ByteBuffer, Long>> entries = new ArrayList<>(
+				index.entrySet());
+		ArrayList<ByteBuffer> kept = new ArrayList<>();
+		long size = HEADER_SIZE;
+		for (int i = entries.size() - 1; i >= 0; i--) {
+			ByteBuffer record = readRecord(map(scanned),
+					entries.get(i).getValue(), scanned);
+			if (record == null) {
+				continue;
+			}
+			if (size + record.limit() > maxBytes / 2) {
+				break;
+			}
+			size += record.limit();
+			kept.add(record);
+		}
+		long next = generation + 1;
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.WRITE)) {
+			// other processes drop their offsets before the records move
+			writeHeader(channel, next, HEADER_SIZE);
+			long pos = HEADER_SIZE;
+			for (int i = kept.size() - 1; i >= 0; i--) {
+				pos += write(channel, kept.get(i), pos);
+			}
+			writeHeader(channel, next, pos);
+		}
+		compactions++;
+		reload();
+	}
+
+	private static void writeHeader(FileChannel channel, long generation,
+			long end) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putLong(MAGIC);
+		header.putLong(generation);
+		header.putLong(end);
+		header.flip();
+		write(channel, header, 0);
+	}
+
+	private static int write(FileChannel channel, ByteBuffer data,
+			long position) throws IOException {
+		int length = data.remaining();
+		long pos = position;
+		while (data.hasRemaining()) {
+			pos += channel.write(data, pos);
+		}
+		return length;
+	}
+
+	private static ByteBuffer digest(String key) {
+		try {
+			return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+					.digest(key.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+}
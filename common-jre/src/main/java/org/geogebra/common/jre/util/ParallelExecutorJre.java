@@ -0,0 +1,62 @@
+package org.geogebra.common.jre.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.geogebra.common.util.ParallelExecutor;
+
+/**
+ * Parallel executor backed by a fork-join pool.
+ */
+public class ParallelExecutorJre extends ParallelExecutor {
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Executor using the common pool of the JVM.
+	 */
+	public ParallelExecutorJre() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param pool
+	 *            pool to run the tasks
+	 */
+	public ParallelExecutorJre(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public int getParallelism() {
+		return pool.getParallelism();
+	}
+
+	@Override
+	public void invokeAll(List<? extends Runnable> tasks) {
+		if (tasks.size() < 2 || getParallelism() < 2) {
+			for (Runnable task : tasks) {
+				task.run();
+			}
+			return;
+		}
+		final ArrayList<ForkJoinTask<?>> forkJoinTasks = new ArrayList<>(
+				tasks.size());
+		for (Runnable task : tasks) {
+			forkJoinTasks.add(ForkJoinTask.adapt(task));
+		}
+		if (ForkJoinTask.inForkJoinPool()) {
+			// nested call: let the current worker help
+			ForkJoinTask.invokeAll(forkJoinTasks);
+		} else {
+			pool.invoke(ForkJoinTask.adapt(new Runnable() {
+				@Override
+				public void run() {
+					ForkJoinTask.invokeAll(forkJoinTasks);
+				}
+			}));
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package org.geogebra.common.jre.util;
 
 import org.geogebra.common.factories.UtilFactory;
+import org.geogebra.common.util.ParallelExecutor;
 import org.geogebra.common.util.Reflection;
 import org.gwtproject.regexp.server.JavaRegExpFactory;
 import org.gwtproject.regexp.shared.RegExpFactory;
@@ -9,12 +10,17 @@ public abstract class UtilFactoryJre extends UtilFactory  {
 
 	public UtilFactoryJre() {
 		setupRegexFactory();
+		setupParallelExecutor();
 	}
 
 	public static void setupRegexFactory() {
 		RegExpFactory.setPrototypeIfNull(new JavaRegExpFactory());
 	}
 
+	public static void setupParallelExecutor() {
+		ParallelExecutor.setPrototypeIfNull(new ParallelExecutorJre());
+	}
+
 	@Override
 	public Reflection newReflection(Class clazz) {
 		return new ReflectionJre(clazz);
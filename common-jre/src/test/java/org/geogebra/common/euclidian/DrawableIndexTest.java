@@ -0,0 +1,116 @@
+package org.geogebra.common.euclidian;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.awt.GRectangle;
+import org.geogebra.common.euclidian.event.PointerEventType;
+import org.geogebra.common.factories.AwtFactory;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DrawableIndexTest extends BaseUnitTest {
+
+	private EuclidianView view;
+	private final DrawableIndex index = new DrawableIndex();
+	private int threshold;
+	private GeoPoint[][] points = new GeoPoint[29][11];
+
+	@Before
+	public void setupConstruction() {
+		view = getApp().getActiveEuclidianView();
+		threshold = getApp().getCapturingThreshold(PointerEventType.MOUSE);
+		for (int i = 0; i < points.length; i++) {
+			for (int j = 0; j < points[i].length; j++) {
+				points[i][j] = add("P_{" + (i * points[i].length + j) + "} = ("
+						+ ((i - 14) / 2.0) + "," + (j - 5) + ")");
+				if (i > 0) {
+					add("Segment(" + points[i - 1][j].getLabelSimple() + ","
+							+ points[i][j].getLabelSimple() + ")");
+				}
+			}
+		}
+		view.repaint();
+	}
+
+	@Test
+	public void candidatesShouldContainHitDrawables() {
+		int maxCandidates = 0;
+		for (int x = 0; x < view.getWidth(); x += 7) {
+			for (int y = 0; y < view.getHeight(); y += 7) {
+				HashSet<Drawable> candidates = new HashSet<>(
+						index.getCandidates(view, x, y, threshold));
+				maxCandidates = Math.max(maxCandidates, candidates.size());
+				for (Drawable d : view.getAllDrawableList()) {
+					if (d.isEuclidianVisible() && (d.hit(x, y, threshold)
+							|| d.hitLabel(x, y))) {
+						assertTrue(d.getGeoElement() + " at " + x + "," + y,
+								candidates.contains(d));
+					}
+				}
+			}
+		}
+		assertTrue(maxCandidates < view.getAllDrawableList().size() / 4);
+	}
+
+	@Test
+	public void candidatesShouldContainDrawablesInRectangle() {
+		GRectangle rect = AwtFactory.getPrototype().newRectangle(100, 150,
+				120, 80);
+		HashSet<Drawable> candidates = new HashSet<>(
+				index.getCandidates(view, rect));
+		int intersecting = 0;
+		for (Drawable d : view.getAllDrawableList()) {
+			if (d.intersectsRectangle(rect)) {
+				intersecting++;
+				assertTrue(candidates.contains(d));
+			}
+		}
+		assertTrue(intersecting > 0);
+	}
+
+	@Test
+	public void candidatesShouldKeepDrawingOrder() {
+		List<Drawable> candidates = new ArrayList<>(
+				index.getCandidates(view, 400, 300, threshold));
+		List<Drawable> all = view.getAllDrawableList();
+		for (int i = 1; i < candidates.size(); i++) {
+			assertTrue(all.indexOf(candidates.get(i - 1)) < all
+					.indexOf(candidates.get(i)));
+		}
+	}
+
+	@Test
+	public void movedPointShouldBeFound() {
+		GeoPoint p = points[14][5];
+		Drawable d = (Drawable) view.getDrawableFor(p);
+		index.getCandidates(view, 0, 0, threshold);
+
+		p.setCoords(-7.5, 5.5, 1);
+		p.updateRepaint();
+		view.repaint();
+		int x = view.toScreenCoordX(-7.5);
+		int y = view.toScreenCoordY(5.5);
+
+		assertTrue(index.getCandidates(view, x, y, threshold).contains(d));
+	}
+
+	@Test
+	public void hitsShouldFollowScriptedMouseMoves() {
+		GeoPoint p = points[17][7];
+		int px = view.toScreenCoordX(p.getInhomX());
+		int py = view.toScreenCoordY(p.getInhomY());
+		for (int dx = -40; dx <= 40; dx += 4) {
+			view.setHits(new GPoint(px + dx, py), PointerEventType.MOUSE);
+			if (Math.abs(dx) < threshold) {
+				assertTrue(view.getHits().contains(p));
+			}
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.geogebra.common.awt.GColor;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.move.ggtapi.models.json.JSONArray;
+import org.geogebra.common.move.ggtapi.models.json.JSONException;
+import org.geogebra.common.move.ggtapi.models.json.JSONObject;
+import org.geogebra.common.util.Charsets;
+import org.junit.Test;
+
+public class FormatGLBTest {
+
+	private static final int CHUNK_JSON = 0x4E4F534A;
+	private static final int CHUNK_BIN = 0x004E4942;
+
+	private final GeoElement geo = mock(GeoElement.class);
+
+	@Test
+	public void chunksShouldBeAligned() throws IOException, JSONException {
+		ByteBuffer bytes = export(true);
+
+		assertEquals(0x46546C67, bytes.getInt(0));
+		assertEquals(2, bytes.getInt(4));
+		assertEquals(bytes.limit(), bytes.getInt(8));
+
+		int jsonLength = bytes.getInt(12);
+		assertEquals(CHUNK_JSON, bytes.getInt(16));
+		assertEquals(0, jsonLength % 4);
+		int bin = 20 + jsonLength;
+		// triangle: 3 positions, 3 normals, 3 indices; square: 4 positions,
+		// 6 indices
+		int bufferLength = 3 * 12 + 3 * 12 + 3 * 4 + 4 * 12 + 6 * 4;
+		assertEquals(bufferLength, bytes.getInt(bin));
+		assertEquals(CHUNK_BIN, bytes.getInt(bin + 4));
+		assertEquals(bin + 8 + bufferLength, bytes.limit());
+		// first vertex, then the single flat normal repeated for each vertex
+		assertEquals(1, bytes.getFloat(bin + 8 + 12), 0);
+		assertEquals(1, bytes.getFloat(bin + 8 + 36 + 8), 0);
+		assertEquals(1, bytes.getFloat(bin + 8 + 36 + 32), 0);
+
+		JSONObject json = readJson(bytes);
+		assertEquals(bufferLength, json.getJSONArray("buffers")
+				.getJSONObject(0).getLong("byteLength"));
+		JSONArray accessors = json.getJSONArray("accessors");
+		assertEquals(5, accessors.length());
+		int[] counts = { 3, 3, 3, 4, 6 };
+		for (int i = 0; i < counts.length; i++) {
+			assertEquals(counts[i], accessors.getJSONObject(i).getInt("count"));
+		}
+		assertEquals(5, json.getJSONArray("bufferViews").length());
+		assertEquals(2, json.getJSONArray("meshes").length());
+		assertEquals(2, json.getJSONArray("materials").length());
+	}
+
+	@Test
+	public void emptySceneShouldHaveNoBinaryChunk()
+			throws IOException, JSONException {
+		ByteBuffer bytes = export(false);
+
+		int jsonLength = bytes.getInt(12);
+		assertEquals(20 + jsonLength, bytes.limit());
+		assertEquals(bytes.limit(), bytes.getInt(8));
+		JSONObject json = readJson(bytes);
+		assertFalse(json.has("buffers"));
+		assertFalse(json.has("accessors"));
+	}
+
+	private ByteBuffer export(boolean withShapes) throws IOException {
+		FormatGLB format = new FormatGLB();
+		format.setOutput(null);
+		exportShapes(format, withShapes);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BinaryOutput output = new BinaryOutput(out);
+		format.setOutput(output);
+		exportShapes(format, withShapes);
+		output.flush();
+		return ByteBuffer.wrap(out.toByteArray())
+				.order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static JSONObject readJson(ByteBuffer bytes) throws JSONException {
+		int jsonLength = bytes.getInt(12);
+		String json = new String(bytes.array(), 20, jsonLength,
+				Charsets.getUtf8());
+		String trimmed = json.replaceAll(" +$", "");
+		// padded with spaces
+		assertTrue(trimmed.endsWith("}"));
+		assertTrue(json.length() - trimmed.length() < 4);
+		return new JSONObject(trimmed);
+	}
+
+	private void exportShapes(FormatGLB format, boolean withShapes) {
+		StringBuilder sb = new StringBuilder();
+		format.getScriptStart(sb);
+		if (withShapes) {
+			format.getObjectStart(sb, "triangle", geo, false, GColor.RED, 1);
+			format.getVerticesStart(sb, 3);
+			format.getVertices(sb, 0, 0, 0);
+			format.getVertices(sb, 1, 0, 0);
+			format.getVertices(sb, 0, 1, 0);
+			format.getVerticesEnd(sb);
+			format.getNormalsStart(sb, 1);
+			format.getNormal(sb, 0, 0, 1, false);
+			format.getNormalsEnd(sb);
+			format.getFacesStart(sb, 1, false);
+			format.getFaces(sb, 0, 1, 2, 0);
+			format.getFacesEnd(sb);
+
+			format.getObjectStart(sb, "square", geo, false, GColor.BLUE, 1);
+			format.getVerticesStart(sb, 4);
+			format.getVertices(sb, 0, 0, 1);
+			format.getVertices(sb, 1, 0, 1);
+			format.getVertices(sb, 1, 1, 1);
+			format.getVertices(sb, 0, 1, 1);
+			format.getVerticesEnd(sb);
+			format.getFacesStart(sb, 2, false);
+			format.getFaces(sb, 0, 1, 2, 0);
+			format.getFaces(sb, 0, 2, 3, 0);
+			format.getFacesEnd(sb);
+		}
+		format.getScriptEnd(sb);
+		assertEquals(0, sb.length());
+	}
+}
@@ -0,0 +1,42 @@
+package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.Test;
+
+public class FormatSTLBinaryTest {
+
+	@Test
+	public void headerShouldContainTrianglesCount() throws IOException {
+		FormatSTLBinary format = new FormatSTLBinary();
+		format.setOutput(null);
+		exportTwoTriangles(format);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BinaryOutput output = new BinaryOutput(out);
+		format.setOutput(output);
+		exportTwoTriangles(format);
+		output.flush();
+
+		ByteBuffer bytes = ByteBuffer.wrap(out.toByteArray())
+				.order(ByteOrder.LITTLE_ENDIAN);
+		assertEquals(80 + 4 + 2 * 50, bytes.limit());
+		assertEquals(2, bytes.getInt(80));
+		// second triangle: normal, then first vertex
+		assertEquals(-1, bytes.getFloat(84 + 50 + 8), 0);
+		assertEquals(3, bytes.getFloat(84 + 50 + 12), 0);
+	}
+
+	private static void exportTwoTriangles(FormatSTLBinary format) {
+		StringBuilder sb = new StringBuilder();
+		format.getScriptStart(sb);
+		format.getTriangle(sb, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 1, 0);
+		format.getTriangle(sb, 0, 0, -1, 3, 0, 0, 4, 0, 0, 3, 1, 0);
+		format.getScriptEnd(sb);
+		assertEquals(0, sb.length());
+	}
+}
@@ -0,0 +1,80 @@
+package org.geogebra.common.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+import org.junit.Test;
+
+public class QDParserTest {
+
+	private static class RecordingHandler implements DocHandler {
+		private final StringBuilder events = new StringBuilder();
+		private final ArrayList<String> tags = new ArrayList<>();
+
+		@Override
+		public void startElement(String tag, LinkedHashMap<String, String> h) {
+			tags.add(tag);
+			events.append('<').append(tag).append(h).append('>');
+		}
+
+		@Override
+		public void endElement(String tag) {
+			events.append("</").append(tag).append('>');
+		}
+
+		@Override
+		public void startDocument() {
+			events.append("start;");
+		}
+
+		@Override
+		public void endDocument() {
+			events.append(";end");
+		}
+
+		@Override
+		public void text(String str) {
+			events.append('[').append(str).append(']');
+		}
+	}
+
+	@Test
+	public void shouldReportElementsAttributesAndText() throws Exception {
+		RecordingHandler handler = parse("<?xml version=\"1.0\"?>\r\n"
+				+ "<!-- comment --><geogebra format=\"5.0\">"
+				+ "<element type='point' label=\"A\">"
+				+ "<show object=\"true\"/></element>"
+				+ "<caption val=\"a &lt; b &amp; &#x3b1;&#946; &quot;\"/>"
+				+ "<text>x &gt; y</text></geogebra>");
+		assertEquals("start;<geogebra{format=5.0}>"
+				+ "<element{type=point, label=A}><show{object=true}></show>"
+				+ "</element><caption{val=a < b & αβ \"}></caption>"
+				+ "<text{}>[x > y]</text></geogebra>;end",
+				handler.events.toString());
+	}
+
+	@Test
+	public void shouldParseLongInput() throws Exception {
+		StringBuilder xml = new StringBuilder("<geogebra>");
+		for (int i = 0; i < 2000; i++) {
+			xml.append("<element label=\"A").append(i).append("\">")
+					.append("<coords x=\"").append(i)
+					.append("\" y=\"1.25\" z=\"1\"/></element>\n");
+		}
+		xml.append("</geogebra>");
+		RecordingHandler handler = parse(xml.toString());
+		assertEquals(4001, handler.tags.size());
+		// recurring tag names are shared
+		assertSame(handler.tags.get(1), handler.tags.get(3999));
+	}
+
+	private static RecordingHandler parse(String xml) throws Exception {
+		RecordingHandler handler = new RecordingHandler();
+		new QDParser().parse(handler, new StringReader(xml));
+		return handler;
+	}
+}
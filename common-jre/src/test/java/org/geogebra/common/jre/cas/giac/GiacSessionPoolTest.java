@@ -0,0 +1,159 @@
+package org.geogebra.common.jre.cas.giac;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.cas.error.TimeoutException;
+import org.geogebra.common.cas.giac.CASgiac;
+import org.geogebra.common.cas.giac.binding.CASGiacBinding;
+import org.geogebra.common.cas.giac.binding.Context;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GiacSessionPoolTest {
+
+	private GiacSessionPool pool;
+	private CASGiacBinding binding;
+	private CASgiacJre cas;
+
+	@Before
+	public void setup() {
+		pool = new GiacSessionPool();
+		binding = mock(CASGiacBinding.class);
+		when(binding.createContext())
+				.thenAnswer(invocation -> mock(Context.class));
+		cas = mock(CASgiacJre.class);
+	}
+
+	@Test
+	public void sessionsShouldEvaluateConcurrently() throws Exception {
+		pool.setSize(2);
+		final CyclicBarrier bothRunning = new CyclicBarrier(2);
+		ExecutorService callers = Executors.newFixedThreadPool(2);
+		try {
+			Callable<String> caller = () -> {
+				GiacSessionPool.Session session = pool.checkOut(binding);
+				try {
+					// fails unless the other caller evaluates at the same time
+					return session.evaluate(cas, () -> {
+						bothRunning.await(10, TimeUnit.SECONDS);
+						return Thread.currentThread().getName();
+					}, 30000);
+				} finally {
+					pool.checkIn(session);
+				}
+			};
+			Future<String> first = callers.submit(caller);
+			Future<String> second = callers.submit(caller);
+
+			String firstThread = first.get(30, TimeUnit.SECONDS);
+			String secondThread = second.get(30, TimeUnit.SECONDS);
+			assertNotEquals(firstThread, secondThread);
+		} finally {
+			callers.shutdownNow();
+		}
+		assertEquals(2, pool.getPeakBusyCount());
+		assertEquals(2, pool.getSessionCount());
+		assertEquals(0, pool.getBusyCount());
+		verify(binding, times(2)).createContext();
+	}
+
+	@Test
+	public void sessionShouldBeReturnedToPool() throws Exception {
+		GiacSessionPool.Session session = pool.checkOut(binding);
+		assertEquals("2", session.evaluate(cas, () -> "2", 30000));
+		pool.checkIn(session);
+
+		GiacSessionPool.Session next = pool.checkOut(binding);
+		pool.checkIn(next);
+
+		assertSame(session, next);
+		assertEquals(1, pool.getSessionCount());
+		assertEquals(2, pool.getCheckoutCount());
+		verify(binding, times(1)).createContext();
+	}
+
+	@Test
+	public void callerShouldWaitForSessionWhenPoolIsFull() throws Exception {
+		pool.setSize(1);
+		GiacSessionPool.Session session = pool.checkOut(binding);
+		final CountDownLatch waiting = new CountDownLatch(1);
+		ExecutorService caller = Executors.newSingleThreadExecutor();
+		try {
+			Future<GiacSessionPool.Session> next = caller.submit(() -> {
+				waiting.countDown();
+				return pool.checkOut(binding);
+			});
+			assertTrue(waiting.await(10, TimeUnit.SECONDS));
+			Thread.sleep(100);
+			assertFalse(next.isDone());
+
+			pool.checkIn(session);
+
+			assertSame(session, next.get(10, TimeUnit.SECONDS));
+			pool.checkIn(session);
+		} finally {
+			caller.shutdownNow();
+		}
+		assertEquals(1, pool.getWaitCount());
+	}
+
+	@Test
+	public void sessionShouldBeReplacedAfterTimeout() throws Exception {
+		GiacSessionPool.Session session = pool.checkOut(binding);
+		try {
+			session.evaluate(cas, () -> {
+				Thread.sleep(10000);
+				return "";
+			}, 50);
+			fail("timeout not reported");
+		} catch (TimeoutException e) {
+			// expected
+		} finally {
+			pool.checkIn(session);
+		}
+		verify(cas).stopThread(any(Thread.class));
+		assertEquals(0, pool.getSessionCount());
+
+		GiacSessionPool.Session next = pool.checkOut(binding);
+		assertEquals("ok", next.evaluate(cas, () -> "ok", 30000));
+		pool.checkIn(next);
+
+		assertNotSame(session, next);
+		assertEquals(1, pool.getTimeoutCount());
+		assertEquals(1, pool.getSessionCount());
+		verify(binding, times(2)).createContext();
+	}
+
+	@Test
+	public void sessionShouldBeKeptAfterGiacError() throws Exception {
+		GiacSessionPool.Session session = pool.checkOut(binding);
+		String result = session.evaluate(cas, () -> {
+			throw new IllegalStateException("Giac error");
+		}, 30000);
+		pool.checkIn(session);
+
+		assertEquals(CASgiac.FORCE_ERROR, result);
+		GiacSessionPool.Session next = pool.checkOut(binding);
+		pool.checkIn(next);
+		assertSame(session, next);
+	}
+}
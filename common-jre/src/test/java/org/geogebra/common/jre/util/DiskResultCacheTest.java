@@ -0,0 +1,111 @@
+package org.geogebra.common.jre.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.geogebra.common.util.ResultCache;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DiskResultCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void resultsShouldSurviveReopening() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("cache");
+		DiskResultCache cache = new DiskResultCache(file, 1 << 20);
+		cache.put("eliminate([x-y], [x])", "{y}");
+		assertEquals("{y}", cache.get("eliminate([x-y],  [x])"));
+		assertNull(cache.get("eliminate([x-y], [y])"));
+
+		DiskResultCache reopened = new DiskResultCache(file, 1 << 20);
+		assertEquals("{y}", reopened.get("eliminate([x-y],\n[x])"));
+		assertEquals(1, reopened.getHits());
+		assertEquals(0, reopened.getMisses());
+	}
+
+	@Test
+	public void compactionShouldKeepRecentlyUsedResults() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("cache");
+		DiskResultCache cache = new DiskResultCache(file, 10000);
+		for (int i = 0; i < 500; i++) {
+			cache.put("k" + i, "value " + i);
+			cache.get("k0");
+		}
+		assertTrue(cache.getCompactions() > 0);
+		assertTrue(cache.getFileSize() <= 10000);
+		assertEquals("value 0", cache.get("k0"));
+		assertEquals("value 499", cache.get("k499"));
+		assertNull(cache.get("k1"));
+		assertEquals(cache.getSize(),
+				new DiskResultCache(file, 10000).getSize());
+	}
+
+	@Test
+	public void incompleteRecordShouldBeIgnored() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("cache");
+		new DiskResultCache(file, 1 << 20).put("a", "1");
+		Files.write(file, new byte[] { 0, 0, 0, 5 },
+				StandardOpenOption.APPEND);
+		DiskResultCache cache = new DiskResultCache(file, 1 << 20);
+		cache.put("b", "2");
+		assertEquals("1", cache.get("a"));
+		assertEquals("2", new DiskResultCache(file, 1 << 20).get("b"));
+	}
+
+	@Test
+	public void compactionByOtherProcessShouldInvalidateOffsets()
+			throws IOException {
+		Path file = folder.getRoot().toPath().resolve("cache");
+		DiskResultCache first = new DiskResultCache(file, 10000);
+		for (int i = 0; i < 10; i++) {
+			first.put("k" + i, "value " + i);
+		}
+		DiskResultCache second = new DiskResultCache(file, 10000);
+		for (int i = 10; i < 500; i++) {
+			second.put("k" + i, "value " + i);
+			second.get("k0");
+		}
+		assertTrue(second.getCompactions() > 0);
+		assertEquals("value 0", first.get("k0"));
+		assertNull(first.get("k5"));
+		assertEquals("value 499", first.get("k499"));
+	}
+
+	@Test
+	public void damagedRecordShouldBeMiss() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("cache");
+		DiskResultCache cache = new DiskResultCache(file, 1 << 20);
+		cache.put("a", "1");
+		try (FileChannel channel = FileChannel.open(file,
+				StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] { 127, 0, 0, 0 }),
+					DiskResultCache.HEADER_SIZE + 4);
+		}
+		assertNull(cache.get("a"));
+		cache.put("b", "2");
+		assertEquals("2", cache.get("b"));
+	}
+
+	@Test
+	public void normalizeShouldKeepStringLiterals() {
+		assertEquals("f(x, \"a  b\")",
+				ResultCache.normalize(" f(x,\n  \"a  b\")  "));
+		assertEquals("\"a\\\"  b\" c",
+				ResultCache.normalize("\"a\\\"  b\"   c"));
+		assertNotEquals(ResultCache.normalize("\"a b\""),
+				ResultCache.normalize("\"a  b\""));
+	}
+}
@@ -0,0 +1,163 @@
+package org.geogebra.common.kernel.algos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.geos.GeoLocus;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.junit.Test;
+
+public class AlgoLocusTest extends BaseUnitTest {
+
+	@Test
+	public void parallelLocusOnCircleShouldBeCircle() {
+		add("c: (x - 1)^2 + y^2 = 4");
+		add("A = (3, 1)");
+		add("P = Point(c)");
+		add("Q = Midpoint(A, P)");
+		GeoLocus locus = add("loc = Locus(Q, P)");
+
+		assertTrue(getShardCount(locus) > 1);
+		assertOnCircle(locus, 2, 0.5, 1);
+		assertConnected(locus);
+		assertFalse(locus.getPoints().get(0).getLineTo());
+	}
+
+	@Test
+	public void parallelLocusShouldMatchSequential() {
+		add("s = Segment((-3, -1), (4, 2))");
+		add("A = (1, 3)");
+		add("P = Point(s)");
+		add("Q = Midpoint(A, P) + (0, 1)");
+		getKernel().setParallelLoci(false);
+		GeoLocus sequential = add("Locus(Q, P)");
+		getKernel().setParallelLoci(true);
+		GeoLocus parallel = add("Locus(Q, P)");
+
+		assertEquals(0, getShardCount(sequential));
+		assertTrue(getShardCount(parallel) > 1);
+		ArrayList<MyPoint> points = parallel.getPoints();
+		assertEquals(sequential.getPoints().get(0).x, points.get(0).x, 1E-10);
+		assertEquals(sequential.getPoints().get(0).y, points.get(0).y, 1E-10);
+		assertEquals(-1, points.get(0).x, 1E-10);
+		assertEquals(2, points.get(0).y, 1E-10);
+		assertEquals(2.5, points.get(points.size() - 1).x, 1E-10);
+		assertEquals(3.5, points.get(points.size() - 1).y, 1E-10);
+		for (MyPoint pt : points) {
+			// line through (-1, 2) and (2.5, 3.5)
+			assertEquals(0, 1.5 * (pt.x + 1) - 3.5 * (pt.y - 2), 1E-8);
+		}
+		assertConnected(parallel);
+	}
+
+	@Test
+	public void parallelLocusShouldSkipUndefinedPart() {
+		add("c: x^2 + y^2 = 4");
+		add("s = Segment((-3, 0), (3, 0))");
+		add("P = Point(s)");
+		add("g = PerpendicularLine(P, xAxis)");
+		add("Q = Intersect(c, g, 1)");
+		GeoLocus locus = add("loc = Locus(Q, P)");
+
+		assertTrue(locus.isDefined());
+		assertOnCircle(locus, 0, 0, 2);
+		double minX = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE;
+		for (MyPoint pt : locus.getPoints()) {
+			minX = Math.min(minX, pt.x);
+			maxX = Math.max(maxX, pt.x);
+		}
+		// the border of the defined part is found by refinement
+		assertEquals(-2, minX, 0.01);
+		assertEquals(2, maxX, 0.01);
+	}
+
+	@Test
+	public void locusUsingFunctionShouldBeSequential() {
+		add("f(x) = x^2");
+		add("s = Segment((-2, 0), (2, 0))");
+		add("P = Point(s)");
+		add("Q = (x(P), f(x(P)))");
+		GeoLocus locus = add("loc = Locus(Q, P)");
+
+		assertEquals(0, getShardCount(locus));
+		for (MyPoint point : locus.getPoints()) {
+			assertEquals(point.x * point.x, point.y, 1E-8);
+		}
+	}
+
+	@Test
+	public void locusShouldFollowInputs() {
+		add("c: (x - 1)^2 + y^2 = 4");
+		GeoPoint a = add("A = (3, 1)");
+		add("P = Point(c)");
+		add("Q = Midpoint(A, P)");
+		GeoLocus locus = add("loc = Locus(Q, P)");
+
+		a.setCoords(-1, 3, 1);
+		a.updateRepaint();
+
+		assertTrue(getShardCount(locus) > 1);
+		assertOnCircle(locus, 0, 1.5, 1);
+	}
+
+	@Test
+	public void dependentInputShouldBeCopiedForParallelTracing() {
+		add("c: (x - 1)^2 + y^2 = 4");
+		add("B = (1, 0)");
+		GeoPoint c = add("C = (5, 2)");
+		add("A = Midpoint(B, C)");
+		add("P = Point(c)");
+		add("Q = Midpoint(A, P)");
+		GeoLocus locus = add("loc = Locus(Q, P)");
+
+		assertTrue(getShardCount(locus) > 1);
+		assertOnCircle(locus, 2, 0.5, 1);
+
+		c.setCoords(-3, 6, 1);
+		c.updateRepaint();
+
+		assertOnCircle(locus, 0, 1.5, 1);
+	}
+
+	@Test
+	public void locusUsingSegmentShouldBeSequential() {
+		add("s = Segment((-3, 0), (3, 0))");
+		add("t = Segment((0, 1), (2, 3))");
+		add("P = Point(s)");
+		add("Q = ClosestPoint(t, P)");
+		GeoLocus locus = add("loc = Locus(Q, P)");
+
+		assertTrue(locus.isDefined());
+		assertEquals(0, getShardCount(locus));
+	}
+
+	private static int getShardCount(GeoLocus locus) {
+		return ((AlgoLocusND<?>) locus.getParentAlgorithm()).getShardCount();
+	}
+
+	private static void assertOnCircle(GeoLocus locus, double mx, double my,
+			double r) {
+		assertTrue(locus.getPoints().size() > 10);
+		for (MyPoint pt : locus.getPoints()) {
+			assertEquals(r, Math.hypot(pt.x - mx, pt.y - my), 1E-8);
+		}
+	}
+
+	/**
+	 * Lines of the locus have to be short enough to look smooth.
+	 */
+	private void assertConnected(GeoLocus locus) {
+		double maxDist = 8 / getApp().getActiveEuclidianView().getXscale();
+		ArrayList<MyPoint> points = locus.getPoints();
+		for (int i = 1; i < points.size(); i++) {
+			assertTrue(points.get(i).getLineTo());
+			assertTrue(points.get(i).distance(points.get(i - 1)) < maxDist);
+		}
+	}
+}
@@ -1,10 +1,16 @@
 package org.geogebra.common.kernel.algos;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.awt.GColor;
+import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.geos.GeoAngle;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.junit.Test;
 
 public class AlgoSequenceTest extends BaseUnitTest {
@@ -18,4 +24,99 @@ public class AlgoSequenceTest extends BaseUnitTest {
 		GeoAngle angle = addAvInput("list(1)");
 		assertThat(angle.showInEuclidianView(), is(true));
 	}
+
+	@Test
+	public void numbersShouldBePacked() {
+		GeoList list = add("list = Sequence(k^2, k, 1, 5)");
+		assertThat(list.getPackedNumbers(), notNullValue());
+		assertThat(list, hasValue("{1, 4, 9, 16, 25}"));
+		assertThat(add("list(3)"), hasValue("9"));
+		assertThat(add("Mean(list)"), hasValue("11"));
+		assertThat(add("Sum(list)"), hasValue("55"));
+		assertThat(add("Length(list)"), hasValue("5"));
+	}
+
+	@Test
+	public void packedNumbersShouldFollowInputs() {
+		GeoNumeric slider = add("a = 2");
+		GeoList list = add("list = Sequence(a k, k, 1, 3)");
+		GeoNumeric mean = add("Mean(list)");
+		GeoNumeric second = add("list(2)");
+		slider.setValue(3);
+		slider.updateRepaint();
+		assertThat(list, hasValue("{3, 6, 9}"));
+		assertThat(mean, hasValue("6"));
+		assertThat(second, hasValue("6"));
+	}
+
+	@Test
+	public void packedNumbersShouldHaveListStyle() {
+		GeoList list = add("list = Sequence(1 / k, k, 1, 4)");
+		list.setObjColor(GColor.RED);
+		list.setLineThickness(7);
+		assertThat(list.getPackedNumbers(), notNullValue());
+		assertThat(list.get(3).getObjectColor(), is(GColor.RED));
+		assertThat(list.get(3).getLineThickness(), is(7));
+		assertThat(list, hasValue("{1, 0.5, 0.33, 0.25}"));
+	}
+
+	@Test
+	public void styleQueriesShouldNotUnpack() {
+		GeoList list = add("list = Sequence(1 / k, k, 1, 4)");
+		list.getAlphaValue();
+		list.isFillable();
+		list.getMinimumLineThickness();
+		list.showLineProperties();
+		assertThat(list.getMaxParameter(), is(4.0));
+		assertThat(list.getPackedNumbers(), notNullValue());
+	}
+
+	@Test
+	public void parallelNumbersShouldMatchSequential() {
+		assertSameInParallel("Sequence(sin(k) / k + k^0.5, k, 1, 3000)");
+		assertSameInParallel("Sequence(a (-2)^(1 / 3) k, k, 0, 300, 0.1)");
+	}
+
+	@Test
+	public void parallelPointsShouldMatchSequential() {
+		assertSameInParallel("Sequence((k, ln(k) / a), k, 1, 2000, 0.5)");
+	}
+
+	@Test
+	public void parallelSequencesShouldLeaveLoopVariable() {
+		String[] definitions = { "Sequence(sin(k) / k, k, 1, 2000)",
+				"Sequence((k, ln(k)), k, 1, 2000)" };
+		for (String definition : definitions) {
+			AlgoElement algo = add(definition).getParentAlgorithm();
+			assertThat(((GeoNumeric) algo.getInput()[1]).getValue(),
+					is(2000.0));
+		}
+	}
+
+	@Test
+	public void randomNumbersShouldNotBeParallel() {
+		GeoList list = add("Sequence(RandomBetween(k, k), k, 1, 2000)");
+		assertThat(list.get(1999), hasValue("2000"));
+	}
+
+	private void assertSameInParallel(String definition) {
+		add("a = 3");
+		try {
+			getKernel().setParallelSequences(false);
+			GeoList sequential = add(definition);
+			getKernel().setParallelSequences(true);
+			GeoList parallel = add(definition);
+			assertThat(parallel.toValueString(StringTemplate.maxPrecision),
+					is(sequential.toValueString(StringTemplate.maxPrecision)));
+		} finally {
+			getKernel().setParallelSequences(true);
+		}
+	}
+
+	@Test
+	public void pointsShouldNotBePacked() {
+		GeoList list = add("list = Sequence((k, k), k, 1, 3)");
+		assertThat(list.getPackedNumbers(), nullValue());
+		assertThat(list, hasValue("{(1, 1), (2, 2), (3, 3)}"));
+	}
 }
\ No newline at end of file
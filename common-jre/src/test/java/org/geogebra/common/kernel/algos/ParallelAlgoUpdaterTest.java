@@ -0,0 +1,103 @@
+package org.geogebra.common.kernel.algos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.jre.util.ParallelExecutorJre;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.util.MyMath;
+import org.junit.Test;
+
+public class ParallelAlgoUpdaterTest extends BaseUnitTest {
+
+	@Test
+	public void batchShouldComputeIndependentAlgos() {
+		ArrayList<GeoNumeric> results = new ArrayList<>();
+		ArrayList<Double> expected = new ArrayList<>();
+		for (int i = 1; i <= 40; i++) {
+			add("l_{" + i + "} = Sequence(k^2, k, 1, " + i + ")");
+		}
+		// a run of 120 independent thread safe algorithms
+		for (int i = 1; i <= 40; i++) {
+			results.add((GeoNumeric) add("Mean(l_{" + i + "})"));
+			results.add((GeoNumeric) add("Length(l_{" + i + "})"));
+			results.add((GeoNumeric) add("Distance((" + i + ", 0), (0, 1))"));
+		}
+		for (int i = 1; i <= 40; i++) {
+			// not thread safe, ends the batch
+			results.add((GeoNumeric) add("m_{" + i + "} = 2 * Mean(l_{" + i
+					+ "})"));
+		}
+		for (GeoNumeric result : results) {
+			expected.add(result.getValue());
+			result.setUndefined();
+		}
+		final AtomicInteger batches = new AtomicInteger();
+		ParallelAlgoUpdater updater = new ParallelAlgoUpdater(
+				new ParallelExecutorJre(new ForkJoinPool(4)) {
+					@Override
+					public void invokeAll(List<? extends Runnable> tasks) {
+						batches.incrementAndGet();
+						super.invokeAll(tasks);
+					}
+				});
+		for (AlgoElement algo : getConstruction().getAlgoList()) {
+			updater.update(algo);
+		}
+		updater.flush();
+		assertTrue(batches.get() > 0);
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(expected.get(i), results.get(i).getValue(), 0);
+		}
+	}
+
+	@Test
+	public void distancesSharingPointShouldBeComputedInParallel() {
+		GeoPoint shared = (GeoPoint) add("A = (1, 2)");
+		ArrayList<GeoNumeric> distances = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			distances.add((GeoNumeric) add("Distance(A, (" + i + ", 0))"));
+		}
+		assertTrue(distances.get(0).getParentAlgorithm()
+				.isComputeThreadSafe());
+		ParallelAlgoUpdater updater = new ParallelAlgoUpdater(
+				new ParallelExecutorJre(new ForkJoinPool(4)));
+		for (int round = 1; round <= 50; round++) {
+			shared.setCoords(round, -round, 1);
+			for (AlgoElement algo : getConstruction().getAlgoList()) {
+				updater.update(algo);
+			}
+			updater.flush();
+			for (int i = 0; i < distances.size(); i++) {
+				assertEquals(MyMath.length(i - round, round),
+						distances.get(i).getValue(), 0);
+			}
+		}
+	}
+
+	@Test
+	public void fullUpdateShouldComputeAllAlgosWhenParallel() {
+		ArrayList<GeoNumeric> distances = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			distances.add(
+					(GeoNumeric) add("Distance((0, 0), (3, " + i + "))"));
+		}
+		assertFalse(getKernel().isParallelUpdate());
+		getKernel().setParallelUpdate(true);
+		for (GeoNumeric distance : distances) {
+			distance.setUndefined();
+		}
+		getConstruction().updateAllAlgorithms();
+		for (int i = 0; i < distances.size(); i++) {
+			assertEquals(MyMath.length(3, i), distances.get(i).getValue(), 0);
+		}
+	}
+}
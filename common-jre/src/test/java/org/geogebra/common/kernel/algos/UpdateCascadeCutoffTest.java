@@ -0,0 +1,65 @@
+package org.geogebra.common.kernel.algos;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UpdateCascadeCutoffTest extends BaseUnitTest {
+
+	private static final String DEPENDENT_NUMBER = AlgoDependentNumber.class
+			.getName();
+
+	private GeoNumeric a;
+	private GeoNumeric c;
+
+	@Before
+	public void createConstruction() {
+		a = add("a = 1.2");
+		add("b = floor(a)");
+		c = add("c = b^2 + 1");
+		// propagate the initial state once
+		a.updateCascade();
+		GeoGebraProfiler.setAlgoProfiling(true);
+	}
+
+	@After
+	public void restore() {
+		GeoGebraProfiler.setAlgoProfiling(false);
+	}
+
+	@Test
+	public void unchangedNumberShouldStopCascade() {
+		a.setValue(1.3);
+		a.updateCascade();
+		assertEquals(2, c.getValue(), 0);
+		assertArrayEquals(new int[] { 1, 1 },
+				GeoGebraProfiler.getAlgoUpdateCount(DEPENDENT_NUMBER));
+	}
+
+	@Test
+	public void changedNumberShouldUpdateCascade() {
+		a.setValue(1.3);
+		a.updateCascade();
+		a.setValue(2.5);
+		a.updateCascade();
+		assertEquals(5, c.getValue(), 0);
+		assertArrayEquals(new int[] { 3, 1 },
+				GeoGebraProfiler.getAlgoUpdateCount(DEPENDENT_NUMBER));
+	}
+
+	@Test
+	public void cascadeShouldNotStopWhenDisabled() {
+		getKernel().setUpdateCutoff(false);
+		a.setValue(1.3);
+		a.updateCascade();
+		assertEquals(2, c.getValue(), 0);
+		assertArrayEquals(new int[] { 2, 0 },
+				GeoGebraProfiler.getAlgoUpdateCount(DEPENDENT_NUMBER));
+	}
+}
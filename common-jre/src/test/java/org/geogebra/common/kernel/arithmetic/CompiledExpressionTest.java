@@ -0,0 +1,111 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoFunctionNVar;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompiledExpressionTest {
+
+	private AppCommon app;
+
+	@Before
+	public void setup() {
+		app = AppCommonFactory.create();
+		add("a=2");
+	}
+
+	private GeoElementND add(String input) {
+		return app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand(input, false)[0];
+	}
+
+	@Test
+	public void compiledFunctionsShouldMatchTree() {
+		String[] functions = { "a x^3 - 2x + 1", "sin(3x) / x",
+				"cos(x)^2 + sin(x)^2", "x^(1/3)", "sqrt(abs(x)) + exp(-x^2)",
+				"tan(x) + ln(x) + lg(x) + ld(x)", "sgn(x) cbrt(x) sinh(x)",
+				"cosh(x) - tanh(x) + sec(x) csc(x) cot(x)",
+				"asin(x / 5) + acos(x / 5) + atan(x)", "2^x + e^x",
+				"(x - 1)^(-2/5)", "1 / (x - a)" };
+		for (String definition : functions) {
+			GeoFunction f = (GeoFunction) add("f(x)=" + definition);
+			CompiledExpression compiled = CompiledExpression
+					.compile(f.getFunction());
+			assertNotNull(definition, compiled);
+			for (double x = -5; x <= 5; x += 0.125) {
+				assertEquals(definition + " at " + x, f.value(x),
+						compiled.evaluate(x), 0);
+			}
+		}
+	}
+
+	@Test
+	public void compiledFunctionShouldReadCurrentNumbers() {
+		GeoFunction f = (GeoFunction) add("f(x)=a x + 1");
+		CompiledExpression compiled = CompiledExpression
+				.compile(f.getFunction());
+		assertEquals(5, compiled.evaluate(2), 0);
+		((GeoNumeric) app.getKernel().lookupLabel("a")).setValue(3);
+		assertEquals(7, compiled.evaluate(2), 0);
+	}
+
+	@Test
+	public void compiledTwoVariableFunctionShouldMatchTree() {
+		GeoFunctionNVar f = (GeoFunctionNVar) add(
+				"g(x,y)=x^2 y - sin(x y) + a / y");
+		CompiledExpression compiled = CompiledExpression
+				.compile(f.getFunction());
+		for (double x = -2; x <= 2; x += 0.25) {
+			for (double y = -2; y <= 2; y += 0.25) {
+				assertEquals(f.evaluate(x, y), compiled.evaluate(x, y), 0);
+			}
+		}
+	}
+
+	@Test
+	public void unsupportedFunctionsShouldNotBeCompiled() {
+		assertNull(CompiledExpression.compile(
+				((GeoFunction) add("f(x)=gamma(x)")).getFunction()));
+		assertNull(CompiledExpression.compile(
+				((GeoFunction) add("h(x)=If(x > 0, x, -x)")).getFunction()));
+	}
+
+	@Test
+	public void functionsShouldNotBeCompiledWhenSwitchedOff() {
+		GeoFunction f = (GeoFunction) add("f(x)=sin(a x)");
+		assertNotSame(f, f.getCompiledCurve());
+
+		app.getKernel().setCompiledFunctions(false);
+
+		assertSame(f, f.getCompiledCurve());
+	}
+
+	@Test
+	public void overriddenValueShouldNotBeCompiled() {
+		FunctionVariable x = new FunctionVariable(app.getKernel());
+		Function fun = new Function(new ExpressionNode(app.getKernel(), x),
+				x) {
+			@Override
+			public double value(double t) {
+				return 42;
+			}
+		};
+		GeoFunction f = new GeoFunction(app.getKernel().getConstruction(),
+				fun);
+		assertSame(f, f.getCompiledCurve());
+		double[] out = new double[2];
+		f.getCompiledCurve().evaluateCurve(1, out);
+		assertEquals(42, out[1], 0);
+	}
+}
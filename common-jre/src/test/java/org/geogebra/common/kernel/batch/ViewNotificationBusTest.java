@@ -0,0 +1,185 @@
+package org.geogebra.common.kernel.batch;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.euclidian.EuclidianViewInterfaceCommon;
+import org.geogebra.common.jre.util.UtilFactoryJre;
+import org.geogebra.common.kernel.View;
+import org.geogebra.common.kernel.geos.GProperty;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.util.GTimer;
+import org.geogebra.common.util.GTimerListener;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ViewNotificationBusTest extends BaseUnitTest {
+
+	@Mock
+	/* package */ GTimer timer;
+
+	@Spy
+	private UtilFactoryJre utilFactory;
+
+	private final ArrayList<View> views = new ArrayList<>();
+	private ViewNotificationBus bus;
+	private View view;
+	private AsyncView asyncView;
+	private EuclidianViewInterfaceCommon visibleGraphics;
+	private EuclidianViewInterfaceCommon hiddenGraphics;
+
+	@Before
+	public void setupViewNotificationBusTest() {
+		when(utilFactory.newTimer(any(GTimerListener.class), anyInt()))
+				.thenReturn(timer);
+		view = mock(View.class);
+		asyncView = mock(AsyncView.class);
+		when(asyncView.isUpdatingAsync()).thenReturn(true);
+		visibleGraphics = mock(EuclidianViewInterfaceCommon.class);
+		when(visibleGraphics.isShowing()).thenReturn(true);
+		hiddenGraphics = mock(EuclidianViewInterfaceCommon.class);
+		views.add(asyncView);
+		views.add(hiddenGraphics);
+		views.add(view);
+		views.add(visibleGraphics);
+		bus = new ViewNotificationBus(views, utilFactory);
+	}
+
+	@After
+	public void restore() {
+		GeoGebraProfiler.setViewProfiling(false);
+	}
+
+	@Test
+	public void testVisibleGraphicsNotifiedFirst() {
+		GeoElement line = getElementFactory().createGeoLine();
+		bus.update(line);
+
+		InOrder order = inOrder(visibleGraphics, view, hiddenGraphics);
+		order.verify(visibleGraphics).update(line);
+		order.verify(view).update(line);
+		order.verify(hiddenGraphics).update(line);
+	}
+
+	@Test
+	public void testHiddenGraphicsUpdatedAfterBatch() {
+		GeoElement line = getElementFactory().createGeoLine();
+		bus.startBatch();
+		bus.startBatch();
+		bus.update(line);
+		bus.update(line);
+		bus.endBatch();
+		bus.update(line);
+
+		verify(visibleGraphics, times(3)).update(line);
+		verify(hiddenGraphics, never()).update(line);
+
+		bus.endBatch();
+		verify(hiddenGraphics, times(1)).update(line);
+	}
+
+	@Test
+	public void testAsyncViewUpdatedWhenTimerRuns() {
+		GeoElement line = getElementFactory().createGeoLine();
+		bus.update(line);
+		bus.updateVisualStyle(line, GProperty.COLOR);
+		bus.updateVisualStyle(line, GProperty.COLOR);
+		bus.updateVisualStyle(line, GProperty.LABEL_STYLE);
+		bus.updateHighlight(line);
+		bus.updateAuxiliaryObject(line);
+		bus.repaintView();
+		bus.update(line);
+
+		verify(timer, atLeast(1)).start();
+		verify(asyncView, never()).update(line);
+
+		// Timer fires
+		bus.onRun();
+
+		verify(asyncView, times(1)).update(line);
+		verify(asyncView, times(1)).updateVisualStyle(line, GProperty.COLOR);
+		verify(asyncView, times(1)).updateVisualStyle(line,
+				GProperty.LABEL_STYLE);
+		verify(asyncView, times(1)).updateHighlight(line);
+		verify(asyncView, times(1)).updateAuxiliaryObject(line);
+		verify(asyncView, times(1)).repaintView();
+	}
+
+	@Test
+	public void testRemoveDropsPendingNotifications() {
+		GeoElement line = getElementFactory().createGeoLine();
+		GeoElement line2 = getElementFactory().createGeoLine();
+		bus.update(line);
+		bus.update(line2);
+		bus.remove(line);
+
+		bus.onRun();
+
+		verify(asyncView, never()).update(line);
+		verify(asyncView, times(1)).update(line2);
+	}
+
+	@Test
+	public void testDetachedViewNotNotified() {
+		GeoElement line = getElementFactory().createGeoLine();
+		bus.update(line);
+		views.remove(asyncView);
+		bus.invalidateOrder();
+
+		bus.onRun();
+
+		verify(asyncView, never()).update(line);
+	}
+
+	@Test
+	public void testFailingViewDoesNotBlockOthers() {
+		GeoElement line = getElementFactory().createGeoLine();
+		IllegalStateException failure = new IllegalStateException();
+		doThrow(failure).when(hiddenGraphics).update(line);
+		bus.startBatch();
+		bus.update(line);
+		try {
+			bus.flush();
+			Assert.fail("exception of the view should be rethrown");
+		} catch (IllegalStateException e) {
+			Assert.assertSame(failure, e);
+		}
+		verify(hiddenGraphics, times(1)).update(line);
+		verify(asyncView, times(1)).update(line);
+		bus.endBatch();
+	}
+
+	@Test
+	public void testDeliveryIsProfiled() {
+		GeoGebraProfiler.setViewProfiling(true);
+		GeoElement line = getElementFactory().createGeoLine();
+		bus.update(line);
+		bus.update(line);
+		bus.onRun();
+
+		Assert.assertArrayEquals(new int[] { 2, 1 }, GeoGebraProfiler
+				.getViewDeliveryCount(asyncView.getClass().getName()));
+		Assert.assertArrayEquals(new int[] { 2, 2 }, GeoGebraProfiler
+				.getViewDeliveryCount(view.getClass().getName()));
+	}
+}
@@ -0,0 +1,86 @@
+package org.geogebra.common.kernel.discrete.delaunay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class DelaunayTriangulationTest {
+
+	private final Random rand = new Random(42);
+
+	@Test
+	public void insertionOrderShouldBePermutation() {
+		PointDt[] points = randomPoints(1000);
+		int[] order = DelaunayTriangulation.getInsertionOrder(points, 1000);
+		boolean[] seen = new boolean[1000];
+		for (int index : order) {
+			assertFalse(seen[index]);
+			seen[index] = true;
+		}
+	}
+
+	@Test
+	public void insertionOrderShouldHandleEqualPoints() {
+		PointDt[] points = { new PointDt(1, 1), new PointDt(1, 1),
+				new PointDt(1, 1) };
+		int[] order = DelaunayTriangulation.getInsertionOrder(points, 3);
+		assertEquals(0, order[0]);
+		assertEquals(1, order[1]);
+		assertEquals(2, order[2]);
+	}
+
+	@Test
+	public void hilbertCurveShouldConnectNeighbours() {
+		int[] xs = new int[256];
+		int[] ys = new int[256];
+		for (int x = 0; x < 16; x++) {
+			for (int y = 0; y < 16; y++) {
+				int d = (int) DelaunayTriangulation.hilbertIndex(x, y);
+				xs[d] = x;
+				ys[d] = y;
+			}
+		}
+		assertEquals(0, xs[0] + ys[0]);
+		for (int d = 1; d < 256; d++) {
+			assertEquals(1, Math.abs(xs[d] - xs[d - 1])
+					+ Math.abs(ys[d] - ys[d - 1]));
+		}
+	}
+
+	@Test
+	public void triangulationShouldBeDelaunay() {
+		PointDt[] points = randomPoints(500);
+		DelaunayTriangulation dt = new DelaunayTriangulation(points);
+		assertEquals(500, dt.size());
+		int triangles = 0;
+		Iterator<TriangleDt> it = dt.trianglesIterator();
+		while (it.hasNext()) {
+			TriangleDt triangle = it.next();
+			if (triangle.isHalfplane()) {
+				continue;
+			}
+			triangles++;
+			CircleDt circle = triangle.circumcircle();
+			for (PointDt p : points) {
+				assertTrue(circle.center().distance2(p) > circle.radius()
+						* (1 - 1E-9));
+			}
+		}
+		// 2n - 2 - h triangles for n points with h on the hull
+		assertTrue(triangles > 900 && triangles < 998);
+	}
+
+	private PointDt[] randomPoints(int n) {
+		PointDt[] points = new PointDt[n];
+		for (int i = 0; i < n; i++) {
+			points[i] = new PointDt(rand.nextDouble() * 100,
+					rand.nextDouble() * 100);
+		}
+		return points;
+	}
+}
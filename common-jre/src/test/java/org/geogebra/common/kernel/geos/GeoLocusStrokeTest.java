@@ -7,6 +7,7 @@ import static java.lang.Math.sin;
 import static java.lang.Math.sqrt;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import java.util.ArrayList;
@@ -15,6 +16,7 @@ import java.util.Arrays;
 import org.geogebra.common.BaseUnitTest;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.MyDouble;
 import org.geogebra.common.kernel.matrix.Coords;
 import org.geogebra.test.UndoRedoTester;
@@ -152,6 +154,68 @@ public class GeoLocusStrokeTest extends BaseUnitTest {
 		assertThat(perimeter, hasValue("8.22"));
 	}
 
+	@Test
+	public void packedStrokeShouldTransformLikeList() {
+		GeoLocusStroke packed = addAvInput(
+				"stroke = Polyline((1, 3), (4, 3), (2, 5), (-1, 2), true)");
+		GeoLocusStroke list = (GeoLocusStroke) packed.copy();
+		list.getPoints();
+		assertThat(packed.getPackedPoints(), is(notNullValue()));
+		assertThat(list.getPackedPoints(), is(nullValue()));
+
+		for (GeoLocusStroke stroke : Arrays.asList(packed, list)) {
+			stroke.rotate(new MyDouble(getKernel(), PI / 3));
+			stroke.mirror(new Coords(1, 2, 1));
+			stroke.translate(new Coords(-2, 1, 0));
+		}
+
+		Assert.assertEquals(list.getPointLength(), packed.getPointLength());
+		for (int i = 0; i < list.getPointLength(); i++) {
+			Assert.assertEquals(list.getPoints().get(i).x, packed.getPointX(i),
+					Kernel.MAX_PRECISION);
+			Assert.assertEquals(list.getPoints().get(i).y, packed.getPointY(i),
+					Kernel.MAX_PRECISION);
+			Assert.assertEquals(list.getPoints().get(i).getSegmentType(),
+					packed.getPointSegmentType(i));
+		}
+	}
+
+	@Test
+	public void pointsShouldBePackedAgainWhenCleared() {
+		GeoLocusStroke stroke = addAvInput(
+				"stroke = Polyline((1, 3), (4, 3), (2, 5), (-1, 2), true)");
+		GeoLocusStroke copy = (GeoLocusStroke) stroke.copy();
+		assertThat(stroke.getPackedPoints(), is(notNullValue()));
+
+		copy.getPoints();
+		assertThat(copy.getPackedPoints(), is(nullValue()));
+		copy.set(stroke);
+
+		assertThat(copy.getPackedPoints(), is(notNullValue()));
+		Assert.assertEquals(stroke.getPointLength(), copy.getPointLength());
+		for (int i = 0; i < stroke.getPointLength(); i++) {
+			Assert.assertEquals(stroke.getPointX(i), copy.getPointX(i), 0);
+			Assert.assertEquals(stroke.getPointY(i), copy.getPointY(i), 0);
+		}
+	}
+
+	@Test
+	public void definitionShouldNotDependOnPointStorage() {
+		GeoLocusStroke stroke = addAvInput(
+				"stroke = Polyline((1, 3), (4, 3), (2, 5), (-1, 2), true)");
+		assertThat(stroke.getPackedPoints(), is(notNullValue()));
+		String xml = stroke.getParentAlgorithm().getXML();
+		String definition = stroke.getDefinition(StringTemplate.xmlTemplate);
+
+		stroke.getPoints();
+		stroke.resetXMLPointBuilder();
+
+		assertThat(stroke.getPackedPoints(), is(nullValue()));
+		Assert.assertEquals(xml, stroke.getParentAlgorithm().getXML());
+		Assert.assertEquals(definition,
+				stroke.getDefinition(StringTemplate.xmlTemplate));
+	}
+
 	private GeoLocusStroke getInitialStroke() {
 		ArrayList<MyPoint> initialPoints = new ArrayList<>(Arrays.asList(
 				new MyPoint(-1, -1),
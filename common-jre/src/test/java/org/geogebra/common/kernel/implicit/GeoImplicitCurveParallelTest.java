@@ -0,0 +1,67 @@
+package org.geogebra.common.kernel.implicit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.factories.AwtFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.main.settings.EuclidianSettings;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GeoImplicitCurveParallelTest {
+
+	private AppCommon app;
+
+	/**
+	 * The quadtree plots less deeply when its coarse grid takes more than
+	 * 10 ms. A 160x160 pixel view has a grid of 20x20 cells, which is fast
+	 * enough for both passes once the code is warmed up.
+	 */
+	@Before
+	public void setup() {
+		app = AppCommonFactory.create();
+		EuclidianSettings settings = app.getActiveEuclidianView()
+				.getSettings();
+		settings.setPreferredSize(
+				AwtFactory.getPrototype().newDimension(160, 160));
+		settings.setCoordSystem(80, 80, 32, 32, true);
+	}
+
+	@Test
+	public void parallelPathShouldMatchSequentialPath() {
+		String[] equations = { "(x^2 + y^2)^3 = 4x^2 y^2",
+				"y^2 (y^2 - 4) = x^2 (x^2 - 5)", "sin(x y) = cos(x + y)" };
+		for (String equation : equations) {
+			GeoImplicitCurve curve = (GeoImplicitCurve) app.getKernel()
+					.getAlgebraProcessor()
+					.processAlgebraCommand(equation, false)[0];
+			// warm up
+			app.getKernel().setParallelImplicitCurves(true);
+			curve.updatePath();
+			app.getKernel().setParallelImplicitCurves(false);
+			curve.updatePath();
+
+			curve.updatePath();
+			ArrayList<MyPoint> sequential = new ArrayList<>(
+					curve.getLocus().getPoints());
+			app.getKernel().setParallelImplicitCurves(true);
+			curve.updatePath();
+			ArrayList<MyPoint> parallel = curve.getLocus().getPoints();
+			assertTrue(equation, sequential.size() > 0);
+			assertEquals(equation, sequential.size(), parallel.size());
+			for (int i = 0; i < sequential.size(); i++) {
+				assertEquals(equation, sequential.get(i).x, parallel.get(i).x,
+						0);
+				assertEquals(equation, sequential.get(i).y, parallel.get(i).y,
+						0);
+				assertEquals(equation, sequential.get(i).getLineTo(),
+						parallel.get(i).getLineTo());
+			}
+		}
+	}
+}
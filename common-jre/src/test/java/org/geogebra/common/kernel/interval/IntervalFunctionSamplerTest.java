@@ -0,0 +1,83 @@
+package org.geogebra.common.kernel.interval;
+
+import static org.geogebra.common.kernel.interval.IntervalTest.interval;
+import static org.junit.Assert.assertEquals;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.euclidian.plot.interval.PlotterUtils;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.junit.Test;
+
+public class IntervalFunctionSamplerTest extends BaseUnitTest {
+
+	@Test
+	public void panShouldGiveSameSamplesAsNewSampler() {
+		GeoFunction function = add("x^2");
+		IntervalFunctionSampler sampler = PlotterUtils.newSampler(function,
+				PlotterUtils.newRange(0, 10, -8, 8), 100);
+		sampler.result();
+		assertSamplesLike(function, sampler, 2.5, 12.5);
+		assertSamplesLike(function, sampler, -3.7, 6.3);
+	}
+
+	@Test
+	public void zoomOutShouldGiveSameSamplesAsNewSampler() {
+		GeoFunction function = add("x^2");
+		IntervalFunctionSampler sampler = PlotterUtils.newSampler(function,
+				PlotterUtils.newRange(0, 10, -8, 8), 100);
+		sampler.result();
+		assertSamplesLike(function, sampler, 0, 20);
+	}
+
+	@Test
+	public void samplesShouldFollowFunctionChanges() {
+		GeoNumeric slider = add("a = 2");
+		GeoFunction function = add("a * x");
+		IntervalFunctionSampler sampler = PlotterUtils.newSampler(function,
+				PlotterUtils.newRange(0, 10, -8, 8), 100);
+		assertEquals(interval(2, 2.2), sampler.result().valueAt(10));
+		slider.setValue(3);
+		slider.updateRepaint();
+		assertEquals(interval(3, 3.3), sampler.result().valueAt(10));
+	}
+
+	@Test
+	public void deepZoomShouldGiveSameSamplesAsNewSampler() {
+		GeoFunction function = add("x^2");
+		IntervalFunctionSampler sampler = PlotterUtils.newSampler(function,
+				PlotterUtils.newRange(-10, 10, -8, 8), 1000);
+		sampler.result();
+		assertSamplesLike(function, sampler, 100, 100.00001, 1000);
+	}
+
+	@Test
+	public void farPanShouldGiveSameSamplesAsNewSampler() {
+		GeoFunction function = add("x^2");
+		IntervalFunctionSampler sampler = PlotterUtils.newSampler(function,
+				PlotterUtils.newRange(0, 1, -8, 8), 1000);
+		sampler.result();
+		assertSamplesLike(function, sampler, 1E8, 1E8 + 1, 1000);
+		assertSamplesLike(function, sampler, 0.5, 1.5, 1000);
+	}
+
+	private static void assertSamplesLike(GeoFunction function,
+			IntervalFunctionSampler sampler, double xmin, double xmax) {
+		assertSamplesLike(function, sampler, xmin, xmax, 100);
+	}
+
+	private static void assertSamplesLike(GeoFunction function,
+			IntervalFunctionSampler sampler, double xmin, double xmax,
+			int count) {
+		IntervalTuple range = PlotterUtils.newRange(xmin, xmax, -8, 8);
+		sampler.update(range);
+		IntervalTupleList expected = PlotterUtils
+				.newSampler(function, range, count).result();
+		IntervalTupleList actual = sampler.result();
+		assertEquals(expected.count(), actual.count());
+		for (int i = 0; i < expected.count(); i++) {
+			assertEquals(expected.get(i).x(), actual.get(i).x());
+			assertEquals(expected.get(i).y(), actual.get(i).y());
+		}
+	}
+}
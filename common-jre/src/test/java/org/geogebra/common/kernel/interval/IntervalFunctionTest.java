@@ -11,6 +11,7 @@ import static org.junit.Assert.assertTrue;
 
 import org.geogebra.common.BaseUnitTest;
 import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.junit.Test;
 
 public class IntervalFunctionTest extends BaseUnitTest {
@@ -226,4 +227,25 @@ public class IntervalFunctionTest extends BaseUnitTest {
 		Interval actual = function.evaluate(interval(1.57, 1.58));
 		assertEquals(undefined(), actual);
 	}
+
+	@Test
+	public void evaluateShouldReturnIndependentResults() throws Exception {
+		GeoFunction geo = add("x^2 + 1");
+		IntervalFunction function = new IntervalFunction(geo);
+		Interval first = function.evaluate(interval(1, 2));
+		Interval second = function.evaluate(interval(2, 3));
+		assertEquals(interval(2, 5), first);
+		assertEquals(interval(5, 10), second);
+	}
+
+	@Test
+	public void evaluateShouldFollowDependencies() throws Exception {
+		GeoNumeric a = add("a = 2");
+		GeoFunction geo = add("a * x");
+		IntervalFunction function = new IntervalFunction(geo);
+		assertEquals(interval(2, 4), function.evaluate(interval(1, 2)));
+		a.setValue(3);
+		a.updateRepaint();
+		assertEquals(interval(3, 6), function.evaluate(interval(1, 2)));
+	}
 }
\ No newline at end of file
@@ -46,4 +46,13 @@ public class LinearSpaceTest extends BaseUnitTest {
 		space.extendMin(-1.4);
 		assertEquals(expected.values(), space.values());
 	}
+
+	@Test
+	public void testShrinkMax() {
+		LinearSpace space = new LinearSpace(0, 10, 10);
+		assertEquals(3, space.shrinkMax(7.5));
+		assertEquals(new LinearSpace(0, 7, 7).values(), space.values());
+		assertEquals(8, space.size());
+		assertEquals(7, space.value(7), 0);
+	}
 }
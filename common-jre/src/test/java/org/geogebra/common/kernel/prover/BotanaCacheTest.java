@@ -0,0 +1,79 @@
+package org.geogebra.common.kernel.prover;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.TreeSet;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.kernel.prover.polynomial.PPolynomial;
+import org.geogebra.common.util.Prover.ProverEngine;
+import org.junit.Test;
+
+public class BotanaCacheTest extends BaseUnitTest {
+
+	private final BotanaCache cache = new BotanaCache();
+
+	@Test
+	public void unchangedObjectsShouldKeepPolynomials() throws Exception {
+		add("A = (0, 0)");
+		add("B = (1, 1)");
+		GeoPoint midpoint = add("M = Midpoint(A, B)");
+		TreeSet<GeoElement> geos = withPredecessors(midpoint);
+
+		assertFalse(cache.resetChanged(geos, ProverEngine.BOTANAS_PROVER));
+		PPolynomial[] polys = midpoint.getBotanaPolynomials(midpoint);
+
+		assertTrue(cache.resetChanged(geos, ProverEngine.BOTANAS_PROVER));
+		assertSame(polys, midpoint.getBotanaPolynomials(midpoint));
+	}
+
+	@Test
+	public void otherEngineShouldRecomputePolynomials() throws Exception {
+		add("A = (0, 0)");
+		add("B = (1, 1)");
+		GeoPoint midpoint = add("M = Midpoint(A, B)");
+		TreeSet<GeoElement> geos = withPredecessors(midpoint);
+
+		cache.resetChanged(geos, ProverEngine.BOTANAS_PROVER);
+		PPolynomial[] polys = midpoint.getBotanaPolynomials(midpoint);
+
+		assertFalse(cache.resetChanged(geos, ProverEngine.LOCUS_IMPLICIT));
+		assertNotSame(polys, midpoint.getBotanaPolynomials(midpoint));
+	}
+
+	@Test
+	public void changedNumberShouldResetDependents() {
+		GeoNumeric n = add("n = 3");
+		GeoElement m = add("m = n + 1");
+		TreeSet<GeoElement> geos = withPredecessors(m);
+
+		assertFalse(cache.resetChanged(geos, ProverEngine.BOTANAS_PROVER));
+		assertTrue(cache.resetChanged(geos, ProverEngine.BOTANAS_PROVER));
+
+		n.setValue(4);
+		n.updateCascade();
+		assertFalse(cache.resetChanged(geos, ProverEngine.BOTANAS_PROVER));
+	}
+
+	@Test
+	public void nextVariableIDShouldNotDecrease() {
+		cache.updateNextVariableID(10);
+		cache.updateNextVariableID(5);
+		assertEquals(10, cache.getNextVariableID());
+		cache.clear();
+		assertEquals(1, cache.getNextVariableID());
+	}
+
+	private static TreeSet<GeoElement> withPredecessors(GeoElement geo) {
+		TreeSet<GeoElement> geos = geo.getAllPredecessors();
+		geos.add(geo);
+		return geos;
+	}
+}
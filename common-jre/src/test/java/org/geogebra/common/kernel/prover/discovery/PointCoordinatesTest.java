@@ -0,0 +1,128 @@
+package org.geogebra.common.kernel.prover.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoBoolean;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PointCoordinatesTest extends BaseUnitTest {
+
+	private GeoPoint[] points;
+	private PointCoordinates coords;
+
+	@Before
+	public void setupPoints() {
+		points = new GeoPoint[] { add("A = (0, 0)"), add("B = (4, 0)"),
+				add("C = (0, 3)"), add("D = (4, 3)"), add("E = (2, 0)"),
+				add("F = (2, 1.5)"), add("G = (1, 7)") };
+		ArrayList<Point> pool = new ArrayList<>();
+		for (GeoPoint p : points) {
+			pool.add(new Point(p));
+		}
+		coords = new PointCoordinates(pool);
+	}
+
+	@Test
+	public void collinearityShouldMatchAlgo() {
+		assertTrue(coords.areCollinear(points[0], points[1], points[4]));
+		assertTrue(coords.areCollinear(points[0], points[3], points[5]));
+		assertFalse(coords.areCollinear(points[0], points[1], points[2]));
+		for (GeoPoint a : points) {
+			for (GeoPoint b : points) {
+				for (GeoPoint c : points) {
+					assertEquals(check("AreCollinear", a, b, c),
+							coords.areCollinear(a, b, c));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void concyclicityShouldMatchAlgo() {
+		assertTrue(coords.areConcyclic(points[0], points[1], points[2],
+				points[3]));
+		assertFalse(coords.areConcyclic(points[0], points[1], points[2],
+				points[6]));
+		for (GeoPoint d : points) {
+			assertEquals(check("AreConcyclic", points[0], points[1], points[2], d),
+					coords.areConcyclic(points[0], points[1], points[2], d));
+		}
+	}
+
+	@Test
+	public void parallelismShouldMatchAlgo() {
+		assertTrue(coords.areParallel(points[0], points[1], points[2],
+				points[3]));
+		assertTrue(coords.areParallel(points[0], points[2], points[1],
+				points[3]));
+		assertFalse(coords.areParallel(points[0], points[3], points[2],
+				points[1]));
+		for (GeoPoint c : points) {
+			for (GeoPoint d : otherPoints(c)) {
+				assertEquals(check("AreParallel", "Line", points[0], points[3],
+						c, d), coords.areParallel(points[0], points[3], c, d));
+			}
+		}
+	}
+
+	@Test
+	public void equalLengthShouldMatchAlgo() {
+		assertTrue(coords.areEqualLong(points[0], points[3], points[1],
+				points[2]));
+		assertFalse(coords.areEqualLong(points[0], points[1], points[0],
+				points[2]));
+		for (GeoPoint c : points) {
+			for (GeoPoint d : otherPoints(c)) {
+				assertEquals(check("AreCongruent", "Segment", points[0],
+						points[4], c, d),
+						coords.areEqualLong(points[0], points[4], c, d));
+			}
+		}
+	}
+
+	@Test
+	public void unknownPointShouldBeCheckedDirectly() {
+		GeoPoint h = add("H = (6, 0)");
+		assertTrue(coords.areCollinear(points[0], points[1], h));
+		assertFalse(coords.areCollinear(points[0], points[2], h));
+	}
+
+	private ArrayList<GeoPoint> otherPoints(GeoPoint c) {
+		ArrayList<GeoPoint> others = new ArrayList<>();
+		for (GeoPoint p : points) {
+			if (p != c) {
+				others.add(p);
+			}
+		}
+		return others;
+	}
+
+	private boolean check(String command, GeoPoint... p) {
+		return check(command, null, p);
+	}
+
+	private boolean check(String command, String pairs, GeoPoint... p) {
+		StringBuilder sb = new StringBuilder(command).append('(');
+		for (int i = 0; i < p.length; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			if (pairs != null && i % 2 == 0) {
+				sb.append(pairs).append('(');
+			}
+			sb.append(p[i].getLabelSimple());
+			if (pairs != null && i % 2 == 1) {
+				sb.append(')');
+			}
+		}
+		GeoBoolean result = add(sb.append(')').toString());
+		return result.getBoolean();
+	}
+}
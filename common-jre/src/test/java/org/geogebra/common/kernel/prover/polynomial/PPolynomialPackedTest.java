@@ -0,0 +1,85 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class PPolynomialPackedTest {
+
+	private static AppCommon app;
+	private static PVariable[] vars;
+
+	/**
+	 * Setup the app and the variables
+	 */
+	@BeforeClass
+	public static void setup() {
+		app = AppCommonFactory.create();
+		vars = new PVariable[6];
+		for (int i = 0; i < vars.length; i++) {
+			vars[i] = new PVariable(app.getKernel());
+		}
+	}
+
+	@Test
+	public void packedOperationsShouldMatchTreeMapOperations() {
+		Random random = new Random(42);
+		for (int i = 0; i < 100; i++) {
+			PPolynomial p = randomPolynomial(random);
+			PPolynomial q = randomPolynomial(random);
+			TreeMap<PVariable, BigInteger> substitutions = new TreeMap<>();
+			substitutions.put(vars[random.nextInt(vars.length)],
+					BigInteger.valueOf(random.nextInt(7) - 3));
+			int n = random.nextInt(5);
+
+			PPolynomial product = p.multiplyTreeMap(q);
+			PPolynomial power = p.powTreeMap(n);
+			PPolynomial substituted = product.substituteTreeMap(substitutions);
+
+			PVariableIndex index = new PVariableIndex();
+			PPolynomialPacked pp = PPolynomialPacked.fromPPolynomial(p, index);
+			PPolynomialPacked qq = PPolynomialPacked.fromPPolynomial(q, index);
+			assertEquals(product, pp.multiply(qq).toPPolynomial());
+			assertEquals(power, pp.pow(n).toPPolynomial());
+			assertEquals(substituted,
+					pp.multiply(qq).substitute(substitutions).toPPolynomial());
+			assertEquals(p.add(q), pp.add(qq).toPPolynomial());
+			assertTrue(pp.subtract(pp).isZero());
+
+			assertEquals(product, p.multiply(q));
+			assertEquals(power, p.pow(n));
+			assertEquals(substituted, product.substitute(substitutions));
+		}
+	}
+
+	@Test
+	public void coefficientsShouldNotOverflow() {
+		PPolynomial p = new PPolynomial(BigInteger.valueOf(Long.MAX_VALUE),
+				vars[0]).add(new PPolynomial(3));
+		assertEquals(p.powTreeMap(3), p.pow(3));
+	}
+
+	private static PPolynomial randomPolynomial(Random random) {
+		PPolynomial p = new PPolynomial();
+		int terms = random.nextInt(12);
+		for (int i = 0; i < terms; i++) {
+			PTerm t = new PTerm();
+			int factors = random.nextInt(4);
+			for (int j = 0; j < factors; j++) {
+				t = t.times(new PTerm(vars[random.nextInt(vars.length)],
+						1 + random.nextInt(3)));
+			}
+			p = p.add(new PPolynomial(
+					BigInteger.valueOf(random.nextInt(21) - 10), t));
+		}
+		return p;
+	}
+}
@@ -0,0 +1,94 @@
+package org.geogebra.common.main.undo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.test.UndoRedoTester;
+import org.junit.Test;
+
+public class DeltaAppStateTest extends BaseUnitTest {
+
+	@Test
+	public void deltasShouldRestoreXml() {
+		String[] xmls = { "<a/>\n<b/>\n<c/>\n", "<a/>\n<B/>\n<c/>\n",
+				"<a/>\n<B/>\n<x/>\n<y/>\n<c/>\n", "<c/>\n", "" };
+		DeltaAppState base = null;
+		String[] baseLines = null;
+		DeltaAppState[] states = new DeltaAppState[xmls.length];
+		for (int i = 0; i < xmls.length; i++) {
+			String[] lines = DeltaAppState.split(xmls[i]);
+			states[i] = DeltaAppState.create(lines, base, baseLines);
+			base = states[i];
+			baseLines = lines;
+		}
+		for (int i = 0; i < xmls.length; i++) {
+			assertEquals(xmls[i], states[i].getXml());
+		}
+	}
+
+	@Test
+	public void smallChangeShouldOnlyStoreChangedLines() {
+		StringBuilder xml = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			xml.append("<element label=\"A").append(i).append("\">\n");
+			xml.append("<coords x=\"").append(i).append("\"/>\n");
+			xml.append("</element>\n");
+		}
+		String[] lines = DeltaAppState.split(xml.toString());
+		DeltaAppState checkpoint = DeltaAppState.create(lines, null, null);
+		String changed = xml.toString().replace("<coords x=\"42\"/>",
+				"<coords x=\"43\"/>");
+		DeltaAppState delta = DeltaAppState.create(
+				DeltaAppState.split(changed), checkpoint, lines);
+		assertTrue(checkpoint.isCheckpoint());
+		assertFalse(delta.isCheckpoint());
+		assertEquals("<coords x=\"43\"/>".length() + 1,
+				delta.getStoredLength());
+		assertEquals(changed, delta.getXml());
+	}
+
+	@Test
+	public void unchangedStateShouldEqualPrevious() {
+		String[] lines = DeltaAppState.split("<a/>\n<b/>");
+		DeltaAppState first = DeltaAppState.create(lines, null, null);
+		DeltaAppState second = DeltaAppState.create(lines, first, lines);
+		assertTrue(second.isUnchanged());
+		assertTrue(first.equalsTo(second));
+	}
+
+	@Test
+	public void undoShouldRestoreMovedPoint() {
+		UndoRedoTester undoRedo = new UndoRedoTester(getApp());
+		undoRedo.setupUndoRedo();
+		GeoPoint point = add("A = (1, 1)");
+		add("B = 2A");
+		getApp().storeUndoInfo();
+		for (int i = 2; i < 30; i++) {
+			point.setCoords(i, 1, 1);
+			point.updateRepaint();
+			getApp().storeUndoInfo();
+		}
+		for (int i = 28; i >= 1; i--) {
+			point = undoRedo.getAfterUndo("A");
+			assertEquals(i, point.getInhomX(), 0);
+		}
+		point = undoRedo.getAfterRedo("A");
+		assertEquals(2, point.getInhomX(), 0);
+	}
+
+	@Test
+	public void fullStatesShouldBeStoredIfDisabled() {
+		getApp().setUndoDeltaStates(false);
+		UndoRedoTester undoRedo = new UndoRedoTester(getApp());
+		undoRedo.setupUndoRedo();
+		add("A = (1, 1)");
+		getApp().storeUndoInfo();
+		AppState state = getApp().getUndoManager().getCurrentUndoInfo();
+		assertNotNull(state.getXml());
+		assertFalse(state instanceof DeltaAppState);
+	}
+}
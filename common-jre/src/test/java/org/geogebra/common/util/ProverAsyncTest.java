@@ -0,0 +1,108 @@
+package org.geogebra.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoBoolean;
+import org.geogebra.common.kernel.prover.AbstractProverReciosMethod;
+import org.geogebra.common.plugin.Event;
+import org.geogebra.common.plugin.EventListener;
+import org.geogebra.common.plugin.EventType;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProverAsyncTest extends BaseUnitTest {
+
+	private final ArrayList<Event> events = new ArrayList<>();
+	private Prover finished;
+
+	private static class TestProver extends Prover {
+		@Override
+		public void compute() {
+			fireProgress(EventType.PROVER_ENGINE_STARTED, "TEST");
+			result = ProofResult.TRUE;
+		}
+
+		@Override
+		protected ProofResult openGeoProver(ProverEngine pe) {
+			return ProofResult.UNKNOWN;
+		}
+
+		@Override
+		protected AbstractProverReciosMethod getNewReciosProver() {
+			return null;
+		}
+	}
+
+	private final Prover.ProofCallback callback = new Prover.ProofCallback() {
+		@Override
+		public void proofFinished(Prover prover) {
+			finished = prover;
+		}
+	};
+
+	@Before
+	public void listen() {
+		getApp().getEventDispatcher().addEventListener(new EventListener() {
+			@Override
+			public void sendEvent(Event evt) {
+				if (evt.getType().getName().startsWith("prover")) {
+					events.add(evt);
+				}
+			}
+
+			@Override
+			public void reset() {
+				// nothing to reset
+			}
+		});
+	}
+
+	@Test
+	public void resultShouldBeDeliveredWithEvents() {
+		GeoBoolean target = add("b = true");
+		Prover prover = newProver(target);
+
+		prover.computeAsync(callback);
+
+		assertSame(prover, finished);
+		assertEquals(2, events.size());
+		assertEquals(EventType.PROVER_ENGINE_STARTED, events.get(0).getType());
+		assertEquals("TEST", events.get(0).getArgument());
+		assertEquals(EventType.PROVER_FINISHED, events.get(1).getType());
+		assertEquals("TRUE", events.get(1).getArgument());
+		assertSame(target, events.get(1).getTarget());
+	}
+
+	@Test
+	public void cancelledProofShouldNotBeDelivered() {
+		Prover prover = newProver(add("b = true"));
+
+		prover.cancel();
+		prover.computeAsync(callback);
+
+		assertNull(finished);
+		assertEquals(0, events.size());
+	}
+
+	@Test
+	public void proofWithoutTargetShouldSendNoEvents() {
+		Prover prover = newProver(null);
+
+		prover.computeAsync(callback);
+
+		assertSame(prover, finished);
+		assertEquals(0, events.size());
+	}
+
+	private Prover newProver(GeoBoolean target) {
+		Prover prover = new TestProver();
+		prover.setConstruction(getConstruction());
+		prover.setProgressTarget(target);
+		return prover;
+	}
+}
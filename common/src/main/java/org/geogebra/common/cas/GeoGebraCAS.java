@@ -46,6 +46,7 @@ import org.geogebra.common.main.MyError.Errors;
 import org.geogebra.common.main.error.ErrorHelper;
 import org.geogebra.common.plugin.Operation;
 import org.geogebra.common.util.MaxSizeHashMap;
+import org.geogebra.common.util.ResultCache;
 import org.geogebra.common.util.debug.Log;
 
 import com.google.j2objc.annotations.Weak;
@@ -212,6 +213,29 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 		return "?";
 	}
 
+	/**
+	 * Evaluates an expression given in Giac syntax, using the shared result
+	 * cache if there is one. Only for commands whose result does not depend
+	 * on the state of the CAS, like the scripts of the prover.
+	 * @param exp the expression
+	 * @return result string (null possible)
+	 * @throws CASException if there is a timeout or the expression cannot be evaluated
+	 */
+	final public String evaluateCached(String exp) throws CASException {
+		ResultCache cache = ResultCache.getShared();
+		if (cache == null) {
+			return evaluate(exp);
+		}
+		String result = cache.get("giac:" + exp);
+		if (result == null) {
+			result = evaluate(exp);
+			if (!CASgiac.isUndefined(result)) {
+				cache.put("giac:" + exp, result);
+			}
+		}
+		return result;
+	}
+
 	@Override
 	final public String[] getPolynomialCoeffs(final String polyExpr,
 			final String variable) {
@@ -3,6 +3,7 @@ package org.geogebra.common.cas.giac;
 import java.math.BigInteger;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
@@ -614,7 +615,35 @@ public abstract class CASgiac implements CASGenericInterface {
 		final public String functionName;
 		/** definition string */
 		final public String definitionString;
-		private static List<Entry<CustomFunctions, CustomFunctions>> CustomFunctionsDependencies;
+		/**
+		 * Dependencies between the custom functions: all dependencies have to
+		 * be loaded when a custom function is loaded. Built once and never
+		 * changed, the Giac sessions of the pool read it concurrently.
+		 */
+		private static final List<Entry<CustomFunctions, CustomFunctions>> CustomFunctionsDependencies;
+
+		static {
+			ArrayList<Entry<CustomFunctions, CustomFunctions>> dependencies =
+					new ArrayList<>();
+			setDependency(dependencies, IMPLICIT_CURVE_COEFFS, COEFF_MATRIX);
+			setDependency(dependencies, IMPLICIT_CURVE_COEFFS, COEFF_MATRICES);
+			setDependency(dependencies, IMPLICIT_CURVE_COEFFS, FACTOR_SQR_FREE);
+			setDependency(dependencies, GEOM_ELIM, PRIM_POLY);
+			setDependency(dependencies, LOCUS_EQU, IMPLICIT_CURVE_COEFFS);
+			setDependency(dependencies, LOCUS_EQU, GEOM_ELIM);
+			setDependency(dependencies, LOCUS_EQU, JACOBI_PREPARE);
+			setDependency(dependencies, JACOBI_PREPARE, IS_LINEAR);
+			setDependency(dependencies, IS_LINEAR, IS_LINEAR_SUM);
+			setDependency(dependencies, ENVELOPE_EQU, LOCUS_EQU);
+			setDependency(dependencies, ENVELOPE_EQU, JACOBI_PREPARE);
+			setDependency(dependencies, ENVELOPE_EQU, JACOBI_DET);
+			setDependency(dependencies, AFACTOR_ALG_NUM, IRRED);
+			setDependency(dependencies, ABSFACT, AFACTOR_ALG_NUM);
+			setDependency(dependencies, COS_2PI_OVER_N_MINPOLY,
+					FACTOR_SQR_FREE);
+			CustomFunctionsDependencies = Collections
+					.unmodifiableList(dependencies);
+		}
 
 		CustomFunctions(String functionName, String definitionString) {
 			this.functionName = functionName;
@@ -626,35 +655,12 @@ public abstract class CASgiac implements CASGenericInterface {
 			return functionName;
 		}
 
-		private static void setDependency(CustomFunctions cf1,
-				CustomFunctions cf2) {
+		private static void setDependency(
+				List<Entry<CustomFunctions, CustomFunctions>> dependencies,
+				CustomFunctions cf1, CustomFunctions cf2) {
 			Entry<CustomFunctions, CustomFunctions> pair = new SimpleEntry<>(
 					cf1, cf2);
-			CustomFunctionsDependencies.add(pair);
-		}
-
-		/**
-		 * Create dependencies between two CAS custom functions. This is
-		 * required to ensure that all dependencies will be loaded when a custom
-		 * function is loaded.
-		 */
-		public static void setDependencies() {
-			CustomFunctionsDependencies = new ArrayList<>();
-			setDependency(IMPLICIT_CURVE_COEFFS, COEFF_MATRIX);
-			setDependency(IMPLICIT_CURVE_COEFFS, COEFF_MATRICES);
-			setDependency(IMPLICIT_CURVE_COEFFS, FACTOR_SQR_FREE);
-			setDependency(GEOM_ELIM, PRIM_POLY);
-			setDependency(LOCUS_EQU, IMPLICIT_CURVE_COEFFS);
-			setDependency(LOCUS_EQU, GEOM_ELIM);
-			setDependency(LOCUS_EQU, JACOBI_PREPARE);
-			setDependency(JACOBI_PREPARE, IS_LINEAR);
-			setDependency(IS_LINEAR, IS_LINEAR_SUM);
-			setDependency(ENVELOPE_EQU, LOCUS_EQU);
-			setDependency(ENVELOPE_EQU, JACOBI_PREPARE);
-			setDependency(ENVELOPE_EQU, JACOBI_DET);
-			setDependency(AFACTOR_ALG_NUM, IRRED);
-			setDependency(ABSFACT, AFACTOR_ALG_NUM);
-			setDependency(COS_2PI_OVER_N_MINPOLY, FACTOR_SQR_FREE);
+			dependencies.add(pair);
 		}
 
 		/**
@@ -690,7 +696,6 @@ public abstract class CASgiac implements CASGenericInterface {
 	 */
 	public long timeoutMillis = 5000;
 	final private static String EVALFA = "evalfa(";
-	private StringBuilder expSB = new StringBuilder(EVALFA);
 
 	// eg {(ggbtmpvarx>(-sqrt(110)/5)) && ((sqrt(110)/5)>ggbtmpvarx)}
 	// eg {(ggbtmpvarx>=(-sqrt(110)/5)) && ((sqrt(110)/5)>=ggbtmpvarx)}
@@ -1686,7 +1691,10 @@ public abstract class CASgiac implements CASGenericInterface {
 	 * @return "evalfa(" + s + ")"
 	 */
 	protected String wrapInevalfa(String s) {
-		expSB.setLength(EVALFA.length());
+		// not a field: the sessions of the pool call this concurrently
+		StringBuilder expSB = new StringBuilder(
+				EVALFA.length() + s.length() + 1);
+		expSB.append(EVALFA);
 		expSB.append(s);
 		expSB.append(")");
 
@@ -58,10 +58,21 @@ public abstract class CASgiacB extends CASgiac {
      * @return String from Giac
      */
     final String evalRaw(String exp0, long timeoutMilliseconds) {
+        return evalRaw(exp0, timeoutMilliseconds, context);
+    }
+
+    /**
+     * @param exp0                String to send to Giac
+     * @param timeoutMilliseconds timeout in milliseconds
+     * @param context             Giac context to use
+     * @return String from Giac
+     */
+    protected final String evalRaw(String exp0, long timeoutMilliseconds,
+            Context context) {
         CASGiacBinding binding = createBinding();
         // #5439
         // reset Giac before each call
-        init(exp0, timeoutMilliseconds);
+        init(exp0, timeoutMilliseconds, context);
 
         String exp = wrapInevalfa(exp0);
 
@@ -91,13 +102,12 @@ public abstract class CASgiacB extends CASgiac {
 
 	}
 
-	private void init(String exp, long timeoutMilliseconds) {
+	private void init(String exp, long timeoutMilliseconds, Context context) {
         CASGiacBinding binding = createBinding();
         Gen g = binding.createGen(initString, context);
         g.eval(1, context);
 
         CustomFunctions[] init = CustomFunctions.values();
-		CustomFunctions.setDependencies();
 
         for (int i = 0; i < init.length; i++) {
             CustomFunctions function = init[i];
@@ -165,16 +175,28 @@ public abstract class CASgiacB extends CASgiac {
 
         callEvaluateFunction(evalFunction);
 
-        String ret = postProcess(threadResult);
+        return postProcessResult(threadResult);
+    }
 
-        // Log.debug("giac output: " + ret);
-        if (ret.contains("user interruption")) {
-            Log.debug("Standard timeout from Giac");
-            throw new TimeoutException("Standard timeout from Giac");
-        }
+	/**
+	 * @param result
+	 *            raw result from Giac
+	 * @return result in Giac syntax
+	 * @throws TimeoutException
+	 *             if Giac stopped the computation
+	 */
+	protected final String postProcessResult(String result)
+			throws TimeoutException {
+		String ret = postProcess(result);
 
-        return ret;
-    }
+		// Log.debug("giac output: " + ret);
+		if (ret.contains("user interruption")) {
+			Log.debug("Standard timeout from Giac");
+			throw new TimeoutException("Standard timeout from Giac");
+		}
+
+		return ret;
+	}
 
 	/**
 	 * @param evaluateFunction
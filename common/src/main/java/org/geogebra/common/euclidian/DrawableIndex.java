@@ -0,0 +1,233 @@
+package org.geogebra.common.euclidian;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.geogebra.common.awt.GRectangle;
+import org.geogebra.common.euclidian.draw.DrawPoint;
+import org.geogebra.common.euclidian.draw.DrawSegment;
+
+/**
+ * Uniform grid over the screen bounds of the points and segments of a view,
+ * so that hit testing does not need to check every drawable. Other drawables
+ * and the ones without bounds are checked at every query.
+ * <p>
+ * The grid is rebuilt on the first query after the drawable list changed
+ * (see {@link DrawableList#getVersion()}); queries return the candidates in
+ * the order of the drawable list.
+ */
+public class DrawableIndex {
+
+	/** width and height of a cell in pixels */
+	private static final int CELL_SIZE = 32;
+	/** drawables covering more cells are checked at every query */
+	private static final int MAX_CELLS = 64;
+	/** smaller lists are not indexed */
+	private static final int MIN_SIZE = 100;
+	/**
+	 * extra pixels around the queries, to compensate rounding of the bounds
+	 */
+	private static final int MARGIN = 2;
+
+	private DrawableList list;
+	private int version;
+	private int width;
+	private int height;
+	private int columns;
+	private int rows;
+
+	private Drawable[] drawables;
+	/** items of cell i are cellItems[cellStart[i] .. cellStart[i+1]-1] */
+	private int[] cellStart;
+	private int[] cellItems;
+	/** drawables checked at every query */
+	private int[] always;
+	private int alwaysCount;
+
+	private int[] seen;
+	private int stamp = 0;
+	private int[] found = new int[16];
+	private final ArrayList<Drawable> candidates = new ArrayList<>();
+
+	/**
+	 * Drawables that may be hit at the given position.
+	 *
+	 * @param view
+	 *            view
+	 * @param x
+	 *            screen x-coord
+	 * @param y
+	 *            screen y-coord
+	 * @param hitThreshold
+	 *            hit threshold
+	 * @return drawables that may be hit, the list is reused by the next query
+	 */
+	public List<Drawable> getCandidates(EuclidianView view, int x, int y,
+			int hitThreshold) {
+		// points are hit within their size or a bit more than the threshold
+		int pad = 2 * hitThreshold + MARGIN;
+		return getCandidates(view, x - pad, y - pad, x + pad, y + pad);
+	}
+
+	/**
+	 * Drawables that may intersect the given rectangle.
+	 *
+	 * @param view
+	 *            view
+	 * @param rect
+	 *            rectangle in screen coordinates
+	 * @return drawables that may intersect the rectangle, the list is reused
+	 *         by the next query
+	 */
+	public List<Drawable> getCandidates(EuclidianView view, GRectangle rect) {
+		return getCandidates(view, rect.getX() - MARGIN, rect.getY() - MARGIN,
+				rect.getX() + rect.getWidth() + MARGIN,
+				rect.getY() + rect.getHeight() + MARGIN);
+	}
+
+	private List<Drawable> getCandidates(EuclidianView view, double minX,
+			double minY, double maxX, double maxY) {
+		DrawableList all = view.getAllDrawableList();
+		if (all.size() < MIN_SIZE || view.getWidth() <= 0
+				|| view.getHeight() <= 0) {
+			return all;
+		}
+		if (all != list || all.getVersion() != version
+				|| view.getWidth() != width || view.getHeight() != height) {
+			build(all, view.getWidth(), view.getHeight());
+		}
+
+		stamp++;
+		int count = 0;
+		for (int i = 0; i < alwaysCount; i++) {
+			count = addFound(always[i], count);
+		}
+		int col0 = column(minX);
+		int col1 = column(maxX);
+		int row0 = row(minY);
+		int row1 = row(maxY);
+		for (int row = row0; row <= row1; row++) {
+			for (int col = col0; col <= col1; col++) {
+				int cell = row * columns + col;
+				for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+					count = addFound(cellItems[i], count);
+				}
+			}
+		}
+
+		// keep the order of the drawable list
+		Arrays.sort(found, 0, count);
+		candidates.clear();
+		for (int i = 0; i < count; i++) {
+			candidates.add(drawables[found[i]]);
+		}
+		return candidates;
+	}
+
+	private int addFound(int item, int count) {
+		if (seen[item] == stamp) {
+			return count;
+		}
+		seen[item] = stamp;
+		if (count == found.length) {
+			found = Arrays.copyOf(found, 2 * count);
+		}
+		found[count] = item;
+		return count + 1;
+	}
+
+	private int column(double x) {
+		return clamp((int) Math.floor(x / CELL_SIZE), columns);
+	}
+
+	private int row(double y) {
+		return clamp((int) Math.floor(y / CELL_SIZE), rows);
+	}
+
+	private static int clamp(int cell, int size) {
+		return Math.max(0, Math.min(size - 1, cell));
+	}
+
+	private void build(DrawableList all, int viewWidth, int viewHeight) {
+		list = all;
+		version = all.getVersion();
+		width = viewWidth;
+		height = viewHeight;
+		columns = (width + CELL_SIZE - 1) / CELL_SIZE;
+		rows = (height + CELL_SIZE - 1) / CELL_SIZE;
+
+		int n = all.size();
+		drawables = all.toArray(new Drawable[n]);
+		seen = new int[n];
+		stamp = 0;
+		always = new int[n];
+		alwaysCount = 0;
+		// cell range of each indexed drawable: col0, col1, row0, row1
+		int[] ranges = new int[4 * n];
+		int[] counts = new int[columns * rows + 1];
+		for (int i = 0; i < n; i++) {
+			GRectangle bounds = getBounds(drawables[i]);
+			if (bounds == null) {
+				always[alwaysCount++] = i;
+				ranges[4 * i] = -1;
+				continue;
+			}
+			int col0 = column(bounds.getX());
+			int col1 = column(bounds.getX() + bounds.getWidth());
+			int row0 = row(bounds.getY());
+			int row1 = row(bounds.getY() + bounds.getHeight());
+			if ((col1 - col0 + 1) * (row1 - row0 + 1) > MAX_CELLS) {
+				always[alwaysCount++] = i;
+				ranges[4 * i] = -1;
+				continue;
+			}
+			ranges[4 * i] = col0;
+			ranges[4 * i + 1] = col1;
+			ranges[4 * i + 2] = row0;
+			ranges[4 * i + 3] = row1;
+			for (int row = row0; row <= row1; row++) {
+				for (int col = col0; col <= col1; col++) {
+					counts[row * columns + col + 1]++;
+				}
+			}
+		}
+
+		cellStart = new int[columns * rows + 1];
+		for (int cell = 0; cell < columns * rows; cell++) {
+			cellStart[cell + 1] = cellStart[cell] + counts[cell + 1];
+		}
+		cellItems = new int[cellStart[columns * rows]];
+		int[] next = Arrays.copyOf(cellStart, columns * rows);
+		for (int i = 0; i < n; i++) {
+			if (ranges[4 * i] < 0) {
+				continue;
+			}
+			for (int row = ranges[4 * i + 2]; row <= ranges[4 * i + 3]; row++) {
+				for (int col = ranges[4 * i]; col <= ranges[4 * i + 1]; col++) {
+					cellItems[next[row * columns + col]++] = i;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return bounds of the drawable including its label, null if it has to
+	 *         be checked at every query
+	 */
+	private static GRectangle getBounds(Drawable d) {
+		// bounds of other drawables may be smaller than their hit area
+		if (!(d instanceof DrawPoint || d instanceof DrawSegment)) {
+			return null;
+		}
+		GRectangle bounds = d.getBounds();
+		if (bounds == null) {
+			return null;
+		}
+		if (d.labelRectangle.getWidth() > 0
+				&& d.labelRectangle.getHeight() > 0) {
+			return bounds.union(d.labelRectangle);
+		}
+		return bounds;
+	}
+}
@@ -27,6 +27,10 @@ import org.geogebra.common.kernel.geos.GeoPriorityComparator;
 public class DrawableList extends ArrayList<Drawable> {
 
 	private Comparator<Drawable> comparator;
+	/** changed whenever the drawables or their bounds may have changed */
+	private int version = 0;
+	/** labels are positioned when drawn, so the bounds change again then */
+	private boolean drawPending = false;
 
 	/**
 	 * Create a DrawableList with the given GeoPriorityComparator
@@ -52,9 +56,45 @@ public class DrawableList extends ArrayList<Drawable> {
 		}
 
 		add(i, d);
+		invalidate();
 		return true;
 	}
 
+	@Override
+	public boolean remove(Object d) {
+		invalidate();
+		return super.remove(d);
+	}
+
+	@Override
+	public Drawable remove(int index) {
+		invalidate();
+		return super.remove(index);
+	}
+
+	@Override
+	public void clear() {
+		invalidate();
+		super.clear();
+	}
+
+	/**
+	 * Marks the bounds of the drawables as changed, e.g. after a drawable was
+	 * updated.
+	 */
+	public void invalidate() {
+		version++;
+		drawPending = true;
+	}
+
+	/**
+	 * @return number that changes whenever the drawables or their bounds may
+	 *         have changed
+	 */
+	public int getVersion() {
+		return version;
+	}
+
 	/**
 	 * Draws all drawables in the list.
 	 * 
@@ -67,10 +107,17 @@ public class DrawableList extends ArrayList<Drawable> {
 			if (geo.isDefined()
 					&& !(geo.isGeoList() && ((GeoList) geo).drawAsComboBox())
 					&& !geo.isGeoInputBox() && !geo.isMask()) {
+				if (d.needsUpdate()) {
+					invalidate();
+				}
 				d.updateIfNeeded();
 				d.draw(g2);
 			}
 		}
+		if (drawPending) {
+			drawPending = false;
+			version++;
+		}
 	}
 
 	/**
@@ -80,9 +127,11 @@ public class DrawableList extends ArrayList<Drawable> {
 		for (Drawable d : this) {
 			d.update();
 		}
+		invalidate();
 	}
 
 	public void sort() {
 		Collections.sort(this, comparator);
+		invalidate();
 	}
 }
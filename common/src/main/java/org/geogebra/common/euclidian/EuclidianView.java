@@ -1785,6 +1785,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		for (Drawable d : allDrawableList) {
 			d.updateForView();
 		}
+		allDrawableList.invalidate();
 		for (Drawable d : bgImageList) {
 			d.updateForView();
 		}
@@ -1971,6 +1972,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 				d.setNeedsUpdate(true);
 			} else {
 				d.update();
+				allDrawableList.invalidate();
 			}
 			if (geo == app.getSelectionManager().getFocusedGroupElement()
 					&& focusedGroupGeoBoundingBox != null) {
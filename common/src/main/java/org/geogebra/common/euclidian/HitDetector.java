@@ -21,6 +21,7 @@ public class HitDetector {
 	@Weak
 	private final EuclidianView view;
 	private Hits hits;
+	private final DrawableIndex index = new DrawableIndex();
 
 	public HitDetector(EuclidianView view) {
 		this.view = view;
@@ -42,7 +43,7 @@ public class HitDetector {
 		}
 		boolean hitMask = false;
 
-		for (Drawable d : view.getAllDrawableList()) {
+		for (Drawable d : index.getCandidates(view, p.x, p.y, hitThreshold)) {
 			if (d.isEuclidianVisible()) {
 				if (d.hit(p.x, p.y, hitThreshold)) {
 					GeoElement geo = d.getGeoElement();
@@ -170,7 +171,7 @@ public class HitDetector {
 			return;
 		}
 
-		for (Drawable d : view.getAllDrawableList()) {
+		for (Drawable d : index.getCandidates(view, rect)) {
 			GeoElement geo = d.getGeoElement();
 			if (geo.isEuclidianVisible() && geo.isSelectionAllowed(view)
 					&& filter.check(geo) && !hits.contains(geo)
@@ -201,7 +202,7 @@ public class HitDetector {
 			return;
 		}
 
-		for (Drawable d : view.getAllDrawableList()) {
+		for (Drawable d : index.getCandidates(view, rect)) {
 			GeoElement geo = d.getGeoElement();
 			if (geo.isEuclidianVisible() && d.isInside(rect)) {
 				hits.add(geo);
@@ -25,7 +25,9 @@ import org.geogebra.common.euclidian.plot.CurvePlotterUtils;
 import org.geogebra.common.euclidian.plot.GeneralPathClippedForCurvePlotter;
 import org.geogebra.common.factories.AwtFactory;
 import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.PackedPointList;
 import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.geos.GeoLocus;
 import org.geogebra.common.kernel.geos.GeoLocusND;
 import org.geogebra.common.kernel.geos.GeoLocusStroke;
 import org.geogebra.common.kernel.geos.Traceable;
@@ -97,7 +99,7 @@ public class DrawLocus extends Drawable {
 			}
 		}
 
-		buildGeneralPath(locus.getPoints());
+		buildGeneralPath();
 
 		// line on screen?
 		if (!geo.isInverseFill() && !view.intersects(gp)) {
@@ -190,13 +192,21 @@ public class DrawLocus extends Drawable {
 				(int) bounds.getHeight() + 2 * BITMAP_PADDING, g2p);
 	}
 
-	private void buildGeneralPath(ArrayList<? extends MyPoint> pointList) {
+	private void buildGeneralPath() {
 		if (gp == null) {
 			gp = new GeneralPathClippedForCurvePlotter(view);
 		}
 		gp.resetWithThickness(geo.getLineThickness());
+		PackedPointList packedPoints = locus instanceof GeoLocus
+				? ((GeoLocus) locus).getPackedPoints() : null;
 		// Use the last plotted point for positioning the label:
-		labelPosition = CurvePlotterUtils.draw(gp, pointList, transformSys);
+		if (packedPoints != null) {
+			labelPosition = CurvePlotterUtils.draw(gp, packedPoints,
+					transformSys);
+		} else {
+			labelPosition = CurvePlotterUtils.draw(gp, locus.getPoints(),
+					transformSys);
+		}
 		/*
 		 * Due to numerical instability of the curve plotter algorithm this
 		 * position may be changing too quickly which results in an annoying
@@ -204,10 +214,10 @@ public class DrawLocus extends Drawable {
 		 * bottom-left position of the curve, that is, for which the sum of
 		 * coordinates is minimal.
 		 */
-		int plSize = pointList.size();
+		int plSize = locus.getPointLength();
 		for (int i = 0; i < plSize; ++i) {
-			double px = ((MyPoint) pointList.get(i)).x;
-			double py = ((MyPoint) pointList.get(i)).y;
+			double px = locus.getPointX(i);
+			double py = locus.getPointY(i);
 			if (px + py < labelPosition[0] + labelPosition[1]) {
 				labelPosition[0] = px;
 				labelPosition[1] = py;
@@ -339,20 +349,21 @@ public class DrawLocus extends Drawable {
 	@Override
 	public ArrayList<GPoint2D> toPoints() {
 		ArrayList<GPoint2D> points = new ArrayList<>();
-		for (MyPoint pt : locus.getPoints()) {
-			points.add(
-					new MyPoint(view.toScreenCoordXd(pt.getX()), view.toScreenCoordYd(pt.getY())));
+		int size = locus.getPointLength();
+		for (int i = 0; i < size; i++) {
+			points.add(new MyPoint(view.toScreenCoordXd(locus.getPointX(i)),
+					view.toScreenCoordYd(locus.getPointY(i))));
 		}
 		return points;
 	}
 
 	@Override
 	public void fromPoints(ArrayList<GPoint2D> points) {
-		int i = 0;
-		for (MyPoint pt : locus.getPoints()) {
-			pt.setLocation(view.toRealWorldCoordX(points.get(i).getX()),
+		int size = locus.getPointLength();
+		for (int i = 0; i < size; i++) {
+			locus.setPointLocation(i,
+					view.toRealWorldCoordX(points.get(i).getX()),
 					view.toRealWorldCoordY(points.get(i).getY()));
-			i++;
 		}
 		if (locus instanceof GeoLocusStroke) {
 			((GeoLocusStroke) locus).resetXMLPointBuilder();
@@ -2,6 +2,7 @@ package org.geogebra.common.euclidian.plot;
 
 import org.geogebra.common.awt.GPoint;
 import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.kernel.geos.GeoFunction;
 import org.geogebra.common.kernel.kernelND.CurveEvaluable;
 
 /**
@@ -35,8 +36,12 @@ public class CurvePlotter {
 		// ensure MIN_PLOT_POINTS
 		double minSamplePoints = Math.max(MIN_SAMPLE_POINTS, view.getWidth() / 6);
 		double maxParamStep = Math.abs(tMax - tMin) / minSamplePoints;
+		// functions are sampled many times, evaluate them without the
+		// expression tree
+		CurveEvaluable toPlot = curve instanceof GeoFunction
+				? ((GeoFunction) curve).getCompiledCurve() : curve;
 		// plot Interval [tMin, tMax]
-		curveSegmentPlotter = new CurveSegmentPlotter(curve, tMin, tMax, 0,
+		curveSegmentPlotter = new CurveSegmentPlotter(toPlot, tMin, tMax, 0,
 				maxParamStep, view,	gp, calcLabelPos, moveToAllowed);
 
 		if (moveToAllowed == Gap.CORNER) {
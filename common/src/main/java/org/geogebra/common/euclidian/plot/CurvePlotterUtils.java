@@ -4,6 +4,7 @@ import java.util.ArrayList;
 
 import org.apache.commons.math3.util.Cloner;
 import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.PackedPointList;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.matrix.CoordSys;
 
@@ -26,12 +27,60 @@ public class CurvePlotterUtils {
 		if (!gp.supports(transformSys) || size == 0) {
 			return coords;
 		}
+		PointsDrawer drawer = new PointsDrawer(gp, coords, transformSys);
+		for (MyPoint p : pointList) {
+			drawer.add(p);
+		}
+		drawer.end();
+		return coords;
+	}
+
+	/**
+	 * draw list of points stored in arrays
+	 *
+	 * @param gp
+	 *            path plotter that actually draws the points list
+	 * @param points
+	 *            list of points
+	 * @param transformSys
+	 *            coordinte system to be applied on 2D points
+	 * @return last point drawn
+	 */
+	static public double[] draw(PathPlotter gp, PackedPointList points,
+			CoordSys transformSys) {
+		double[] coords = gp.newDoubleArray();
+		int size = points.size();
+		if (!gp.supports(transformSys) || size == 0) {
+			return coords;
+		}
+		PointsDrawer drawer = new PointsDrawer(gp, coords, transformSys);
+		// one point object for all the points
+		MyPoint p = new MyPoint();
+		for (int i = 0; i < size; i++) {
+			points.copyTo(i, p);
+			drawer.add(p);
+		}
+		drawer.end();
+		return coords;
+	}
+
+	private static class PointsDrawer {
+		private final PathPlotter gp;
+		private final double[] coords;
+		private final CoordSys transformSys;
 		// this is for making sure that there is no lineto from nothing
 		// and there is no lineto if there is an infinite point between the
 		// points
-		boolean linetofirst = true;
-		double[] lastMove = null;
-		for (MyPoint p : pointList) {
+		private boolean linetofirst = true;
+		private double[] lastMove = null;
+
+		PointsDrawer(PathPlotter gp, double[] coords, CoordSys transformSys) {
+			this.gp = gp;
+			this.coords = coords;
+			this.transformSys = transformSys;
+		}
+
+		void add(MyPoint p) {
 			// don't add infinite points
 			// otherwise hit-testing doesn't work
 			if (p.isFinite() && gp.copyCoords(p, coords, transformSys)) {
@@ -49,13 +98,14 @@ public class CurvePlotterUtils {
 				linetofirst = true;
 			}
 		}
-		if (lastMove != null) {
-			gp.lineTo(lastMove);
-		}
 
-		gp.endPlot();
+		void end() {
+			if (lastMove != null) {
+				gp.lineTo(lastMove);
+			}
 
-		return coords;
+			gp.endPlot();
+		}
 	}
 
 	private static double[] moveTo(PathPlotter gp, double[] coords,
@@ -4866,9 +4866,7 @@ public abstract class EuclidianView3D extends EuclidianView
 			public void run() {
 				ExportToPrinter3D exportToPrinter = new ExportToPrinter3D(EuclidianView3D.this,
 						renderer.getGeometryManager());
-				StringBuilder export = exportToPrinter.export(format);
-				getApplication().exportStringToFile(format.getExtension(),
-						export.toString());
+				exportToPrinter.exportToFile(format, getApplication());
 			}
 		});
 	}
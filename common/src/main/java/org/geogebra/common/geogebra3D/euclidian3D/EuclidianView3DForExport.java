@@ -1,5 +1,8 @@
 package org.geogebra.common.geogebra3D.euclidian3D;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 import org.geogebra.common.awt.GDimension;
 import org.geogebra.common.awt.GFont;
 import org.geogebra.common.awt.GGraphics2D;
@@ -172,6 +175,62 @@ public class EuclidianView3DForExport extends EuclidianView3D {
 	 */
 	public StringBuilder export3D(final Format format,
 			final Export3dDialogInterface dialog) {
+		if (!prepareExport3D(format, dialog)) {
+			return null;
+		}
+		ExportToPrinter3D exportToPrinter = new ExportToPrinter3D(this,
+				renderer.getGeometryManager());
+		return exportToPrinter.export(format);
+	}
+
+	/**
+	 * Writes the export to a stream, binary formats are streamed while
+	 * exporting.
+	 * 
+	 * @param format
+	 *            3D format
+	 * @param out
+	 *            output stream
+	 * @return false if nothing was written since the export is not possible
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public boolean export3DToStream(Format format, OutputStream out)
+			throws IOException {
+		if (!prepareExport3D(format, null)) {
+			return false;
+		}
+		ExportToPrinter3D exportToPrinter = new ExportToPrinter3D(this,
+				renderer.getGeometryManager());
+		exportToPrinter.export(format, out);
+		return true;
+	}
+
+	/**
+	 * Exports to a file chosen by the user, binary formats are streamed
+	 * while exporting.
+	 * 
+	 * @param format
+	 *            3D format
+	 */
+	public void export3DToFile(Format format) {
+		if (!prepareExport3D(format, null)) {
+			return;
+		}
+		ExportToPrinter3D exportToPrinter = new ExportToPrinter3D(this,
+				renderer.getGeometryManager());
+		exportToPrinter.exportToFile(format, getApplication());
+	}
+
+	/**
+	 * @param format
+	 *            3D format
+	 * @param dialog
+	 *            settings dialog
+	 * @return false if the dialog takes care of the export
+	 */
+	private boolean prepareExport3D(final Format format,
+			final Export3dDialogInterface dialog) {
 		settingsChanged(getSettings());
 		useSpecificThickness = false;
 		updateScene();
@@ -224,22 +283,18 @@ public class EuclidianView3DForExport extends EuclidianView3D {
 											renderer.getGeometryManager());
 									getApplication().getKernel().detach(
 											EuclidianView3DForExport.this);
-									getApplication().exportStringToFile(
-											format.getExtension(),
-											exportToPrinter.export(format)
-													.toString());
+									exportToPrinter.exportToFile(format,
+											getApplication());
 								}
 							});
-					return null;
+					return false;
 				}
 				setThicknessAndScale(format, thickness, scale, true);
 			} else {
 				format.setScale(10); // default value: 1unit = 10mm
 			}
 		}
-		ExportToPrinter3D exportToPrinter = new ExportToPrinter3D(this,
-				renderer.getGeometryManager());
-		return exportToPrinter.export(format);
+		return true;
 	}
 
 	/**
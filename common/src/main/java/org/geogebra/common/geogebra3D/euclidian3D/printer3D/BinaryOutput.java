@@ -0,0 +1,109 @@
+package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Buffered little-endian output for binary formats. Format callbacks cannot
+ * throw, so the first write error is kept and thrown by {@link #flush()}.
+ */
+public class BinaryOutput {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final OutputStream out;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int position;
+	private long length;
+	private IOException error;
+
+	/**
+	 * @param out
+	 *            stream to write to
+	 */
+	public BinaryOutput(OutputStream out) {
+		this.out = out;
+	}
+
+	/**
+	 * @param value
+	 *            byte to write
+	 */
+	public void writeByte(int value) {
+		if (position == BUFFER_SIZE) {
+			writeBuffer();
+		}
+		buffer[position++] = (byte) value;
+		length++;
+	}
+
+	/**
+	 * @param value
+	 *            16 bit integer to write
+	 */
+	public void writeShort(int value) {
+		writeByte(value);
+		writeByte(value >> 8);
+	}
+
+	/**
+	 * @param value
+	 *            32 bit integer to write
+	 */
+	public void writeInt(int value) {
+		writeByte(value);
+		writeByte(value >> 8);
+		writeByte(value >> 16);
+		writeByte(value >> 24);
+	}
+
+	/**
+	 * @param value
+	 *            value to write as 32 bit float
+	 */
+	public void writeFloat(double value) {
+		writeInt(Float.floatToIntBits((float) value));
+	}
+
+	/**
+	 * @param bytes
+	 *            bytes to write
+	 */
+	public void writeBytes(byte[] bytes) {
+		for (byte b : bytes) {
+			writeByte(b);
+		}
+	}
+
+	/**
+	 * @return number of bytes written so far
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	private void writeBuffer() {
+		if (error == null) {
+			try {
+				out.write(buffer, 0, position);
+			} catch (IOException e) {
+				error = e;
+			}
+		}
+		position = 0;
+	}
+
+	/**
+	 * Writes the buffered bytes to the stream.
+	 * 
+	 * @throws IOException
+	 *             if any write failed
+	 */
+	public void flush() throws IOException {
+		writeBuffer();
+		if (error != null) {
+			throw error;
+		}
+		out.flush();
+	}
+}
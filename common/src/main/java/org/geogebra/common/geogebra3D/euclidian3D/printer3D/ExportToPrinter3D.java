@@ -1,5 +1,7 @@
 package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.TreeSet;
 
@@ -22,6 +24,9 @@ import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoPolygon;
 import org.geogebra.common.kernel.kernelND.GeoQuadricNDConstants;
 import org.geogebra.common.kernel.matrix.Coords;
+import org.geogebra.common.main.App;
+import org.geogebra.common.util.BinaryExport;
+import org.geogebra.common.util.Charsets;
 
 /**
  * Export to 3D printer
@@ -897,6 +902,60 @@ public class ExportToPrinter3D {
 		return sb;
 	}
 
+	/**
+	 * Writes the export to a stream. Binary formats are written while
+	 * exporting, without keeping the whole file in memory.
+	 * 
+	 * @param format1
+	 *            export format
+	 * @param out
+	 *            output stream
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	public void export(Format format1, OutputStream out) throws IOException {
+		if (!(format1 instanceof FormatBinary)) {
+			out.write(export(format1).toString().getBytes(Charsets.getUtf8()));
+			out.flush();
+			return;
+		}
+		FormatBinary binary = (FormatBinary) format1;
+		BinaryOutput output = new BinaryOutput(out);
+		try {
+			// first pass counts what the headers need
+			binary.setOutput(null);
+			export(format1);
+			binary.setOutput(output);
+			export(format1);
+		} finally {
+			binary.setOutput(null);
+		}
+		output.flush();
+	}
+
+	/**
+	 * Exports to a file chosen by the user. Binary formats are written to
+	 * the file while exporting.
+	 * 
+	 * @param format1
+	 *            export format
+	 * @param app
+	 *            application
+	 */
+	public void exportToFile(final Format format1, App app) {
+		if (format1 instanceof FormatBinary) {
+			app.exportBinaryToFile(format1.getExtension(), new BinaryExport() {
+				@Override
+				public void writeTo(OutputStream out) throws IOException {
+					export(format1, out);
+				}
+			});
+		} else {
+			app.exportStringToFile(format1.getExtension(),
+					export(format1).toString());
+		}
+	}
+
 	private void initSegmentsForThickness() {
 		if (segmentsForThickness == null) {
 			segmentsForThickness = new TreeSet<>();
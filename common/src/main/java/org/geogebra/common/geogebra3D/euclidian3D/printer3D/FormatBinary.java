@@ -0,0 +1,15 @@
+package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
+
+/**
+ * Format writing binary data to a stream instead of the string builder. The
+ * export is run twice: first without output to count what the headers need,
+ * then with the output.
+ */
+public interface FormatBinary {
+
+	/**
+	 * @param output
+	 *            output for the next export, null to only count
+	 */
+	void setOutput(BinaryOutput output);
+}
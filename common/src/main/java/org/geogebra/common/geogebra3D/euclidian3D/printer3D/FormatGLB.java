@@ -0,0 +1,529 @@
+package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.geogebra.common.awt.GColor;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.move.ggtapi.models.json.JSONException;
+import org.geogebra.common.move.ggtapi.models.json.JSONStringer;
+import org.geogebra.common.util.Charsets;
+
+/**
+ * Binary glTF 2.0 format (GLB). The first pass collects the sizes of all
+ * meshes for the JSON chunk, the second one streams the binary chunk.
+ */
+public class FormatGLB extends Format implements FormatBinary {
+
+	private static final int MAGIC = 0x46546C67;
+	private static final int VERSION = 2;
+	private static final int CHUNK_JSON = 0x4E4F534A;
+	private static final int CHUNK_BIN = 0x004E4942;
+	private static final int ARRAY_BUFFER = 34962;
+	private static final int ELEMENT_ARRAY_BUFFER = 34963;
+	private static final int FLOAT = 5126;
+	private static final int UNSIGNED_INT = 5125;
+	/** rotates the z-up view to the y-up glTF axes */
+	private static final double[] Z_UP_ROTATION = { -Math.sqrt(0.5), 0, 0,
+			Math.sqrt(0.5) };
+
+	private BinaryOutput output;
+	private final ArrayList<Mesh> meshes = new ArrayList<>();
+	private final ArrayList<GColor> materials = new ArrayList<>();
+	private final HashMap<GColor, Integer> materialIndices = new HashMap<>();
+	private final HashMap<String, Integer> labels = new HashMap<>();
+	private int meshIndex;
+	private Mesh mesh;
+	private long bufferLength;
+	private int normalsCount;
+	private double lastNormalX;
+	private double lastNormalY;
+	private double lastNormalZ;
+
+	private static class Mesh {
+		private final String name;
+		private final int material;
+		private int verticesCount;
+		private boolean hasNormals;
+		private int indicesCount;
+		private long positionsOffset;
+		private long normalsOffset;
+		private long indicesOffset;
+		private final double[] min = { Double.POSITIVE_INFINITY,
+				Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY };
+		private final double[] max = { Double.NEGATIVE_INFINITY,
+				Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY };
+
+		Mesh(String name, int material) {
+			this.name = name;
+			this.material = material;
+		}
+
+		void addVertex(double x, double y, double z) {
+			addToBounds(0, x);
+			addToBounds(1, y);
+			addToBounds(2, z);
+			verticesCount++;
+		}
+
+		private void addToBounds(int i, double value) {
+			// compare as written, with float precision
+			double v = (float) value;
+			if (v < min[i]) {
+				min[i] = v;
+			}
+			if (v > max[i]) {
+				max[i] = v;
+			}
+		}
+
+		boolean isEmpty() {
+			return verticesCount == 0 || indicesCount == 0;
+		}
+	}
+
+	@Override
+	public void setOutput(BinaryOutput output) {
+		this.output = output;
+	}
+
+	private boolean isCounting() {
+		return output == null;
+	}
+
+	@Override
+	public String getExtension() {
+		return "glb";
+	}
+
+	@Override
+	public void getScriptStart(StringBuilder sb) {
+		meshIndex = 0;
+		if (isCounting()) {
+			meshes.clear();
+			materials.clear();
+			materialIndices.clear();
+			labels.clear();
+			bufferLength = 0;
+			return;
+		}
+		byte[] json = getJson().getBytes(Charsets.getUtf8());
+		int jsonLength = (json.length + 3) / 4 * 4;
+		long length = 12 + 8 + jsonLength;
+		if (bufferLength > 0) {
+			length += 8 + bufferLength;
+		}
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		output.writeInt((int) length);
+		output.writeInt(jsonLength);
+		output.writeInt(CHUNK_JSON);
+		output.writeBytes(json);
+		for (int i = json.length; i < jsonLength; i++) {
+			output.writeByte(' ');
+		}
+		if (bufferLength > 0) {
+			output.writeInt((int) bufferLength);
+			output.writeInt(CHUNK_BIN);
+		}
+	}
+
+	@Override
+	public void getScriptEnd(StringBuilder sb) {
+		// binary chunk is already complete, all sections have 4 bytes values
+	}
+
+	private String getJson() {
+		try {
+			JSONStringer json = new JSONStringer();
+			json.object();
+			json.key("asset").object().key("version").value("2.0")
+					.key("generator").value("GeoGebra").endObject();
+			json.key("scene").value(0);
+			json.key("scenes").array().object().key("nodes").array().value(0)
+					.endArray().endObject().endArray();
+			int count = getMeshesCount();
+			appendNodes(json, count);
+			if (count > 0) {
+				appendMeshes(json);
+				appendMaterials(json);
+				appendAccessors(json);
+				appendBufferViews(json);
+				json.key("buffers").array().object().key("byteLength")
+						.value(bufferLength).endObject().endArray();
+			}
+			json.endObject();
+			return json.toString();
+		} catch (JSONException e) {
+			throw new IllegalStateException("Invalid glTF description", e);
+		}
+	}
+
+	/**
+	 * @return number of non empty meshes, empty ones are left out
+	 */
+	private int getMeshesCount() {
+		int count = 0;
+		for (Mesh m : meshes) {
+			if (!m.isEmpty()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private void appendNodes(JSONStringer json, int count)
+			throws JSONException {
+		json.key("nodes").array();
+		json.object().key("name").value("GeoGebra").key("rotation").array();
+		for (double v : Z_UP_ROTATION) {
+			json.value(v);
+		}
+		json.endArray();
+		if (count > 0) {
+			json.key("children").array();
+			for (int i = 0; i < count; i++) {
+				json.value(i + 1);
+			}
+			json.endArray();
+		}
+		json.endObject();
+		int i = 0;
+		for (Mesh m : meshes) {
+			if (!m.isEmpty()) {
+				json.object().key("name").value(m.name).key("mesh").value(i)
+						.endObject();
+				i++;
+			}
+		}
+		json.endArray();
+	}
+
+	private void appendMeshes(JSONStringer json) throws JSONException {
+		json.key("meshes").array();
+		int accessor = 0;
+		for (Mesh m : meshes) {
+			if (m.isEmpty()) {
+				continue;
+			}
+			json.object().key("name").value(m.name).key("primitives").array()
+					.object();
+			json.key("attributes").object().key("POSITION").value(accessor++);
+			if (m.hasNormals) {
+				json.key("NORMAL").value(accessor++);
+			}
+			json.endObject();
+			json.key("indices").value(accessor++);
+			json.key("material").value(m.material);
+			json.endObject().endArray().endObject();
+		}
+		json.endArray();
+	}
+
+	private void appendMaterials(JSONStringer json) throws JSONException {
+		json.key("materials").array();
+		for (GColor color : materials) {
+			json.object().key("pbrMetallicRoughness").object()
+					.key("baseColorFactor").array()
+					.value(toLinear(color.getRed()))
+					.value(toLinear(color.getGreen()))
+					.value(toLinear(color.getBlue()))
+					.value(color.getAlpha() / 255.0).endArray()
+					.key("metallicFactor").value(0).key("roughnessFactor")
+					.value(1).endObject();
+			if (color.getAlpha() < 255) {
+				json.key("alphaMode").value("BLEND");
+			}
+			json.key("doubleSided").value(true).endObject();
+		}
+		json.endArray();
+	}
+
+	/**
+	 * @param channel
+	 *            sRGB color channel 0..255
+	 * @return linear channel 0..1 as glTF colors are linear
+	 */
+	private static double toLinear(int channel) {
+		double c = channel / 255.0;
+		return c <= 0.04045 ? c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4);
+	}
+
+	private void appendAccessors(JSONStringer json) throws JSONException {
+		json.key("accessors").array();
+		int bufferView = 0;
+		for (Mesh m : meshes) {
+			if (m.isEmpty()) {
+				continue;
+			}
+			json.object().key("bufferView").value(bufferView++)
+					.key("componentType").value(FLOAT).key("count")
+					.value(m.verticesCount).key("type").value("VEC3");
+			json.key("min").array();
+			for (int i = 0; i < 3; i++) {
+				json.value(m.min[i] <= m.max[i] ? m.min[i] : 0);
+			}
+			json.endArray().key("max").array();
+			for (int i = 0; i < 3; i++) {
+				json.value(m.min[i] <= m.max[i] ? m.max[i] : 0);
+			}
+			json.endArray().endObject();
+			if (m.hasNormals) {
+				json.object().key("bufferView").value(bufferView++)
+						.key("componentType").value(FLOAT).key("count")
+						.value(m.verticesCount).key("type").value("VEC3")
+						.endObject();
+			}
+			json.object().key("bufferView").value(bufferView++)
+					.key("componentType").value(UNSIGNED_INT).key("count")
+					.value(m.indicesCount).key("type").value("SCALAR")
+					.endObject();
+		}
+		json.endArray();
+	}
+
+	private void appendBufferViews(JSONStringer json) throws JSONException {
+		json.key("bufferViews").array();
+		for (Mesh m : meshes) {
+			if (m.isEmpty()) {
+				continue;
+			}
+			appendBufferView(json, m.positionsOffset, 12L * m.verticesCount,
+					ARRAY_BUFFER);
+			if (m.hasNormals) {
+				appendBufferView(json, m.normalsOffset,
+						12L * m.verticesCount, ARRAY_BUFFER);
+			}
+			appendBufferView(json, m.indicesOffset, 4L * m.indicesCount,
+					ELEMENT_ARRAY_BUFFER);
+		}
+		json.endArray();
+	}
+
+	private static void appendBufferView(JSONStringer json, long offset,
+			long length, int target) throws JSONException {
+		json.object().key("buffer").value(0).key("byteOffset").value(offset)
+				.key("byteLength").value(length).key("target").value(target)
+				.endObject();
+	}
+
+	@Override
+	public void getObjectStart(StringBuilder sb, String type, GeoElement geo,
+			boolean transparency, GColor color, double alpha) {
+		if (!isCounting()) {
+			mesh = meshes.get(meshIndex++);
+			return;
+		}
+		String label = geo.getLabelSimple();
+		if (label == null) {
+			label = type;
+		}
+		Integer n = labels.get(label);
+		if (n != null) {
+			labels.put(label, n + 1);
+			label = label + "_" + n;
+		} else {
+			labels.put(label, 2);
+		}
+		GColor c = color == null ? geo.getObjectColor() : color;
+		if (transparency) {
+			c = c.deriveWithAlpha((int) (alpha * 255));
+		}
+		Integer material = materialIndices.get(c);
+		if (material == null) {
+			material = materials.size();
+			materials.add(c);
+			materialIndices.put(c, material);
+		}
+		mesh = new Mesh(label, material);
+		meshes.add(mesh);
+		meshIndex++;
+	}
+
+	@Override
+	public void getPolyhedronStart(StringBuilder sb, boolean isFlat,
+			boolean isCurve) {
+		// one mesh per object
+	}
+
+	@Override
+	public void getPolyhedronEnd(StringBuilder sb) {
+		// one mesh per object
+	}
+
+	@Override
+	public void getVerticesStart(StringBuilder sb, int count) {
+		if (isCounting()) {
+			mesh.positionsOffset = bufferLength;
+		}
+	}
+
+	@Override
+	public void getVertices(StringBuilder sb, double x, double y, double z) {
+		if (isCounting()) {
+			mesh.addVertex(x, y, z);
+		} else {
+			output.writeFloat(x);
+			output.writeFloat(y);
+			output.writeFloat(z);
+		}
+	}
+
+	@Override
+	public void getVertices(StringBuilder sb, double x, double y, double z,
+			double thickness) {
+		getVertices(sb, x, y, z);
+	}
+
+	@Override
+	public void getVerticesSeparator(StringBuilder sb) {
+		// nothing to do
+	}
+
+	@Override
+	public void getVerticesEnd(StringBuilder sb) {
+		if (isCounting()) {
+			bufferLength += 12L * mesh.verticesCount;
+		}
+	}
+
+	@Override
+	public void getNormalsStart(StringBuilder sb, int count) {
+		normalsCount = 0;
+		if (isCounting()) {
+			mesh.normalsOffset = bufferLength;
+		}
+	}
+
+	@Override
+	public void getNormal(StringBuilder sb, double x, double y, double z,
+			boolean withThickness) {
+		if (normalsCount < mesh.verticesCount) {
+			if (!isCounting()) {
+				output.writeFloat(x);
+				output.writeFloat(y);
+				output.writeFloat(z);
+			}
+			lastNormalX = x;
+			lastNormalY = y;
+			lastNormalZ = z;
+			normalsCount++;
+		}
+	}
+
+	@Override
+	public void getNormalsSeparator(StringBuilder sb) {
+		// nothing to do
+	}
+
+	@Override
+	public void getNormalsEnd(StringBuilder sb) {
+		if (normalsCount == 0) {
+			return;
+		}
+		if (isCounting()) {
+			mesh.hasNormals = true;
+			bufferLength += 12L * mesh.verticesCount;
+			return;
+		}
+		// glTF needs one normal per vertex, flat polygons only have one
+		for (; normalsCount < mesh.verticesCount; normalsCount++) {
+			output.writeFloat(lastNormalX);
+			output.writeFloat(lastNormalY);
+			output.writeFloat(lastNormalZ);
+		}
+	}
+
+	@Override
+	public void getFacesStart(StringBuilder sb, int count,
+			boolean hasSpecificNormals) {
+		if (isCounting()) {
+			mesh.indicesOffset = bufferLength;
+		}
+	}
+
+	@Override
+	public boolean getFaces(StringBuilder sb, int v1, int v2, int v3,
+			int normal) {
+		if (isCounting()) {
+			mesh.indicesCount += 3;
+		} else {
+			output.writeInt(v1);
+			output.writeInt(v2);
+			output.writeInt(v3);
+		}
+		return true;
+	}
+
+	@Override
+	public void getFacesSeparator(StringBuilder sb) {
+		// nothing to do
+	}
+
+	@Override
+	public void getFacesEnd(StringBuilder sb) {
+		if (isCounting()) {
+			bufferLength += 4L * mesh.indicesCount;
+		}
+	}
+
+	@Override
+	public boolean handlesSurfacesDirectly() {
+		return true;
+	}
+
+	@Override
+	public boolean needsClosedObjectsForCurves() {
+		return false;
+	}
+
+	@Override
+	public boolean needsClosedObjectsForSurfaces() {
+		return false;
+	}
+
+	@Override
+	public boolean needsScale() {
+		return false;
+	}
+
+	@Override
+	public boolean handlesNormals() {
+		return true;
+	}
+
+	@Override
+	public boolean useSpecificViewForExport() {
+		return false;
+	}
+
+	@Override
+	public void setScale(double scale) {
+		// no scale
+	}
+
+	@Override
+	boolean needsBothSided() {
+		return false;
+	}
+
+	@Override
+	public void setWantsFilledSolids(boolean flag) {
+		// not used
+	}
+
+	@Override
+	public boolean wantsFilledSolids() {
+		return false;
+	}
+
+	@Override
+	public void setExportsPointsAndLines(boolean flag) {
+		// not used
+	}
+
+	@Override
+	public boolean exportsPointsAndLines() {
+		return true;
+	}
+}
@@ -139,6 +139,10 @@ public class FormatPolygonsHandler {
 			}
 		}
 
+		public int getTrianglesCount() {
+			return indices.size() / 3;
+		}
+
 		public void getTriangles(StringBuilder sb, FormatSTL format,
 				Coords tmp1, Coords tmp2) {
 			for (int i = 0; i < indices.size(); i += 3) {
@@ -341,4 +345,15 @@ public class FormatPolygonsHandler {
 			p.getTriangles(sb, format, tmp1, tmp2);
 		}
 	}
+
+	/**
+	 * @return number of triangles in all polygons
+	 */
+	public int getTrianglesCount() {
+		int count = 0;
+		for (Polygon p : polygons) {
+			count += p.getTrianglesCount();
+		}
+		return count;
+	}
 }
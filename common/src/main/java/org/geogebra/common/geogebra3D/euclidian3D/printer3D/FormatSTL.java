@@ -41,9 +41,26 @@ public class FormatSTL extends Format {
 
 	@Override
 	public void getScriptStart(StringBuilder sb) {
+		resetPolygonHandler();
 		sb.append("solid geogebra");
 	}
 
+	/**
+	 * Drops polygons of a previous export.
+	 */
+	protected void resetPolygonHandler() {
+		if (wantsFilledSolids) {
+			polygonHandler = new FormatPolygonsHandler();
+		}
+	}
+
+	/**
+	 * @return polygons collected for filled solids, null if not wanted
+	 */
+	protected FormatPolygonsHandler getPolygonHandler() {
+		return polygonHandler;
+	}
+
 	@Override
 	public void getScriptEnd(StringBuilder sb) {
 		if (wantsFilledSolids()) {
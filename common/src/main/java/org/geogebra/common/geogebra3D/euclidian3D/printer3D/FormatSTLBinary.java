@@ -0,0 +1,70 @@
+package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
+
+/**
+ * Binary STL format: 80 bytes header, number of triangles, then 50 bytes per
+ * triangle.
+ */
+public class FormatSTLBinary extends FormatSTL implements FormatBinary {
+
+	private static final int HEADER_LENGTH = 80;
+	/** must not start with "solid", readers would take it for ASCII */
+	private static final String HEADER = "GeoGebra binary STL";
+
+	private BinaryOutput output;
+	private int trianglesCount;
+
+	@Override
+	public void setOutput(BinaryOutput output) {
+		this.output = output;
+	}
+
+	@Override
+	public void getScriptStart(StringBuilder sb) {
+		resetPolygonHandler();
+		if (output == null) {
+			trianglesCount = 0;
+			return;
+		}
+		for (int i = 0; i < HEADER_LENGTH; i++) {
+			output.writeByte(i < HEADER.length() ? HEADER.charAt(i) : ' ');
+		}
+		output.writeInt(trianglesCount);
+	}
+
+	@Override
+	public void getScriptEnd(StringBuilder sb) {
+		if (wantsFilledSolids()) {
+			FormatPolygonsHandler polygonHandler = getPolygonHandler();
+			if (output == null) {
+				trianglesCount += polygonHandler.getTrianglesCount();
+			} else {
+				polygonHandler.setOrientedNormals();
+				polygonHandler.getTriangles(sb, this);
+			}
+		}
+	}
+
+	@Override
+	public void getTriangle(StringBuilder sb, double nx, double ny, double nz,
+			double v1x, double v1y, double v1z, double v2x, double v2y,
+			double v2z, double v3x, double v3y, double v3z) {
+		if (output == null) {
+			trianglesCount++;
+			return;
+		}
+		output.writeFloat(nx);
+		output.writeFloat(ny);
+		output.writeFloat(nz);
+		output.writeFloat(v1x);
+		output.writeFloat(v1y);
+		output.writeFloat(v1z);
+		output.writeFloat(v2x);
+		output.writeFloat(v2y);
+		output.writeFloat(v2z);
+		output.writeFloat(v3x);
+		output.writeFloat(v3y);
+		output.writeFloat(v3z);
+		// attribute byte count
+		output.writeShort(0);
+	}
+}
@@ -20,7 +20,7 @@ import org.geogebra.common.kernel.ConstructionStepper;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.ModeSetter;
 import org.geogebra.common.kernel.StringTemplate;
-import org.geogebra.common.kernel.View;
+import org.geogebra.common.kernel.batch.AsyncView;
 import org.geogebra.common.kernel.cas.AlgoDependentCasCell;
 import org.geogebra.common.kernel.geos.GProperty;
 import org.geogebra.common.kernel.geos.GeoCasCell;
@@ -506,7 +506,7 @@ public class ConstructionProtocolView implements ConstructionStepper {
 		// overriden in platforms
 	}
 
-	public class ConstructionTableData implements View, SetLabels {
+	public class ConstructionTableData implements AsyncView, SetLabels {
 
 		public final ColumnData[] columns = {
 				new ColumnData(Columns.NUMBER.translationKey, 35, 35,
@@ -869,6 +869,12 @@ public class ConstructionProtocolView implements ConstructionStepper {
 			return false;
 		}
 
+		@Override
+		public boolean isUpdatingAsync() {
+			// values in the protocol may lag behind while dragging
+			return true;
+		}
+
 		/* End of View Implementation */
 
 		private void updateRowNumbers(int row) {
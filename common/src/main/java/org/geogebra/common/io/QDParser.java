@@ -21,7 +21,6 @@ package org.geogebra.common.io;
 
 import java.io.Reader;
 import java.util.LinkedHashMap;
-import java.util.Stack;
 
 import org.geogebra.common.util.StringUtil;
 
@@ -47,17 +46,48 @@ public class QDParser {
 	private final static int PRE = 15;
 	private final static int CDATA = 16;
 
+	/** attribute values up to this length are shared between tags */
+	private final static int MAX_CACHED_VALUE_LENGTH = 8;
+
 	private LinkedHashMap<String, String> attrs;
-	private Stack<Integer> stack;
+	private int[] stack;
+	private int stackSize;
 	private StringBuilder sb;
 	private StringBuilder etag;
+	private final char[] buffer = new char[8192];
+	private final StringCache names = new StringCache();
+	private final StringCache values = new StringCache();
+
+	/**
+	 * Canonical strings for the contents of a string builder, so that
+	 * recurring tag names, attribute names and short values are neither
+	 * allocated nor hashed again for every tag.
+	 */
+	private static final class StringCache {
+		private final String[] entries = new String[1024];
+
+		String get(StringBuilder content) {
+			int length = content.length();
+			int hash = 0;
+			for (int i = 0; i < length; i++) {
+				hash = 31 * hash + content.charAt(i);
+			}
+			int index = (hash ^ (hash >>> 16)) & (entries.length - 1);
+			String entry = entries[index];
+			if (entry == null || !contentEquals(entry, content)) {
+				entry = content.toString();
+				entries[index] = entry;
+			}
+			return entry;
+		}
+	}
 
 	/**
 	 * Creates new parser
 	 */
 	public QDParser() {
 		attrs = new LinkedHashMap<>();
-		stack = new Stack<>();
+		stack = new int[16];
 		sb = new StringBuilder();
 		etag = new StringBuilder();
 	}
@@ -67,18 +97,60 @@ public class QDParser {
 	 */
 	public void reset() {
 		attrs.clear();
-		stack.clear();
+		stackSize = 0;
 		sb = new StringBuilder();
 		etag = new StringBuilder();
 	}
 
-	private static int popMode(Stack<Integer> st) {
-		if (!st.empty()) {
-			return st.pop().intValue();
+	private void pushMode(int mode) {
+		if (stackSize == stack.length) {
+			int[] grown = new int[2 * stackSize];
+			System.arraycopy(stack, 0, grown, 0, stackSize);
+			stack = grown;
+		}
+		stack[stackSize++] = mode;
+	}
+
+	private int popMode() {
+		if (stackSize > 0) {
+			return stack[--stackSize];
 		}
 		return PRE;
 	}
 
+	private static boolean contentEquals(String str, StringBuilder content) {
+		int length = str.length();
+		if (length != content.length()) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (str.charAt(i) != content.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean endsWith(StringBuilder content, String suffix) {
+		int offset = content.length() - suffix.length();
+		if (offset < 0) {
+			return false;
+		}
+		for (int i = 0; i < suffix.length(); i++) {
+			if (content.charAt(offset + i) != suffix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String attributeValue() {
+		if (sb.length() <= MAX_CACHED_VALUE_LENGTH) {
+			return values.get(sb);
+		}
+		return sb.toString();
+	}
+
 	/**
 	 * @param doc
 	 *            handler that receives document events
@@ -88,8 +160,7 @@ public class QDParser {
 	 *             if XML is not valid
 	 */
 	final public void parse(DocHandler doc, Reader r) throws Exception {
-		// Stack stack = new Stack();
-		stack.clear();
+		stackSize = 0;
 
 		int depth = 0;
 		int mode = PRE;
@@ -110,327 +181,333 @@ public class QDParser {
 		doc.startDocument();
 		int line = 1, col = 0;
 		boolean eol = false;
-		while ((c = r.read()) != -1) {
-
-			// We need to map \r, \r\n, and \n to \n
-			// See XML spec section 2.11
-			if (c == '\n' && eol) {
-				eol = false;
-				continue;
-			} else if (eol) {
-				eol = false;
-			} else if (c == '\n') {
-				line++;
-				col = 0;
-			} else if (c == '\r') {
-				eol = true;
-				c = '\n';
-				line++;
-				col = 0;
-			} else {
-				col++;
-			}
+		int length;
+		// read blocks: read() of a reader may be synchronized and is slow
+		// on unbuffered streams
+		while ((length = r.read(buffer, 0, buffer.length)) != -1) {
+			for (int pos = 0; pos < length; pos++) {
+				c = buffer[pos];
+
+				// We need to map \r, \r\n, and \n to \n
+				// See XML spec section 2.11
+				if (c == '\n' && eol) {
+					eol = false;
+					continue;
+				} else if (eol) {
+					eol = false;
+				} else if (c == '\n') {
+					line++;
+					col = 0;
+				} else if (c == '\r') {
+					eol = true;
+					c = '\n';
+					line++;
+					col = 0;
+				} else {
+					col++;
+				}
 
-			switch (mode) {
-			case DONE:
-				doc.endDocument();
-				return;
-
-			// We are between tags collecting text.
-			case TEXT:
-				switch (c) {
-				case '<':
-					stack.push(Integer.valueOf(mode));
-					mode = START_TAG;
-					if (sb.length() > 0) {
-						doc.text(sb.toString());
+				switch (mode) {
+				case DONE:
+					doc.endDocument();
+					return;
+
+				// We are between tags collecting text.
+				case TEXT:
+					switch (c) {
+					case '<':
+						pushMode(mode);
+						mode = START_TAG;
+						if (sb.length() > 0) {
+							doc.text(sb.toString());
+							sb.setLength(0);
+						}
+						break;
+					case '&':
+						pushMode(mode);
+						mode = ENTITY;
+						etag.setLength(0);
+						break;
+					default:
+						sb.append((char) c);
+					}
+					break;
+
+				// we are processing a closing tag: e.g. </foo>
+				case CLOSE_TAG:
+					switch (c) {
+					case '>':
+						mode = popMode();
+						tagName = names.get(sb);
 						sb.setLength(0);
+						depth--;
+						if (depth == 0) {
+							mode = DONE;
+						}
+						doc.endElement(tagName);
+						break;
+					default:
+						sb.append((char) c);
 					}
 					break;
-				case '&':
-					stack.push(Integer.valueOf(mode));
-					mode = ENTITY;
-					etag.setLength(0);
+
+				// we are processing CDATA
+				case CDATA:
+					if (c == '>' && endsWith(sb, "]]")) {
+						sb.setLength(sb.length() - 2);
+						doc.text(sb.toString());
+						sb.setLength(0);
+						mode = popMode();
+					} else {
+						sb.append((char) c);
+					}
 					break;
-				default:
-					sb.append((char) c);
-				}
-				break;
-
-			// we are processing a closing tag: e.g. </foo>
-			case CLOSE_TAG:
-				switch (c) {
-				case '>':
-					mode = popMode(stack);
-					tagName = sb.toString();
-					sb.setLength(0);
-					depth--;
-					if (depth == 0) {
-						mode = DONE;
+
+				// we are processing a comment. We are inside
+				// the <!-- .... --> looking for the -->.
+				case COMMENT:
+					if (c == '>' && endsWith(sb, "--")) {
+						sb.setLength(0);
+						mode = popMode();
+					} else {
+						sb.append((char) c);
 					}
-					doc.endElement(tagName);
 					break;
-				default:
-					sb.append((char) c);
-				}
-				break;
 
-			// we are processing CDATA
-			case CDATA:
-				if (c == '>' && sb.toString().endsWith("]]")) {
-					sb.setLength(sb.length() - 2);
-					doc.text(sb.toString());
-					sb.setLength(0);
-					mode = popMode(stack);
-				} else {
-					sb.append((char) c);
-				}
-				break;
+				// We are outside the root tag element
+				case PRE:
+					if (c == '<') {
+						mode = TEXT;
+						pushMode(mode);
+						mode = START_TAG;
+					}
+					break;
 
-			// we are processing a comment. We are inside
-			// the <!-- .... --> looking for the -->.
-			case COMMENT:
-				if (c == '>' && sb.toString().endsWith("--")) {
-					sb.setLength(0);
-					mode = popMode(stack);
-				} else {
-					sb.append((char) c);
-				}
-				break;
-
-			// We are outside the root tag element
-			case PRE:
-				if (c == '<') {
-					mode = TEXT;
-					stack.push(Integer.valueOf(mode));
-					mode = START_TAG;
-				}
-				break;
-
-			// We are inside one of these <? ... ?>
-			// or one of these <!DOCTYPE ... >
-			case DOCTYPE:
-				if (c == '>') {
-					mode = popMode(stack);
-					if (mode == TEXT) {
-						mode = PRE;
+				// We are inside one of these <? ... ?>
+				// or one of these <!DOCTYPE ... >
+				case DOCTYPE:
+					if (c == '>') {
+						mode = popMode();
+						if (mode == TEXT) {
+							mode = PRE;
+						}
 					}
-				}
-				break;
-
-			// we have just seen a < and
-			// are wondering what we are looking at
-			// <foo>, </foo>, <!-- ... --->, etc.
-			case START_TAG:
-				mode = popMode(stack);
-				switch (c) {
-				case '/':
-					stack.push(Integer.valueOf(mode));
-					mode = CLOSE_TAG;
 					break;
-				case '?':
-					mode = DOCTYPE;
+
+				// we have just seen a < and
+				// are wondering what we are looking at
+				// <foo>, </foo>, <!-- ... --->, etc.
+				case START_TAG:
+					mode = popMode();
+					switch (c) {
+					case '/':
+						pushMode(mode);
+						mode = CLOSE_TAG;
+						break;
+					case '?':
+						mode = DOCTYPE;
+						break;
+					default:
+						pushMode(mode);
+						mode = OPEN_TAG;
+						tagName = null;
+						// attrs = new LinkedHashMap();
+						sb.append((char) c);
+					}
 					break;
-				default:
-					stack.push(Integer.valueOf(mode));
-					mode = OPEN_TAG;
-					tagName = null;
-					// attrs = new LinkedHashMap();
-					sb.append((char) c);
-				}
-				break;
-
-			// we are processing an entity, e.g. &lt;, &#187;, etc.
-			case ENTITY:
-				if (c == ';') {
-					mode = popMode(stack);
-					String cent = etag.toString();
-					etag.setLength(0);
-					if ("lt".equals(cent)) {
-						sb.append('<');
-					} else if ("gt".equals(cent)) {
-						sb.append('>');
-					} else if ("amp".equals(cent)) {
-						sb.append('&');
-					} else if ("quot".equals(cent)) {
-						sb.append('"');
-					} else if ("apos".equals(cent)) {
-						sb.append('\'');
-					} else if (cent.startsWith("#x")) {
-						StringUtil.appendUnicode(sb,
-								Integer.parseInt(cent.substring(2), 16));
-					} else if (cent.charAt(0) == '#') {
-						StringUtil.appendUnicode(sb,
-								Integer.parseInt(cent.substring(1)));
-					// Insert custom entity definitions here
+
+				// we are processing an entity, e.g. &lt;, &#187;, etc.
+				case ENTITY:
+					if (c == ';') {
+						mode = popMode();
+						String cent = etag.toString();
+						etag.setLength(0);
+						if ("lt".equals(cent)) {
+							sb.append('<');
+						} else if ("gt".equals(cent)) {
+							sb.append('>');
+						} else if ("amp".equals(cent)) {
+							sb.append('&');
+						} else if ("quot".equals(cent)) {
+							sb.append('"');
+						} else if ("apos".equals(cent)) {
+							sb.append('\'');
+						} else if (cent.startsWith("#x")) {
+							StringUtil.appendUnicode(sb,
+									Integer.parseInt(cent.substring(2), 16));
+						} else if (cent.charAt(0) == '#') {
+							StringUtil.appendUnicode(sb,
+									Integer.parseInt(cent.substring(1)));
+						// Insert custom entity definitions here
+						} else {
+							exc("Unknown entity: &" + cent + ";", line, col);
+						}
 					} else {
-						exc("Unknown entity: &" + cent + ";", line, col);
+						etag.append((char) c);
 					}
-				} else {
-					etag.append((char) c);
-				}
-				break;
-
-			// we have just seen something like this:
-			// <foo a="b"/
-			// and are looking for the final >.
-			case SINGLE_TAG:
-				if (tagName == null) {
-					tagName = sb.toString();
-				}
-				if (c != '>') {
-					exc("Expected > for tag: <" + tagName + "/>", line, col);
-				}
-				doc.startElement(tagName, attrs);
-				doc.endElement(tagName);
-				if (depth == 0) {
-					doc.endDocument();
-					return;
-				}
-				sb.setLength(0);
-				// attrs = new LinkedHashMap();
-				attrs.clear();
-				tagName = null;
-				mode = popMode(stack);
-				break;
-
-			// we are processing something
-			// like this <foo ... >. It could
-			// still be a <!-- ... --> or something.
-			case OPEN_TAG:
-				switch (c) {
-				case '>':
+					break;
+
+				// we have just seen something like this:
+				// <foo a="b"/
+				// and are looking for the final >.
+				case SINGLE_TAG:
 					if (tagName == null) {
-						tagName = sb.toString();
+						tagName = names.get(sb);
+					}
+					if (c != '>') {
+						exc("Expected > for tag: <" + tagName + "/>", line, col);
 					}
-					sb.setLength(0);
-					depth++;
 					doc.startElement(tagName, attrs);
-					tagName = null;
+					doc.endElement(tagName);
+					if (depth == 0) {
+						doc.endDocument();
+						return;
+					}
+					sb.setLength(0);
 					// attrs = new LinkedHashMap();
 					attrs.clear();
-					mode = popMode(stack);
-					break;
-
-				case '/':
-					mode = SINGLE_TAG;
+					tagName = null;
+					mode = popMode();
 					break;
 
-				case '-':
-					if (sb.toString().equals("!-")) {
-						mode = COMMENT;
-					} else {
-						sb.append((char) c);
+				// we are processing something
+				// like this <foo ... >. It could
+				// still be a <!-- ... --> or something.
+				case OPEN_TAG:
+					switch (c) {
+					case '>':
+						if (tagName == null) {
+							tagName = names.get(sb);
+						}
+						sb.setLength(0);
+						depth++;
+						doc.startElement(tagName, attrs);
+						tagName = null;
+						// attrs = new LinkedHashMap();
+						attrs.clear();
+						mode = popMode();
+						break;
+
+					case '/':
+						mode = SINGLE_TAG;
+						break;
+
+					case '-':
+						if (contentEquals("!-", sb)) {
+							mode = COMMENT;
+						} else {
+							sb.append((char) c);
+						}
+						break;
+
+					case '[':
+						if (contentEquals("![CDATA", sb)) {
+							mode = CDATA;
+							sb.setLength(0);
+						}
+						break;
+
+					case 'E':
+						if (contentEquals("!DOCTYP", sb)) {
+							sb.setLength(0);
+							mode = DOCTYPE;
+						}
+						break;
+
+					default:
+						if (StringUtil.isWhitespace((char) c)) {
+							tagName = names.get(sb);
+							sb.setLength(0);
+							mode = IN_TAG;
+						} else {
+							sb.append((char) c);
+						}
 					}
 					break;
 
-				case '[':
-					if (sb.toString().equals("![CDATA")) {
-						mode = CDATA;
+				// We are processing the quoted right-hand side
+				// of an element's attribute.
+				case QUOTE:
+					if (c == quotec) {
+						rvalue = attributeValue();
 						sb.setLength(0);
+						attrs.put(lvalue, rvalue);
+						mode = IN_TAG;
+						// See section the XML spec, section 3.3.3
+						// on normalization processing.
+					}
+
+					// Markus Hohenwarter, begin
+					// I need to get all characters within quotes
+					// including newlines
+					// else if (" \r\n\u0009".indexOf(c) >= 0) {
+					// sb.append(' ');
+					// }
+					// Markus Hohenwarter, end
+
+					else if (c == '&') {
+						pushMode(mode);
+						mode = ENTITY;
+						etag.setLength(0);
+					} else {
+						sb.append((char) c);
 					}
 					break;
 
-				case 'E':
-					if (sb.toString().equals("!DOCTYP")) {
-						sb.setLength(0);
-						mode = DOCTYPE;
+				case ATTRIBUTE_RVALUE:
+					if (c == '"' || c == '\'') {
+						quotec = c;
+						mode = QUOTE;
+					} else if (!StringUtil.isWhitespace((char) c)) {
+						exc("Error in attribute processing", line, col);
 					}
 					break;
 
-				default:
+				case ATTRIBUTE_LVALUE:
 					if (StringUtil.isWhitespace((char) c)) {
-						tagName = sb.toString();
+						lvalue = names.get(sb);
 						sb.setLength(0);
-						mode = IN_TAG;
+						mode = ATTRIBUTE_EQUAL;
+					} else if (c == '=') {
+						lvalue = names.get(sb);
+						sb.setLength(0);
+						mode = ATTRIBUTE_RVALUE;
 					} else {
 						sb.append((char) c);
 					}
-				}
-				break;
-
-			// We are processing the quoted right-hand side
-			// of an element's attribute.
-			case QUOTE:
-				if (c == quotec) {
-					rvalue = sb.toString();
-					sb.setLength(0);
-					attrs.put(lvalue, rvalue);
-					mode = IN_TAG;
-					// See section the XML spec, section 3.3.3
-					// on normalization processing.
-				}
-
-				// Markus Hohenwarter, begin
-				// I need to get all characters within quotes
-				// including newlines
-				// else if (" \r\n\u0009".indexOf(c) >= 0) {
-				// sb.append(' ');
-				// }
-				// Markus Hohenwarter, end
-
-				else if (c == '&') {
-					stack.push(Integer.valueOf(mode));
-					mode = ENTITY;
-					etag.setLength(0);
-				} else {
-					sb.append((char) c);
-				}
-				break;
-
-			case ATTRIBUTE_RVALUE:
-				if (c == '"' || c == '\'') {
-					quotec = c;
-					mode = QUOTE;
-				} else if (!StringUtil.isWhitespace((char) c)) {
-					exc("Error in attribute processing", line, col);
-				}
-				break;
-
-			case ATTRIBUTE_LVALUE:
-				if (StringUtil.isWhitespace((char) c)) {
-					lvalue = sb.toString();
-					sb.setLength(0);
-					mode = ATTRIBUTE_EQUAL;
-				} else if (c == '=') {
-					lvalue = sb.toString();
-					sb.setLength(0);
-					mode = ATTRIBUTE_RVALUE;
-				} else {
-					sb.append((char) c);
-				}
-				break;
-
-			case ATTRIBUTE_EQUAL:
-				if (c == '=') {
-					mode = ATTRIBUTE_RVALUE;
-				} else if (!StringUtil.isWhitespace((char) c)) {
-					exc("Error in attribute processing.", line, col);
-				}
-				break;
-
-			case IN_TAG:
-				switch (c) {
-				case '>':
-					mode = popMode(stack);
-					doc.startElement(tagName, attrs);
-					depth++;
-					tagName = null;
-					// attrs = new LinkedHashMap();
-					attrs.clear();
 					break;
 
-				case '/':
-					mode = SINGLE_TAG;
+				case ATTRIBUTE_EQUAL:
+					if (c == '=') {
+						mode = ATTRIBUTE_RVALUE;
+					} else if (!StringUtil.isWhitespace((char) c)) {
+						exc("Error in attribute processing.", line, col);
+					}
 					break;
 
-				default:
-					if (!StringUtil.isWhitespace((char) c)) {
-						mode = ATTRIBUTE_LVALUE;
-						sb.append((char) c);
+				case IN_TAG:
+					switch (c) {
+					case '>':
+						mode = popMode();
+						doc.startElement(tagName, attrs);
+						depth++;
+						tagName = null;
+						// attrs = new LinkedHashMap();
+						attrs.clear();
+						break;
+
+					case '/':
+						mode = SINGLE_TAG;
+						break;
+
+					default:
+						if (!StringUtil.isWhitespace((char) c)) {
+							mode = ATTRIBUTE_LVALUE;
+							sb.append((char) c);
+						}
 					}
+					break;
 				}
-				break;
 			}
 		}
 
@@ -22,6 +22,7 @@ import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.algos.AlgoJoinPointsSegment;
 import org.geogebra.common.kernel.algos.AlgorithmSet;
 import org.geogebra.common.kernel.algos.ConstructionElement;
+import org.geogebra.common.kernel.algos.ParallelAlgoUpdater;
 import org.geogebra.common.kernel.arithmetic.Equation;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.ExpressionNodeConstants;
@@ -49,6 +50,7 @@ import org.geogebra.common.kernel.optimization.ExtremumFinderI;
 import org.geogebra.common.kernel.prover.AlgoLocusEquation;
 import org.geogebra.common.kernel.prover.AlgoProve;
 import org.geogebra.common.kernel.prover.AlgoProveDetails;
+import org.geogebra.common.kernel.prover.BotanaCache;
 import org.geogebra.common.kernel.prover.discovery.Pool;
 import org.geogebra.common.main.App;
 import org.geogebra.common.main.Localization;
@@ -58,6 +60,7 @@ import org.geogebra.common.main.SelectionManager;
 import org.geogebra.common.main.undo.UndoManager;
 import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.plugin.ScriptManager;
+import org.geogebra.common.util.ParallelExecutor;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.Log;
 
@@ -153,6 +156,8 @@ public class Construction {
 	private TreeSet<GeoElement> randomElements;
 	/** algo set currently updated by GeoElement.updateDependentObjects() */
 	private AlgorithmSet algoSetCurrentlyUpdated;
+	/** number of the last update cascade */
+	private int updateCascade;
 
 	private final TreeSet<String> casDummies = new TreeSet<>();
 
@@ -1041,13 +1046,34 @@ public class Construction {
 	 */
 	public final void updateAllAlgorithms() {
 		// update all algorithms
+		ParallelAlgoUpdater updater = createParallelUpdater();
 
 		// *** algoList.size() can change during the loop
 		for (int i = 0; i < algoList.size(); ++i) {
 			AlgoElement algo = algoList.get(i);
-			algo.update();
+			if (updater == null) {
+				algo.update();
+			} else {
+				updater.update(algo);
+			}
 			// AbstractApplication.debug("#"+i+" : "+algo);
 		}
+		if (updater != null) {
+			updater.flush();
+		}
+	}
+
+	/**
+	 * @return updater for independent algorithms if parallel updates are
+	 *         enabled and supported, null otherwise
+	 */
+	private ParallelAlgoUpdater createParallelUpdater() {
+		ParallelExecutor executor = ParallelExecutor.getPrototype();
+		if (!kernel.isParallelUpdate() || executor == null
+				|| executor.getParallelism() < 2) {
+			return null;
+		}
+		return new ParallelAlgoUpdater(executor);
 	}
 
 	/**
@@ -1252,6 +1278,7 @@ public class Construction {
 			// http://www.geogebra.org/forum/viewtopic.php?p=56618
 			ArrayList<AlgoElement> tempList = new ArrayList<>(
 					algoList);
+			ParallelAlgoUpdater updater = createParallelUpdater();
 
 			// update all algorithms
 			for (int i = 0; i < size; ++i) {
@@ -1269,9 +1296,16 @@ public class Construction {
 				}
 				if (randomize || !(algo instanceof SetRandomValue)
 						|| !((SetRandomValue) algo).setRandomValue(algo.getOutput(0))) {
-					algo.update();
+					if (updater == null) {
+						algo.update();
+					} else {
+						updater.update(algo);
+					}
 				}
 			}
+			if (updater != null) {
+				updater.flush();
+			}
 		} finally {
 			updateConstructionRunning = false;
 		}
@@ -3071,6 +3105,7 @@ public class Construction {
 		this.corner5Algos = null;
 		this.corner11Algos = null;
 		this.casDummies.clear();
+		botanaCache.clear();
 		initGeoTables();
 
 		// reinit construction step
@@ -3377,6 +3412,17 @@ public class Construction {
 		return algoSetCurrentlyUpdated;
 	}
 
+	/**
+	 * @return new number identifying an update cascade, never 0
+	 */
+	public int nextUpdateCascade() {
+		updateCascade++;
+		if (updateCascade == 0) {
+			updateCascade++;
+		}
+		return updateCascade;
+	}
+
 	/**
 	 * @param b
 	 *            new value of update construction flag
@@ -3666,6 +3712,15 @@ public class Construction {
 		discoveryPool.enable();
 	}
 
+	/**
+	 * Botana data of unchanged objects for the prover.
+	 */
+	private final BotanaCache botanaCache = new BotanaCache();
+
+	public BotanaCache getBotanaCache() {
+		return botanaCache;
+	}
+
 	public ArrayList<Group> getGroups() {
 		return groups;
 	}
@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -39,19 +40,24 @@ import org.geogebra.common.kernel.prover.AlgoAreParallel;
 import org.geogebra.common.kernel.prover.AlgoArePerpendicular;
 import org.geogebra.common.kernel.prover.AlgoProveDetails;
 import org.geogebra.common.kernel.prover.Combinations;
+import org.geogebra.common.kernel.prover.ProofWorkers;
 import org.geogebra.common.kernel.prover.discovery.Circle;
+import org.geogebra.common.kernel.prover.discovery.DiscoveryListener;
 import org.geogebra.common.kernel.prover.discovery.EqualLongSegments;
 import org.geogebra.common.kernel.prover.discovery.Line;
 import org.geogebra.common.kernel.prover.discovery.OrthogonalParallelLines;
 import org.geogebra.common.kernel.prover.discovery.ParallelLines;
 import org.geogebra.common.kernel.prover.discovery.Point;
+import org.geogebra.common.kernel.prover.discovery.PointCoordinates;
 import org.geogebra.common.kernel.prover.discovery.Pool;
 import org.geogebra.common.kernel.prover.discovery.Segment;
 import org.geogebra.common.main.App;
 import org.geogebra.common.main.Localization;
+import org.geogebra.common.main.ProverSettings;
 import org.geogebra.common.plugin.EuclidianStyleConstants;
 import org.geogebra.common.plugin.Event;
 import org.geogebra.common.plugin.EventType;
+import org.geogebra.common.util.ExtendedBoolean;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.Log;
 
@@ -81,6 +87,40 @@ public class Discover {
 	private String[] problemParams;
 
 	private double percent;
+	private double deadline = Double.POSITIVE_INFINITY;
+	private String constructionXML;
+	private DiscoveryListener listener;
+
+	/**
+	 * Statement that passed the numerical check and has to be proven.
+	 */
+	private abstract class Conjecture {
+		/** key of the cached proof */
+		final String key;
+		/** command that can be proven on a copy of the construction */
+		final String statement;
+
+		Conjecture(String key, String statement) {
+			this.key = key;
+			this.statement = statement;
+		}
+
+		/**
+		 * @return algorithm of the statement, with unlabeled inputs that are
+		 *         removed together with it
+		 */
+		abstract AlgoElement createStatement();
+
+		/**
+		 * @return whether the statement is already in the discovery pool
+		 */
+		abstract boolean isKnown();
+
+		/**
+		 * Put the statement in the discovery pool.
+		 */
+		abstract void addTheorem();
+	}
 
 	public Discover(final App app, final GeoElement d) {
 		this.kernel = app.getKernel();
@@ -88,6 +128,14 @@ public class Discover {
 		this.cons = kernel.getConstruction();
 	}
 
+	/**
+	 * @param listener
+	 *            receives the theorems as soon as they are proven
+	 */
+	public void setListener(DiscoveryListener listener) {
+		this.listener = listener;
+	}
+
 	private void updatePercentInfo(GeoElement geo) {
 		Localization loc = cons.getApplication().getLocalization();
 		String inProgress = loc.getMenuDefault("InProgress",
@@ -118,6 +166,11 @@ public class Discover {
 	 */
 	public boolean detectProperties(GeoPoint p, boolean deselectObjects) {
 		startTime = (int) UtilFactory.getPrototype().getMillisecondTime();
+		int timeout = ProverSettings.get().discoveryTimeout;
+		deadline = timeout > 0
+				? UtilFactory.getPrototype().getMillisecondTime() + timeout * 1000.0
+				: Double.POSITIVE_INFINITY;
+		constructionXML = null;
 		percent = 0.0;
 		updatePercentInfo(p);
 		cons.getApplication().setWaitCursor();
@@ -298,7 +351,7 @@ public class Discover {
 	 * Extend the database of collinearities by
 	 * collecting all of them for a given input.
 	 */
-	private void collectCollinearities(Point p0, boolean discover) {
+	private void collectCollinearities(final Point p0, boolean discover) {
 		HashSet<Point> prevPoints = new HashSet<Point>();
 		for (Point ge : discoveryPool.points) {
 			if (!ge.equals(p0)) {
@@ -330,34 +383,40 @@ public class Discover {
 		// put non-trivial collinearities in the
 		// discovery pool. It is needed to do this for all p0 (not for just the final
 		// one to discover) in order to have all parallel lines correctly.
+		PointCoordinates coords = new PointCoordinates(discoveryPool.points);
+		ArrayList<Conjecture> conjectures = new ArrayList<>();
 		lines = new Combinations(prevPoints, 2);
 		while (lines.hasNext()) {
 			Set<Point> line = lines.next();
 			Iterator<Point> i = line.iterator();
-			Point p1 = i.next();
-			Point p2 = i.next();
-			if (!discoveryPool.areCollinear(p0, p1, p2)) {
-				AlgoAreCollinear aac =
-						new AlgoAreCollinear(cons, p0.getGeoPoint(), p1.getGeoPoint(),
-								p2.getGeoPoint());
-				if (aac.getResult().getBoolean()) {
-					// Conjecture: Collinearity
-					GeoElement root = new GeoBoolean(cons);
-					root.setParentAlgorithm(aac);
-					GeoList output = discoveryPool.AlgoProveDetailsCached(root,
-							"Coll " + p0 + "," + p1 + "," + p2);
-					if (output.size() > 0) {
-						GeoElement truth = output.get(0);
-						if (((GeoBoolean) truth).getBoolean()) {
-							// Theorem: Collinearity
-							discoveryPool.addCollinearity(p0, p1, p2).setTrivial(false);
-						}
+			final Point p1 = i.next();
+			final Point p2 = i.next();
+			if (!discoveryPool.areCollinear(p0, p1, p2) && coords.areCollinear(
+					p0.getGeoPoint(), p1.getGeoPoint(), p2.getGeoPoint())) {
+				// Conjecture: Collinearity
+				conjectures.add(new Conjecture("Coll " + p0 + "," + p1 + "," + p2,
+						statement("AreCollinear", null, p0.getGeoPoint(),
+								p1.getGeoPoint(), p2.getGeoPoint())) {
+					@Override
+					AlgoElement createStatement() {
+						return new AlgoAreCollinear(cons, p0.getGeoPoint(),
+								p1.getGeoPoint(), p2.getGeoPoint());
 					}
-					output.remove();
-				}
-				aac.remove();
+
+					@Override
+					boolean isKnown() {
+						return discoveryPool.areCollinear(p0, p1, p2);
+					}
+
+					@Override
+					void addTheorem() {
+						// Theorem: Collinearity
+						discoveryPool.addCollinearity(p0, p1, p2).setTrivial(false);
+					}
+				});
 			}
 		}
+		prove(conjectures, 0, p0.getGeoPoint());
 
 		if (discover) {
 			// Third round: Draw lines from the discovery pool
@@ -384,7 +443,7 @@ public class Discover {
 	 * Extend the database by
 	 * collecting all conclicities for a given input.
 	 */
-	private void collectConcyclicities(Point p0, boolean discover) {
+	private void collectConcyclicities(final Point p0, boolean discover) {
 		HashSet<Point> prevPoints = new HashSet<Point>();
 		for (Point ge : discoveryPool.points) {
 			if (!ge.equals(p0)) {
@@ -425,40 +484,47 @@ public class Discover {
 			// put non-trivial concyclicities in the
 			// discovery pool.
 			// This is a heavy part with 20% weight.
+			PointCoordinates coords = new PointCoordinates(discoveryPool.points);
+			ArrayList<Conjecture> conjectures = new ArrayList<>();
 			circles = new Combinations(prevPoints, 3);
-			int n = prevPoints.size();
-			int steps = n*(n-1)*(n-2)/6;
 
 			while (circles.hasNext()) {
 				Set<Point> circle = circles.next();
 				Iterator<Point> i = circle.iterator();
-				Point p1 = i.next();
-				Point p2 = i.next();
-				Point p3 = i.next();
+				final Point p1 = i.next();
+				final Point p2 = i.next();
+				final Point p3 = i.next();
 				if (!are3Collinear(p0, p1, p2, p3) &&
-						!discoveryPool.areConcyclic(p0, p1, p2, p3)) {
-					AlgoAreConcyclic aac = new AlgoAreConcyclic(cons, p0.getGeoPoint(),
-							p1.getGeoPoint(), p2.getGeoPoint(), p3.getGeoPoint());
-					if (aac.getResult().getBoolean()) {
-						// Conjecture: Concyclicity
-						GeoElement root = new GeoBoolean(cons);
-						root.setParentAlgorithm(aac);
-						GeoList output = discoveryPool.AlgoProveDetailsCached(root,
-								"Conc " + p0 + "," + p1 + "," + p2 + "," + p3);
-						if (output.size() > 0) {
-							GeoElement truth = output.get(0);
-							if (((GeoBoolean) truth).getBoolean()) {
-								// Theorem: Concyclicity
-								discoveryPool.addConcyclicity(p0, p1, p2, p3).setTrivial(false);
-							}
+						!discoveryPool.areConcyclic(p0, p1, p2, p3) &&
+						coords.areConcyclic(p0.getGeoPoint(), p1.getGeoPoint(),
+								p2.getGeoPoint(), p3.getGeoPoint())) {
+					// Conjecture: Concyclicity
+					conjectures.add(new Conjecture(
+							"Conc " + p0 + "," + p1 + "," + p2 + "," + p3,
+							statement("AreConcyclic", null, p0.getGeoPoint(),
+									p1.getGeoPoint(), p2.getGeoPoint(),
+									p3.getGeoPoint())) {
+						@Override
+						AlgoElement createStatement() {
+							return new AlgoAreConcyclic(cons, p0.getGeoPoint(),
+									p1.getGeoPoint(), p2.getGeoPoint(),
+									p3.getGeoPoint());
 						}
-						output.remove();
-					}
-					aac.remove();
+
+						@Override
+						boolean isKnown() {
+							return discoveryPool.areConcyclic(p0, p1, p2, p3);
+						}
+
+						@Override
+						void addTheorem() {
+							// Theorem: Concyclicity
+							discoveryPool.addConcyclicity(p0, p1, p2, p3).setTrivial(false);
+						}
+					});
 				}
-				percent += 20.0/steps;
-				updatePercentInfo(p0.getGeoPoint());
 			}
+			prove(conjectures, 20.0, p0.getGeoPoint());
 
 			// Third round: Draw circles from the discovery pool
 			// (those that are not yet drawn):
@@ -494,7 +560,7 @@ public class Discover {
 	 * Extend the database by
 	 * collecting all parallelisms for a given input.
 	 */
-	private void collectParallelisms(Point p0, boolean discover) {
+	private void collectParallelisms(final Point p0, boolean discover) {
 		HashSet<Point> prevPoints = new HashSet<Point>();
 		for (Point ge : discoveryPool.points) {
 			if (!ge.equals(p0)) {
@@ -539,48 +605,51 @@ public class Discover {
 		if (discover) {
 			// Second run: detect non-trivial parallelisms...
 			// This is a heavy part with 35% weight.
-			int steps = prevPoints.size()*allLines.size();
+			PointCoordinates coords = new PointCoordinates(discoveryPool.points);
+			ArrayList<Conjecture> conjectures = new ArrayList<>();
 
-			for (Line l1 : allLines) {
-				for (Point p1 : prevPoints) {
+			for (final Line l1 : allLines) {
+				for (final Point p1 : prevPoints) {
 					if (!l1.getPoints().contains(p0) && !l1.getPoints().contains(p1)) {
 						// if they are not collinear
-						GeoPoint[] p23 = l1.getPoints2();
-						Line l2 = discoveryPool.getLine(p0, p1);
+						final GeoPoint[] p23 = l1.getPoints2();
+						final Line l2 = discoveryPool.getLine(p0, p1);
 						// Consider further trivial checks...
 
-						if (!discoveryPool.areParallel(l1, l2)) {
-							AlgoJoinPoints ajp1 = new AlgoJoinPoints(cons, null, p23[0], p23[1]);
-							AlgoJoinPoints ajp2 = new AlgoJoinPoints(cons, null, p0.getGeoPoint(),
-									p1.getGeoPoint());
-							GeoLine gl1 = ajp1.getLine();
-							GeoLine gl2 = ajp2.getLine();
-							if (gl1.isParallel(gl2)) {
-								AlgoAreParallel aap = new AlgoAreParallel(cons, gl1, gl2);
-								GeoElement root = new GeoBoolean(cons);
-								root.setParentAlgorithm(aap);
-								GeoList output = discoveryPool.AlgoProveDetailsCached(root,
-										p23[0] + "," + p23[1] + "||" + p0 + "," + p1);
-								if (output.size() > 0) {
-									GeoElement truth = output.get(0);
-									if (((GeoBoolean) truth).getBoolean()) {
-										// Theorem: Parallelism
-										discoveryPool.addParallelism(l1, l2).setTrivial(false);
-									}
+						if (!discoveryPool.areParallel(l1, l2)
+								&& coords.areParallel(p23[0], p23[1],
+										p0.getGeoPoint(), p1.getGeoPoint())) {
+							// Conjecture: Parallelism
+							conjectures.add(new Conjecture(
+									p23[0] + "," + p23[1] + "||" + p0 + "," + p1,
+									statement("AreParallel", "Line", p23[0], p23[1],
+											p0.getGeoPoint(), p1.getGeoPoint())) {
+								@Override
+								AlgoElement createStatement() {
+									AlgoJoinPoints ajp1 = new AlgoJoinPoints(cons, null,
+											p23[0], p23[1]);
+									AlgoJoinPoints ajp2 = new AlgoJoinPoints(cons, null,
+											p0.getGeoPoint(), p1.getGeoPoint());
+									return new AlgoAreParallel(cons, ajp1.getLine(),
+											ajp2.getLine());
 								}
-								output.remove();
-								aap.remove();
-							}
-							gl1.remove();
-							gl2.remove();
-							ajp1.remove();
-							ajp2.remove();
+
+								@Override
+								boolean isKnown() {
+									return discoveryPool.areParallel(l1, l2);
+								}
+
+								@Override
+								void addTheorem() {
+									// Theorem: Parallelism
+									discoveryPool.addParallelism(l1, l2).setTrivial(false);
+								}
+							});
 						}
 					}
-					percent += 35.0/steps;
-					updatePercentInfo(p0.getGeoPoint());
 				}
 			}
+			prove(conjectures, 35.0, p0.getGeoPoint());
 
 			/*
 			// Third round: Draw all lines from the discovery pool
@@ -615,7 +684,7 @@ public class Discover {
 	 * Extend the database by
 	 * collecting all equal long segments for a given input.
 	 */
-	private void collectEqualLongSegments(Point p0, boolean discover) {
+	private void collectEqualLongSegments(final Point p0, boolean discover) {
 		HashSet<Point> allPoints = new HashSet<Point>();
 		for (Point ge : discoveryPool.points) {
 			allPoints.add(ge);
@@ -673,48 +742,49 @@ public class Discover {
 		if (discover) {
 			// Second run: detect non-trivial equalities...
 			// This is a heavy part with 25% weight.
-			int steps = allSegments.size() * prevPoints.size();
-
-			for (Segment s1 : allSegments) {
-				for (Point p1 : prevPoints) {
-					Point p2 = s1.getStartPoint();
-					Point p3 = s1.getEndPoint();
-					Segment s2 = discoveryPool.getSegment(p0, p1);
-
-					if (!discoveryPool.areEqualLong(s1, s2)) {
-						AlgoJoinPointsSegment ajps1 =
-								new AlgoJoinPointsSegment(cons, null, p2.getGeoPoint(),
-										p3.getGeoPoint());
-						AlgoJoinPointsSegment ajps2 =
-								new AlgoJoinPointsSegment(cons, null, p0.getGeoPoint(),
-										p1.getGeoPoint());
-						GeoSegment gs1 = ajps1.getSegment();
-						GeoSegment gs2 = ajps2.getSegment();
-						if (gs1.isCongruent(gs2).boolVal()) {
-							AlgoAreCongruent aac = new AlgoAreCongruent(cons, gs1, gs2);
-							GeoElement root = new GeoBoolean(cons);
-							root.setParentAlgorithm(aac);
-							GeoList output = discoveryPool.AlgoProveDetailsCached(root,
-									p2 + "," + p3 + "=" + p0 + "," + p1);
-							if (output.size() > 0) {
-								GeoElement truth = output.get(0);
-								if (((GeoBoolean) truth).getBoolean()) {
-									// Theorem: Congruence
-									discoveryPool.addEquality(s1, s2).setTrivial(false);
-								}
+			PointCoordinates coords = new PointCoordinates(discoveryPool.points);
+			ArrayList<Conjecture> conjectures = new ArrayList<>();
+
+			for (final Segment s1 : allSegments) {
+				for (final Point p1 : prevPoints) {
+					final Point p2 = s1.getStartPoint();
+					final Point p3 = s1.getEndPoint();
+					final Segment s2 = discoveryPool.getSegment(p0, p1);
+
+					if (!discoveryPool.areEqualLong(s1, s2)
+							&& coords.areEqualLong(p2.getGeoPoint(), p3.getGeoPoint(),
+									p0.getGeoPoint(), p1.getGeoPoint())) {
+						// Conjecture: Congruence
+						conjectures.add(new Conjecture(
+								p2 + "," + p3 + "=" + p0 + "," + p1,
+								statement("AreCongruent", "Segment", p2.getGeoPoint(),
+										p3.getGeoPoint(), p0.getGeoPoint(),
+										p1.getGeoPoint())) {
+							@Override
+							AlgoElement createStatement() {
+								AlgoJoinPointsSegment ajps1 = new AlgoJoinPointsSegment(
+										cons, null, p2.getGeoPoint(), p3.getGeoPoint());
+								AlgoJoinPointsSegment ajps2 = new AlgoJoinPointsSegment(
+										cons, null, p0.getGeoPoint(), p1.getGeoPoint());
+								return new AlgoAreCongruent(cons, ajps1.getSegment(),
+										ajps2.getSegment());
 							}
-							output.remove();
-							aac.remove();
-						}
-						gs1.remove();
-						gs2.remove();
-						ajps1.remove();
-						ajps2.remove();
+
+							@Override
+							boolean isKnown() {
+								return discoveryPool.areEqualLong(s1, s2);
+							}
+
+							@Override
+							void addTheorem() {
+								// Theorem: Congruence
+								discoveryPool.addEquality(s1, s2).setTrivial(false);
+							}
+						});
 					}
-					percent += 25.0/steps;
-					updatePercentInfo(p0.getGeoPoint());
 				}
 			}
+			prove(conjectures, 25.0, p0.getGeoPoint());
 
 			// Third round: Draw all lines from the discovery pool
 			// (those that are not yet drawn):
@@ -795,7 +865,7 @@ public class Discover {
 									gl2_added = true;
 								}
 								// First do a numerical check.
-								if (gl1.isPerpendicular(gl2)) {
+								if (gl1.isPerpendicular(gl2) && !isPastDeadline()) {
 									AlgoArePerpendicular aap =
 											new AlgoArePerpendicular(cons, gl1, gl2);
 									GeoElement root = new GeoBoolean(cons);
@@ -916,6 +986,120 @@ public class Discover {
 		}
 	}
 
+	/*
+	 * Prove the conjectures and put the theorems in the discovery pool as soon
+	 * as they are proven. If the platform has proof workers, the conjectures
+	 * are proven concurrently on copies of the construction, otherwise one
+	 * after another. Conjectures that are not proven until the deadline are
+	 * skipped.
+	 */
+	private void prove(final List<Conjecture> conjectures, double weight,
+			final GeoElement geo) {
+		if (conjectures.isEmpty()) {
+			percent += weight;
+			updatePercentInfo(geo);
+			return;
+		}
+		final double step = weight / conjectures.size();
+		final ArrayList<Conjecture> open = new ArrayList<>();
+		ArrayList<String> statements = new ArrayList<>();
+		for (Conjecture c : conjectures) {
+			if (discoveryPool.isCached(c.key)) {
+				accept(c, discoveryPool.algoProveDetailsCache.get(c.key));
+				percent += step;
+			} else if (!c.isKnown()) {
+				open.add(c);
+				statements.add(c.statement);
+			} else {
+				percent += step;
+			}
+		}
+		updatePercentInfo(geo);
+
+		ProofWorkers workers = ProofWorkers.getPrototype();
+		if (workers != null && workers.getSize() > 1 && open.size() > 1
+				&& !statements.contains(null) && !isPastDeadline()) {
+			if (constructionXML == null) {
+				constructionXML = cons.getApplication().getXML();
+			}
+			workers.proveAll(constructionXML, statements, deadline,
+					new ProofWorkers.ResultHandler() {
+						@Override
+						public void onResult(int index, ExtendedBoolean result) {
+							Conjecture c = open.get(index);
+							accept(c, discoveryPool.cacheResult(cons, c.key, result));
+							percent += step;
+							updatePercentInfo(geo);
+						}
+					});
+			return;
+		}
+
+		for (Conjecture c : open) {
+			if (isPastDeadline()) {
+				Log.debug("Discovery deadline reached, skipping conjectures");
+				return;
+			}
+			// the previous theorems may already imply this one
+			if (!c.isKnown()) {
+				AlgoElement algo = c.createStatement();
+				GeoElement root = new GeoBoolean(cons);
+				root.setParentAlgorithm(algo);
+				accept(c, discoveryPool.AlgoProveDetailsCached(root, c.key));
+				algo.remove();
+			}
+			percent += step;
+			updatePercentInfo(geo);
+		}
+	}
+
+	private void accept(Conjecture c, GeoList output) {
+		if (output.size() > 0) {
+			GeoElement truth = output.get(0);
+			if (((GeoBoolean) truth).getBoolean() && !c.isKnown()) {
+				c.addTheorem();
+				if (listener != null) {
+					listener.theoremFound(c.statement != null ? c.statement : c.key);
+				}
+			}
+		}
+		output.remove();
+	}
+
+	private boolean isPastDeadline() {
+		return UtilFactory.getPrototype().getMillisecondTime() > deadline;
+	}
+
+	/*
+	 * Statement for the proof workers, e.g. AreCollinear(A, B, C) or, with
+	 * the pair command Line, AreParallel(Line(A, B), Line(C, D)).
+	 * Returns null if a point has no label.
+	 */
+	private static String statement(String command, String pairCommand,
+			GeoPoint... points) {
+		StringBuilder sb = new StringBuilder(command);
+		sb.append('(');
+		for (int i = 0; i < points.length; i++) {
+			String label = points[i].getLabelSimple();
+			if (label == null) {
+				return null;
+			}
+			if (i > 0) {
+				sb.append(", ");
+			}
+			if (pairCommand != null && i % 2 == 0) {
+				sb.append(pairCommand);
+				sb.append('(');
+			}
+			sb.append(label);
+			if (pairCommand != null && i % 2 == 1) {
+				sb.append(')');
+			}
+		}
+		sb.append(')');
+		return sb.toString();
+	}
+
 	private boolean are3Collinear(Point pA, Point pB, Point pC, Point pD) {
 		GeoPoint A, B, C, D;
 		A = pA.getGeoPoint();
@@ -44,6 +44,7 @@ import org.geogebra.common.kernel.arithmetic.MyDoubleDegreesMinutesSeconds;
 import org.geogebra.common.kernel.arithmetic.MySpecialDouble;
 import org.geogebra.common.kernel.arithmetic.SymbolicMode;
 import org.geogebra.common.kernel.arithmetic.Traversing;
+import org.geogebra.common.kernel.batch.ViewNotificationBus;
 import org.geogebra.common.kernel.cas.AlgoUsingTempCASalgo;
 import org.geogebra.common.kernel.commands.AlgebraProcessor;
 import org.geogebra.common.kernel.geos.CasEvaluableFunction;
@@ -174,6 +175,9 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	// (add, remove, update)
 	/** List of attached views */
 	protected ArrayList<View> views = new ArrayList<>();
+	/** Delivers value and style changes to the views */
+	private final ViewNotificationBus viewNotificationBus = new ViewNotificationBus(
+			views, null);
 	private boolean addingPolygon = false;
 	private GeoElement newPolygon;
 	private final ArrayList<GeoElement> deleteList;
@@ -355,6 +359,12 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	private MyDoubleDegreesMinutesSeconds.Value valueDegreesMinutesSeconds;
 
 	private boolean arcusFunctionCreatesAngle;
+	private boolean parallelSequences = true;
+	private boolean compiledFunctions = true;
+	private boolean parallelImplicitCurves = true;
+	private boolean updateCutoff = true;
+	private boolean parallelUpdate = false;
+	private boolean parallelLoci = true;
 	private ArrayList<AlgoElement> renameListenerAlgos;
 	private boolean spreadsheetBatchRunning;
 	private StringBuilder stateForModeStarting;
@@ -2696,6 +2706,108 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		return symbolicMode;
 	}
 
+	/**
+	 * @param parallel
+	 *            whether long sequences of numbers and points may be
+	 *            evaluated on several threads
+	 */
+	public void setParallelSequences(boolean parallel) {
+		this.parallelSequences = parallel;
+	}
+
+	/**
+	 * @return whether long sequences of numbers and points may be evaluated
+	 *         on several threads
+	 */
+	public boolean isParallelSequences() {
+		return parallelSequences;
+	}
+
+	/**
+	 * @param compiled
+	 *            whether function graphs and implicit curves may be sampled
+	 *            with compiled expressions, see
+	 *            {@link org.geogebra.common.kernel.arithmetic.CompiledExpression}
+	 */
+	public void setCompiledFunctions(boolean compiled) {
+		this.compiledFunctions = compiled;
+	}
+
+	/**
+	 * @return whether function graphs and implicit curves may be sampled
+	 *         with compiled expressions
+	 */
+	public boolean isCompiledFunctions() {
+		return compiledFunctions;
+	}
+
+	/**
+	 * @param parallel
+	 *            whether implicit curves may be sampled on several threads,
+	 *            if the platform supports it
+	 */
+	public void setParallelImplicitCurves(boolean parallel) {
+		this.parallelImplicitCurves = parallel;
+	}
+
+	/**
+	 * @return whether implicit curves may be sampled on several threads
+	 */
+	public boolean isParallelImplicitCurves() {
+		return parallelImplicitCurves;
+	}
+
+	/**
+	 * @param cutoff
+	 *            whether update cascades skip algorithms whose inputs are
+	 *            numerically unchanged
+	 */
+	public void setUpdateCutoff(boolean cutoff) {
+		this.updateCutoff = cutoff;
+	}
+
+	/**
+	 * @return whether update cascades skip algorithms whose inputs are
+	 *         numerically unchanged
+	 */
+	public boolean isUpdateCutoff() {
+		return updateCutoff;
+	}
+
+	/**
+	 * @param parallel
+	 *            whether full updates compute independent algorithms on
+	 *            several threads (only where the platform supports it)
+	 */
+	public void setParallelUpdate(boolean parallel) {
+		this.parallelUpdate = parallel;
+	}
+
+	/**
+	 * @return whether full updates compute independent algorithms on
+	 *         several threads
+	 */
+	public boolean isParallelUpdate() {
+		return parallelUpdate;
+	}
+
+	/**
+	 * @param parallel
+	 *            whether loci of points on segments and conics may be traced
+	 *            on several copies of their construction at once
+	 */
+	public void setParallelLoci(boolean parallel) {
+		this.parallelLoci = parallel;
+	}
+
+	/**
+	 * @return whether loci may be traced on several copies of their
+	 *         construction at once
+	 */
+	public boolean isParallelLoci() {
+		return parallelLoci;
+	}
+
 	/**
 	 * @param casString
 	 *            String to evaluate
@@ -3528,9 +3640,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 */
 	public final void notifyRepaint() {
 		if (notifyRepaint && notifyViewsActive) {
-			for (View view : views) {
-				view.repaintView();
-			}
+			viewNotificationBus.repaintView();
 		}
 	}
 
@@ -3587,6 +3697,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 * Clears all views, even if notifyViewsActive is false
 	 */
 	protected final void notifyClearView() {
+		viewNotificationBus.clear();
 		for (View view : views) {
 			view.clearView();
 		}
@@ -3683,6 +3794,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	public void attach(View view) {
 		if (!views.contains(view)) {
 			views.add(view);
+			viewNotificationBus.invalidateOrder();
 		}
 
 		if (view instanceof EuclidianView) {
@@ -3722,6 +3834,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 */
 	public void detach(View view) {
 		views.remove(view);
+		viewNotificationBus.invalidateOrder();
 		printAttachedViews();
 
 	}
@@ -3931,6 +4044,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 			if (geo.isLabelSet()) {
 				this.deleteList.add(geo);
 			}
+			viewNotificationBus.remove(geo);
 			for (View view : views) {
 				if ((view.getViewID() != App.VIEW_CONSTRUCTION_PROTOCOL)
 						|| isNotifyConstructionProtocolViewAboutAddRemoveActive()) {
@@ -3993,9 +4107,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	public final void notifyUpdate(GeoElement geo) {
 		// event dispatcher should not collect calls to stay compatible with 4.0
 		if (notifyViewsActive) {
-			for (View view : views) {
-				view.update(geo);
-			}
+			viewNotificationBus.update(geo);
 		}
 	}
 
@@ -4008,14 +4120,8 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	public final void notifyUpdateLocation(GeoElement geo) {
 		// event dispatcher should not collect calls to stay compatible with 4.0
 		if (notifyViewsActive) {
-			for (View view : views) {
-				// we already told event dispatcher
-				if (view instanceof UpdateLocationView) {
-					((UpdateLocationView) view).updateLocation(geo);
-				} else {
-					view.update(geo);
-				}
-			}
+			// we already told event dispatcher
+			viewNotificationBus.updateLocation(geo);
 		}
 	}
 
@@ -4029,9 +4135,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 */
 	public final void notifyUpdateVisualStyle(GeoElement geo, GProperty prop) {
 		if (notifyViewsActive) {
-			for (View view : views) {
-				view.updateVisualStyle(geo, prop);
-			}
+			viewNotificationBus.updateVisualStyle(geo, prop);
 		}
 	}
 
@@ -4043,9 +4147,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 */
 	public final void notifyUpdateHightlight(GeoElement geo) {
 		if (notifyViewsActive) {
-			for (View view : views) {
-				view.updateHighlight(geo);
-			}
+			viewNotificationBus.updateHighlight(geo);
 		}
 	}
 
@@ -4057,9 +4159,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 */
 	public final void notifyUpdateAuxiliaryObject(GeoElement geo) {
 		if (notifyViewsActive) {
-			for (View view : views) {
-				view.updateAuxiliaryObject(geo);
-			}
+			viewNotificationBus.updateAuxiliaryObject(geo);
 		}
 	}
 
@@ -4144,6 +4244,13 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		}
 	}
 
+	/**
+	 * @return bus delivering value and style changes to the views
+	 */
+	public ViewNotificationBus getViewNotificationBus() {
+		return viewNotificationBus;
+	}
+
 	public boolean isNotifyViewsActive() {
 		return notifyViewsActive && !viewReiniting;
 	}
@@ -5050,6 +5157,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 * Notify views about started update batch.
 	 */
 	public void notifyBatchUpdate() {
+		viewNotificationBus.startBatch();
 		if (notifyViewsActive) {
 			for (View view : views) {
 				view.startBatchUpdate();
@@ -5061,6 +5169,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 * Notify views about finished update batch.
 	 */
 	public void notifyEndBatchUpdate() {
+		viewNotificationBus.endBatch();
 		if (notifyViewsActive) {
 			for (View view : views) {
 				view.endBatchUpdate();
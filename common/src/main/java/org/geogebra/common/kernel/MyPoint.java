@@ -152,6 +152,14 @@ public class MyPoint extends GPoint2D {
 		return segmentType;
 	}
 
+	/**
+	 * @param segmentType
+	 *            segment type
+	 */
+	public void setSegmentType(SegmentType segmentType) {
+		this.segmentType = segmentType;
+	}
+
 	/**
 	 * @return copy of this point
 	 */
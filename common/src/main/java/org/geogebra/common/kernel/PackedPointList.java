@@ -0,0 +1,150 @@
+package org.geogebra.common.kernel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * List of points stored in primitive arrays: coordinates in two double arrays
+ * and segment types in a byte array, so that loci and pen strokes with many
+ * points do not need one object per point.
+ */
+public class PackedPointList {
+
+	private static final SegmentType[] TYPES = SegmentType.values();
+
+	private double[] xs;
+	private double[] ys;
+	private byte[] types;
+	private int size;
+
+	/**
+	 * @param capacity
+	 *            initial capacity
+	 */
+	public PackedPointList(int capacity) {
+		int initial = Math.max(capacity, 1);
+		xs = new double[initial];
+		ys = new double[initial];
+		types = new byte[initial];
+	}
+
+	/**
+	 * Adds a point to the end of the list.
+	 *
+	 * @param x
+	 *            x-coord
+	 * @param y
+	 *            y-coord
+	 * @param segmentType
+	 *            segment type
+	 */
+	public void add(double x, double y, SegmentType segmentType) {
+		ensureCapacity(size + 1);
+		xs[size] = x;
+		ys[size] = y;
+		types[size] = (byte) segmentType.ordinal();
+		size++;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > xs.length) {
+			int newLength = Math.max(capacity, 2 * xs.length);
+			xs = Arrays.copyOf(xs, newLength);
+			ys = Arrays.copyOf(ys, newLength);
+			types = Arrays.copyOf(types, newLength);
+		}
+	}
+
+	/**
+	 * @return number of points
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all points, keeps the arrays.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return x-coord of i-th point
+	 */
+	public double getX(int i) {
+		return xs[i];
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return y-coord of i-th point
+	 */
+	public double getY(int i) {
+		return ys[i];
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return segment type of i-th point
+	 */
+	public SegmentType getSegmentType(int i) {
+		return TYPES[types[i]];
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @param x
+	 *            new x-coord
+	 * @param y
+	 *            new y-coord
+	 */
+	public void setLocation(int i, double x, double y) {
+		xs[i] = x;
+		ys[i] = y;
+	}
+
+	/**
+	 * Copies the i-th point to a point object, so that one object can be
+	 * reused for all points.
+	 *
+	 * @param i
+	 *            index
+	 * @param target
+	 *            point to be changed
+	 */
+	public void copyTo(int i, MyPoint target) {
+		target.setLocation(xs[i], ys[i]);
+		target.setSegmentType(getSegmentType(i));
+	}
+
+	/**
+	 * @param other
+	 *            points to copy
+	 */
+	public void set(PackedPointList other) {
+		ensureCapacity(other.size);
+		System.arraycopy(other.xs, 0, xs, 0, other.size);
+		System.arraycopy(other.ys, 0, ys, 0, other.size);
+		System.arraycopy(other.types, 0, types, 0, other.size);
+		size = other.size;
+	}
+
+	/**
+	 * Adds a copy of all points to a list.
+	 *
+	 * @param list
+	 *            output list
+	 */
+	public void appendTo(ArrayList<MyPoint> list) {
+		list.ensureCapacity(list.size() + size);
+		for (int i = 0; i < size; i++) {
+			list.add(new MyPoint(xs[i], ys[i], getSegmentType(i)));
+		}
+	}
+}
@@ -98,7 +98,17 @@ public class AlgoDistancePoints extends AlgoElement
 	// calc length of vector v
 	@Override
 	public final void compute() {
-		dist.setValue(P.distance(Q));
+		if (P instanceof GeoPoint && Q instanceof GeoPoint) {
+			// does not touch the cached 3D coordinates of the points
+			dist.setValue(((GeoPoint) P).distance((GeoPoint) Q));
+		} else {
+			dist.setValue(P.distance(Q));
+		}
+	}
+
+	@Override
+	public boolean isComputeThreadSafe() {
+		return P instanceof GeoPoint && Q instanceof GeoPoint;
 	}
 
 	@Override
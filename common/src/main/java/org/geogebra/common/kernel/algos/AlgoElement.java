@@ -27,6 +27,7 @@ import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Discover;
 import org.geogebra.common.kernel.EuclidianViewCE;
 import org.geogebra.common.kernel.GTemplate;
+import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.SetRandomValue;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.VarString;
@@ -45,8 +46,10 @@ import org.geogebra.common.kernel.geos.GeoText;
 import org.geogebra.common.kernel.geos.LabelManager;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
+import org.geogebra.common.plugin.EventType;
 import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.util.StringUtil;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
 
 /**
  * AlgoElement is the superclass of all algorithms.
@@ -81,6 +84,13 @@ public abstract class AlgoElement extends ConstructionElement
 	 */
 	private List<OutputHandler<?>> outputHandler;
 	private boolean mayHaveRandomAncestors = true;
+	/** maximal length of {@link GeoElement#getNumericState(double[])} */
+	public static final int NUMERIC_STATE_LENGTH = 4;
+	/** numeric state of the output as last propagated by a cascade */
+	private double[] outputState;
+	private double[] stateBuffer;
+	private boolean outputStateValid;
+	private boolean updatingInCascade;
 	/** string builder */
 	protected StringBuilder sbAE = new StringBuilder();
 	/** flag stating whether remove() on this algo was already called */
@@ -609,6 +619,147 @@ public abstract class AlgoElement extends ConstructionElement
 		// updateTime += (endTime - startTime );
 	}
 
+	/**
+	 * Updates this algorithm as part of an update cascade. The algorithm is
+	 * skipped if all its inputs were found numerically unchanged in the same
+	 * cascade. Outputs that are unchanged within
+	 * {@link Kernel#STANDARD_PRECISION} compared to their value when last
+	 * propagated are marked, so that the cascade stops below them. See
+	 * {@link Kernel#setUpdateCutoff(boolean)}.
+	 * 
+	 * @param cascade
+	 *            number of the cascade, see
+	 *            {@link Construction#nextUpdateCascade()}
+	 */
+	public final void updateInCascade(int cascade) {
+		if (!kernel.isUpdateCutoff()) {
+			updateProfiled();
+			return;
+		}
+		if (isInputUnchanged(cascade)) {
+			for (int i = 0; i < getOutputLength(); i++) {
+				getOutput(i).setUnchangedInCascade(cascade);
+			}
+			if (GeoGebraProfiler.isAlgoProfiling()) {
+				GeoGebraProfiler.addAlgoSkip(getClass().getName());
+			}
+			return;
+		}
+		updatingInCascade = true;
+		try {
+			updateProfiled();
+		} finally {
+			updatingInCascade = false;
+		}
+		compareOutputState(cascade);
+	}
+
+	private void updateProfiled() {
+		if (!GeoGebraProfiler.isAlgoProfiling()) {
+			update();
+			return;
+		}
+		double start = GeoGebraProfiler.getMillisecondTime();
+		update();
+		GeoGebraProfiler.addAlgoUpdate(getClass().getName(),
+				GeoGebraProfiler.getMillisecondTime() - start);
+	}
+
+	private boolean isInputUnchanged(int cascade) {
+		if (!outputStateValid || mayHaveRandomAncestors || input == null
+				|| input.length == 0) {
+			return false;
+		}
+		for (int i = 0; i < input.length; i++) {
+			if (!input[i].isUnchangedInCascade(cascade)) {
+				return false;
+			}
+		}
+		if (efficientInput != null) {
+			for (int i = 0; i < efficientInput.length; i++) {
+				if (!efficientInput[i].toGeoElement()
+						.isUnchangedInCascade(cascade)) {
+					return false;
+				}
+			}
+		}
+		// outputs that are traced or scripted need their update
+		for (int i = 0; i < getOutputLength(); i++) {
+			GeoElement geo = getOutput(i);
+			if (geo.getTrace() || geo.getSpreadsheetTrace()
+					|| geo.getScript(EventType.UPDATE) != null
+					|| geo.isRandomGeo()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void compareOutputState(int cascade) {
+		int length = getOutputLength() * NUMERIC_STATE_LENGTH;
+		if (outputState == null || outputState.length != length) {
+			outputState = new double[length];
+			outputStateValid = false;
+		}
+		if (stateBuffer == null) {
+			stateBuffer = new double[NUMERIC_STATE_LENGTH];
+		}
+		for (int i = 0; i < getOutputLength(); i++) {
+			GeoElement geo = getOutput(i);
+			int stateLength = geo.getNumericState(stateBuffer);
+			if (stateLength < 0) {
+				continue;
+			}
+			int offset = i * NUMERIC_STATE_LENGTH;
+			if (outputStateValid
+					&& isEqualState(stateBuffer, offset, stateLength)) {
+				geo.setUnchangedInCascade(cascade);
+			} else {
+				System.arraycopy(stateBuffer, 0, outputState, offset,
+						stateLength);
+			}
+		}
+		outputStateValid = true;
+	}
+
+	private boolean isEqualState(double[] state, int offset, int length) {
+		for (int i = 0; i < length; i++) {
+			double a = state[i];
+			double b = outputState[offset + i];
+			if (!(a == b || Math.abs(a - b) <= Kernel.STANDARD_PRECISION
+					|| (Double.isNaN(a) && Double.isNaN(b)))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Only algorithms whose compute() reads plain fields of the inputs (for
+	 * points the homogeneous and inhomogeneous coordinates, for numbers the
+	 * value) may return true. Getters that create or refresh a cache of the
+	 * input (like {@link GeoPointND#getInhomCoordsInD3()}), expression trees,
+	 * the CAS and changes of the construction are not thread safe.
+	 *
+	 * @return whether {@link #compute()} only reads the input and writes the
+	 *         output, so that independent algorithms may be computed on
+	 *         several threads; such algorithms must not override
+	 *         {@link #update()}
+	 */
+	public boolean isComputeThreadSafe() {
+		return false;
+	}
+
+	/**
+	 * Called when an output is updated. Outside of update cascades the
+	 * propagated output state is no longer valid.
+	 */
+	public void onOutputUpdate() {
+		if (!updatingInCascade) {
+			outputStateValid = false;
+		}
+	}
+
 	/**
 	 * update input random numbers without label
 	 * 
@@ -722,6 +873,15 @@ public abstract class AlgoElement extends ConstructionElement
 		return input[i];
 	}
 
+	/**
+	 * @return input that updates this algorithm instead of the input, see
+	 *         {@link #setEfficientDependencies(GeoElement[], GeoElementND[])};
+	 *         null if not set
+	 */
+	public GeoElementND[] getEfficientInput() {
+		return efficientInput;
+	}
+
 	/**
 	 * @return input without local variables
 	 */
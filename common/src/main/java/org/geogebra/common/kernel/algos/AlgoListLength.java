@@ -74,4 +74,9 @@ public class AlgoListLength extends AlgoElement {
 		}
 	}
 
+	@Override
+	public boolean isComputeThreadSafe() {
+		return true;
+	}
+
 }
@@ -324,9 +324,9 @@ public class AlgoLocusList extends AlgoElement {
 				continue;
 			}
 			for (int j = 0; j < actGeo.getPointLength(); j++) {
-				insertPoint(actGeo.getPoints().get(j).x, actGeo.getPoints()
-						.get(j).y, j != 0
-						&& actGeo.getPoints().get(j).getLineTo());
+				insertPoint(actGeo.getPointX(j), actGeo.getPointY(j),
+						j != 0 && actGeo
+								.getPointSegmentType(j) == SegmentType.LINE_TO);
 			}
 			if (actGeo.getPointLength() > 0) {
 				foundDefined = true;
@@ -12,6 +12,7 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.algos;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.TreeSet;
@@ -28,12 +29,20 @@ import org.geogebra.common.kernel.Path;
 import org.geogebra.common.kernel.PathMover;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.arithmetic.ExpressionValue;
+import org.geogebra.common.kernel.arithmetic.Inspecting;
 import org.geogebra.common.kernel.arithmetic.MyDouble;
 import org.geogebra.common.kernel.commands.Commands;
+import org.geogebra.common.kernel.geos.GeoConic;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoLocusND;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.kernel.geos.GeoSegment;
 import org.geogebra.common.kernel.implicit.GeoImplicit;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
+import org.geogebra.common.util.MyMath;
+import org.geogebra.common.util.ParallelExecutor;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -50,6 +59,11 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 	/** maximum time for the computation of one locus point in millis **/
 	public static final int MAX_TIME_FOR_ONE_STEP = 500;
 
+	/** more copies of the macro construction are not worth the memory */
+	private static final int PARALLEL_MAX_SHARDS = 8;
+	/** initial samples per step of the sequential path mover */
+	private static final int PARALLEL_SAMPLES_PER_STEP = 4;
+
 	private int minStepsInstance = PathMover.MIN_STEPS;
 
 	protected static final int MAX_X_PIXEL_DIST = 5;
@@ -94,6 +108,13 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 	private boolean maxTimeExceeded;
 	private Construction macroCons;
 	private MacroKernel macroKernel;
+	private String locusConsXML;
+	// copies of the macro construction for parallel tracing
+	private boolean parallelTraceable;
+	// objects of the main construction used by the macro construction, each
+	// copy gets its own free copies of them
+	private TreeSet<GeoElement> sharedInputs;
+	private LocusShard[] shards;
 	// private AlgorithmSet macroConsAlgoSet;
 	// list with all original elements used for the macro construction
 	private TreeSet<ConstructionElement> locusConsOrigElements;
@@ -364,25 +385,11 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 	private void buildLocusMacroConstruction(
 			TreeSet<ConstructionElement> locusConsElements) {
 		// build macro construction
-		macroKernel = kernel.newMacroKernel();
-		macroKernel.setGlobalVariableLookup(true);
-
-		// tell the macro construction about reserved names:
-		// these names will not be looked up in the parent
-		// construction
-		Iterator<ConstructionElement> it = locusConsElements.iterator();
-		while (it.hasNext()) {
-			ConstructionElement ce = it.next();
-			if (ce.isGeoElement()) {
-				GeoElement geo = (GeoElement) ce;
-				macroKernel.addReservedLabel(
-						geo.getLabel(StringTemplate.defaultTemplate));
-			}
-		}
+		macroKernel = newLocusMacroKernel();
 
 		try {
 			// get XML for macro construction of P -> Q
-			String locusConsXML = Macro.buildMacroXML(kernel, locusConsElements)
+			locusConsXML = Macro.buildMacroXML(kernel, locusConsElements)
 					.toString();
 			macroKernel.loadXML(locusConsXML);
 
@@ -401,6 +408,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 			copyQ = (GeoPointND) macroKernel
 					.lookupLabel(((GeoElement) locusPoint).getLabelSimple());
 			macroCons = macroKernel.getConstruction();
+			parallelTraceable = isParallelTraceable();
 
 			/*
 			 * // make sure that the references to e.g. start/end point of a
@@ -427,11 +435,178 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		// //Application.debug("Q == Qcopy: " + (Q == Qcopy));
 	}
 
+	/**
+	 * @return empty macro kernel that knows the labels of the locus
+	 *         construction
+	 */
+	private MacroKernel newLocusMacroKernel() {
+		MacroKernel mk = kernel.newMacroKernel();
+		mk.setGlobalVariableLookup(true);
+
+		// tell the macro construction about reserved names:
+		// these names will not be looked up in the parent
+		// construction
+		Iterator<ConstructionElement> it = locusConsOrigElements.iterator();
+		while (it.hasNext()) {
+			ConstructionElement ce = it.next();
+			if (ce.isGeoElement()) {
+				GeoElement geo = (GeoElement) ce;
+				mk.addReservedLabel(
+						geo.getLabel(StringTemplate.defaultTemplate));
+			}
+		}
+		return mk;
+	}
+
+	/**
+	 * The copies of the macro construction are updated on different threads,
+	 * so this is only allowed for plain geometric objects that don't touch
+	 * the application or shared objects in their update, and for paths whose
+	 * copy can be moved along a finite parameter range. Objects of the main
+	 * construction used by the copies must be plain, too: e.g. evaluating a
+	 * function changes its function variable. Even reading plain objects may
+	 * change their caches, so each copy gets free copies of them, see
+	 * {@link #isCopyableInput(GeoElement)}.
+	 * 
+	 * @return whether the locus may be traced in parallel
+	 */
+	private boolean isParallelTraceable() {
+		if (!(copyP instanceof GeoPoint) || !(copyQ instanceof GeoPoint)
+				|| !(path instanceof GeoSegment || path instanceof GeoConic)) {
+			return false;
+		}
+		final TreeSet<GeoElement> shared = new TreeSet<>();
+		Inspecting sharedCheck = new Inspecting() {
+			@Override
+			public boolean check(ExpressionValue v) {
+				return v instanceof GeoElement
+						&& addSharedInput((GeoElement) v, shared);
+			}
+		};
+		// the moving point is only put on the path on the thread of the kernel
+		AlgoElement pathAlgo = copyP.getParentAlgorithm();
+		for (GeoElement geo : macroCons.getGeoSetConstructionOrder()) {
+			AlgoElement algo = geo.getParentAlgorithm();
+			if (!isPlainGeo(geo) || algo instanceof AlgoCasBase) {
+				return false;
+			}
+			if (geo.getDefinition() != null
+					&& geo.getDefinition().inspect(sharedCheck)) {
+				return false;
+			}
+			if (algo != null && algo != pathAlgo
+					&& (addSharedInputs(algo.getInput(), shared)
+							|| addSharedInputs(algo.getEfficientInput(),
+									shared))) {
+				return false;
+			}
+		}
+		for (GeoElement geo : shared) {
+			if (!isCopyableInput(geo)) {
+				return false;
+			}
+		}
+		sharedInputs = shared;
+		return true;
+	}
+
+	private static boolean isPlainGeo(GeoElementND geo) {
+		return geo.isGeoPoint() || geo.isGeoLine() || geo.isGeoConic()
+				|| geo.isGeoNumeric() || geo.isGeoVector()
+				|| geo.isGeoBoolean();
+	}
+
+	/**
+	 * Objects of these types can be copied into the copies of the macro
+	 * construction as free objects with their current value.
+	 */
+	private static boolean isCopyableInput(GeoElement geo) {
+		if (!geo.isLabelSet()) {
+			return false;
+		}
+		switch (geo.getGeoClassType()) {
+		case POINT:
+		case LINE:
+		case CONIC:
+		case NUMERIC:
+		case ANGLE:
+		case VECTOR:
+		case BOOLEAN:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private boolean addSharedInputs(GeoElementND[] input,
+			TreeSet<GeoElement> shared) {
+		if (input == null) {
+			return false;
+		}
+		for (GeoElementND geo : input) {
+			if (addSharedInput(geo.toGeoElement(), shared)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param geo
+	 *            input of an object of the macro construction
+	 * @param shared
+	 *            collects the inputs from the main construction
+	 * @return whether the input prevents parallel tracing
+	 */
+	private boolean addSharedInput(GeoElement geo,
+			TreeSet<GeoElement> shared) {
+		if (!isPlainGeo(geo)) {
+			return true;
+		}
+		if (geo.getConstruction() != macroCons) {
+			shared.add(geo);
+		}
+		return false;
+	}
+
+	/**
+	 * Sets the copies of the objects of the main construction to their
+	 * current values.
+	 * 
+	 * @param copyCons
+	 *            one of the parallel copies of the macro construction
+	 */
+	private void resetSharedInputs(Construction copyCons) {
+		for (GeoElement geoOrig : sharedInputs) {
+			copyCons.lookupLabel(geoOrig.getLabelSimple()).set(geoOrig);
+		}
+	}
+
+	/**
+	 * @return XML of the macro construction with free copies of the objects
+	 *         of the main construction it uses
+	 */
+	private String getShardXML() {
+		StringBuilder sb = new StringBuilder();
+		for (GeoElement geo : sharedInputs) {
+			GeoElement copy = geo.copy();
+			copy.setLabelSimple(geo.getLabelSimple());
+			copy.getXML(false, sb);
+		}
+		int start = locusConsXML.indexOf('>',
+				locusConsXML.indexOf("<construction")) + 1;
+		return locusConsXML.substring(0, start) + sb
+				+ locusConsXML.substring(start);
+	}
+
 	/**
 	 * Set all elements in locusConsElements to the current values of the main
 	 * construction
+	 * 
+	 * @param copyCons
+	 *            macro construction or one of its parallel copies
 	 */
-	private void resetMacroConstruction() {
+	private void resetMacroConstruction(Construction copyCons) {
 		Iterator<ConstructionElement> it = locusConsOrigElements.iterator();
 		while (it.hasNext()) {
 			ConstructionElement ce = it.next();
@@ -440,7 +615,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 				// do not copy functions, their expressions already
 				// include references to the correct other geos
 				if (!geoOrig.isGeoFunction()) {
-					GeoElement geoCopy = macroCons
+					GeoElement geoCopy = copyCons
 							.lookupLabel(geoOrig.getLabelSimple());
 					if (geoCopy != null) {
 						try {
@@ -484,9 +659,13 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		macroKernel.setContinuous(continuous);
 
 		// update macro construction with current values of global vars
-		resetMacroConstruction();
+		resetMacroConstruction(macroCons);
 		macroCons.updateConstruction(false);
 
+		if (traceParallel()) {
+			return;
+		}
+
 		// lines: start from startpoint to avoid inf. problems.
 		// Otherwise go from endpoint to endpoint
 		if (!MyDouble.isFinite(path.getMinParameter())
@@ -663,6 +842,160 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		// ", cache used: " + useCache);
 	}
 
+	/**
+	 * Traces the locus on several copies of the macro construction at once:
+	 * each copy samples a part of the parameter range, adding samples where
+	 * neighbouring locus points are too far apart on screen; the samples are
+	 * then added to the locus in parameter order.
+	 * 
+	 * @return false if the locus has to be traced sequentially
+	 */
+	private boolean traceParallel() {
+		ParallelExecutor executor = ParallelExecutor.getPrototype();
+		final double min = path.getMinParameter();
+		final double max = path.getMaxParameter();
+		if (!kernel.isParallelLoci() || !parallelTraceable || continuous || executor == null
+				|| executor.getParallelism() < 2
+				|| kernel.getApplication().getConfig().hasPreviewPoints()
+				|| !MyDouble.isFinite(min) || !MyDouble.isFinite(max)
+				|| min >= max) {
+			return false;
+		}
+		if (shards == null && !createShards(Math.min(
+				executor.getParallelism(), PARALLEL_MAX_SHARDS))) {
+			parallelTraceable = false;
+			return false;
+		}
+
+		// copies are updated on this thread, the construction may not change
+		// while they are traced
+		for (LocusShard shard : shards) {
+			resetSharedInputs(shard.getConstruction());
+			resetMacroConstruction(shard.getConstruction());
+			shard.getConstruction().updateConstruction(false);
+			shard.setPath(path);
+		}
+
+		final int steps = PARALLEL_SAMPLES_PER_STEP * minStepsInstance;
+		final int maxShardPoints = PathMover.MAX_POINTS * views
+				/ shards.length;
+		ArrayList<Runnable> tasks = new ArrayList<>(shards.length);
+		for (int i = 0; i < shards.length; i++) {
+			final LocusShard shard = shards[i];
+			final int start = i * steps / shards.length;
+			final int end = (i + 1) * steps / shards.length;
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					shard.trace(AlgoLocusND.this, min, max, steps, start, end,
+							maxShardPoints);
+				}
+			});
+		}
+		executor.invokeAll(tasks);
+
+		for (LocusShard shard : shards) {
+			if (shard.isMaxTimeExceeded()) {
+				Log.error("AlgoLocus: max time exceeded");
+				return true;
+			}
+		}
+		boolean prevDefined = false;
+		ExpressionNode qDef = copyQ.getDefinition();
+		for (int i = 0; i < shards.length; i++) {
+			LocusShard shard = shards[i];
+			// the last sample of a shard is the first one of the next shard
+			int size = i == shards.length - 1 ? shard.size()
+					: shard.size() - 1;
+			for (int k = 0; k < size; k++) {
+				if (!shard.isDefined(k)) {
+					prevDefined = false;
+					continue;
+				}
+				copyQ.setCoords(shard.getX(k), shard.getY(k), 1.0);
+				if (!foundDefined) {
+					((GeoElement) startQPos).set(copyQ);
+					foundDefined = true;
+					insertPoint(copyQ, false);
+				} else {
+					insertPoint(copyQ, prevDefined && distanceSmall(copyQ, true));
+				}
+				prevDefined = true;
+			}
+		}
+		copyQ.setDefinition(qDef);
+
+		locus.setDefined(foundDefined);
+		return true;
+	}
+
+	private boolean createShards(int count) {
+		shards = new LocusShard[count];
+		try {
+			String shardXML = getShardXML();
+			for (int i = 0; i < count; i++) {
+				MacroKernel shardKernel = newLocusMacroKernel();
+				for (GeoElement geo : sharedInputs) {
+					// never fall back to the object of the main construction
+					shardKernel.addReservedLabel(geo.getLabelSimple());
+				}
+				shardKernel.loadXML(shardXML);
+				GeoPointND shardP = (GeoPointND) shardKernel
+						.lookupLabel(((GeoElement) movingPoint).getLabelSimple());
+				((GeoElement) shardP).setFixed(false);
+				GeoPointND shardQ = (GeoPointND) shardKernel
+						.lookupLabel(((GeoElement) locusPoint).getLabelSimple());
+				shards[i] = new LocusShard(shardKernel, shardP, shardQ,
+						path.toGeoElement()
+								.copyInternal(shardKernel.getConstruction()));
+			}
+			return true;
+		} catch (Exception e) {
+			Log.debug("AlgoLocus: no parallel copies " + e.getMessage());
+			shards = null;
+			return false;
+		}
+	}
+
+	/**
+	 * @return number of copies of the macro construction used for parallel
+	 *         tracing
+	 */
+	int getShardCount() {
+		return shards == null ? 0 : shards.length;
+	}
+
+	/**
+	 * Like {@link #distanceOK(GeoPointND)}: steps far off screen do not need
+	 * to be small, unless they cross the screen.
+	 * 
+	 * @param x0
+	 *            x-coord of the first locus point
+	 * @param y0
+	 *            y-coord of the first locus point
+	 * @param x1
+	 *            x-coord of the second locus point
+	 * @param y1
+	 *            y-coord of the second locus point
+	 * @return whether the locus points are close enough in all visible views
+	 */
+	boolean isSampleGapSmall(double x0, double y0, double x1, double y1) {
+		for (int i = 0; i < visibleEV.length; i++) {
+			if (!visibleEV[i]) {
+				continue;
+			}
+			boolean small = Math.abs(x1 - x0) < maxXdist[i]
+					&& Math.abs(y1 - y0) < maxYdist[i];
+			if (!small && MyMath.intervalsIntersect(Math.min(x0, x1),
+					Math.max(x0, x1), farXmin[i], farXmax[i])
+					&& MyMath.intervalsIntersect(Math.min(y0, y1),
+							Math.max(y0, y1), farYmin[i], farYmax[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * 
 	 * @param point
@@ -12,12 +12,11 @@
 
 package org.geogebra.common.kernel.algos;
 
-import java.util.ArrayList;
-
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoLocusND;
 import org.geogebra.common.kernel.geos.GeoLocusNDInterface;
 import org.geogebra.common.kernel.geos.GeoNumeric;
 
@@ -73,20 +72,24 @@ public class AlgoPerimeterLocus extends AlgoElement {
 			return;
 		}
 
-		ArrayList<? extends MyPoint> points = locus.getPoints();
+		GeoLocusND<? extends MyPoint> points = locus.getLocus();
+		int size = points.getPointLength();
 
-		if (points.size() < 2) {
+		if (size < 2) {
 			circum.setUndefined();
 			return;
 		}
 
-		MyPoint lastPoint = points.get(0);
+		double lastX = points.getPointX(0);
+		double lastY = points.getPointY(0);
 
 		double length = 0;
-		for (int i = 1; i < points.size(); i++) {
-			MyPoint pt = points.get(i);
-			length = length + pt.distance(lastPoint);
-			lastPoint = pt;
+		for (int i = 1; i < size; i++) {
+			double x = points.getPointX(i);
+			double y = points.getPointY(i);
+			length = length + Math.hypot(x - lastX, y - lastY);
+			lastX = x;
+			lastY = y;
 		}
 		circum.setValue(length);
 	}
@@ -18,16 +18,27 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.algos;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.arithmetic.CompiledExpression;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.arithmetic.ExpressionValue;
+import org.geogebra.common.kernel.arithmetic.Inspecting;
+import org.geogebra.common.kernel.arithmetic.MyVecNode;
 import org.geogebra.common.kernel.arithmetic.ReplaceChildrenByValues;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumberValue;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.util.DoubleUtil;
+import org.geogebra.common.util.ParallelExecutor;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -38,6 +49,10 @@ import org.geogebra.common.util.debug.Log;
  */
 public class AlgoSequence extends AlgoElement {
 
+	/** smaller sequences are not worth the synchronization */
+	private static final int PARALLEL_MIN_SIZE = 1000;
+	private static final int PARALLEL_MIN_CHUNK = 250;
+
 	private GeoElementND expression; // input expression dependent on var
 	private GeoNumeric var; // input: local variable
 	private GeoNumberValue var_from;
@@ -51,6 +66,9 @@ public class AlgoSequence extends AlgoElement {
 	private boolean expIsFunctionOrCurve;
 	private boolean isEmpty;
 	private AlgoElement expressionParentAlgo;
+	private double[] packedValues;
+	// coordinates of the points, if evaluated in parallel
+	private double[][] pointCoords;
 
 	// we need to check that some Object[] reference didn't cause infinite
 	// update cycle
@@ -223,10 +241,16 @@ public class AlgoSequence extends AlgoElement {
 		cons.setSuppressLabelCreation(true);
 
 		// update list
-		if (setValuesOnly) {
-			updateListItems(from, to, step);
+		if (canPackNumbers()) {
+			packNumbers(from, to, step);
 		} else {
-			createNewList(from, to, step);
+			computePointCoords(from, to, step);
+			if (setValuesOnly) {
+				updateListItems(from, to, step);
+			} else {
+				createNewList(from, to, step);
+			}
+			pointCoords = null;
 		}
 
 		// revert label creation setting
@@ -265,7 +289,7 @@ public class AlgoSequence extends AlgoElement {
 				}
 
 				// set local var value
-				updateLocalVar(currentVal);
+				updateLocalVar(i, currentVal);
 				addElement(i);
 				currentVal += step;
 				if (DoubleUtil.isInteger(currentVal)) {
@@ -277,7 +301,8 @@ public class AlgoSequence extends AlgoElement {
 
 		// if the old list was longer than the new one
 		// we need to set some cached elements to undefined
-		for (int k = oldListSize - 1; k >= i; k--) {
+		for (int k = Math.min(oldListSize, list.getCacheSize()) - 1; k >= i;
+				k--) {
 			GeoElement oldElement = list.getCached(k);
 			oldElement.setUndefined();
 			oldElement.update();
@@ -289,6 +314,194 @@ public class AlgoSequence extends AlgoElement {
 		last_step = step;
 	}
 
+	/**
+	 * @return whether the elements would be plain numbers, so their values
+	 *         are enough
+	 */
+	private boolean canPackNumbers() {
+		if (!(expression instanceof GeoNumeric)
+				|| expression.getGeoClassType() != GeoClass.NUMERIC
+				|| expression.isIndependent() || expression.isDrawable()) {
+			return false;
+		}
+		// constant definitions would be copied to the elements
+		ExpressionNode definition = expression.getDefinition();
+		return definition == null || !definition.isConstant();
+	}
+
+	private void packNumbers(double from, double to, double step) {
+		// elements are created again when leaving this mode
+		last_from = Double.MIN_VALUE;
+		last_to = Double.MIN_VALUE;
+		last_step = Double.MIN_VALUE;
+
+		int size = 0;
+		if (!isEmpty) {
+			if (Double.isInfinite((to - from) / step)) {
+				list.clear();
+				list.setUndefined();
+				return;
+			}
+			double[] varValues = getVarValues(from, to, step);
+			size = varValues.length;
+			if (packedValues == null || packedValues.length < size) {
+				packedValues = new double[size];
+			}
+			if (!evaluateParallel(varValues, new double[][] { packedValues })) {
+				for (int i = 0; i < size; i++) {
+					// check we haven't run out of memory
+					if (kernel.getApplication().freeMemoryIsCritical()) {
+						long mem = kernel.getApplication().freeMemory();
+						list.clearCache();
+						kernel.initUndoInfo(); // clear all undo info
+						Log.debug("AlgoSequence aborted: free memory reached "
+								+ mem);
+						return;
+					}
+
+					// set local var value
+					updateLocalVar(varValues[i]);
+					packedValues[i] = ((GeoNumeric) expression).getDouble();
+				}
+			} else if (size > 0) {
+				// leave the local variable and the expression as the loop
+				// above does
+				updateLocalVar(varValues[size - 1]);
+			}
+		}
+		list.setPackedNumbers(packedValues, size, this);
+	}
+
+	/**
+	 * @return values of the local variable, the same as in the loops of
+	 *         {@link #createNewList(double, double, double)} and
+	 *         {@link #updateListItems(double, double, double)}
+	 */
+	private static double[] getVarValues(double from, double to,
+			double step) {
+		double[] values = new double[(int) Math.ceil((to - from) / step) + 1];
+		int size = 0;
+		double currentVal = from;
+		while ((step > 0 && currentVal <= to + Kernel.MIN_PRECISION)
+				|| (step < 0 && currentVal >= to - Kernel.MIN_PRECISION)) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, 2 * size);
+			}
+			values[size++] = currentVal;
+			currentVal += step;
+			if (DoubleUtil.isInteger(currentVal)) {
+				currentVal = Math.round(currentVal);
+			}
+		}
+		return size == values.length ? values : Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * Evaluates the expression for all values of the local variable in chunks
+	 * on several threads. Each chunk uses its own compiled copy of the
+	 * expression, which reads the variable from its argument rather than from
+	 * the shared local variable.
+	 *
+	 * @param varValues
+	 *            values of the local variable
+	 * @param results
+	 *            arrays for the number or the coordinates of the point
+	 * @return false if the expression can't be evaluated that way, e.g.
+	 *         because it contains random numbers, commands or CAS
+	 *         operations, or if there are too few values
+	 */
+	private boolean evaluateParallel(final double[] varValues,
+			final double[][] results) {
+		ParallelExecutor executor = ParallelExecutor.getPrototype();
+		if (!kernel.isParallelSequences() || executor == null
+				|| varValues.length < PARALLEL_MIN_SIZE) {
+			return false;
+		}
+		ExpressionValue[] coords = getExpressionCoords();
+		if (coords == null || coords.length != results.length) {
+			return false;
+		}
+		int tasks = Math.min(executor.getParallelism() * 4,
+				varValues.length / PARALLEL_MIN_CHUNK);
+		ArrayList<Runnable> chunks = new ArrayList<>(tasks);
+		for (int i = 0; i < tasks; i++) {
+			final CompiledExpression[] programs =
+					new CompiledExpression[coords.length];
+			for (int j = 0; j < coords.length; j++) {
+				programs[j] = CompiledExpression.compile(coords[j], var);
+				if (programs[j] == null) {
+					return false;
+				}
+			}
+			final int start = i * varValues.length / tasks;
+			final int end = (i + 1) * varValues.length / tasks;
+			chunks.add(new Runnable() {
+				@Override
+				public void run() {
+					for (int k = start; k < end; k++) {
+						for (int j = 0; j < programs.length; j++) {
+							results[j][k] = programs[j].evaluate(varValues[k]);
+						}
+					}
+				}
+			});
+		}
+		executor.invokeAll(chunks);
+		return true;
+	}
+
+	/**
+	 * @return expression of a dependent number, or of the coordinates of a
+	 *         dependent point, if it only depends on the local variable
+	 *         directly; null otherwise
+	 */
+	private ExpressionValue[] getExpressionCoords() {
+		ExpressionNode definition = expression.getDefinition();
+		if (definition == null || definition.inspect(new Inspecting() {
+			@Override
+			public boolean check(ExpressionValue v) {
+				return v != var && v instanceof GeoElement
+						&& ((GeoElement) v).isChildOf(var);
+			}
+		})) {
+			return null;
+		}
+		if (expression.getGeoClassType() == GeoClass.NUMERIC
+				&& expressionParentAlgo instanceof AlgoDependentNumber
+				&& ((AlgoDependentNumber) expressionParentAlgo)
+						.isRewriteFormula()) {
+			return new ExpressionValue[] { definition };
+		}
+		ExpressionValue vector = definition.unwrap();
+		if (expression.getGeoClassType() == GeoClass.POINT
+				&& expressionParentAlgo instanceof AlgoDependentPoint
+				&& vector instanceof MyVecNode && ((MyVecNode) vector)
+						.getToStringMode() == Kernel.COORD_CARTESIAN) {
+			return new ExpressionValue[] { ((MyVecNode) vector).getX(),
+					((MyVecNode) vector).getY() };
+		}
+		return null;
+	}
+
+	/**
+	 * Evaluates the coordinates of a point expression for all values of the
+	 * local variable in parallel if possible.
+	 */
+	private void computePointCoords(double from, double to, double step) {
+		pointCoords = null;
+		if (isEmpty || !kernel.isParallelSequences()
+				|| ParallelExecutor.getPrototype() == null
+				|| expression.getGeoClassType() != GeoClass.POINT
+				|| Double.isInfinite((to - from) / step)) {
+			return;
+		}
+		double[] varValues = getVarValues(from, to, step);
+		double[][] coords = new double[2][varValues.length];
+		if (evaluateParallel(varValues, coords)) {
+			pointCoords = coords;
+		}
+	}
+
 	private void addElement(int i) {
 		// only add new objects
 		GeoElement listElement = null;
@@ -382,7 +595,7 @@ public class AlgoSequence extends AlgoElement {
 			}
 
 			// set local var value
-			updateLocalVar(currentVal);
+			updateLocalVar(i, currentVal);
 
 			// copy expression value to listElement
 			// if it's undefined, just copy the undefined property
@@ -405,6 +618,28 @@ public class AlgoSequence extends AlgoElement {
 		}
 	}
 
+	/**
+	 * Sets the expression to the precomputed point if the coordinates were
+	 * evaluated in parallel, otherwise updates it from the local variable.
+	 */
+	private void updateLocalVar(int index, double varVal) {
+		if (pointCoords == null) {
+			updateLocalVar(varVal);
+			return;
+		}
+		var.setValue(varVal);
+		// same as AlgoDependentPoint
+		double x = pointCoords[0][index];
+		double y = pointCoords[1][index];
+		ExpressionNode def = expression.getDefinition();
+		if (Double.isInfinite(x) || Double.isInfinite(y)) {
+			expression.setUndefined();
+		} else {
+			((GeoPoint) expression).setCoords(x, y, 1.0);
+		}
+		expression.setDefinition(def);
+	}
+
 	/**
 	 * Sets value of the local loop variable of the sequence and updates all
 	 * it's dependencies until we reach the sequence algo.
@@ -120,6 +120,13 @@ public abstract class AlgoStats1D extends AlgoElement {
 		return result;
 	}
 
+	@Override
+	public boolean isComputeThreadSafe() {
+		// elements of packed lists are created on access
+		return geoList2 == null || (geoList.getPackedNumbers() == null
+				&& geoList2.getPackedNumbers() == null);
+	}
+
 	@Override
 	public final void compute() {
 
@@ -191,8 +198,23 @@ public abstract class AlgoStats1D extends AlgoElement {
 		boolean useMidpoint = false;
 		double n = 0;
 
+		// packed numbers, no frequencies
+		double[] packed = geoList2 == null ? geoList.getPackedNumbers()
+				: null;
+		if (packed != null) {
+			double val;
+			for (int i = 0; i < size; i++) {
+				val = packed[i];
+				sumVal += val;
+				sumSquares += val * val;
+				product *= val;
+			}
+
+			n = size;
+		}
+
 		// list of numbers only, no frequencies
-		if (geoList2 == null) {
+		else if (geoList2 == null) {
 			double val;
 			for (int i = 0; i < size; i++) {
 				geo = geoList.get(i);
@@ -271,8 +293,8 @@ public abstract class AlgoStats1D extends AlgoElement {
 			if (geoList2 == null) {
 				double val;
 				for (int i = 0; i < size; i++) {
-					geo = geoList.get(i);
-					val = geo.evaluateDouble();
+					val = packed != null ? packed[i]
+							: geoList.get(i).evaluateDouble();
 					sumAbsoluteDeviation += Math.abs(mu - val);
 				}
 			}
@@ -18,6 +18,8 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
+import org.geogebra.common.kernel.Construction;
+
 /**
  * Set to store AlgoElement objects for updating.
  */
@@ -270,6 +272,22 @@ public class AlgorithmSet implements Iterable<AlgoElement> {
 		}
 	}
 
+	/**
+	 * Updates all algorithms of this set as one update cascade, see
+	 * {@link AlgoElement#updateInCascade(int)}.
+	 * 
+	 * @param cons
+	 *            construction of the algorithms
+	 */
+	final public void updateAllInCascade(Construction cons) {
+		int cascade = cons.nextUpdateCascade();
+		Link cur = getHead();
+		while (cur != null) {
+			cur.algo.updateInCascade(cascade);
+			cur = cur.next;
+		}
+	}
+
 	/**
 	 * Updates all algorithms of this set until the given algorithm is reached.
 	 * 
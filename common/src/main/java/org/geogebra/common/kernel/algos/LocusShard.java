@@ -0,0 +1,205 @@
+package org.geogebra.common.kernel.algos;
+
+import java.util.Arrays;
+
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.MacroKernel;
+import org.geogebra.common.kernel.Path;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
+
+/**
+ * Copy of the macro construction of a locus that samples a part of the path
+ * parameter range on its own thread. The samples are kept in parameter order,
+ * undefined locus points have NaN coordinates.
+ */
+class LocusShard {
+
+	/** at most 2^MAX_DEPTH samples are added between two initial samples */
+	private static final int MAX_DEPTH = 12;
+
+	private final MacroKernel macroKernel;
+	private final GeoPointND copyP;
+	private final GeoPointND copyQ;
+	// own copy of the path: paths may use temporary objects
+	private final GeoElement pathCopy;
+
+	private double[] xs = new double[256];
+	private double[] ys = new double[256];
+	private int size;
+	private boolean maxTimeExceeded;
+	private double lastX;
+	private double lastY;
+
+	/**
+	 * @param macroKernel
+	 *            macro kernel with a copy of the locus construction
+	 * @param copyP
+	 *            copy of the moving point
+	 * @param copyQ
+	 *            copy of the locus point
+	 * @param pathCopy
+	 *            copy of the path
+	 */
+	LocusShard(MacroKernel macroKernel, GeoPointND copyP, GeoPointND copyQ,
+			GeoElement pathCopy) {
+		this.macroKernel = macroKernel;
+		this.copyP = copyP;
+		this.copyQ = copyQ;
+		this.pathCopy = pathCopy;
+		copyP.setPath((Path) pathCopy);
+	}
+
+	/**
+	 * @return construction of the macro kernel
+	 */
+	Construction getConstruction() {
+		return macroKernel.getConstruction();
+	}
+
+	/**
+	 * Copies the current state of the path.
+	 *
+	 * @param path
+	 *            path of the moving point
+	 */
+	void setPath(Path path) {
+		pathCopy.set(path.toGeoElement());
+		// path parameter has to match the type of the path
+		((Path) pathCopy).pointChanged(copyP);
+	}
+
+	/**
+	 * Samples the locus point at the initial parameters with index start to
+	 * end (inclusive) and between them where the locus points are too far
+	 * apart.
+	 *
+	 * @param algo
+	 *            locus algorithm, decides where samples are needed
+	 * @param min
+	 *            minimal path parameter
+	 * @param max
+	 *            maximal path parameter
+	 * @param steps
+	 *            number of initial steps for the whole parameter range
+	 * @param start
+	 *            index of the first initial parameter
+	 * @param end
+	 *            index of the last initial parameter
+	 * @param maxPoints
+	 *            no samples are added once there are this many
+	 */
+	void trace(AlgoLocusND<?> algo, double min, double max, int steps,
+			int start, int end, int maxPoints) {
+		size = 0;
+		maxTimeExceeded = false;
+		double t0 = min + (max - min) * start / steps;
+		evaluate(t0);
+		double x0 = lastX;
+		double y0 = lastY;
+		add(x0, y0);
+		for (int k = start + 1; k <= end && !maxTimeExceeded; k++) {
+			double t1 = k == steps ? max : min + (max - min) * k / steps;
+			evaluate(t1);
+			double x1 = lastX;
+			double y1 = lastY;
+			refine(algo, t0, x0, y0, t1, x1, y1, MAX_DEPTH, maxPoints);
+			add(x1, y1);
+			t0 = t1;
+			x0 = x1;
+			y0 = y1;
+		}
+	}
+
+	private void refine(AlgoLocusND<?> algo, double t0, double x0, double y0,
+			double t1, double x1, double y1, int depth, int maxPoints) {
+		if (depth == 0 || maxTimeExceeded || size >= maxPoints) {
+			return;
+		}
+		boolean defined0 = !Double.isNaN(x0);
+		boolean defined1 = !Double.isNaN(x1);
+		// look for the border between defined and undefined locus points
+		if (defined0 == defined1
+				&& (!defined0 || algo.isSampleGapSmall(x0, y0, x1, y1))) {
+			return;
+		}
+		double t = (t0 + t1) / 2;
+		evaluate(t);
+		double x = lastX;
+		double y = lastY;
+		refine(algo, t0, x0, y0, t, x, y, depth - 1, maxPoints);
+		add(x, y);
+		refine(algo, t, x, y, t1, x1, y1, depth - 1, maxPoints);
+	}
+
+	private void evaluate(double t) {
+		copyP.getPathParameter().setT(t);
+		((Path) pathCopy).pathChanged(copyP);
+
+		long startTime = System.currentTimeMillis();
+		copyP.updateCascade();
+		if (System.currentTimeMillis()
+				- startTime > AlgoLocusND.MAX_TIME_FOR_ONE_STEP) {
+			maxTimeExceeded = true;
+		}
+
+		if (copyQ.isDefined() && !copyQ.isInfinite()) {
+			lastX = copyQ.getInhomX();
+			lastY = copyQ.getInhomY();
+		} else {
+			lastX = Double.NaN;
+			lastY = Double.NaN;
+		}
+	}
+
+	private void add(double x, double y) {
+		if (size == xs.length) {
+			xs = Arrays.copyOf(xs, 2 * size);
+			ys = Arrays.copyOf(ys, 2 * size);
+		}
+		xs[size] = x;
+		ys[size] = y;
+		size++;
+	}
+
+	/**
+	 * @return number of samples
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @param i
+	 *            sample index
+	 * @return whether the locus point was defined
+	 */
+	boolean isDefined(int i) {
+		return !Double.isNaN(xs[i]);
+	}
+
+	/**
+	 * @param i
+	 *            sample index
+	 * @return x-coord of the locus point
+	 */
+	double getX(int i) {
+		return xs[i];
+	}
+
+	/**
+	 * @param i
+	 *            sample index
+	 * @return y-coord of the locus point
+	 */
+	double getY(int i) {
+		return ys[i];
+	}
+
+	/**
+	 * @return whether the construction took too long to update
+	 */
+	boolean isMaxTimeExceeded() {
+		return maxTimeExceeded;
+	}
+}
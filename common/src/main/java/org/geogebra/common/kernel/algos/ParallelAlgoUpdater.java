@@ -0,0 +1,128 @@
+package org.geogebra.common.kernel.algos;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.common.util.ParallelExecutor;
+
+/**
+ * Updates algorithms in construction order, computing runs of independent
+ * algorithms with thread safe {@link AlgoElement#compute()} on several
+ * threads. Outputs are updated and views notified on the calling thread in
+ * construction order.
+ */
+public class ParallelAlgoUpdater {
+
+	/** smaller batches are not worth the synchronization */
+	private static final int MIN_BATCH_SIZE = 16;
+
+	private final ParallelExecutor executor;
+	private final ArrayList<AlgoElement> batch = new ArrayList<>();
+	private final HashSet<AlgoElement> batchSet = new HashSet<>();
+
+	/**
+	 * @param executor
+	 *            executor for the computations
+	 */
+	public ParallelAlgoUpdater(ParallelExecutor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Updates the algorithm, or defers it to the current batch if its
+	 * computation is thread safe. Algorithms have to be passed in
+	 * construction order.
+	 *
+	 * @param algo
+	 *            algorithm
+	 */
+	public void update(AlgoElement algo) {
+		if (!algo.isComputeThreadSafe()) {
+			flush();
+			algo.update();
+			return;
+		}
+		if (dependsOnBatch(algo)) {
+			flush();
+		}
+		batch.add(algo);
+		batchSet.add(algo);
+	}
+
+	private boolean dependsOnBatch(AlgoElement algo) {
+		return dependsOnBatch(algo.getInput())
+				|| dependsOnBatch(algo.getEfficientInput());
+	}
+
+	private boolean dependsOnBatch(GeoElementND[] geos) {
+		if (geos == null) {
+			return false;
+		}
+		for (GeoElementND geo : geos) {
+			AlgoElement parent = geo.getParentAlgorithm();
+			if (parent == null) {
+				continue;
+			}
+			if (batchSet.contains(parent)) {
+				return true;
+			}
+			// helpers such as the expression of a sequence may be computed by
+			// the algorithm that uses them rather than in construction order
+			if (!geo.isLabelSet() && dependsOnBatch(parent)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Updates all deferred algorithms.
+	 */
+	public void flush() {
+		if (batch.isEmpty()) {
+			return;
+		}
+		try {
+			if (batch.size() < MIN_BATCH_SIZE) {
+				for (AlgoElement algo : batch) {
+					algo.update();
+				}
+			} else {
+				updateBatch();
+			}
+		} finally {
+			batch.clear();
+			batchSet.clear();
+		}
+	}
+
+	private void updateBatch() {
+		for (AlgoElement algo : batch) {
+			algo.updateUnlabeledRandomGeos();
+		}
+		int tasks = Math.min(batch.size(), executor.getParallelism() * 4);
+		ArrayList<Runnable> computations = new ArrayList<>(tasks);
+		for (int i = 0; i < tasks; i++) {
+			final int from = i * batch.size() / tasks;
+			final int to = (i + 1) * batch.size() / tasks;
+			computations.add(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = from; j < to; j++) {
+						AlgoElement algo = batch.get(j);
+						if (!algo.doStopUpdateCascade()) {
+							algo.compute();
+						}
+					}
+				}
+			});
+		}
+		executor.invokeAll(computations);
+		for (AlgoElement algo : batch) {
+			if (!algo.doStopUpdateCascade()) {
+				algo.updateDependentGeos();
+			}
+		}
+	}
+}
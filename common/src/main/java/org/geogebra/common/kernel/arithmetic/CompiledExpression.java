@@ -0,0 +1,432 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.util.DoubleUtil;
+import org.geogebra.common.util.MyMath;
+
+/**
+ * Numeric function compiled into a postfix program that is interpreted over a
+ * stack of doubles. Unlike walking the expression tree, which creates a
+ * MyDouble for every node, an evaluation does not allocate anything.
+ *
+ * The program gives the same values as {@link ExpressionNode#evaluateDouble()}:
+ * the operations that it evaluates with plain double arithmetic (+, -, *, /,
+ * ^, sin, cos, sqrt) are compiled to plain arithmetic, the operations below
+ * other ones follow the corresponding {@link MyDouble} methods. Constants and
+ * numbers are read when the program runs, so the program stays valid while
+ * they change, but it has to be compiled again when the tree changes.
+ *
+ * Only expressions whose leaves are function variables, MyDoubles and
+ * GeoNumerics and whose operations are listed here are compiled; for other
+ * ones {@link #compile(FunctionNVar)} returns null and the tree has to be
+ * used.
+ *
+ * An instance is not thread safe, since the stack is shared by all
+ * evaluations.
+ */
+public final class CompiledExpression {
+
+	private static final int VAR = 0;
+	private static final int NUMBER = 1;
+	private static final int PLUS = 2;
+	private static final int MINUS = 3;
+	private static final int MULTIPLY = 4;
+	private static final int DIVIDE = 5;
+	private static final int POWER = 6;
+	private static final int POWER_EXACT = 7;
+	private static final int SIN = 8;
+	private static final int SIN_EXACT = 9;
+	private static final int COS = 10;
+	private static final int COS_EXACT = 11;
+	private static final int SQRT = 12;
+	private static final int TAN = 13;
+	private static final int EXP = 14;
+	private static final int LOG = 15;
+	private static final int LOG10 = 16;
+	private static final int LOG2 = 17;
+	private static final int ABS = 18;
+	private static final int SGN = 19;
+	private static final int CBRT = 20;
+	private static final int SINH = 21;
+	private static final int COSH = 22;
+	private static final int TANH = 23;
+	private static final int SEC = 24;
+	private static final int CSC = 25;
+	private static final int COT = 26;
+	private static final int ARCSIN = 27;
+	private static final int ARCCOS = 28;
+	private static final int ARCTAN = 29;
+
+	/** opcode in the low byte, argument index in the rest */
+	private final int[] code;
+	private final NumberValue[] numbers;
+	/** exponents of powers, needed for roots of negative numbers */
+	private final ExpressionNode[] exponents;
+	private final double[] stack;
+	private final double[] args;
+
+	private CompiledExpression(Compiler compiler, int vars) {
+		code = new int[compiler.code.size()];
+		for (int i = 0; i < code.length; i++) {
+			code[i] = compiler.code.get(i);
+		}
+		numbers = compiler.numbers.toArray(new NumberValue[0]);
+		exponents = compiler.exponents.toArray(new ExpressionNode[0]);
+		stack = new double[compiler.maxDepth];
+		args = new double[vars];
+	}
+
+	/**
+	 * @param function
+	 *            function
+	 * @return compiled function or null if the function is not numeric or
+	 *         contains unsupported operations
+	 */
+	public static CompiledExpression compile(FunctionNVar function) {
+		if (function == null || function.isBooleanFunction()
+				|| function.getExpression() == null) {
+			return null;
+		}
+		FunctionVariable[] vars = function.getFunctionVariables();
+		Compiler compiler = new Compiler(
+				vars == null ? new FunctionVariable[0] : vars);
+		if (!compiler.compile(function.getExpression(), false)) {
+			return null;
+		}
+		return new CompiledExpression(compiler, compiler.vars.length);
+	}
+
+	/**
+	 * Compiles an expression in a number that is used as variable, e.g. the
+	 * local variable of a sequence. Unlike functions, the program follows
+	 * ExpressionNode.evaluate() for all operations, which is how dependent
+	 * numbers and points are computed.
+	 *
+	 * @param expression
+	 *            expression
+	 * @param variable
+	 *            number used as variable
+	 * @return compiled expression or null if the expression contains
+	 *         unsupported operations
+	 */
+	public static CompiledExpression compile(ExpressionValue expression,
+			GeoNumeric variable) {
+		Compiler compiler = new Compiler(new ExpressionValue[] { variable });
+		if (expression == null || !compiler.compile(expression, true)) {
+			return null;
+		}
+		return new CompiledExpression(compiler, 1);
+	}
+
+	/**
+	 * @param x
+	 *            value of the first variable
+	 * @return function value
+	 */
+	public double evaluate(double x) {
+		args[0] = x;
+		return evaluate(args);
+	}
+
+	/**
+	 * @param x
+	 *            value of the first variable
+	 * @param y
+	 *            value of the second variable
+	 * @return function value
+	 */
+	public double evaluate(double x, double y) {
+		args[0] = x;
+		args[1] = y;
+		return evaluate(args);
+	}
+
+	/**
+	 * @param vals
+	 *            values of the variables
+	 * @return function value
+	 */
+	public double evaluate(double[] vals) {
+		final double[] s = stack;
+		int sp = -1;
+		for (int instruction : code) {
+			int arg = instruction >> 8;
+			switch (instruction & 0xFF) {
+			case VAR:
+				s[++sp] = vals[arg];
+				break;
+			case NUMBER:
+				s[++sp] = numbers[arg].getDouble();
+				break;
+			case PLUS:
+				sp--;
+				s[sp] += s[sp + 1];
+				break;
+			case MINUS:
+				sp--;
+				s[sp] -= s[sp + 1];
+				break;
+			case MULTIPLY:
+				sp--;
+				s[sp] *= s[sp + 1];
+				break;
+			case DIVIDE:
+				sp--;
+				s[sp] /= s[sp + 1];
+				break;
+			case POWER:
+				sp--;
+				s[sp] = power(s[sp], s[sp + 1], arg, false);
+				break;
+			case POWER_EXACT:
+				sp--;
+				s[sp] = power(s[sp], s[sp + 1], arg, true);
+				break;
+			default:
+				s[sp] = unary(instruction & 0xFF, s[sp]);
+			}
+		}
+		return s[0];
+	}
+
+	private double power(double base, double exponent, int exponentIndex,
+			boolean exact) {
+		// same as ExpressionNodeEvaluator.handlePower
+		if (exact && MyDouble.exactEqual(base, Math.E)) {
+			return Math.exp(exponent);
+		}
+		if (base < 0 && exponentIndex >= 0) {
+			Double negPower = exponents[exponentIndex]
+					.calculateNegPower(base);
+			if (negPower != null) {
+				return negPower;
+			}
+		}
+		return exact ? MyDouble.pow(base, exponent) : Math.pow(base, exponent);
+	}
+
+	private static double unary(int op, double x) {
+		switch (op) {
+		case SIN:
+			return Math.sin(x);
+		case SIN_EXACT:
+			// same as MyDouble.sin
+			return Math.abs(x) > 0.1 ? checkZero(Math.sin(x)) : Math.sin(x);
+		case COS:
+			return Math.cos(x);
+		case COS_EXACT:
+			return checkZero(Math.cos(x));
+		case SQRT:
+			return Math.sqrt(x);
+		case TAN:
+			// same as MyDouble.tan
+			if (DoubleUtil.isEqual(Math.abs(x) % Math.PI, Kernel.PI_HALF)) {
+				return Double.NaN;
+			}
+			return Math.abs(x) > 0.1 ? checkZero(Math.tan(x)) : Math.tan(x);
+		case EXP:
+			return Math.exp(x);
+		case LOG:
+			return Math.log(x);
+		case LOG10:
+			return Math.log(x) / MyMath.LOG10;
+		case LOG2:
+			return Math.log(x) / MyMath.LOG2;
+		case ABS:
+			return Math.abs(x);
+		case SGN:
+			return MyMath.sgn(x);
+		case CBRT:
+			return MyMath.cbrt(x);
+		case SINH:
+			return MyMath.sinh(x);
+		case COSH:
+			return MyMath.cosh(x);
+		case TANH:
+			return MyMath.tanh(x);
+		case SEC:
+			return MyMath.sec(x);
+		case CSC:
+			return MyMath.csc(x);
+		case COT:
+			return MyMath.cot(x);
+		case ARCSIN:
+			return MyMath.asin(x);
+		case ARCCOS:
+			return MyMath.acos(x);
+		case ARCTAN:
+			return Math.atan(x);
+		default:
+			return Double.NaN;
+		}
+	}
+
+	private static double checkZero(double x) {
+		return DoubleUtil.isZero(x) ? 0 : x;
+	}
+
+	/**
+	 * Translates the tree to postfix code.
+	 */
+	private static class Compiler {
+		final ExpressionValue[] vars;
+		final ArrayList<Integer> code = new ArrayList<>();
+		final ArrayList<NumberValue> numbers = new ArrayList<>();
+		final ArrayList<ExpressionNode> exponents = new ArrayList<>();
+		int depth;
+		int maxDepth;
+
+		Compiler(ExpressionValue[] vars) {
+			this.vars = vars;
+		}
+
+		/**
+		 * @param ev
+		 *            subtree
+		 * @param exact
+		 *            false for the operations evaluated by
+		 *            ExpressionNode.evaluateDouble() (plain double
+		 *            arithmetic), true below other operations (MyDouble
+		 *            arithmetic)
+		 * @return whether the subtree is supported
+		 */
+		boolean compile(ExpressionValue ev, boolean exact) {
+			if (ev instanceof ExpressionNode) {
+				return compileNode((ExpressionNode) ev, exact);
+			}
+			for (int i = 0; i < vars.length; i++) {
+				if (vars[i] == ev) {
+					push(VAR, i);
+					return true;
+				}
+			}
+			if (ev instanceof MyDouble || ev instanceof GeoNumeric) {
+				push(NUMBER, numbers.size());
+				numbers.add((NumberValue) ev);
+				return true;
+			}
+			return false;
+		}
+
+		private boolean compileNode(ExpressionNode node, boolean exact) {
+			if (node.isLeaf()) {
+				return compile(node.getLeft(), exact);
+			}
+			switch (node.getOperation()) {
+			case NO_OPERATION:
+				return compile(node.getLeft(), true);
+			case PLUS:
+				return binary(node, exact, PLUS);
+			case MINUS:
+				return binary(node, exact, MINUS);
+			case MULTIPLY:
+				return binary(node, exact, MULTIPLY);
+			case MULTIPLY_OR_FUNCTION:
+				return binary(node, true, MULTIPLY);
+			case DIVIDE:
+				return binary(node, exact, DIVIDE);
+			case POWER:
+				int exponent = -1;
+				if (node.getRight().isExpressionNode()) {
+					// negative powers read the exponent from the tree, where
+					// the variables are not set
+					if (((ExpressionNode) node.getRight())
+							.containsFunctionVariable()
+							|| containsVariable(node.getRight())) {
+						return false;
+					}
+					exponent = exponents.size();
+					exponents.add((ExpressionNode) node.getRight());
+				}
+				return binary(node, exact,
+						(exact ? POWER_EXACT : POWER) | (exponent << 8));
+			case SIN:
+				return unary(node, exact, exact ? SIN_EXACT : SIN);
+			case COS:
+				return unary(node, exact, exact ? COS_EXACT : COS);
+			case SQRT:
+				return unary(node, exact, SQRT);
+			case SQRT_SHORT:
+				return unary(node, true, SQRT);
+			case TAN:
+				return unary(node, true, TAN);
+			case EXP:
+				return unary(node, true, EXP);
+			case LOG:
+				return unary(node, true, LOG);
+			case LOG10:
+				return unary(node, true, LOG10);
+			case LOG2:
+				return unary(node, true, LOG2);
+			case ABS:
+				return unary(node, true, ABS);
+			case SGN:
+				return unary(node, true, SGN);
+			case CBRT:
+				return unary(node, true, CBRT);
+			case SINH:
+				return unary(node, true, SINH);
+			case COSH:
+				return unary(node, true, COSH);
+			case TANH:
+				return unary(node, true, TANH);
+			case SEC:
+				return unary(node, true, SEC);
+			case CSC:
+				return unary(node, true, CSC);
+			case COT:
+				return unary(node, true, COT);
+			case ARCSIN:
+				return unary(node, true, ARCSIN);
+			case ARCCOS:
+				return unary(node, true, ARCCOS);
+			case ARCTAN:
+				return unary(node, true, ARCTAN);
+			default:
+				return false;
+			}
+		}
+
+		private boolean containsVariable(ExpressionValue ev) {
+			return ev.inspect(new Inspecting() {
+				@Override
+				public boolean check(ExpressionValue v) {
+					for (ExpressionValue var : vars) {
+						if (v == var) {
+							return true;
+						}
+					}
+					return false;
+				}
+			});
+		}
+
+		private boolean binary(ExpressionNode node, boolean exact,
+				int instruction) {
+			if (!compile(node.getLeft(), exact)
+					|| !compile(node.getRight(), exact)) {
+				return false;
+			}
+			code.add(instruction);
+			depth--;
+			return true;
+		}
+
+		private boolean unary(ExpressionNode node, boolean exact, int op) {
+			if (!compile(node.getLeft(), exact)) {
+				return false;
+			}
+			code.add(op);
+			return true;
+		}
+
+		private void push(int op, int arg) {
+			code.add(op | (arg << 8));
+			depth++;
+			maxDepth = Math.max(maxDepth, depth);
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package org.geogebra.common.kernel.batch;
+
+import org.geogebra.common.kernel.View;
+
+/**
+ * Interface for views that may catch up with value and style changes
+ * asynchronously, see {@link ViewNotificationBus}
+ */
+public interface AsyncView extends View {
+
+	/**
+	 * @return whether update, style and repaint notifications may be
+	 *         coalesced and delivered after a short delay
+	 */
+	boolean isUpdatingAsync();
+}
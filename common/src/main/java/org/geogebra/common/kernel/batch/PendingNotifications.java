@@ -0,0 +1,214 @@
+package org.geogebra.common.kernel.batch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.geogebra.common.kernel.UpdateLocationView;
+import org.geogebra.common.kernel.View;
+import org.geogebra.common.kernel.geos.GProperty;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+
+/**
+ * Notifications for one view that were not delivered yet. Repeated
+ * notifications of the same kind for the same element are merged.
+ */
+class PendingNotifications {
+
+	static final int UPDATE = 1;
+	static final int LOCATION = 2;
+	static final int AUXILIARY = 4;
+	static final int HIGHLIGHT = 8;
+
+	private LinkedHashMap<GeoElementND, PendingGeo> geos = new LinkedHashMap<>();
+	private LinkedHashMap<GeoElementND, PendingGeo> delivering = new LinkedHashMap<>();
+	private final ArrayList<PendingGeo> unused = new ArrayList<>();
+	private boolean repaint;
+	private int received;
+	private double queuedSince;
+
+	private static class PendingGeo {
+		private int flags;
+		private ArrayList<GProperty> properties;
+
+		void addProperty(GProperty prop) {
+			if (properties == null) {
+				properties = new ArrayList<>(2);
+			}
+			if (!properties.contains(prop)) {
+				properties.add(prop);
+			}
+		}
+
+		void clear() {
+			flags = 0;
+			if (properties != null) {
+				properties.clear();
+			}
+		}
+	}
+
+	/**
+	 * @param geo
+	 *            element
+	 * @param flag
+	 *            one of UPDATE, LOCATION, AUXILIARY, HIGHLIGHT
+	 * @param time
+	 *            current time in ms
+	 */
+	void add(GeoElementND geo, int flag, double time) {
+		get(geo, time).flags |= flag;
+	}
+
+	/**
+	 * @param geo
+	 *            element
+	 * @param prop
+	 *            changed property
+	 * @param time
+	 *            current time in ms
+	 */
+	void addVisualStyle(GeoElement geo, GProperty prop, double time) {
+		get(geo, time).addProperty(prop);
+	}
+
+	/**
+	 * @param time
+	 *            current time in ms
+	 */
+	void addRepaint(double time) {
+		markReceived(time);
+		repaint = true;
+	}
+
+	private PendingGeo get(GeoElementND geo, double time) {
+		markReceived(time);
+		PendingGeo pending = geos.get(geo);
+		if (pending == null) {
+			pending = unused.isEmpty() ? new PendingGeo()
+					: unused.remove(unused.size() - 1);
+			geos.put(geo, pending);
+		}
+		return pending;
+	}
+
+	private void markReceived(double time) {
+		if (isEmpty()) {
+			queuedSince = time;
+		}
+		received++;
+	}
+
+	/**
+	 * Forget notifications about a removed element.
+	 *
+	 * @param geo
+	 *            removed element
+	 */
+	void remove(GeoElementND geo) {
+		PendingGeo pending = geos.remove(geo);
+		if (pending != null) {
+			recycle(pending);
+		}
+	}
+
+	/**
+	 * Forget all notifications.
+	 */
+	void clear() {
+		for (PendingGeo pending : geos.values()) {
+			recycle(pending);
+		}
+		geos.clear();
+		repaint = false;
+		received = 0;
+	}
+
+	boolean isEmpty() {
+		return geos.isEmpty() && !repaint;
+	}
+
+	/**
+	 * @return number of notifications merged into the pending ones
+	 */
+	int getReceived() {
+		return received;
+	}
+
+	/**
+	 * @return time (in ms) when the oldest pending notification was added
+	 */
+	double getQueuedSince() {
+		return queuedSince;
+	}
+
+	/**
+	 * Send all pending notifications to the view; notifications added by the
+	 * view's callbacks are kept for the next delivery.
+	 *
+	 * @param view
+	 *            view
+	 * @return number of view callbacks
+	 */
+	int deliver(View view) {
+		LinkedHashMap<GeoElementND, PendingGeo> current = geos;
+		boolean currentRepaint = repaint;
+		geos = delivering;
+		delivering = current;
+		repaint = false;
+		received = 0;
+
+		int calls = 0;
+		try {
+			for (Map.Entry<GeoElementND, PendingGeo> entry : current
+					.entrySet()) {
+				calls += deliver(view, entry.getKey(), entry.getValue());
+			}
+			if (currentRepaint) {
+				view.repaintView();
+				calls++;
+			}
+		} finally {
+			for (PendingGeo pending : current.values()) {
+				recycle(pending);
+			}
+			current.clear();
+		}
+		return calls;
+	}
+
+	private static int deliver(View view, GeoElementND geoND,
+			PendingGeo pending) {
+		GeoElement geo = geoND.toGeoElement();
+		int calls = 0;
+		if ((pending.flags & UPDATE) != 0) {
+			view.update(geo);
+			calls++;
+		}
+		if ((pending.flags & LOCATION) != 0) {
+			((UpdateLocationView) view).updateLocation(geo);
+			calls++;
+		}
+		if ((pending.flags & AUXILIARY) != 0) {
+			view.updateAuxiliaryObject(geo);
+			calls++;
+		}
+		if (pending.properties != null) {
+			for (GProperty prop : pending.properties) {
+				view.updateVisualStyle(geo, prop);
+				calls++;
+			}
+		}
+		if ((pending.flags & HIGHLIGHT) != 0) {
+			view.updateHighlight(geoND);
+			calls++;
+		}
+		return calls;
+	}
+
+	private void recycle(PendingGeo pending) {
+		pending.clear();
+		unused.add(pending);
+	}
+}
@@ -0,0 +1,422 @@
+package org.geogebra.common.kernel.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.geogebra.common.euclidian.EuclidianViewInterfaceCommon;
+import org.geogebra.common.factories.UtilFactory;
+import org.geogebra.common.kernel.UpdateLocationView;
+import org.geogebra.common.kernel.View;
+import org.geogebra.common.kernel.geos.GProperty;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.common.util.GTimer;
+import org.geogebra.common.util.GTimerListener;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Delivers value and style changes of elements to the views attached to the
+ * kernel.
+ * <p>
+ * Views are notified in order of priority: visible graphics views first, then
+ * the other views, then graphics views that are not showing. During an update
+ * batch (e.g. one drag step or animation frame) the hidden graphics views only
+ * collect the notifications; repeated notifications for the same element are
+ * merged and delivered when the outermost batch ends. Views that implement
+ * {@link AsyncView} may also catch up after a short delay.
+ * <p>
+ * Adding, removing and renaming elements is still sent directly to the views
+ * by the kernel; this class only forgets pending notifications of removed
+ * elements.
+ */
+public class ViewNotificationBus implements GTimerListener {
+
+	/** visible graphics views */
+	public static final int PRIORITY_VISIBLE_GRAPHICS = 0;
+	/** views without a special priority */
+	public static final int PRIORITY_DEFAULT = 1;
+	/** graphics views that are not showing */
+	public static final int PRIORITY_HIDDEN_GRAPHICS = 2;
+	/** views updated asynchronously */
+	public static final int PRIORITY_ASYNC = 3;
+
+	private static final int ASYNC_DELAY = 80;
+
+	private final List<View> views;
+	private UtilFactory factory;
+	private GTimer timer;
+	private ViewEntry[] entries = new ViewEntry[0];
+	private boolean orderValid;
+	private int batchDepth;
+
+	private static final class ViewEntry {
+		private final View view;
+		private final String name;
+		private int priority;
+		private final PendingNotifications pending = new PendingNotifications();
+
+		ViewEntry(View view) {
+			this.view = view;
+			this.name = view.getClass().getName();
+		}
+	}
+
+	/**
+	 * @param views
+	 *            attached views, owned by the kernel
+	 * @param factory
+	 *            factory for the timer of asynchronous views; if null, the
+	 *            prototype is used
+	 */
+	public ViewNotificationBus(List<View> views, UtilFactory factory) {
+		this.views = views;
+		this.factory = factory;
+	}
+
+	/**
+	 * @param view
+	 *            view
+	 * @return priority of the view, lower values are notified first
+	 */
+	public static int getPriority(View view) {
+		if (view instanceof AsyncView && ((AsyncView) view).isUpdatingAsync()) {
+			return PRIORITY_ASYNC;
+		}
+		if (view instanceof EuclidianViewInterfaceCommon) {
+			return ((EuclidianViewInterfaceCommon) view).isShowing()
+					? PRIORITY_VISIBLE_GRAPHICS : PRIORITY_HIDDEN_GRAPHICS;
+		}
+		return PRIORITY_DEFAULT;
+	}
+
+	/**
+	 * Views were attached or detached, or their visibility changed.
+	 */
+	public void invalidateOrder() {
+		orderValid = false;
+	}
+
+	private ViewEntry[] getEntries() {
+		if (!orderValid) {
+			updateOrder();
+		}
+		return entries;
+	}
+
+	private void updateOrder() {
+		orderValid = true;
+		ArrayList<ViewEntry> sorted = new ArrayList<>(views.size());
+		for (View view : views) {
+			ViewEntry entry = findEntry(view);
+			if (entry == null) {
+				entry = new ViewEntry(view);
+			}
+			entry.priority = getPriority(view);
+			sorted.add(entry);
+		}
+		// stable, keeps the attach order within a priority
+		Collections.sort(sorted, new Comparator<ViewEntry>() {
+			@Override
+			public int compare(ViewEntry o1, ViewEntry o2) {
+				return Integer.compare(o1.priority, o2.priority);
+			}
+		});
+		ViewEntry[] oldEntries = entries;
+		entries = sorted.toArray(new ViewEntry[0]);
+		RuntimeException failure = null;
+		for (ViewEntry entry : oldEntries) {
+			if (!views.contains(entry.view)) {
+				entry.pending.clear();
+			} else if (!isQueued(entry)) {
+				failure = flush(entry, failure);
+			}
+		}
+		rethrow(failure);
+	}
+
+	private ViewEntry findEntry(View view) {
+		for (ViewEntry entry : entries) {
+			if (entry.view == view) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	private boolean isQueued(ViewEntry entry) {
+		if (entry.priority == PRIORITY_ASYNC) {
+			return batchDepth > 0 || getTimer() != null;
+		}
+		return entry.priority == PRIORITY_HIDDEN_GRAPHICS && batchDepth > 0;
+	}
+
+	private GTimer getTimer() {
+		if (timer == null) {
+			if (factory == null) {
+				factory = UtilFactory.getPrototype();
+			}
+			if (factory != null) {
+				timer = factory.newTimer(this, ASYNC_DELAY);
+			}
+		}
+		return timer;
+	}
+
+	private void queued(ViewEntry entry) {
+		if (entry.priority == PRIORITY_ASYNC) {
+			GTimer asyncTimer = getTimer();
+			if (asyncTimer != null && !asyncTimer.isRunning()) {
+				asyncTimer.start();
+			}
+		}
+	}
+
+	/**
+	 * Start an update batch; the order of views is updated for the outermost
+	 * batch.
+	 */
+	public void startBatch() {
+		if (batchDepth == 0) {
+			orderValid = false;
+		}
+		batchDepth++;
+	}
+
+	/**
+	 * End an update batch; when the outermost batch ends, collected
+	 * notifications of hidden graphics views are delivered.
+	 */
+	public void endBatch() {
+		if (batchDepth == 0) {
+			return;
+		}
+		batchDepth--;
+		if (batchDepth == 0) {
+			RuntimeException failure = null;
+			for (ViewEntry entry : getEntries()) {
+				if (!isQueued(entry)) {
+					failure = flush(entry, failure);
+				}
+			}
+			rethrow(failure);
+		}
+	}
+
+	/**
+	 * @param geo
+	 *            element whose value changed
+	 */
+	public void update(GeoElement geo) {
+		double time = getTime();
+		for (ViewEntry entry : getEntries()) {
+			if (isQueued(entry)) {
+				entry.pending.add(geo, PendingNotifications.UPDATE, time);
+				queued(entry);
+			} else {
+				double start = getTime();
+				entry.view.update(geo);
+				delivered(entry, time, start);
+			}
+		}
+	}
+
+	/**
+	 * @param geo
+	 *            element whose location on screen changed
+	 */
+	public void updateLocation(GeoElement geo) {
+		double time = getTime();
+		for (ViewEntry entry : getEntries()) {
+			boolean location = entry.view instanceof UpdateLocationView;
+			if (isQueued(entry)) {
+				entry.pending.add(geo, location ? PendingNotifications.LOCATION
+						: PendingNotifications.UPDATE, time);
+				queued(entry);
+			} else {
+				double start = getTime();
+				if (location) {
+					((UpdateLocationView) entry.view).updateLocation(geo);
+				} else {
+					entry.view.update(geo);
+				}
+				delivered(entry, time, start);
+			}
+		}
+	}
+
+	/**
+	 * @param geo
+	 *            element whose style changed
+	 * @param prop
+	 *            changed property
+	 */
+	public void updateVisualStyle(GeoElement geo, GProperty prop) {
+		double time = getTime();
+		for (ViewEntry entry : getEntries()) {
+			if (isQueued(entry)) {
+				entry.pending.addVisualStyle(geo, prop, time);
+				queued(entry);
+			} else {
+				double start = getTime();
+				entry.view.updateVisualStyle(geo, prop);
+				delivered(entry, time, start);
+			}
+		}
+	}
+
+	/**
+	 * @param geo
+	 *            highlighted element
+	 */
+	public void updateHighlight(GeoElementND geo) {
+		double time = getTime();
+		for (ViewEntry entry : getEntries()) {
+			if (isQueued(entry)) {
+				entry.pending.add(geo, PendingNotifications.HIGHLIGHT, time);
+				queued(entry);
+			} else {
+				double start = getTime();
+				entry.view.updateHighlight(geo);
+				delivered(entry, time, start);
+			}
+		}
+	}
+
+	/**
+	 * @param geo
+	 *            element whose auxiliary flag changed
+	 */
+	public void updateAuxiliaryObject(GeoElement geo) {
+		double time = getTime();
+		for (ViewEntry entry : getEntries()) {
+			if (isQueued(entry)) {
+				entry.pending.add(geo, PendingNotifications.AUXILIARY, time);
+				queued(entry);
+			} else {
+				double start = getTime();
+				entry.view.updateAuxiliaryObject(geo);
+				delivered(entry, time, start);
+			}
+		}
+	}
+
+	/**
+	 * Ask all views to repaint.
+	 */
+	public void repaintView() {
+		double time = getTime();
+		for (ViewEntry entry : getEntries()) {
+			if (isQueued(entry)) {
+				entry.pending.addRepaint(time);
+				queued(entry);
+			} else {
+				double start = getTime();
+				entry.view.repaintView();
+				delivered(entry, time, start);
+			}
+		}
+	}
+
+	/**
+	 * Forget pending notifications about a removed element.
+	 *
+	 * @param geo
+	 *            removed element
+	 */
+	public void remove(GeoElement geo) {
+		for (ViewEntry entry : entries) {
+			entry.pending.remove(geo);
+		}
+	}
+
+	/**
+	 * Forget all pending notifications.
+	 */
+	public void clear() {
+		for (ViewEntry entry : entries) {
+			entry.pending.clear();
+		}
+	}
+
+	/**
+	 * Deliver all pending notifications now.
+	 */
+	public void flush() {
+		RuntimeException failure = null;
+		for (ViewEntry entry : getEntries()) {
+			failure = flush(entry, failure);
+		}
+		rethrow(failure);
+	}
+
+	@Override
+	public void onRun() {
+		RuntimeException failure = null;
+		for (ViewEntry entry : getEntries()) {
+			if (entry.priority == PRIORITY_ASYNC) {
+				failure = flush(entry, failure);
+			}
+		}
+		rethrow(failure);
+	}
+
+	/**
+	 * Delivers the pending notifications of one view; an exception of the
+	 * view is kept so that the other views are still notified.
+	 *
+	 * @param entry
+	 *            view entry
+	 * @param failure
+	 *            exception of a view notified before, may be null
+	 * @return first exception of a view, null if all succeeded
+	 */
+	private RuntimeException flush(ViewEntry entry,
+			RuntimeException failure) {
+		if (entry.pending.isEmpty()) {
+			return failure;
+		}
+		boolean profiling = GeoGebraProfiler.isViewProfiling();
+		int received = entry.pending.getReceived();
+		double queuedSince = entry.pending.getQueuedSince();
+		double start = profiling ? getTime() : 0;
+		int calls = 0;
+		RuntimeException first = failure;
+		try {
+			calls = entry.pending.deliver(entry.view);
+		} catch (RuntimeException e) {
+			Log.error("Notifying " + entry.name + " failed: " + e);
+			if (first == null) {
+				first = e;
+			}
+		}
+		if (profiling) {
+			double end = getTime();
+			GeoGebraProfiler.addViewDelivery(entry.name, received, calls,
+					end - queuedSince, end - start);
+		}
+		return first;
+	}
+
+	private static void rethrow(RuntimeException failure) {
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private static double getTime() {
+		return GeoGebraProfiler.isViewProfiling()
+				? GeoGebraProfiler.getMillisecondTime() : 0;
+	}
+
+	private static void delivered(ViewEntry entry, double notified,
+			double start) {
+		if (GeoGebraProfiler.isViewProfiling()) {
+			double end = GeoGebraProfiler.getMillisecondTime();
+			GeoGebraProfiler.addViewDelivery(entry.name, 1, 1, end - notified,
+					end - start);
+		}
+	}
+}
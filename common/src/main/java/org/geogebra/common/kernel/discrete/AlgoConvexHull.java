@@ -12,16 +12,11 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.discrete;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.GraphAlgo;
-import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.commands.Commands;
-import org.geogebra.common.kernel.discrete.geom.Point2D;
 import org.geogebra.common.kernel.discrete.geom.algorithms.ConvexHull;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
@@ -40,8 +35,8 @@ public class AlgoConvexHull extends AlgoElement implements GraphAlgo {
 
 	private GeoList inputList; // input
 	private GeoLocus locus; // output
-	private ArrayList<MyPoint> al;
-	private ArrayList<Point2D> vl;
+	private double[] xs;
+	private double[] ys;
 
 	/**
 	 * @param cons
@@ -92,13 +87,13 @@ public class AlgoConvexHull extends AlgoElement implements GraphAlgo {
 			return;
 		}
 
-		if (vl == null) {
-			vl = new ArrayList<>();
-		} else {
-			vl.clear();
+		if (xs == null || xs.length < size) {
+			xs = new double[size];
+			ys = new double[size];
 		}
 
 		double[] inhom = new double[2];
+		int n = 0;
 
 		for (int i = 0; i < size; i++) {
 			GeoElement geo = inputList.get(i);
@@ -106,70 +101,49 @@ public class AlgoConvexHull extends AlgoElement implements GraphAlgo {
 				GeoPointND p = (GeoPointND) geo;
 				p.getInhomCoords(inhom);
 
-				// make sure duplicates aren't added
-				if (!contains(vl, inhom[0], inhom[1])) {
-					if (Double.isNaN(inhom[0]) || Double.isNaN(inhom[1])) {
-						locus.setUndefined();
-						return;
-					}
-					vl.add(new Point2D(inhom[0], inhom[1]));
+				if (Double.isNaN(inhom[0]) || Double.isNaN(inhom[1])) {
+					locus.setUndefined();
+					return;
 				}
+				xs[n] = inhom[0];
+				ys[n] = inhom[1];
+				n++;
 			}
 		}
 
-		if (al == null) {
-			al = new ArrayList<>();
-		} else {
-			al.clear();
-		}
-
-		if (vl.size() == 1) {
-			Point2D p = vl.get(0);
-			al.add(new MyPoint(p.getX(), p.getY(), SegmentType.MOVE_TO));
-			al.add(new MyPoint(p.getX(), p.getY(), SegmentType.LINE_TO));
-			locus.setPoints(al);
-			locus.setDefined(true);
-			return;
-		}
-
-		if (vl.size() == 0) {
+		if (n == 0) {
 			locus.setUndefined();
 			return;
 		}
 
-		List<Point2D> hull = ConvexHull.makeHull(vl);
-
-		for (int i = 0; i < hull.size(); i++) {
-			Point2D p = hull.get(i);
-			al.add(new MyPoint(p.getX(), p.getY(), i != 0 ? SegmentType.LINE_TO
-					: SegmentType.MOVE_TO));
+		int[] hull = ConvexHull.makeHull(xs, ys, n);
 
+		// make sure duplicates aren't added
+		int hullSize = 0;
+		for (int i = 0; i < hull.length; i++) {
+			if (hullSize == 0 || !isEqual(hull[hullSize - 1], hull[i])) {
+				hull[hullSize++] = hull[i];
+			}
 		}
-
-		if (hull.size() == 0) {
-			locus.setDefined(false);
-			return;
+		while (hullSize > 1 && isEqual(hull[0], hull[hullSize - 1])) {
+			hullSize--;
 		}
 
-		// close the polygon
-		Point2D p = hull.get(0);
-		al.add(new MyPoint(p.getX(), p.getY(), SegmentType.LINE_TO));
+		locus.clearPoints();
+		for (int i = 0; i < hullSize; i++) {
+			locus.insertPoint(xs[hull[i]], ys[hull[i]],
+					i != 0 ? SegmentType.LINE_TO : SegmentType.MOVE_TO);
+		}
 
-		locus.setPoints(al);
+		// close the polygon (or make a single point visible)
+		locus.insertPoint(xs[hull[0]], ys[hull[0]], SegmentType.LINE_TO);
 		locus.setDefined(true);
 
 	}
 
-	private static boolean contains(ArrayList<Point2D> vl2, double x,
-			double y) {
-		for (int i = 0; i < vl2.size(); i++) {
-			Point2D p = vl2.get(i);
-			if (DoubleUtil.isEqual(p.getX(), x) && DoubleUtil.isEqual(p.getY(), y)) {
-				return true;
-			}
-		}
-
-		return false;
+	private boolean isEqual(int i, int j) {
+		return DoubleUtil.isEqual(xs[i], xs[j])
+				&& DoubleUtil.isEqual(ys[i], ys[j]);
 	}
 
 }
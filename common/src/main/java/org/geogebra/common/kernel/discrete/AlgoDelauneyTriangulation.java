@@ -1,13 +1,11 @@
 package org.geogebra.common.kernel.discrete;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.TreeSet;
 
 import org.geogebra.common.awt.GPoint2D;
 import org.geogebra.common.kernel.Construction;
-import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
@@ -76,12 +74,6 @@ public class AlgoDelauneyTriangulation extends AlgoDiscrete {
 
 			Iterator<TriangleDt> it = dt.trianglesIterator();
 
-			if (al == null) {
-				al = new ArrayList<>();
-			} else {
-				al.clear();
-			}
-
 			// add to TreeSet to remove duplicates (from touching triangles)
 			TreeSet<MyLine> tree = new TreeSet<>(getComparator());
 
@@ -110,15 +102,15 @@ public class AlgoDelauneyTriangulation extends AlgoDiscrete {
 
 			Iterator<MyLine> it2 = tree.iterator();
 
+			locus.clearPoints();
 			while (it2.hasNext()) {
 				MyLine line = it2.next();
-				al.add(new MyPoint(line.p1.getX(), line.p1.getY(),
-						SegmentType.MOVE_TO));
-				al.add(new MyPoint(line.p2.getX(), line.p2.getY(),
-						SegmentType.LINE_TO));
+				locus.insertPoint(line.p1.getX(), line.p1.getY(),
+						SegmentType.MOVE_TO);
+				locus.insertPoint(line.p2.getX(), line.p2.getY(),
+						SegmentType.LINE_TO);
 			}
 
-			locus.setPoints(al);
 			locus.setDefined(true);
 		} catch (Exception e) {
 			Log.error(e.getMessage());
@@ -1,13 +1,12 @@
 package org.geogebra.common.kernel.discrete;
 
-import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.TreeSet;
 
 import org.geogebra.common.awt.GPoint2D;
 import org.geogebra.common.kernel.Construction;
-import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
@@ -52,8 +51,8 @@ public class AlgoVoronoi extends AlgoDiscrete {
 
 		double[] inhom = new double[2];
 
-		ArrayList<Double> xcoords = new ArrayList<>();
-		ArrayList<Double> ycoords = new ArrayList<>();
+		HashSet<Double> xcoords = new HashSet<>();
+		HashSet<Double> ycoords = new HashSet<>();
 
 		final double delta = 0.0000001;
 
@@ -107,42 +106,32 @@ public class AlgoVoronoi extends AlgoDiscrete {
 
 		Iterator<TriangleDt> it = dt.trianglesIterator();
 
-		if (al == null) {
-			al = new ArrayList<>();
-		} else {
-			al.clear();
-		}
-
 		// add to TreeSet to remove duplicates (from touching triangles)
 		TreeSet<MyLine> tree = new TreeSet<>(
 				AlgoDelauneyTriangulation.getComparator());
 
+		// the cell of a vertex is the same for all of its triangles
+		HashSet<PointDt> cellsDone = new HashSet<>();
+
 		while (it.hasNext()) {
 			TriangleDt triangle = it.next();
 
+			if (triangle.isHalfplane()) {
+				// ray perpendicular to a hull edge, does not depend on corner
+				PointDt corner = triangle.p1() != null ? triangle.p1()
+						: triangle.p2();
+				if (corner != null) {
+					addEdges(tree, dt.calcVoronoiCell(triangle, corner), false);
+				}
+				continue;
+			}
+
 			for (int index = 0; index < 3; index++) {
 
 				PointDt corner = triangle.getCorner(index);
 
-				if (corner != null) {
-
-					PointDt[] voronoiCell = dt.calcVoronoiCell(triangle,
-							corner);
-
-					if (voronoiCell != null) {
-						for (int i = 0; i < voronoiCell.length - 1; i++) {
-							tree.add(new MyLine(
-									new GPoint2D(voronoiCell[i].x(),
-											voronoiCell[i].y()),
-									new GPoint2D(
-											voronoiCell[(i + 1)
-													% voronoiCell.length].x(),
-											voronoiCell[(i + 1)
-													% voronoiCell.length]
-															.y())));
-
-						}
-					}
+				if (corner != null && cellsDone.add(corner)) {
+					addEdges(tree, dt.calcVoronoiCell(triangle, corner), true);
 				}
 			}
 
@@ -150,19 +139,33 @@ public class AlgoVoronoi extends AlgoDiscrete {
 
 		Iterator<MyLine> it2 = tree.iterator();
 
+		locus.clearPoints();
 		while (it2.hasNext()) {
 			MyLine line = it2.next();
-			al.add(new MyPoint(line.p1.getX(), line.p1.getY(),
-					SegmentType.MOVE_TO));
-			al.add(new MyPoint(line.p2.getX(), line.p2.getY(),
-					SegmentType.LINE_TO));
+			locus.insertPoint(line.p1.getX(), line.p1.getY(),
+					SegmentType.MOVE_TO);
+			locus.insertPoint(line.p2.getX(), line.p2.getY(),
+					SegmentType.LINE_TO);
 		}
 
-		locus.setPoints(al);
 		locus.setDefined(true);
 
 	}
 
+	private static void addEdges(TreeSet<MyLine> tree, PointDt[] voronoiCell,
+			boolean closed) {
+		if (voronoiCell == null) {
+			return;
+		}
+		int edges = closed ? voronoiCell.length : voronoiCell.length - 1;
+		for (int i = 0; i < edges; i++) {
+			PointDt next = voronoiCell[(i + 1) % voronoiCell.length];
+			tree.add(new MyLine(
+					new GPoint2D(voronoiCell[i].x(), voronoiCell[i].y()),
+					new GPoint2D(next.x(), next.y())));
+		}
+	}
+
 	/**
 	 * @return comparator used to eliminate duplicate objects (TreeSet deletes
 	 *         duplicates ie those that return 0)
@@ -1,5 +1,6 @@
 package org.geogebra.common.kernel.discrete.delaunay;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
@@ -43,6 +44,9 @@ import org.geogebra.common.util.debug.Log;
 
 public class DelaunayTriangulation {
 
+	/** size of the grid used for the insertion order */
+	private static final int HILBERT_SIZE = 1 << 15;
+
 	// the first and last points (used only for first step construction)
 	private PointDt firstP;
 	private PointDt lastP;
@@ -102,9 +106,92 @@ public class DelaunayTriangulation {
 		deletedTriangles = null;
 		addedTriangles = new Vector<>();
 		allCollinear = true;
-		for (int i = 0; ps != null && i < ps.length && ps[i] != null; i++) {
-			this.insertPoint(ps[i]);
+		int n = 0;
+		while (ps != null && n < ps.length && ps[n] != null) {
+			n++;
+		}
+		int[] order = getInsertionOrder(ps, n);
+		for (int i = 0; i < n; i++) {
+			this.insertPoint(ps[order[i]]);
+		}
+	}
+
+	/**
+	 * Orders the points along a Hilbert curve. Point location walks from the
+	 * triangle of the previous point, so that consecutive points that are
+	 * close to each other make the construction O(n log n) in practice
+	 * instead of O(n^1.5) for random input order.
+	 *
+	 * @param ps
+	 *            points
+	 * @param n
+	 *            number of points
+	 * @return indices of the points in insertion order
+	 */
+	static int[] getInsertionOrder(PointDt[] ps, int n) {
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			minX = Math.min(minX, ps[i].x());
+			minY = Math.min(minY, ps[i].y());
+			maxX = Math.max(maxX, ps[i].x());
+			maxY = Math.max(maxY, ps[i].y());
+		}
+		double extent = Math.max(maxX - minX, maxY - minY);
+		double scale = extent > 0 && extent < Double.POSITIVE_INFINITY
+				? (HILBERT_SIZE - 1) / extent : 0;
+		long[] keys = new long[n];
+		for (int i = 0; i < n; i++) {
+			int hx = toHilbertGrid((ps[i].x() - minX) * scale);
+			int hy = toHilbertGrid((ps[i].y() - minY) * scale);
+			// index in the low bits keeps the sort stable
+			keys[i] = (hilbertIndex(hx, hy) << 31) | i;
+		}
+		Arrays.sort(keys);
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = (int) (keys[i] & Integer.MAX_VALUE);
+		}
+		return order;
+	}
+
+	private static int toHilbertGrid(double coord) {
+		if (!(coord > 0)) {
+			// also NaN
+			return 0;
+		}
+		return (int) Math.min(coord, HILBERT_SIZE - 1);
+	}
+
+	/**
+	 * @param gridX
+	 *            x-coord on the grid, 0 to HILBERT_SIZE - 1
+	 * @param gridY
+	 *            y-coord on the grid, 0 to HILBERT_SIZE - 1
+	 * @return distance along the Hilbert curve
+	 */
+	static long hilbertIndex(int gridX, int gridY) {
+		int x = gridX;
+		int y = gridY;
+		long d = 0;
+		for (int s = HILBERT_SIZE / 2; s > 0; s /= 2) {
+			int rx = (x & s) > 0 ? 1 : 0;
+			int ry = (y & s) > 0 ? 1 : 0;
+			d += (long) s * s * ((3 * rx) ^ ry);
+			// rotate the quadrant
+			if (ry == 0) {
+				if (rx == 1) {
+					x = HILBERT_SIZE - 1 - x;
+					y = HILBERT_SIZE - 1 - y;
+				}
+				int t = x;
+				x = y;
+				y = t;
+			}
 		}
+		return d;
 	}
 
 	/**
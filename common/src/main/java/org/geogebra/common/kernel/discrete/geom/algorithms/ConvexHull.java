@@ -104,4 +104,108 @@ public final class ConvexHull {
 		return upperHull;
 	}
 
+	/**
+	 * Same as {@link #makeHull(List)} for points in primitive arrays, runs in
+	 * O(n log n) time.
+	 * 
+	 * @param xs
+	 *            x-coords
+	 * @param ys
+	 *            y-coords
+	 * @param n
+	 *            number of points
+	 * @return indices of the points of the convex hull, in the same order as
+	 *         makeHull would return them
+	 */
+	public static int[] makeHull(double[] xs, double[] ys, int n) {
+		int[] sorted = new int[n];
+		for (int i = 0; i < n; i++) {
+			sorted[i] = i;
+		}
+		sort(sorted, new int[n], xs, ys);
+		if (n <= 1) {
+			return sorted;
+		}
+
+		// Andrew's monotone chain algorithm, see makeHullPresorted
+		int[] upperHull = new int[n];
+		int upperSize = 0;
+		for (int i = 0; i < n; i++) {
+			int p = sorted[i];
+			while (upperSize >= 2 && isNotRightTurn(xs, ys,
+					upperHull[upperSize - 2], upperHull[upperSize - 1], p)) {
+				upperSize--;
+			}
+			upperHull[upperSize++] = p;
+		}
+		upperSize--;
+
+		int[] lowerHull = new int[n];
+		int lowerSize = 0;
+		for (int i = n - 1; i >= 0; i--) {
+			int p = sorted[i];
+			while (lowerSize >= 2 && isNotRightTurn(xs, ys,
+					lowerHull[lowerSize - 2], lowerHull[lowerSize - 1], p)) {
+				lowerSize--;
+			}
+			lowerHull[lowerSize++] = p;
+		}
+		lowerSize--;
+
+		if (upperSize == 1 && lowerSize == 1
+				&& xs[upperHull[0]] == xs[lowerHull[0]]
+				&& ys[upperHull[0]] == ys[lowerHull[0]]) {
+			return new int[] { upperHull[0] };
+		}
+		int[] hull = new int[upperSize + lowerSize];
+		System.arraycopy(upperHull, 0, hull, 0, upperSize);
+		System.arraycopy(lowerHull, 0, hull, upperSize, lowerSize);
+		return hull;
+	}
+
+	private static boolean isNotRightTurn(double[] xs, double[] ys, int r,
+			int q, int p) {
+		return (xs[q] - xs[r]) * (ys[p] - ys[r]) >= (ys[q] - ys[r])
+				* (xs[p] - xs[r]);
+	}
+
+	/**
+	 * Stable merge sort of point indices, same order as Point2D.compareTo.
+	 */
+	private static void sort(int[] indices, int[] buffer, double[] xs,
+			double[] ys) {
+		int n = indices.length;
+		int[] from = indices;
+		int[] to = buffer;
+		for (int width = 1; width < n; width *= 2) {
+			for (int lo = 0; lo < n; lo += 2 * width) {
+				int mid = Math.min(lo + width, n);
+				int hi = Math.min(lo + 2 * width, n);
+				int i = lo;
+				int j = mid;
+				for (int k = lo; k < hi; k++) {
+					if (i < mid
+							&& (j >= hi || compare(xs, ys, from[i], from[j]) <= 0)) {
+						to[k] = from[i++];
+					} else {
+						to[k] = from[j++];
+					}
+				}
+			}
+			int[] swap = from;
+			from = to;
+			to = swap;
+		}
+		if (from != indices) {
+			System.arraycopy(from, 0, indices, 0, n);
+		}
+	}
+
+	private static int compare(double[] xs, double[] ys, int a, int b) {
+		if (xs[a] != xs[b]) {
+			return Double.compare(xs[a], xs[b]);
+		}
+		return Double.compare(ys[a], ys[b]);
+	}
+
 }
@@ -226,6 +226,13 @@ public class GeoBoolean extends GeoElement implements BooleanValue,
 		return isDefined;
 	}
 
+	@Override
+	public int getNumericState(double[] state) {
+		state[0] = value ? 1 : 0;
+		state[1] = isDefined ? 1 : 0;
+		return 2;
+	}
+
 	@Override
 	final public String toValueString(StringTemplate tpl) {
 		return value ? "true" : "false";
@@ -289,6 +289,10 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	/** draw algorithm */
 	protected AlgoElement algoDraw = null;
+	/** number of the update cascade in which this was found unchanged */
+	private int unchangedInCascade;
+	/** number of updates, to detect changes */
+	private int updateCounter;
 	/** directly dependent algos */
 	private ArrayList<AlgoElement> algorithmList;
 
@@ -3183,6 +3187,11 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            whether this was triggered by drag
 	 */
 	protected final void updateGeo(boolean mayUpdateCas, boolean dragging) {
+		unchangedInCascade = 0;
+		updateCounter++;
+		if (algoParent != null) {
+			algoParent.onOutputUpdate();
+		}
 
 		if (labelWanted && !isLabelSet()) {
 			// check if this object's label needs to be set
@@ -3207,6 +3216,49 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		updateGeo(mayUpdateCas, false);
 	}
 
+	/**
+	 * @return number of updates of this element; values cached for a former
+	 *         count are outdated
+	 */
+	public int getUpdateCounter() {
+		return updateCounter;
+	}
+
+	/**
+	 * @param cascade
+	 *            number of an update cascade
+	 * @return whether this was found numerically unchanged in the given
+	 *         cascade
+	 */
+	public boolean isUnchangedInCascade(int cascade) {
+		return unchangedInCascade == cascade;
+	}
+
+	/**
+	 * Marks this element as numerically unchanged in the given cascade, so
+	 * that algorithms depending only on unchanged elements are skipped.
+	 * 
+	 * @param cascade
+	 *            number of an update cascade
+	 */
+	public void setUnchangedInCascade(int cascade) {
+		unchangedInCascade = cascade;
+	}
+
+	/**
+	 * Writes the numbers defining this element to the given array, used to
+	 * stop update cascades below elements that did not change.
+	 * 
+	 * @param state
+	 *            array of at least {@link AlgoElement#NUMERIC_STATE_LENGTH}
+	 *            numbers
+	 * @return number of values written, -1 if this element cannot be
+	 *         compared numerically
+	 */
+	public int getNumericState(double[] state) {
+		return -1;
+	}
+
 	private void algebraStringsNeedUpdate() {
 		strAlgebraDescriptionNeedsUpdate = true;
 		strLabelTextOrHTMLUpdate = true;
@@ -3240,7 +3292,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		} else if (algoUpdateSet != null) {
 			// update all algorithms in the algorithm set of this GeoElement
 			cons.setAlgoSetCurrentlyUpdated(algoUpdateSet);
-			algoUpdateSet.updateAll();
+			algoUpdateSet.updateAllInCascade(cons);
 			cons.setAlgoSetCurrentlyUpdated(null);
 		}
 	}
@@ -3344,8 +3396,10 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 		// now we have one nice algorithm set that we can update
 		if (tempSet1.size() > 0) {
+			int cascade = tempSet1.first().getConstruction()
+					.nextUpdateCascade();
 			for (AlgoElement algo : tempSet1) {
-				algo.update();
+				algo.updateInCascade(cascade);
 			}
 		}
 
@@ -35,6 +35,7 @@ import org.geogebra.common.kernel.algos.AlgoDistancePointObject;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.algos.AlgoFunctionFreehand;
 import org.geogebra.common.kernel.algos.AlgoMacroInterface;
+import org.geogebra.common.kernel.arithmetic.CompiledExpression;
 import org.geogebra.common.kernel.arithmetic.Evaluate2Var;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.ExpressionNodeConstants.StringType;
@@ -55,6 +56,7 @@ import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.commands.EvalInfo;
 import org.geogebra.common.kernel.geos.properties.TableProperties;
 import org.geogebra.common.kernel.implicit.GeoImplicit;
+import org.geogebra.common.kernel.kernelND.CurveEvaluable;
 import org.geogebra.common.kernel.kernelND.GeoCurveCartesianND;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.kernel.kernelND.GeoEvaluatable;
@@ -1387,6 +1389,91 @@ public class GeoFunction extends GeoElement implements VarString, Translateable,
 		}
 	}
 
+	/**
+	 * Returns this function as a curve that is evaluated by a compiled copy of
+	 * the expression. Since the copy is not updated when the expression
+	 * changes, the result should only be used for one plot.
+	 * 
+	 * @return compiled curve or this function if it cannot be compiled
+	 */
+	public CurveEvaluable getCompiledCurve() {
+		if (!kernel.isCompiledFunctions() || fun == null || !isDefined
+				// subclasses, e.g. for the intersection of an implicit
+				// polynomial with a function, do not evaluate the expression
+				|| fun.getClass() != Function.class) {
+			return this;
+		}
+		CompiledExpression compiled = CompiledExpression.compile(fun);
+		return compiled == null ? this : new CompiledCurve(compiled);
+	}
+
+	/**
+	 * Curve of this function evaluated by a compiled expression.
+	 */
+	private class CompiledCurve implements CurveEvaluable {
+		private final CompiledExpression compiled;
+
+		CompiledCurve(CompiledExpression compiled) {
+			this.compiled = compiled;
+		}
+
+		@Override
+		public void evaluateCurve(double t, double[] out) {
+			if (evalSwapped) {
+				out[1] = t;
+				out[0] = compiled.evaluate(t);
+			} else {
+				out[0] = t;
+				out[1] = compiled.evaluate(t);
+			}
+		}
+
+		@Override
+		public double getMinParameter() {
+			return GeoFunction.this.getMinParameter();
+		}
+
+		@Override
+		public double getMaxParameter() {
+			return GeoFunction.this.getMaxParameter();
+		}
+
+		@Override
+		public double[] newDoubleArray() {
+			return GeoFunction.this.newDoubleArray();
+		}
+
+		@Override
+		public double distanceMax(double[] p1, double[] p2) {
+			return GeoFunction.this.distanceMax(p1, p2);
+		}
+
+		@Override
+		public double[] getDefinedInterval(double a, double b) {
+			return GeoFunction.this.getDefinedInterval(a, b);
+		}
+
+		@Override
+		public boolean getTrace() {
+			return GeoFunction.this.getTrace();
+		}
+
+		@Override
+		public boolean isClosedPath() {
+			return GeoFunction.this.isClosedPath();
+		}
+
+		@Override
+		public boolean isFunctionInX() {
+			return GeoFunction.this.isFunctionInX();
+		}
+
+		@Override
+		public GeoElement toGeoElement() {
+			return GeoFunction.this;
+		}
+	}
+
 	/**
 	 * Evaluates curvature for function: k(x) = f''/T^3, T = sqrt(1+(f')^2)
 	 * 
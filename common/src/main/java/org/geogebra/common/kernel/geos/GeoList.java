@@ -13,6 +13,7 @@ the Free Software Foundation.
 package org.geogebra.common.kernel.geos;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.TreeSet;
 
@@ -84,6 +85,13 @@ public class GeoList extends GeoElement
 	// so we keep a cacheList of all old list elements
 	private final ArrayList<GeoElementND> cacheList;
 
+	// numbers stored without elements, see setPackedNumbers;
+	// packedValues is null if the elements are used
+	private double[] packedValues;
+	private int packedSize;
+	private AlgoElement packedParent;
+	private GeoNumeric packedScratch;
+
 	private boolean isDefined = true;
 	private boolean isDrawable = true;
 	private boolean drawAsComboBox = false;
@@ -205,8 +213,8 @@ public class GeoList extends GeoElement
 	public GeoList deepCopyGeo() {
 		GeoList ret = new GeoList(cons);
 
-		for (int i = 0; i < elements.size(); i++) {
-			ret.add(elements.get(i).deepCopyGeo());
+		for (int i = 0; i < elements().size(); i++) {
+			ret.add(elements().get(i).deepCopyGeo());
 		}
 
 		return ret;
@@ -258,7 +266,7 @@ public class GeoList extends GeoElement
 	private void copyListElements(final GeoList otherList) {
 		final int otherListSize = otherList.size();
 		ensureCapacity(otherListSize);
-		elements.clear();
+		clear();
 
 		for (int i = 0; i < otherListSize; i++) {
 			final GeoElement otherElement = otherList.get(i);
@@ -367,13 +375,7 @@ public class GeoList extends GeoElement
 		}
 		super.removeColorFunction();
 
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.removeColorFunction();
 			}
@@ -384,13 +386,7 @@ public class GeoList extends GeoElement
 	public final void setColorFunction(final GeoList col) {
 		super.setColorFunction(col);
 
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setColorFunction(col);
 			}
@@ -402,13 +398,7 @@ public class GeoList extends GeoElement
 	public final void setColorSpace(final int colorSpace) {
 		super.setColorSpace(colorSpace);
 
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setColorSpace(colorSpace);
 			}
@@ -426,13 +416,7 @@ public class GeoList extends GeoElement
 			throws CircularDefinitionException {
 		super.setShowObjectCondition(bool);
 
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setShowObjectCondition(bool);
 			}
@@ -452,12 +436,7 @@ public class GeoList extends GeoElement
 		}
 
 		// set visual style
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setVisualStyle(style, setAuxiliaryProperty);
 			}
@@ -467,13 +446,7 @@ public class GeoList extends GeoElement
 	@Override
 	public void setObjColor(final GColor color) {
 		super.setObjColor(color);
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setObjColor(color);
 			}
@@ -484,13 +457,7 @@ public class GeoList extends GeoElement
 	public void setBackgroundColor(final GColor color) {
 		super.setBackgroundColor(color);
 
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setBackgroundColor(color);
 			}
@@ -501,7 +468,7 @@ public class GeoList extends GeoElement
 	public void setEuclidianVisible(final boolean visible) {
 		super.setEuclidianVisible(visible);
 
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
@@ -509,9 +476,7 @@ public class GeoList extends GeoElement
 				&& labelOffsetY == 0) {
 			initScreenLocation();
 		}
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+		for (GeoElement geo : createdElements()) {
 			setElementEuclidianVisible(geo, visible);
 		}
 	}
@@ -560,13 +525,7 @@ public class GeoList extends GeoElement
 	@Override
 	public void setVisibility(int viewId, boolean setVisible) {
 		super.setVisibility(viewId, setVisible);
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		final int size = elements.size();
-		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setVisibility(viewId, setVisible);
 			}
@@ -578,7 +537,7 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public MyList getMyList() {
-		final int size = elements.size();
+		final int size = elements().size();
 		final MyList myList = new MyList(kernel, size);
 		copyListElements(myList);
 		return myList;
@@ -588,7 +547,7 @@ public class GeoList extends GeoElement
 	 * @param myList list to copy into
 	 */
 	public void copyListElements(MyList myList) {
-		for (GeoElement element : elements) {
+		for (GeoElement element : elements()) {
 			myList.addListElement(new ExpressionNode(kernel, element));
 		}
 	}
@@ -607,7 +566,11 @@ public class GeoList extends GeoElement
 
 		if (!isDefined) {
 
-			final int size = elements.size();
+			if (packedValues != null) {
+				Arrays.fill(packedValues, 0, packedSize, Double.NaN);
+			}
+			// created elements of packed numbers are in the cache only
+			final int size = packedValues != null ? 0 : elements.size();
 			for (int i = 0; i < size; i++) {
 				final GeoElement geo = elements.get(i);
 				if (!geo.isLabelSet()) {
@@ -645,6 +608,7 @@ public class GeoList extends GeoElement
 	 * Clear the list
 	 */
 	public final void clear() {
+		packedValues = null;
 		elements.clear();
 	}
 
@@ -672,6 +636,7 @@ public class GeoList extends GeoElement
 	 *            geo to be added
 	 */
 	public final void add(final GeoElementND geo) {
+		unpack();
 		// add geo to end of list
 		elements.add(geo.toGeoElement());
 
@@ -713,6 +678,10 @@ public class GeoList extends GeoElement
 		updateDrawableFlag(geo);
 
 		// set visual style of this list
+		applyListStyle(geo);
+	}
+
+	private void applyListStyle(GeoElementND geo) {
 		applyVisualStyle(geo.toGeoElement());
 		if (!geo.isLabelSet()) {
 			geo.setViewFlags(getViewSet());
@@ -721,6 +690,123 @@ public class GeoList extends GeoElement
 		}
 	}
 
+	/**
+	 * Replaces the elements of this list by numbers that are stored as a
+	 * double array; a number element is only created if the element is
+	 * accessed, e.g. by {@link #get(int)}. Other methods that need the
+	 * elements create all of them.
+	 *
+	 * @param values
+	 *            values of the numbers, NaN for undefined; the array is used
+	 *            by this list until the next call
+	 * @param size
+	 *            number of values
+	 * @param parent
+	 *            parent algorithm of the number elements
+	 */
+	public void setPackedNumbers(double[] values, int size,
+			AlgoElement parent) {
+		elements.clear();
+		packedValues = values;
+		packedSize = size;
+		packedParent = parent;
+		// cached elements that are still in use get the new values
+		int cached = Math.min(size, cacheList.size());
+		for (int i = 0; i < cached; i++) {
+			if (isPackedView(cacheList.get(i))) {
+				((GeoNumeric) cacheList.get(i)).setValue(values[i]);
+			}
+		}
+		if (size > 0) {
+			setTypeStringForXML("numeric");
+			isDrawable = true;
+			elementType = GeoClass.NUMERIC;
+			updateDrawableFlag(getPackedView(0));
+		}
+	}
+
+	/**
+	 * @return values of the numbers in this list if stored by
+	 *         {@link #setPackedNumbers(double[], int, AlgoElement)}, only the
+	 *         first {@link #size()} entries are valid; null otherwise
+	 */
+	public double[] getPackedNumbers() {
+		return packedValues;
+	}
+
+	private boolean isPackedView(GeoElementND geo) {
+		return geo instanceof GeoNumeric && !geo.isLabelSet()
+				&& geo.getGeoClassType() == GeoClass.NUMERIC
+				&& geo.getParentAlgorithm() == packedParent;
+	}
+
+	private GeoNumeric createPackedView() {
+		GeoNumeric view = new GeoNumeric(cons);
+		view.setParentAlgorithm(packedParent);
+		view.setConstructionDefaults();
+		view.setUseVisualDefaults(false);
+		applyListStyle(view);
+		return view;
+	}
+
+	private GeoNumeric getPackedView(int index) {
+		while (cacheList.size() <= index) {
+			cacheList.add(createPackedView());
+		}
+		GeoElementND cached = cacheList.get(index);
+		GeoNumeric view;
+		if (isPackedView(cached)) {
+			view = (GeoNumeric) cached;
+		} else {
+			view = createPackedView();
+			cacheList.set(index, view);
+		}
+		view.setValue(packedValues[index]);
+		return view;
+	}
+
+	/**
+	 * Creates the elements of packed numbers.
+	 */
+	private void unpack() {
+		if (packedValues == null) {
+			return;
+		}
+		GeoNumeric[] views = new GeoNumeric[packedSize];
+		for (int i = 0; i < packedSize; i++) {
+			views[i] = getPackedView(i);
+		}
+		packedValues = null;
+		elements.ensureCapacity(views.length);
+		for (GeoNumeric view : views) {
+			add(view);
+		}
+	}
+
+	/**
+	 * @return elements that exist as objects; of packed numbers only the ones
+	 *         created by {@link #get(int)}, the others get the style of this
+	 *         list when they are created
+	 */
+	private ArrayList<GeoElement> createdElements() {
+		if (packedValues == null) {
+			return elements;
+		}
+		ArrayList<GeoElement> created = new ArrayList<>();
+		int cached = Math.min(packedSize, cacheList.size());
+		for (int i = 0; i < cached; i++) {
+			if (isPackedView(cacheList.get(i))) {
+				created.add(cacheList.get(i).toGeoElement());
+			}
+		}
+		return created;
+	}
+
+	private ArrayList<GeoElement> elements() {
+		unpack();
+		return elements;
+	}
+
 	private void updateDrawableFlag(GeoElementND geo) {
 		isDrawable = isDrawable && geo.isDrawable() && !geo.isGeoButton()
 				&& !(geo instanceof GeoBoolean) && !(geo instanceof GeoNumeric
@@ -735,7 +821,7 @@ public class GeoList extends GeoElement
 	 *            element to be removed
 	 */
 	public final void remove(final GeoElement geo) {
-		elements.remove(geo);
+		elements().remove(geo);
 
 	}
 
@@ -761,7 +847,7 @@ public class GeoList extends GeoElement
 	 *            position of element to be removed
 	 */
 	public final void remove(final int index) {
-		elements.remove(index);
+		elements().remove(index);
 
 	}
 
@@ -773,6 +859,13 @@ public class GeoList extends GeoElement
 	 * @return the element at the specified position in this list.
 	 */
 	final public GeoElement get(final int index) {
+		if (packedValues != null) {
+			if (index < 0 || index >= packedSize) {
+				throw new IndexOutOfBoundsException("Index: " + index
+						+ ", Size: " + packedSize);
+			}
+			return getPackedView(index);
+		}
 		return elements.get(index);
 	}
 
@@ -786,7 +879,7 @@ public class GeoList extends GeoElement
 	 * @return the element at the specified position in this (2D) list.
 	 */
 	final public GeoElement get(final int index, final int index2) {
-		return ((GeoList) elements.get(index)).get(index2);
+		return ((GeoList) elements().get(index)).get(index2);
 	}
 
 	/**
@@ -796,7 +889,13 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public double[] toDouble(int offset) {
-		int length = elements.size();
+		if (packedValues != null && offset <= packedSize) {
+			final double[] valueArray = new double[packedSize - offset];
+			System.arraycopy(packedValues, offset, valueArray, 0,
+					packedSize - offset);
+			return valueArray;
+		}
+		int length = elements().size();
 		try {
 			final double[] valueArray = new double[length - offset];
 			for (int i = offset; i < length; i++) {
@@ -821,7 +920,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	final public int size() {
-		return elements.size();
+		return packedValues != null ? packedSize : elements.size();
 	}
 
 	/**
@@ -862,10 +961,10 @@ public class GeoList extends GeoElement
 		}
 
 		// first (n-1) elements
-		final int lastIndex = elements.size() - 1;
+		final int lastIndex = size() - 1;
 		if (lastIndex > -1) {
 			for (int i = 0; i < lastIndex; i++) {
-				final GeoElement geo = elements.get(i);
+				final GeoElement geo = getForReading(i);
 
 				sbBuildValueString
 						.append(geo.getAlgebraDescriptionRegrOut(tpl));
@@ -873,7 +972,7 @@ public class GeoList extends GeoElement
 			}
 
 			// last element
-			final GeoElement geo = elements.get(lastIndex);
+			final GeoElement geo = getForReading(lastIndex);
 			sbBuildValueString.append(geo.getAlgebraDescriptionRegrOut(tpl));
 		}
 
@@ -895,17 +994,17 @@ public class GeoList extends GeoElement
 		tpl.leftCurlyBracket(sbBuildValueString);
 
 		// first (n-1) elements
-		final int lastIndex = elements.size() - 1;
+		final int lastIndex = size() - 1;
 		if (lastIndex > -1) {
 			for (int i = 0; i < lastIndex; i++) {
-				final GeoElement geo = elements.get(i);
+				final GeoElement geo = getForReading(i);
 				sbBuildValueString.append(geo.toOutputValueString(tpl));
 				tpl.getComma(sbBuildValueString, getLoc());
 				tpl.appendOptionalSpace(sbBuildValueString);
 			}
 
 			// last element
-			final GeoElement geo = elements.get(lastIndex);
+			final GeoElement geo = getForReading(lastIndex);
 			sbBuildValueString.append(geo.toOutputValueString(tpl));
 		}
 
@@ -914,6 +1013,25 @@ public class GeoList extends GeoElement
 		return sbBuildValueString;
 	}
 
+	/**
+	 * @return element for reading its value or style, valid until the next
+	 *         call; for packed numbers a single number is reused to avoid
+	 *         creating all elements
+	 */
+	private GeoElement getForReading(int index) {
+		if (packedValues != null) {
+			if (packedScratch == null
+					|| packedScratch.getParentAlgorithm() != packedParent) {
+				packedScratch = createPackedView();
+			} else if (index == 0) {
+				applyVisualStyle(packedScratch);
+			}
+			packedScratch.setValue(packedValues[index]);
+			return packedScratch;
+		}
+		return elements.get(index);
+	}
+
 	@Override
 	public boolean isGeoList() {
 		return true;
@@ -1119,13 +1237,13 @@ public class GeoList extends GeoElement
 		final GeoList list = (GeoList) geo;
 
 		// check sizes
-		if (elements.size() != list.size()) {
+		if (elements().size() != list.size()) {
 			return false;
 		}
 
 		// check each element
-		for (int i = 0; i < list.elements.size(); i++) {
-			final GeoElement geoA = elements.get(i);
+		for (int i = 0; i < list.elements().size(); i++) {
+			final GeoElement geoA = elements().get(i);
 			final GeoElement geoB = list.get(i);
 
 			if (!geoA.isEqual(geoB)) {
@@ -1139,19 +1257,14 @@ public class GeoList extends GeoElement
 
 	@Override
 	public void setZero() {
-		elements.clear();
+		elements().clear();
 	}
 
 	@Override
 	public void setLineThickness(final int thickness) {
 		super.setLineThickness(thickness);
 
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setLineThickness(thickness);
 			}
@@ -1166,12 +1279,12 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public int getMinimumLineThickness() {
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return 1;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < size(); i++) {
+			final GeoElement geo = getForReading(i);
 			if (!geo.isLabelSet()) {
 				if (geo.getMinimumLineThickness() == 1) {
 					return 1;
@@ -1186,12 +1299,7 @@ public class GeoList extends GeoElement
 	public void setLineType(final int type) {
 		super.setLineType(type);
 
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setLineType(type);
 			}
@@ -1203,12 +1311,7 @@ public class GeoList extends GeoElement
 	public void setLineTypeHidden(final int type) {
 		super.setLineTypeHidden(type);
 
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setLineTypeHidden(type);
 			}
@@ -1219,12 +1322,7 @@ public class GeoList extends GeoElement
 	@Override
 	public void setPointSize(final int size) {
 		pointSize = size;
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet() && (geo instanceof PointProperties)) {
 				((PointProperties) geo).setPointSize(size);
 			}
@@ -1240,43 +1338,44 @@ public class GeoList extends GeoElement
 	public void setPointStyle(final int style) {
 		pointStyle = style;
 
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet() && (geo instanceof PointProperties)) {
 				((PointProperties) geo).setPointStyle(style);
 			}
 		}
 	}
 
+	/**
+	 * Default alpha of packed numbers; not read from a created element since
+	 * creating one needs the alpha of this list.
+	 */
+	private double getPackedDefaultAlpha() {
+		GeoNumeric num = new GeoNumeric(cons);
+		num.setConstructionDefaults();
+		return num.getAlphaValue();
+	}
+
 	@Override
 	public double getAlphaValue() {
 		if (super.getAlphaValue() == -1) {
 			// no alphaValue set
 			// so we need to set it to that of the first element, if there is
 			// one
-			if ((elements != null) && (elements.size() > 0)) {
+			if (size() > 0) {
 
 				// get alpha value of first element
-				final double alpha = elements.get(0).getAlphaValue();
-
-				// Application.debug("setting list alpha to "+alpha);
+				final double alpha = packedValues == null
+						? elements.get(0).getAlphaValue()
+						: getPackedDefaultAlpha();
 
 				super.setAlphaValue(alpha);
 
 				// set all the other elements in the list
 				// if appropriate
-				if (elements.size() > 1) {
-					for (int i = 1; i < elements.size(); i++) {
-						final GeoElement geo = elements.get(i);
-						if (!geo.isLabelSet()) {
-							geo.setAlphaValue(alpha);
-						}
+				for (GeoElement geo : createdElements()) {
+					if (!geo.isLabelSet()) {
+						geo.setAlphaValue(alpha);
 					}
-
 				}
 			} else {
 				return -1.0f;
@@ -1297,12 +1396,7 @@ public class GeoList extends GeoElement
 
 		super.setAlphaValue(alpha);
 
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setAlphaValue(alpha);
 			}
@@ -1317,15 +1411,15 @@ public class GeoList extends GeoElement
 
 	@Override
 	public boolean isFillable() {
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return false;
 		}
 
 		boolean someFillable = false;
 		boolean allLabelsSet = true;
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < size(); i++) {
+			final GeoElement geo = getForReading(i);
 			if (geo.isFillable()) {
 				someFillable = true;
 			}
@@ -1339,7 +1433,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public GeoElement getGeoElementForPropertiesDialog() {
-		if ((elements.size() > 0) && (elementType != ELEMENT_TYPE_MIXED)) {
+		if ((size() > 0) && (elementType != ELEMENT_TYPE_MIXED)) {
 			return get(0).getGeoElementForPropertiesDialog(); // getGeoElementForPropertiesDialog()
 			// to cope with
 			// lists of
@@ -1397,12 +1491,7 @@ public class GeoList extends GeoElement
 	public void setFontSizeMultiplier(final double size) {
 		fontSizeD = size;
 
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if ((geo instanceof TextProperties) && !geo.isLabelSet()) {
 				((TextProperties) geo).setFontSizeMultiplier(size);
 			}
@@ -1418,12 +1507,7 @@ public class GeoList extends GeoElement
 	public void setFontStyle(final int fontStyle) {
 		this.fontStyle = fontStyle;
 
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if ((geo instanceof TextProperties) && !geo.isLabelSet()) {
 				((TextProperties) geo).setFontStyle(fontStyle);
 			}
@@ -1444,8 +1528,7 @@ public class GeoList extends GeoElement
 	public void setPrintDecimals(final int printDecimals,
 			final boolean update) {
 		this.printDecimals = printDecimals;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if ((geo instanceof TextProperties) && !geo.isLabelSet()) {
 				((TextProperties) geo).setPrintDecimals(printDecimals, update);
 			}
@@ -1455,8 +1538,7 @@ public class GeoList extends GeoElement
 	@Override
 	public void setPrintFigures(final int printFigures, final boolean update) {
 		this.printFigures = printFigures;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if ((geo instanceof TextProperties) && !geo.isLabelSet()) {
 				((TextProperties) geo).setPrintFigures(printFigures, update);
 			}
@@ -1477,8 +1559,7 @@ public class GeoList extends GeoElement
 	@Override
 	public void setSerifFont(final boolean serifFont) {
 		this.serifFont = serifFont;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if ((geo instanceof TextProperties) && !geo.isLabelSet()) {
 				((TextProperties) geo).setSerifFont(serifFont);
 			}
@@ -1488,8 +1569,7 @@ public class GeoList extends GeoElement
 	@Override
 	public void setHatchingAngle(final int angle) {
 		super.setHatchingAngle(angle);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setHatchingAngle(angle);
 			}
@@ -1499,8 +1579,7 @@ public class GeoList extends GeoElement
 	@Override
 	public void setHatchingDistance(final int distance) {
 		super.setHatchingDistance(distance);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setHatchingDistance(distance);
 			}
@@ -1510,8 +1589,7 @@ public class GeoList extends GeoElement
 	@Override
 	public void setFillType(final FillType type) {
 		super.setFillType(type);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setFillType(type);
 			}
@@ -1521,8 +1599,7 @@ public class GeoList extends GeoElement
 	@Override
 	public void setFillImage(final String filename) {
 		super.setFillImage(filename);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setFillImage(filename);
 			}
@@ -1532,8 +1609,7 @@ public class GeoList extends GeoElement
 	@Override
 	public void setImageFileName(final String filename) {
 		super.setImageFileName(filename);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setImageFileName(filename);
 			}
@@ -1552,8 +1628,8 @@ public class GeoList extends GeoElement
 			return true;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < size(); i++) {
+			final GeoElement geo = getForReading(i);
 			if (geo.showLineProperties() && !geo.isLabelSet()) {
 				return true;
 			}
@@ -1574,8 +1650,8 @@ public class GeoList extends GeoElement
 			return true;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < size(); i++) {
+			final GeoElement geo = getForReading(i);
 			if ((geo instanceof PointProperties)
 					&& ((PointProperties) geo).showPointProperties() && !geo.isLabelSet()) {
 				return true;
@@ -1722,7 +1798,7 @@ public class GeoList extends GeoElement
 
 		// update closestPointIndex
 		getNearestPoint(P);
-		if (elements.size() == 0) {
+		if (size() == 0) {
 			if (P.isDefined()) {
 				P.setUndefined();
 			}
@@ -1786,8 +1862,8 @@ public class GeoList extends GeoElement
 		closestPointIndex = 0; // default - first object
 
 		// double closestIndex = -1;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < size(); i++) {
+			final GeoElement geo = getForReading(i);
 			if (geo instanceof PathOrPoint) {
 				final double d = p.distanceToPath((PathOrPoint) geo);
 
@@ -1807,8 +1883,8 @@ public class GeoList extends GeoElement
 	@Override
 	public double distance(final GeoPoint p) {
 		double distance = Double.POSITIVE_INFINITY;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < size(); i++) {
+			final GeoElement geo = getForReading(i);
 			final double d = geo.distance(p);
 			if (d < distance) {
 				distance = d;
@@ -1821,8 +1897,8 @@ public class GeoList extends GeoElement
 	@Override
 	public double distance(final GeoPointND p) {
 		double distance = Double.POSITIVE_INFINITY;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < size(); i++) {
+			final GeoElement geo = getForReading(i);
 			final double d = geo.distance(p);
 			if (d < distance) {
 				distance = d;
@@ -1916,8 +1992,8 @@ public class GeoList extends GeoElement
 	@Override
 	public boolean isOnPath(final GeoPointND PI, final double eps) {
 		// Application.debug("isOnPath",1);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < size(); i++) {
+			final GeoElement geo = getForReading(i);
 			if (((PathOrPoint) geo).isOnPath(PI, eps)) {
 				return true;
 			}
@@ -1932,7 +2008,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public double getMaxParameter() {
-		return elements.size();
+		return size();
 	}
 
 	@Override
@@ -1953,8 +2029,8 @@ public class GeoList extends GeoElement
 				|| (getParentAlgorithm() instanceof AlgoDependentList))) {
 			return false;
 		}
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 
 			if (geo.isGeoPoint()) {
 				if (!geo.isMoveable()) {
@@ -1980,8 +2056,8 @@ public class GeoList extends GeoElement
 			final EuclidianViewInterfaceSlim view) {
 		final ArrayList<GeoPointND> al = new ArrayList<>();
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 
 			if (geo.isGeoPoint()) {
 				final GeoPoint p = (GeoPoint) geo;
@@ -2069,10 +2145,7 @@ public class GeoList extends GeoElement
 	 * @return true if the list contains given geo
 	 */
 	public boolean listContains(final GeoElement geo) {
-		if (elements == null) {
-			return true;
-		}
-		return elements.contains(geo);
+		return elements().contains(geo);
 	}
 
 	@Override
@@ -2095,8 +2168,8 @@ public class GeoList extends GeoElement
 			return false;
 		}
 		boolean ret = true;
-		for (int i = 0; i < elements.size(); i++) {
-			GeoElement geo1 = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			GeoElement geo1 = elements().get(i);
 			if (!geo1.isLaTeXDrawableGeo()) {
 				return false;
 			}
@@ -2108,8 +2181,8 @@ public class GeoList extends GeoElement
 	public void updateColumnHeadingsForTraceValues() {
 		resetSpreadsheetColumnHeadings();
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (geo instanceof SpreadsheetTraceable) {
 				final ArrayList<GeoText> geoHead = geo.getColumnHeadings();
 				for (int j = 0; j < geoHead.size(); j++) {
@@ -2195,7 +2268,7 @@ public class GeoList extends GeoElement
 		if (getParentAlgorithm() != null
 				&& (getParentAlgorithm() instanceof AlgoDependentList)) {
 			// list = {A, B} : traceModes is computed from A, B
-			traceModes = getTraceModes(elements);
+			traceModes = getTraceModes(elements());
 		} else {
 			// e.g. Sequence[...] is only copied
 			traceModes = TraceModesEnum.ONLY_COPY;
@@ -2217,7 +2290,7 @@ public class GeoList extends GeoElement
 				&& (getParentAlgorithm() instanceof AlgoDependentList)) {
 			// list = {A, B} : names for A, B
 			boolean notFirst = false;
-			for (GeoElement geo : elements) {
+			for (GeoElement geo : elements()) {
 				if (notFirst) {
 					sb.append(", ");
 				}
@@ -2240,8 +2313,8 @@ public class GeoList extends GeoElement
 	public void addToSpreadsheetTraceList(
 			ArrayList<GeoNumeric> spreadsheetTraceList) {
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (geo instanceof SpreadsheetTraceable) {
 				((SpreadsheetTraceable) geo)
 						.addToSpreadsheetTraceList(spreadsheetTraceList);
@@ -2281,7 +2354,7 @@ public class GeoList extends GeoElement
 	 * @return position of needle in this list or -1 when not found
 	 */
 	public int find(GeoElement needle) {
-		return elements.indexOf(needle);
+		return elements().indexOf(needle);
 	}
 
 	/**
@@ -2589,8 +2662,7 @@ public class GeoList extends GeoElement
 	public void setShowOnAxis(boolean showOnAxis) {
 		this.showOnAxis = showOnAxis;
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet() && (geo instanceof InequalityProperties)) {
 				((InequalityProperties) geo).setShowOnAxis(showOnAxis);
 			}
@@ -2601,6 +2673,9 @@ public class GeoList extends GeoElement
 	 * @return true if this list contains a 3D geo
 	 */
 	public boolean containsGeoElement3D() {
+		if (packedValues != null) {
+			return false;
+		}
 		for (GeoElement geo : elements) {
 			boolean contains = false;
 			if (geo.isGeoList()) {
@@ -2618,10 +2693,10 @@ public class GeoList extends GeoElement
 
 	@Override
 	final public Coords getMainDirection() {
-		if (elements.size() <= closestPointIndex) {
+		if (size() <= closestPointIndex) {
 			return Coords.VX;
 		}
-		return elements.get(closestPointIndex).getMainDirection();
+		return getForReading(closestPointIndex).getMainDirection();
 	}
 
 	@Override
@@ -2666,7 +2741,7 @@ public class GeoList extends GeoElement
 			newAngleStyle = AngleStyle.ANTICLOCKWISE;
 		}
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet() && (geo instanceof AngleProperties)) {
 				((AngleProperties) geo).setAngleStyle(angleStyle);
 			}
@@ -2715,7 +2790,7 @@ public class GeoList extends GeoElement
 			setAngleStyle(AngleStyle.NOTREFLEX);
 		}
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet() && (geo instanceof AngleProperties)) {
 				((AngleProperties) geo).setAllowReflexAngle(allowReflexAngle);
 			}
@@ -2733,7 +2808,7 @@ public class GeoList extends GeoElement
 	public void setEmphasizeRightAngle(boolean emphasizeRightAngle) {
 		this.emphasizeRightAngle = emphasizeRightAngle;
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet() && (geo instanceof AngleProperties)) {
 				((AngleProperties) geo)
 						.setEmphasizeRightAngle(emphasizeRightAngle);
@@ -2756,7 +2831,7 @@ public class GeoList extends GeoElement
 			setAngleStyle(AngleStyle.ANTICLOCKWISE);
 		}
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet() && (geo instanceof AngleProperties)) {
 				((AngleProperties) geo).setForceReflexAngle(forceReflexAngle);
 			}
@@ -2767,14 +2842,12 @@ public class GeoList extends GeoElement
 	public void setDecorationType(int type) {
 		setDecorationType(type, GeoAngle.getDecoTypes().length);
 
-		if (elements != null) {
-			for (GeoElement geo : elements) {
-				if (!geo.isLabelSet()) {
-					if (geo instanceof AngleProperties) {
-						((AngleProperties) geo).setDecorationType(type);
-					} else if (geo instanceof SegmentProperties) {
-						((SegmentProperties) geo).setDecorationType(type);
-					}
+		for (GeoElement geo : createdElements()) {
+			if (!geo.isLabelSet()) {
+				if (geo instanceof AngleProperties) {
+					((AngleProperties) geo).setDecorationType(type);
+				} else if (geo instanceof SegmentProperties) {
+					((SegmentProperties) geo).setDecorationType(type);
 				}
 			}
 		}
@@ -2791,7 +2864,7 @@ public class GeoList extends GeoElement
 	public void setArcSize(int i) {
 		arcSize = i;
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet() && (geo instanceof AngleProperties)) {
 				((AngleProperties) geo).setArcSize(i);
 			}
@@ -2833,7 +2906,7 @@ public class GeoList extends GeoElement
 				&& this.elementType != ELEMENT_TYPE_MIXED) {
 			return;
 		}
-		for (GeoElement listElement : this.elements) {
+		for (GeoElement listElement : this.elements()) {
 			if (listElement instanceof CasEvaluableFunction) {
 				CasEvaluableFunction f = (CasEvaluableFunction) listElement;
 				f.replaceChildrenByValues(vars);
@@ -2953,12 +3026,7 @@ public class GeoList extends GeoElement
 	public void setLineOpacity(int lineOpacity) {
 		this.lineOpacity = lineOpacity;
 
-		if ((elements == null) || (elements.size() == 0)) {
-			return;
-		}
-
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (GeoElement geo : createdElements()) {
 			if (!geo.isLabelSet()) {
 				geo.setLineOpacity(lineOpacity);
 			}
@@ -3029,7 +3097,7 @@ public class GeoList extends GeoElement
 			return DescriptionMode.DEFINITION_VALUE;
 		}
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : elements()) {
 			if (geo.getDescriptionMode() == DescriptionMode.DEFINITION_VALUE
 					&& !Equation.isAlgebraEquation(geo)) {
 				return DescriptionMode.DEFINITION_VALUE;
@@ -3087,7 +3155,7 @@ public class GeoList extends GeoElement
 	public void resetDefinition() {
 		super.resetDefinition();
 		for (int i = 0; i < size(); i++) {
-			this.elements.get(i).resetDefinition();
+			this.elements().get(i).resetDefinition();
 		}
 	}
 
@@ -3131,7 +3199,7 @@ public class GeoList extends GeoElement
 	 *            new element
 	 */
 	public void setListElement(int i, GeoElement element) {
-		this.elements.set(i, element);
+		this.elements().set(i, element);
 		this.applyVisualStyle(element);
 		// this.elementType = element.getGeoClassType();
 		isDrawable = true;
@@ -3354,7 +3422,7 @@ public class GeoList extends GeoElement
 	 * @return new array with elements
 	 */
 	public GeoElement[] elementsAsArray() {
-		return elements.toArray(new GeoElement[size()]);
+		return elements().toArray(new GeoElement[size()]);
 	}
 
 	@Override
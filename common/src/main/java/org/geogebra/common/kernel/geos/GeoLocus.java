@@ -12,31 +12,47 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.geos;
 
+import java.util.ArrayList;
+
 import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.PackedPointList;
 import org.geogebra.common.kernel.PathParameter;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.advanced.AlgoSlopeField;
 import org.geogebra.common.kernel.arithmetic.ValueType;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.kernel.kernelND.GeoSegmentND;
 import org.geogebra.common.kernel.matrix.Coords;
+import org.geogebra.common.util.DoubleUtil;
 
 /**
  * Locus of points
  * 
+ * The points are kept in primitive arrays until some caller needs the list of
+ * point objects, see {@link #getPoints()}.
+ * 
  * @author Markus
  */
 public class GeoLocus extends GeoLocusND<MyPoint> {
+	/** loci grow their arrays as needed, many of them stay small */
+	private static final int INITIAL_CAPACITY = 16;
+
 	private Coords changingPoint;
 	private boolean drawArrows = false;
+	/** points, created with the first point */
+	private PackedPointList packedPoints;
+	/** whether the points were moved to myPointList by getPoints() */
+	private boolean pointsInList = false;
 
 	/**
 	 * Creates new locus
 	 * @param c construction
 	 */
 	public GeoLocus(Construction c) {
-		super(c);
+		super(c, false);
 	}
 
 	@Override
@@ -51,7 +67,139 @@ public class GeoLocus extends GeoLocusND<MyPoint> {
 	 * @param segmentType used segment type
 	 */
 	public void insertPoint(double x, double y, SegmentType segmentType) {
-		myPointList.add(new MyPoint(x, y, segmentType));
+		if (pointsInList) {
+			myPointList.add(new MyPoint(x, y, segmentType));
+		} else {
+			getPackedPoints().add(x, y, segmentType);
+		}
+	}
+
+	/**
+	 * Moves the points to a list of point objects. Callers may keep and change
+	 * the list, so the locus uses it until the points are cleared for the
+	 * next computation; prefer {@link #getPointLength()},
+	 * {@link #getPointX(int)} etc. for reading.
+	 * 
+	 * @return list of points that define this locus
+	 */
+	@Override
+	public ArrayList<MyPoint> getPoints() {
+		if (!pointsInList) {
+			myPointList = new ArrayList<>(getPointLength());
+			if (packedPoints != null) {
+				packedPoints.appendTo(myPointList);
+			}
+			pointsInList = true;
+		}
+		return myPointList;
+	}
+
+	/**
+	 * @return points in primitive arrays, null if {@link #getPoints()} was
+	 *         called since the points were cleared
+	 */
+	public PackedPointList getPackedPoints() {
+		if (pointsInList) {
+			return null;
+		}
+		if (packedPoints == null) {
+			packedPoints = new PackedPointList(INITIAL_CAPACITY);
+		}
+		return packedPoints;
+	}
+
+	@Override
+	public int getPointLength() {
+		if (pointsInList) {
+			return super.getPointLength();
+		}
+		return packedPoints == null ? 0 : packedPoints.size();
+	}
+
+	@Override
+	public double getPointX(int i) {
+		return pointsInList ? super.getPointX(i) : packedPoints.getX(i);
+	}
+
+	@Override
+	public double getPointY(int i) {
+		return pointsInList ? super.getPointY(i) : packedPoints.getY(i);
+	}
+
+	@Override
+	public SegmentType getPointSegmentType(int i) {
+		return pointsInList ? super.getPointSegmentType(i)
+				: packedPoints.getSegmentType(i);
+	}
+
+	@Override
+	protected MyPoint copyPoint(int i) {
+		return pointsInList ? super.copyPoint(i)
+				: new MyPoint(packedPoints.getX(i), packedPoints.getY(i),
+						packedPoints.getSegmentType(i));
+	}
+
+	@Override
+	public void setPointLocation(int i, double x, double y) {
+		if (pointsInList) {
+			super.setPointLocation(i, x, y);
+		} else {
+			packedPoints.setLocation(i, x, y);
+		}
+	}
+
+	/**
+	 * Clears the points; a list returned by {@link #getPoints()} before is
+	 * not used any more, so the next points are stored in arrays again.
+	 */
+	@Override
+	public void clearPoints() {
+		if (packedPoints != null) {
+			packedPoints.clear();
+		}
+		myPointList = null;
+		pointsInList = false;
+	}
+
+	@Override
+	public void setPoints(ArrayList<MyPoint> al) {
+		super.setPoints(al);
+		pointsInList = true;
+		if (packedPoints != null) {
+			packedPoints.clear();
+		}
+	}
+
+	@Override
+	public void set(GeoElementND geo) {
+		if (!(geo instanceof GeoLocus)) {
+			// super.set works with the list
+			getPoints();
+			super.set(geo);
+			return;
+		}
+		GeoLocus locus = (GeoLocus) geo;
+		setDefined(locus.isDefined());
+		clearPoints();
+		if (!locus.pointsInList && locus.packedPoints != null) {
+			getPackedPoints().set(locus.packedPoints);
+			return;
+		}
+		int size = locus.getPointLength();
+		for (int i = 0; i < size; i++) {
+			insertPoint(locus.getPointX(i), locus.getPointY(i),
+					locus.getPointSegmentType(i));
+		}
+	}
+
+	@Override
+	public boolean isClosedPath() {
+		int size = getPointLength();
+		return size > 0
+				&& DoubleUtil.isEqual(getPointX(0), getPointX(size - 1),
+						Kernel.MIN_PRECISION)
+				&& DoubleUtil.isEqual(getPointY(0), getPointY(size - 1),
+						Kernel.MIN_PRECISION);
 	}
 
 	/**
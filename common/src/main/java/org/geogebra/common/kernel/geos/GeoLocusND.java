@@ -65,13 +65,28 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 	 *            construction
 	 */
 	public GeoLocusND(Construction c) {
+		this(c, true);
+	}
+
+	/**
+	 * Creates new locus
+	 * 
+	 * @param c
+	 *            construction
+	 * @param createPointList
+	 *            whether to create the list of points; subclasses that store
+	 *            the points otherwise create it when needed
+	 */
+	protected GeoLocusND(Construction c, boolean createPointList) {
 		super(c);
 
 		// moved from GeoElement's constructor
 		// must be called from the subclass, see
 		// http://benpryor.com/blog/2008/01/02/dont-call-subclass-methods-from-a-superclass-constructor/
 		setConstructionDefaults(); // init visual settings
-		myPointList = new ArrayList<>(500);
+		if (createPointList) {
+			myPointList = new ArrayList<>();
+		}
 	}
 
 	@Override
@@ -95,8 +110,9 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 			defined = locus.defined;
 
 			myPointList.clear();
-			for (MyPoint pt : locus.myPointList) {
-				myPointList.add((T) pt.copy());
+			int size = locus.getPointLength();
+			for (int i = 0; i < size; i++) {
+				myPointList.add((T) locus.copyPoint(i));
 			}
 		}
 	}
@@ -107,10 +123,60 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 	 * @return number of valid points in x and y arrays.
 	 */
 	@Override
-	final public int getPointLength() {
+	public int getPointLength() {
 		return myPointList.size();
 	}
 
+	/**
+	 * @param i
+	 *            index
+	 * @return x-coord of i-th point
+	 */
+	public double getPointX(int i) {
+		return myPointList.get(i).x;
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return y-coord of i-th point
+	 */
+	public double getPointY(int i) {
+		return myPointList.get(i).y;
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return segment type of i-th point
+	 */
+	public SegmentType getPointSegmentType(int i) {
+		return myPointList.get(i).getSegmentType();
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return copy of the i-th point
+	 */
+	protected MyPoint copyPoint(int i) {
+		return myPointList.get(i).copy();
+	}
+
+	/**
+	 * Moves the i-th point (keeps z-coord of 3D points).
+	 * 
+	 * @param i
+	 *            index
+	 * @param x
+	 *            new x-coord
+	 * @param y
+	 *            new y-coord
+	 */
+	public void setPointLocation(int i, double x, double y) {
+		myPointList.get(i).setLocation(x, y);
+	}
+
 	/**
 	 * Clears list of points defining this locus
 	 */
@@ -180,7 +246,7 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 
 	@Override
 	public double getMaxParameter() {
-		return myPointList.size() - 1;
+		return getPointLength() - 1;
 	}
 
 	@Override
@@ -190,9 +256,10 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 
 	@Override
 	public boolean isClosedPath() {
-		if (myPointList.size() > 0) {
-			MyPoint first = myPointList.get(0);
-			MyPoint last = myPointList.get(myPointList.size() - 1);
+		ArrayList<T> points = getPoints();
+		if (points.size() > 0) {
+			MyPoint first = points.get(0);
+			MyPoint last = points.get(points.size() - 1);
 			return first.isEqual(last);
 		}
 		return false;
@@ -237,8 +304,9 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 			return null;
 		}
 
-		MyPoint locusPoint = myPointList.get(closestPointIndex);
-		MyPoint locusPoint2 = myPointList.get(closestPointIndex + 1);
+		ArrayList<T> points = getPoints();
+		MyPoint locusPoint = points.get(closestPointIndex);
+		MyPoint locusPoint2 = points.get(closestPointIndex + 1);
 
 		closestSegment.setCoords(locusPoint, locusPoint2);
 
@@ -271,7 +339,8 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 	 * Returns the point of this locus that is closest to current point infos.
 	 */
 	private void getClosestLine() {
-		int size = myPointList.size();
+		ArrayList<T> points = getPoints();
+		int size = points.size();
 		if (size == 0) {
 			return;
 		}
@@ -286,8 +355,8 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 
 		// search for closest point
 		for (int i = 0; i < size - 1; i++) {
-			MyPoint locusPoint = myPointList.get(i);
-			MyPoint locusPoint2 = myPointList.get(i + 1);
+			MyPoint locusPoint = points.get(i);
+			MyPoint locusPoint2 = points.get(i + 1);
 
 			// not a line, just a move (eg Voronoi Diagram)
 			if (locusPoint2.getSegmentType() == SegmentType.MOVE_TO) {
@@ -335,18 +404,19 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 
 		// check n and n+1 are in a sensible range
 		// might occur if locus has changed no of segments/points
-		if (myPointList.size() == 0) {
+		ArrayList<T> points = getPoints();
+		if (points.size() == 0) {
 			P.setUndefined();
 			return;
-		} else if (myPointList.size() == 1) {
-			MyPoint p0 = myPointList.get(0);
+		} else if (points.size() == 1) {
+			MyPoint p0 = points.get(0);
 			P.set(1, 0, p0, p0);
 			return;
-		} else if (n >= myPointList.size() || n < 0) {
-			n = (n < 0) ? 0 : myPointList.size() - 1;
+		} else if (n >= points.size() || n < 0) {
+			n = (n < 0) ? 0 : points.size() - 1;
 		}
-		MyPoint locusPoint = myPointList.get(n);
-		MyPoint locusPoint2 = myPointList.get((n + 1) % myPointList.size());
+		MyPoint locusPoint = points.get(n);
+		MyPoint locusPoint2 = points.get((n + 1) % points.size());
 		P.set(t, 1 - t, locusPoint, locusPoint2);
 	}
 
@@ -363,12 +433,13 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 
 		// check n and n+1 are in a sensible range
 		// might occur if locus has changed no of segments/points
-		if (n >= myPointList.size() || n < 0) {
-			n = (n < 0) ? 0 : myPointList.size() - 1;
+		ArrayList<T> points = getPoints();
+		if (n >= points.size() || n < 0) {
+			n = (n < 0) ? 0 : points.size() - 1;
 		}
 
-		MyPoint locusPoint = myPointList.get(n);
-		MyPoint locusPoint2 = myPointList.get((n + 1) % myPointList.size());
+		MyPoint locusPoint = points.get(n);
+		MyPoint locusPoint2 = points.get((n + 1) % points.size());
 
 		P.set(t, 1 - t, locusPoint, locusPoint2);
 	}
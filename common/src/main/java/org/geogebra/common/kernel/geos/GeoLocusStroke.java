@@ -18,6 +18,7 @@ import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.algos.AlgoLocusStroke;
+import org.geogebra.common.kernel.arithmetic.MyDouble;
 import org.geogebra.common.kernel.arithmetic.NumberValue;
 import org.geogebra.common.kernel.kernelND.GeoLineND;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
@@ -97,23 +98,36 @@ public class GeoLocusStroke extends GeoLocus
 	}
 
 	/**
-	 * Run a callback for points, skipping the control points.
+	 * Run a callback for points, skipping the control points. The same point
+	 * object is passed for all points, the handler must not keep it.
 	 * 
 	 * @param handler
 	 *            handler to be called for each point
 	 */
 	public void processPointsWithoutControl(
 			AsyncOperation<MyPoint> handler) {
-		MyPoint last = null;
-		for (MyPoint pt : getPoints()) {
-			if (pt.getSegmentType() != SegmentType.CONTROL) {
+		MyPoint pt = new MyPoint();
+		SegmentType lastType = null;
+		double lastX = 0;
+		double lastY = 0;
+		int size = getPointLength();
+		for (int i = 0; i < size; i++) {
+			SegmentType type = getPointSegmentType(i);
+			if (type != SegmentType.CONTROL) {
+				double x = getPointX(i);
+				double y = getPointY(i);
 				// also ignore third point added to simple segment
 				// to able to calc control points
-				if (!(last != null
-						&& last.getSegmentType() == pt.getSegmentType()
-						&& last.isEqual(pt))) {
+				if (!(lastType == type
+						&& DoubleUtil.isEqual(lastX, x, Kernel.MIN_PRECISION)
+						&& DoubleUtil.isEqual(lastY, y,
+								Kernel.MIN_PRECISION))) {
+					pt.setLocation(x, y);
+					pt.setSegmentType(type);
 					handler.callback(pt);
-					last = pt;
+					lastType = type;
+					lastX = x;
+					lastY = y;
 				}
 			}
 		}
@@ -127,21 +141,23 @@ public class GeoLocusStroke extends GeoLocus
 	@Override
 	public void matrixTransform(double a00, double a01, double a10,
 			double a11) {
-		for (MyPoint pt : getPoints()) {
-			double x = pt.x;
-			double y = pt.y;
-			pt.setLocation(a00 * x + a01 * y, a10 * x + a11 * y);
+		int size = getPointLength();
+		for (int i = 0; i < size; i++) {
+			double x = getPointX(i);
+			double y = getPointY(i);
+			setPointLocation(i, a00 * x + a01 * y, a10 * x + a11 * y);
 		}
 	}
 
 	@Override
 	public void matrixTransform(double a00, double a01, double a02, double a10,
 			double a11, double a12, double a20, double a21, double a22) {
-		for (MyPoint pt : getPoints()) {
-			double x = pt.x;
-			double y = pt.y;
+		int size = getPointLength();
+		for (int i = 0; i < size; i++) {
+			double x = getPointX(i);
+			double y = getPointY(i);
 			double z = a20 * x + a21 * y + a22;
-			pt.setLocation((a00 * x + a01 * y + a02) / z,
+			setPointLocation(i, (a00 * x + a01 * y + a02) / z,
 					(a10 * x + a11 * y + a12) / z);
 		}
 	}
@@ -151,16 +167,19 @@ public class GeoLocusStroke extends GeoLocus
 		double rval = r.getDouble();
 		double crval = 1 - rval;
 
-		for (MyPoint pt : getPoints()) {
-			pt.setLocation(rval * pt.x + crval * S.getX(),
-					rval * pt.y + crval * S.getY());
+		int size = getPointLength();
+		for (int i = 0; i < size; i++) {
+			setPointLocation(i, rval * getPointX(i) + crval * S.getX(),
+					rval * getPointY(i) + crval * S.getY());
 		}
 	}
 
 	@Override
 	public void mirror(Coords Q) {
-		for (MyPoint pt : getPoints()) {
-			pt.setLocation(2 * Q.getX() - pt.x, 2 * Q.getY() - pt.y);
+		int size = getPointLength();
+		for (int i = 0; i < size; i++) {
+			setPointLocation(i, 2 * Q.getX() - getPointX(i),
+					2 * Q.getY() - getPointY(i));
 		}
 	}
 
@@ -188,12 +207,13 @@ public class GeoLocusStroke extends GeoLocus
 		double cos = Math.cos(phi);
 		double sin = Math.sin(phi);
 
-		for (MyPoint pt : getPoints()) {
+		int size = getPointLength();
+		for (int i = 0; i < size; i++) {
 			// translate -Q
-			double x = pt.x - qx;
-			double y = pt.y - qy;
+			double x = getPointX(i) - qx;
+			double y = getPointY(i) - qy;
 			// mirror and translate Q
-			pt.setLocation(x * cos + y * sin + qx,
+			setPointLocation(i, x * cos + y * sin + qx,
 					x * sin - y * cos + qy);
 		}
 	}
@@ -209,11 +229,12 @@ public class GeoLocusStroke extends GeoLocus
 		double qx = Q.getX();
 		double qy = Q.getY();
 
-		for (MyPoint pt : getPoints()) {
-			double x = pt.x;
-			double y = pt.y;
+		int size = getPointLength();
+		for (int i = 0; i < size; i++) {
+			double x = getPointX(i);
+			double y = getPointY(i);
 
-			pt.setLocation((x - qx) * cos + (qy - y) * sin + qx,
+			setPointLocation(i, (x - qx) * cos + (qy - y) * sin + qx,
 					(x - qx) * sin + (y - qy) * cos + qy);
 		}
 		resetXMLPointBuilder();
@@ -225,11 +246,12 @@ public class GeoLocusStroke extends GeoLocus
 		double cos = MyMath.cos(phi);
 		double sin = Math.sin(phi);
 
-		for (MyPoint pt : getPoints()) {
-			double x = pt.x;
-			double y = pt.y;
+		int size = getPointLength();
+		for (int i = 0; i < size; i++) {
+			double x = getPointX(i);
+			double y = getPointY(i);
 
-			pt.setLocation(x * cos - y * sin, x * sin + y * cos);
+			setPointLocation(i, x * cos - y * sin, x * sin + y * cos);
 		}
 		resetXMLPointBuilder();
 	}
@@ -241,8 +263,10 @@ public class GeoLocusStroke extends GeoLocus
 
 	@Override
 	public void translate(Coords v) {
-		for (MyPoint pt : getPoints()) {
-			pt.setLocation(pt.x + v.getX(), pt.y + v.getY());
+		int size = getPointLength();
+		for (int i = 0; i < size; i++) {
+			setPointLocation(i, getPointX(i) + v.getX(),
+					getPointY(i) + v.getY());
 		}
 
 		resetXMLPointBuilder();
@@ -470,16 +494,19 @@ public class GeoLocusStroke extends GeoLocus
 		int parts = 5;
 		int i = 1;
 		double rwLength = app.getActiveEuclidianView().getInvXscale() * MAX_SEGMENT_LENGTH;
-		densePoints.add(getPoints().get(0));
-		while (i < getPoints().size()) {
-			MyPoint pt0 = getPoints().get(i - 1);
-			MyPoint pt1 = getPoints().get(i);
-			if (pt1.getSegmentType() == SegmentType.CONTROL) {
-				MyPoint pt2 = getPoints().get(i + 1);
-				MyPoint pt3 = getPoints().get(i + 2);
-				if (pt3.distance(pt0) > rwLength) {
-					double[] xCoeff = bezierCoeffs(pt0.x, pt1.x, pt2.x, pt3.x);
-					double[] yCoeff = bezierCoeffs(pt0.y, pt1.y, pt2.y, pt3.y);
+		densePoints.add(copyPoint(0));
+		int size = getPointLength();
+		while (i < size) {
+			if (getPointSegmentType(i) == SegmentType.CONTROL) {
+				double x0 = getPointX(i - 1);
+				double y0 = getPointY(i - 1);
+				double x3 = getPointX(i + 2);
+				double y3 = getPointY(i + 2);
+				if (Math.hypot(x3 - x0, y3 - y0) > rwLength) {
+					double[] xCoeff = bezierCoeffs(x0, getPointX(i),
+							getPointX(i + 1), x3);
+					double[] yCoeff = bezierCoeffs(y0, getPointY(i),
+							getPointY(i + 1), y3);
 					for (int sub = 1; sub < parts; sub++) {
 						double t = sub / (double) parts;
 						MyPoint subPoint = new MyPoint(evalCubic(xCoeff, t), evalCubic(yCoeff, t));
@@ -488,7 +515,7 @@ public class GeoLocusStroke extends GeoLocus
 				}
 				i += 2;
 			} else {
-				densePoints.add(pt1);
+				densePoints.add(copyPoint(i));
 				i++;
 			}
 		}
@@ -502,6 +529,13 @@ public class GeoLocusStroke extends GeoLocus
 		return getPoints().get(i + 1);
 	}
 
+	private void ensureTrailingNaN() {
+		int size = getPointLength();
+		if (size > 0 && MyDouble.isFinite(getPointX(size - 1))) {
+			insertPoint(Double.NaN, Double.NaN, SegmentType.LINE_TO);
+		}
+	}
+
 	private void ensureTrailingNaN(List<MyPoint> data) {
 		if (data.size() > 0 && data.get(data.size() - 1).isDefined()) {
 			data.add(new MyPoint(Double.NaN, Double.NaN));
@@ -699,7 +733,7 @@ public class GeoLocusStroke extends GeoLocus
 			}
 
 			if (index < data.size()) {
-				ensureTrailingNaN(getPoints());
+				ensureTrailingNaN();
 			}
 
 			index = index + Math.max(strokeSize, 1);
@@ -721,8 +755,8 @@ public class GeoLocusStroke extends GeoLocus
 
 			if (angle(startPoint, ctrl1, endPoint) > MIN_CURVE_ANGLE
 					|| angle(startPoint, ctrl2, endPoint) > MIN_CURVE_ANGLE) {
-				getPoints().add(ctrl1);
-				getPoints().add(ctrl2);
+				insertPoint(ctrl1.x, ctrl1.y, SegmentType.CONTROL);
+				insertPoint(ctrl2.x, ctrl2.y, SegmentType.CONTROL);
 				addPointCurveTo(endPoint);
 			} else {
 				addPointLineTo(endPoint);
@@ -731,15 +765,15 @@ public class GeoLocusStroke extends GeoLocus
 	}
 
 	private void addPointMoveTo(MyPoint point) {
-		getPoints().add(point.withType(SegmentType.MOVE_TO));
+		insertPoint(point.x, point.y, SegmentType.MOVE_TO);
 	}
 
 	private void addPointLineTo(MyPoint point) {
-		getPoints().add(point.withType(SegmentType.LINE_TO));
+		insertPoint(point.x, point.y, SegmentType.LINE_TO);
 	}
 
 	private void addPointCurveTo(MyPoint point) {
-		getPoints().add(point.withType(SegmentType.CURVE_TO));
+		insertPoint(point.x, point.y, SegmentType.CURVE_TO);
 	}
 
 	private static double angle(MyPoint a, MyPoint b, MyPoint c) {
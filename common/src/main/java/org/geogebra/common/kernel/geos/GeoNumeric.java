@@ -691,6 +691,12 @@ public class GeoNumeric extends GeoElement
 		return value;
 	}
 
+	@Override
+	public int getNumericState(double[] state) {
+		state[0] = value;
+		return 1;
+	}
+
 	@Override
 	public void setAllVisualPropertiesExceptEuclidianVisible(GeoElement geo,
 			boolean keepAdvanced, boolean setAuxiliaryProperty) {
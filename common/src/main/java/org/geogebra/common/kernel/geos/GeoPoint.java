@@ -801,6 +801,20 @@ public class GeoPoint extends GeoVec3D implements VectorValue, PathOrPoint,
 		return isDefined;
 	}
 
+	@Override
+	public int getNumericState(double[] state) {
+		// path parameters are not compared, subclasses may have more state
+		if (getClass() != GeoPoint.class || isPointOnPath()
+				|| isPointInRegion()) {
+			return -1;
+		}
+		state[0] = x;
+		state[1] = y;
+		state[2] = z;
+		state[3] = isDefined ? 1 : 0;
+		return 4;
+	}
+
 	/*
 	 * Order of instructions is important here because we need to avoid infinite
 	 * loop setUndefined -> setCoords -> pointChangedForRegion -> setUndefined
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.apache.commons.math3.linear.ArrayRealVector;
@@ -52,6 +53,7 @@ import org.geogebra.common.kernel.matrix.Coords;
 import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.plugin.Operation;
 import org.geogebra.common.util.DoubleUtil;
+import org.geogebra.common.util.ParallelExecutor;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.Log;
 
@@ -112,6 +114,7 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 	private double[] eval = new double[2];
 	private boolean calcPath = true;
 
+
 	/**
 	 * Construct an empty Implicit Curve Object
 	 * 
@@ -801,7 +804,7 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 
 	private void updatePathQuadTree(double x, double y, double w, double h,
 			double scaleX, double scaleY) {
-		locus.getPoints().clear();
+		locus.clearPoints();
 		quadTree.updatePath(x, y - h, w, h, scaleX, scaleY);
 	}
 
@@ -900,7 +903,7 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 
 	@Override
 	public void pointChanged(GeoPointND PI) {
-		if (locus.getPoints().size() > 0) {
+		if (locus.getPointLength() > 0) {
 			locusPointChanged(PI);
 		}
 	}
@@ -926,7 +929,7 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 			return;
 		}
 
-		if (locus.getPoints().size() > 0) {
+		if (locus.getPointLength() > 0) {
 			locusPathChanged(PI);
 		}
 	}
@@ -1674,11 +1677,18 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 	private class WebExperimentalQuadTree extends QuadTree {
 		private static final int RES_COARSE = 8;
 		private static final int MAX_SPLIT = 40;
+		/** rows of the coarse grid handled by one task */
+		private static final int BAND_ROWS = 4;
 		private int plotDepth;
 		private int segmentCheckDepth;
 		private int sw;
 		private int sh;
 		private Rect[][] grid;
+		private boolean[][] plotted;
+		private double[] xcoords;
+		private double[] ycoords;
+		private double frx;
+		private double fry;
 		private Timer timer = Timer.newTimer();
 
 		public WebExperimentalQuadTree() {
@@ -1687,9 +1697,13 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 
 		@Override
 		public void updatePath() {
+			ParallelExecutor executor = null;
+			if (kernel.isParallelImplicitCurves() && sampler.isThreadSafe()) {
+				executor = ParallelExecutor.getPrototype();
+			}
 			for (int factor = 0; factor < factorLength(); ++factor) {
 				try {
-					evaluateImplicitCurve(0, 0, factor);
+					sampler.evaluate(0, 0, factor);
 				} catch (Throwable e) {
 					continue;
 				}
@@ -1700,14 +1714,12 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 				}
 
 				this.grid = new Rect[sh][sw];
+				this.plotted = new boolean[sh][sw];
 
-				double frx = w / sw;
-				double fry = h / sh;
-
-				double[] vertices = new double[sw + 1];
-				double[] xcoords = new double[sw + 1];
-				double[] ycoords = new double[sh + 1];
-				double cur, prev;
+				frx = w / sw;
+				fry = h / sh;
+				xcoords = new double[sw + 1];
+				ycoords = new double[sh + 1];
 
 				for (int i = 0; i <= sw; i++) {
 					xcoords[i] = x + i * frx;
@@ -1717,46 +1729,28 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 					ycoords[i] = y + i * fry;
 				}
 
-				for (int i = 0; i <= sw; i++) {
-					vertices[i] = evaluateImplicitCurve(xcoords[i], ycoords[0],
-							factor);
+				// the bands do not depend on the number of threads, so the
+				// path is always the same
+				ArrayList<Band> bands = new ArrayList<>();
+				ArrayList<Runnable> gridTasks = new ArrayList<>();
+				for (int row = 0; row < sh; row += BAND_ROWS) {
+					final Band band = new Band(row,
+							Math.min(sh, row + BAND_ROWS), factor,
+							executor == null ? sampler
+									: new ImplicitCurveSampler(
+											GeoImplicitCurve.this));
+					bands.add(band);
+					gridTasks.add(new Runnable() {
+						@Override
+						public void run() {
+							band.initGrid();
+						}
+					});
 				}
 
 				// initialize grid configuration at the search depth
-				int i, j;
-				double dx, dy, fx, fy;
-				// debug = true;
 				timer.reset();
-				for (i = 1; i <= sh; i++) {
-					prev = evaluateImplicitCurve(xcoords[0], ycoords[i],
-							factor);
-					fy = ycoords[i] - 0.5 * fry;
-					for (j = 1; j <= sw; j++) {
-						cur = evaluateImplicitCurve(xcoords[j], ycoords[i],
-								factor);
-						Rect rect = new Rect(j - 1, i - 1, frx, fry, false);
-						rect.coords.val[0] = xcoords[j - 1];
-						rect.coords.val[1] = ycoords[i - 1];
-						rect.evals[0] = vertices[j - 1];
-						rect.evals[1] = vertices[j];
-						rect.evals[2] = cur;
-						rect.evals[3] = prev;
-						rect.status = edgeConfig(rect);
-						rect.shares = 0xff;
-						fx = xcoords[j] - 0.5 * frx;
-						dx = derivativeX(fx, fy);
-						dy = derivativeY(fx, fy);
-						dx = Math.abs(dx) + Math.abs(dy);
-						if (DoubleUtil.isZero(dx, 0.001)) {
-							rect.singular = true;
-						}
-						this.grid[i - 1][j - 1] = rect;
-						vertices[j - 1] = prev;
-						prev = cur;
-					}
-					vertices[sw] = prev;
-				}
-
+				runAll(executor, gridTasks);
 				timer.record();
 
 				if (timer.elapse <= 10) {
@@ -1771,13 +1765,8 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 					LIST_THRESHOLD = 24;
 				}
 
-				for (i = 0; i < sh; i++) {
-					for (j = 0; j < sw; j++) {
-						if (grid[i][j].status != EMPTY) {
-							plot(grid[i][j], 0, factor);
-						}
-					}
-				}
+				runAll(executor, bands);
+				plotPending(bands, factor);
 
 				timer.record();
 
@@ -1793,48 +1782,188 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 			}
 		}
 
-		public void createTree(Rect r, int depth, int factor) {
-			Rect[] n = r.split(GeoImplicitCurve.this, factor);
-			plot(n[0], depth, factor);
-			plot(n[1], depth, factor);
-			plot(n[2], depth, factor);
-			plot(n[3], depth, factor);
+		private void runAll(ParallelExecutor executor,
+				List<? extends Runnable> tasks) {
+			if (executor != null) {
+				executor.invokeAll(tasks);
+			} else {
+				for (Runnable task : tasks) {
+					task.run();
+				}
+			}
 		}
 
-		public void plot(Rect r, int depth, int factor) {
-			if (depth < segmentCheckDepth) {
-				createTree(r, depth + 1, factor);
-				return;
+		/**
+		 * Plots the cells that were marked by a cell of the previous band
+		 * (and the cells marked by them), then stitches the segments of the
+		 * bands in order.
+		 */
+		private void plotPending(List<Band> bands, int factor) {
+			Band rest = new Band(0, 0, factor, sampler);
+			PriorityQueue<Integer> queue = new PriorityQueue<>();
+			for (Band band : bands) {
+				queue.addAll(band.pending);
 			}
-			int e = edgeConfig(r);
-			if (grid[r.y][r.x].singular || e != EMPTY) {
-				if (depth >= plotDepth) {
-					if (addSegment(r, factor) == T0101) {
-						createTree(r, depth + 1, factor);
-						return;
-					}
-					if (r.x != 0 && (e & r.shares & 0x1) != 0) {
-						nonempty(r.y, r.x - 1);
+			while (!queue.isEmpty()) {
+				int cell = queue.poll();
+				if (!plotted[cell / sw][cell % sw]) {
+					rest.plotCell(cell / sw, cell % sw);
+					queue.addAll(rest.pending);
+					rest.pending.clear();
+				}
+			}
+			for (Band band : bands) {
+				band.moveTo(this);
+			}
+			rest.moveTo(this);
+		}
 
+		/**
+		 * Rows of the coarse grid with its own segments and sampler, so that
+		 * the bands can be plotted in parallel.
+		 */
+		private class Band extends QuadTree implements Runnable {
+			private final int from;
+			private final int to;
+			private final int factor;
+			/** cells after this band that have to be plotted */
+			private final ArrayList<Integer> pending = new ArrayList<>();
+			/** cell that is plotted */
+			private int current;
+
+			Band(int from, int to, int factor,
+					ImplicitCurveSampler sampler) {
+				super(GeoImplicitCurve.this);
+				this.from = from;
+				this.to = to;
+				this.factor = factor;
+				this.sampler = sampler;
+				this.locusPoints = new ArrayList<>();
+			}
+
+			void initGrid() {
+				double[] vertices = new double[sw + 1];
+				double cur, prev;
+				for (int j = 0; j <= sw; j++) {
+					vertices[j] = sampler.evaluate(xcoords[j], ycoords[from],
+							factor);
+				}
+				int i, j;
+				double dx, dy, fx, fy;
+				for (i = from + 1; i <= to; i++) {
+					prev = sampler.evaluate(xcoords[0], ycoords[i], factor);
+					fy = ycoords[i] - 0.5 * fry;
+					for (j = 1; j <= sw; j++) {
+						cur = sampler.evaluate(xcoords[j], ycoords[i], factor);
+						Rect rect = new Rect(j - 1, i - 1, frx, fry, false);
+						rect.coords.val[0] = xcoords[j - 1];
+						rect.coords.val[1] = ycoords[i - 1];
+						rect.evals[0] = vertices[j - 1];
+						rect.evals[1] = vertices[j];
+						rect.evals[2] = cur;
+						rect.evals[3] = prev;
+						rect.status = edgeConfig(rect);
+						rect.shares = 0xff;
+						fx = xcoords[j] - 0.5 * frx;
+						dx = sampler.derivativeX(fx, fy);
+						dy = sampler.derivativeY(fx, fy);
+						dx = Math.abs(dx) + Math.abs(dy);
+						if (DoubleUtil.isZero(dx, 0.001)) {
+							rect.singular = true;
+						}
+						grid[i - 1][j - 1] = rect;
+						vertices[j - 1] = prev;
+						prev = cur;
 					}
-					if (r.x + 1 != sw && (e & r.shares & 0x4) != 0) {
-						nonempty(r.y, r.x + 1);
-					}
-					if (r.y != 0 && (e & r.shares & 0x8) != 0) {
-						nonempty(r.y - 1, r.x);
+					vertices[sw] = prev;
+				}
+			}
+
+			@Override
+			public void run() {
+				updatePath();
+			}
+
+			@Override
+			public void updatePath() {
+				for (int i = from; i < to; i++) {
+					for (int j = 0; j < sw; j++) {
+						if (grid[i][j].status != EMPTY) {
+							plotCell(i, j);
+						}
 					}
-					if (r.y + 1 != sh && (e & r.shares & 0x2) != 0) {
-						nonempty(r.y + 1, r.x);
+				}
+			}
+
+			void plotCell(int row, int column) {
+				LIST_THRESHOLD = WebExperimentalQuadTree.this.LIST_THRESHOLD;
+				plotted[row][column] = true;
+				current = row * sw + column;
+				plot(grid[row][column], 0);
+			}
+
+			/**
+			 * Moves the segments to the quadtree of the curve, joining them
+			 * with the segments of the previous bands.
+			 */
+			void moveTo(QuadTree target) {
+				target.locusPoints.addAll(locusPoints);
+				locusPoints.clear();
+				moveListsTo(target);
+			}
+
+			public void createTree(Rect r, int depth) {
+				Rect[] n = r.split(sampler, factor);
+				plot(n[0], depth);
+				plot(n[1], depth);
+				plot(n[2], depth);
+				plot(n[3], depth);
+			}
+
+			public void plot(Rect r, int depth) {
+				if (depth < segmentCheckDepth) {
+					createTree(r, depth + 1);
+					return;
+				}
+				int e = edgeConfig(r);
+				if (grid[r.y][r.x].singular || e != EMPTY) {
+					if (depth >= plotDepth) {
+						if (addSegment(r, factor) == T0101) {
+							createTree(r, depth + 1);
+							return;
+						}
+						if (r.x != 0 && (e & r.shares & 0x1) != 0) {
+							nonempty(r.y, r.x - 1);
+
+						}
+						if (r.x + 1 != sw && (e & r.shares & 0x4) != 0) {
+							nonempty(r.y, r.x + 1);
+						}
+						if (r.y != 0 && (e & r.shares & 0x8) != 0) {
+							nonempty(r.y - 1, r.x);
+						}
+						if (r.y + 1 != sh && (e & r.shares & 0x2) != 0) {
+							nonempty(r.y + 1, r.x);
+						}
+					} else {
+						createTree(r, depth + 1);
 					}
-				} else {
-					createTree(r, depth + 1, factor);
 				}
 			}
-		}
 
-		private void nonempty(int ry, int rx) {
-			if (grid[ry][rx].status == EMPTY) {
-				grid[ry][rx].status = 1;
+			private void nonempty(int ry, int rx) {
+				int cell = ry * sw + rx;
+				if (cell <= current) {
+					// already visited in row-major order
+					return;
+				}
+				if (ry < to) {
+					if (grid[ry][rx].status == EMPTY) {
+						grid[ry][rx].status = 1;
+					}
+				} else {
+					pending.add(cell);
+				}
 			}
 		}
 
@@ -1934,7 +2063,7 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 
 	@Override
 	public boolean isOnScreen() {
-		return defined && locus.isDefined() && locus.getPoints().size() > 0;
+		return defined && locus.isDefined() && locus.getPointLength() > 0;
 	}
 
 	@Override
@@ -2414,6 +2543,24 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 		return 0;
 	}
 
+	/**
+	 * @param factor
+	 *            number of a squarefree factor
+	 * @return coefficients of the factor, null if they are not known
+	 */
+	double[][] getFactorCoeff(int factor) {
+		return coeffSquarefree == null ? null : coeffSquarefree[factor];
+	}
+
+	/**
+	 * @param factor
+	 *            number of a squarefree factor
+	 * @return expression of the factor, may be null
+	 */
+	FunctionNVar getFactorExpression(int factor) {
+		return factorExpression[factor];
+	}
+
 	/**
 	 * @return number of factors
 	 */
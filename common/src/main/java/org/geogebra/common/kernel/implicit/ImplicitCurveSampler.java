@@ -0,0 +1,121 @@
+package org.geogebra.common.kernel.implicit;
+
+import org.geogebra.common.kernel.arithmetic.CompiledExpression;
+import org.geogebra.common.kernel.arithmetic.FunctionNVar;
+
+/**
+ * Evaluates the squarefree factors and the partial derivatives of an implicit
+ * curve for the quadtree. Polynomials are evaluated from their coefficients,
+ * other expressions are compiled if possible; the rest is left to the curve.
+ *
+ * A sampler is not thread safe, but several samplers of the same curve may be
+ * used in parallel if {@link #isThreadSafe()} holds.
+ */
+class ImplicitCurveSampler {
+
+	private final GeoImplicitCurve curve;
+	private final double[][] coeff;
+	private final double[][][] factorCoeffs;
+	private final CompiledExpression[] factors;
+	private CompiledExpression derivativeX;
+	private CompiledExpression derivativeY;
+	private boolean threadSafe = true;
+
+	/**
+	 * @param curve
+	 *            implicit curve
+	 */
+	ImplicitCurveSampler(GeoImplicitCurve curve) {
+		this.curve = curve;
+		this.coeff = curve.getCoeff();
+		int factorLength = curve.factorLength();
+		factorCoeffs = new double[factorLength][][];
+		factors = new CompiledExpression[factorLength];
+		for (int i = 0; i < factorLength; i++) {
+			factorCoeffs[i] = curve.getFactorCoeff(i);
+			if (factorCoeffs[i] == null) {
+				factors[i] = compile(curve.getFactorExpression(i));
+				threadSafe &= factors[i] != null;
+			}
+		}
+		if (coeff == null) {
+			if (curve.getDerivativeX() != null) {
+				derivativeX = compile(curve.getDerivativeX());
+				threadSafe &= derivativeX != null;
+			}
+			if (curve.getDerivativeY() != null) {
+				derivativeY = compile(curve.getDerivativeY());
+				threadSafe &= derivativeY != null;
+			}
+		}
+	}
+
+	private CompiledExpression compile(FunctionNVar function) {
+		if (!curve.getKernel().isCompiledFunctions() || function == null
+				|| function.getFunctionVariables().length != 2) {
+			return null;
+		}
+		return CompiledExpression.compile(function);
+	}
+
+	/**
+	 * @return whether this sampler evaluates without using the expression
+	 *         trees of the curve
+	 */
+	boolean isThreadSafe() {
+		return threadSafe;
+	}
+
+	/**
+	 * @param x
+	 *            x-coordinate
+	 * @param y
+	 *            y-coordinate
+	 * @param factor
+	 *            number of a squarefree factor
+	 * @return value of the factor at (x,y)
+	 */
+	double evaluate(double x, double y, int factor) {
+		if (factorCoeffs[factor] != null) {
+			return GeoImplicitCurve.evalPolyCoeffAt(x, y, factorCoeffs[factor]);
+		}
+		if (factors[factor] != null) {
+			return factors[factor].evaluate(x, y);
+		}
+		return curve.evaluateImplicitCurve(x, y, factor);
+	}
+
+	/**
+	 * @param x
+	 *            x-coordinate
+	 * @param y
+	 *            y-coordinate
+	 * @return partial derivative of the curve w.r.t. x at (x,y)
+	 */
+	double derivativeX(double x, double y) {
+		if (coeff != null) {
+			return GeoImplicitCurve.evalDiffXPolyAt(x, y, coeff);
+		}
+		if (derivativeX != null) {
+			return derivativeX.evaluate(x, y);
+		}
+		return curve.derivativeX(x, y);
+	}
+
+	/**
+	 * @param x
+	 *            x-coordinate
+	 * @param y
+	 *            y-coordinate
+	 * @return partial derivative of the curve w.r.t. y at (x,y)
+	 */
+	double derivativeY(double x, double y) {
+		if (coeff != null) {
+			return GeoImplicitCurve.evalDiffYPolyAt(x, y, coeff);
+		}
+		if (derivativeY != null) {
+			return derivativeY.evaluate(x, y);
+		}
+		return curve.derivativeY(x, y);
+	}
+}
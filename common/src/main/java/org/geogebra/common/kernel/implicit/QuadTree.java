@@ -1,6 +1,7 @@
 package org.geogebra.common.kernel.implicit;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
@@ -79,6 +80,8 @@ abstract class QuadTree {
 	protected double scaleX;
 	protected double scaleY;
 	protected ArrayList<MyPoint> locusPoints;
+	/** evaluates the curve while the path is updated */
+	protected ImplicitCurveSampler sampler;
 	private LinkedList<PointList> openList = new LinkedList<>();
 	private MyPoint[] pts = new MyPoint[2];
 	private PointList p1;
@@ -128,6 +131,62 @@ abstract class QuadTree {
 		openList.clear();
 	}
 
+	/**
+	 * Adds a polyline found by another quadtree, joining it with the open
+	 * polylines that end where it starts or start where it ends.
+	 * 
+	 * @param list
+	 *            polyline
+	 */
+	void addList(PointList list) {
+		PointList prev = null;
+		PointList next = null;
+		for (PointList pl : openList) {
+			if (prev == null && equal(list.start, pl.end)) {
+				prev = pl;
+			}
+			if (next == null && equal(list.end, pl.start)) {
+				next = pl;
+			}
+		}
+		if (prev != null && prev == next) {
+			// closed curve, nothing more can be joined
+			prev.mergeTo(list);
+			openList.remove(prev);
+			locusPoints.add(prev.start);
+			locusPoints.addAll(prev.pts);
+			locusPoints.add(prev.end);
+		} else if (prev != null) {
+			prev.mergeTo(list);
+			if (next != null) {
+				openList.remove(next);
+				prev.mergeTo(next);
+			}
+		} else if (next != null) {
+			list.mergeTo(next);
+			openList.set(openList.indexOf(next), list);
+		} else {
+			openList.addFirst(list);
+		}
+		if (openList.size() > LIST_THRESHOLD) {
+			abortList();
+		}
+	}
+
+	/**
+	 * Moves the open polylines to another quadtree, oldest first.
+	 * 
+	 * @param target
+	 *            quadtree collecting the polylines
+	 */
+	void moveListsTo(QuadTree target) {
+		Iterator<PointList> it = openList.descendingIterator();
+		while (it.hasNext()) {
+			target.addList(it.next());
+		}
+		openList.clear();
+	}
+
 	private static boolean equal(MyPoint q1, MyPoint q2) {
 		return DoubleUtil.isEqual(q1.x, q2.x, 1e-10)
 				&& DoubleUtil.isEqual(q1.y, q2.y, 1e-10);
@@ -252,10 +311,8 @@ abstract class QuadTree {
 			return EMPTY;
 		}
 		// check continuity of the function between P1 and P2
-		double p = Math.abs(this.geoImplicitCurve
-				.evaluateImplicitCurve(pts[0].x, pts[0].y, factor));
-		double q = Math.abs(this.geoImplicitCurve
-				.evaluateImplicitCurve(pts[1].x, pts[1].y, factor));
+		double p = Math.abs(sampler.evaluate(pts[0].x, pts[0].y, factor));
+		double q = Math.abs(sampler.evaluate(pts[1].x, pts[1].y, factor));
 		if ((p <= q1 && q <= q2)) {
 			return VALID;
 		}
@@ -292,8 +349,13 @@ abstract class QuadTree {
 		this.scaleX = slX;
 		this.scaleY = slY;
 		this.locusPoints = this.geoImplicitCurve.getLocus().getPoints();
-		this.updatePath();
-		this.abortList();
+		this.sampler = new ImplicitCurveSampler(this.geoImplicitCurve);
+		try {
+			this.updatePath();
+			this.abortList();
+		} finally {
+			this.sampler = null;
+		}
 	}
 
 	/**
@@ -29,7 +29,7 @@ class Rect {
 		this.shares = 0;
 	}
 
-	public Rect[] split(GeoImplicitCurve geoImplicitCurve, int factor) {
+	public Rect[] split(ImplicitCurveSampler sampler, int factor) {
 		double fx2 = fx * 0.5;
 		double fy2 = fy * 0.5;
 		double x1 = this.coords.val[0];
@@ -47,14 +47,14 @@ class Rect {
 		rect[2].coords.val[0] += fx2;
 		rect[2].coords.val[1] += fy2;
 		rect[3].coords.val[1] += fy2;
-		rect[1].evals[0] = geoImplicitCurve.evaluate(rect[1].coords.val,
-				factor);
-		rect[2].evals[0] = geoImplicitCurve.evaluate(rect[2].coords.val,
-				factor);
-		rect[2].evals[1] = geoImplicitCurve.evaluate(x1 + fx, y1 + fy2, factor);
-		rect[2].evals[3] = geoImplicitCurve.evaluate(x1 + fx2, y1 + fy, factor);
-		rect[3].evals[0] = geoImplicitCurve.evaluate(rect[3].coords.val,
-				factor);
+		rect[1].evals[0] = sampler.evaluate(rect[1].coords.val[0],
+				rect[1].coords.val[1], factor);
+		rect[2].evals[0] = sampler.evaluate(rect[2].coords.val[0],
+				rect[2].coords.val[1], factor);
+		rect[2].evals[1] = sampler.evaluate(x1 + fx, y1 + fy2, factor);
+		rect[2].evals[3] = sampler.evaluate(x1 + fx2, y1 + fy, factor);
+		rect[3].evals[0] = sampler.evaluate(rect[3].coords.val[0],
+				rect[3].coords.val[1], factor);
 		rect[3].evals[1] = rect[0].evals[2] = rect[1].evals[3] = rect[2].evals[0];
 		rect[0].evals[1] = rect[1].evals[0];
 		rect[0].evals[3] = rect[3].evals[0];
@@ -13,11 +13,12 @@ import org.geogebra.common.util.DoubleUtil;
  *
  */
 public class Interval implements IntervalArithmetic, IntervalMiscOperands {
-	private final IntervalAlgebra algebra = new IntervalAlgebra(this);
-	private final IntervalArithmeticImpl arithmetic = new IntervalArithmeticImpl(this);
-	private final IntervalTrigonometric trigonometric = new IntervalTrigonometric(this);
-	private final IntervalMiscOperandsImpl misc = new IntervalMiscOperandsImpl(this);
-	private final IntervalEvaluate evaluate = new IntervalEvaluate(this);
+	// operations are stateless: an interval is just its two bounds
+	private static final IntervalAlgebra algebra = new IntervalAlgebra();
+	private static final IntervalArithmeticImpl arithmetic = new IntervalArithmeticImpl();
+	private static final IntervalTrigonometric trigonometric = new IntervalTrigonometric();
+	private static final IntervalMiscOperandsImpl misc = new IntervalMiscOperandsImpl();
+	private static final IntervalEvaluate evaluate = new IntervalEvaluate();
 	private double low;
 	private double high;
 
@@ -161,12 +162,12 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 
 	@Override
 	public Interval multiply(Interval other) {
-		return arithmetic.multiply(other);
+		return arithmetic.multiply(this, other);
 	}
 
 	@Override
 	public Interval divide(Interval other) {
-		return arithmetic.divide(other);
+		return arithmetic.divide(this, other);
 	}
 
 	/**
@@ -242,7 +243,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return this as result
 	 */
 	public Interval fmod(Interval other) {
-		algebra.fmod(other);
+		algebra.fmod(this, other);
 		return this;
 	}
 
@@ -311,7 +312,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return power of the interval
 	 */
 	public Interval pow(double power) {
-		return algebra.pow(power);
+		return algebra.pow(this, power);
 	}
 
 	/**
@@ -342,7 +343,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @throws PowerIsNotInteger if other is not a singleton interval.
 	 */
 	public Interval pow(Interval other) throws PowerIsNotInteger {
-		return algebra.pow(other);
+		return algebra.pow(this, other);
 	}
 
 	/**
@@ -392,7 +393,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return square root of the interval.
 	 */
 	public Interval sqrt() {
-		return algebra.sqrt();
+		return algebra.sqrt(this);
 	}
 
 	/**
@@ -403,7 +404,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return nth root of the interval.
 	 */
 	public Interval nthRoot(Interval other) {
-		return algebra.nthRoot(other);
+		return algebra.nthRoot(this, other);
 	}
 
 	/**
@@ -413,7 +414,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return nth root of the interval.
 	 */
 	public Interval nthRoot(double n) {
-		return algebra.nthRoot(n);
+		return algebra.nthRoot(this, n);
 	}
 
 	/**
@@ -421,7 +422,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return cosine of the interval.
 	 */
 	public Interval cos() {
-		return trigonometric.cos();
+		return trigonometric.cos(this);
 	}
 
 	/**
@@ -429,7 +430,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return secant of the interval
 	 */
 	public Interval sec() {
-		return trigonometric.sec();
+		return trigonometric.sec(this);
 	}
 
 	/**
@@ -437,7 +438,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return 1 / sin(x)
 	 */
 	public Interval csc() {
-		return trigonometric.csc();
+		return trigonometric.csc(this);
 	}
 
 	/**
@@ -445,7 +446,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return cotangent of the interval
 	 */
 	public Interval cot() {
-		return trigonometric.cot();
+		return trigonometric.cot(this);
 	}
 
 	/**
@@ -491,7 +492,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return sine of the interval.
 	 */
 	public Interval sin() {
-		return trigonometric.sin();
+		return trigonometric.sin(this);
 	}
 
 	/**
@@ -499,7 +500,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return tangent of the interval.
 	 */
 	public Interval tan() {
-		return trigonometric.tan();
+		return trigonometric.tan(this);
 	}
 
 	/**
@@ -507,7 +508,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return arc sine of the interval
 	 */
 	public Interval asin() {
-		return trigonometric.asin();
+		return trigonometric.asin(this);
 	}
 
 	/**
@@ -515,7 +516,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return arc cosine of the interval
 	 */
 	public Interval acos() {
-		return trigonometric.acos();
+		return trigonometric.acos(this);
 	}
 
 	/**
@@ -523,7 +524,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return arc tangent of the interval
 	 */
 	public Interval atan() {
-		return trigonometric.atan();
+		return trigonometric.atan(this);
 	}
 
 	/**
@@ -531,7 +532,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return hyperbolic sine of the interval
 	 */
 	public Interval sinh() {
-		return trigonometric.sinh();
+		return trigonometric.sinh(this);
 	}
 
 	/**
@@ -539,7 +540,7 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return hyperbolic cosine of the interval
 	 */
 	public Interval cosh() {
-		return trigonometric.cosh();
+		return trigonometric.cosh(this);
 	}
 
 	/**
@@ -547,32 +548,32 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 	 * @return hyperbolic tangent of the interval
 	 */
 	public Interval tanh() {
-		return trigonometric.tanh();
+		return trigonometric.tanh(this);
 	}
 
 	@Override
 	public Interval exp() {
-		return misc.exp();
+		return misc.exp(this);
 	}
 
 	@Override
 	public Interval log() {
-		return misc.log();
+		return misc.log(this);
 	}
 
 	@Override
 	public Interval log10() {
-		return misc.log10();
+		return misc.log10(this);
 	}
 
 	@Override
 	public Interval log2() {
-		return misc.log2();
+		return misc.log2(this);
 	}
 
 	@Override
 	public Interval hull(Interval other) {
-		return misc.hull(other);
+		return misc.hull(this, other);
 	}
 
 	public void setZero() {
@@ -585,22 +586,22 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 
 	@Override
 	public Interval intersect(Interval interval) {
-		return misc.intersect(interval);
+		return misc.intersect(this, interval);
 	}
 
 	@Override
 	public Interval union(Interval other) throws IntervalsNotOverlapException {
-		return misc.union(other);
+		return misc.union(this, other);
 	}
 
 	@Override
 	public Interval difference(Interval other) throws IntervalsDifferenceException {
-		return misc.difference(other);
+		return misc.difference(this, other);
 	}
 
 	@Override
 	public Interval abs() {
-		return misc.abs();
+		return misc.abs(this);
 	}
 
 	public boolean contains(Interval interval) {
@@ -621,11 +622,11 @@ public class Interval implements IntervalArithmetic, IntervalMiscOperands {
 
 	public Interval evaluate(Operation operation,
 			Interval other) throws Exception {
-		return evaluate.evaluate(operation, other);
+		return evaluate.evaluate(this, operation, other);
 	}
 
 	public Interval evaluate(Operation operation) throws Exception {
-		return evaluate.evaluate(operation);
+		return evaluate.evaluate(this, operation);
 	}
 
 	/**
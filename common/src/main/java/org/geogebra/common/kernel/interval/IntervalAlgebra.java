@@ -5,8 +5,6 @@ import static org.geogebra.common.kernel.interval.RMath.powLow;
 
 import org.geogebra.common.util.DoubleUtil;
 
-import com.google.j2objc.annotations.Weak;
-
 /**
  * Implements algebra functions in interval
  *
@@ -15,19 +13,14 @@ import com.google.j2objc.annotations.Weak;
  * @author laszlo
  */
 class IntervalAlgebra {
-	@Weak
-	private final Interval interval;
-
-	IntervalAlgebra(Interval interval) {
-		this.interval = interval;
-	}
 
 	/**
 	 * Computes x mod y (x - k * y)
+	 * @param interval operand, changed to the result
 	 * @param other argument.
 	 * @return this as result
 	 */
-	Interval fmod(Interval other) {
+	Interval fmod(Interval interval, Interval other) {
 		if (interval.isEmpty() || other.isEmpty()) {
 			interval.setEmpty();
 			return interval;
@@ -48,30 +41,31 @@ class IntervalAlgebra {
 
 		Interval multiplicand = new Interval(other);
 		// x mod y = x - n * y
-		this.interval.subtract(multiplicand.multiply(new Interval(n)));
-		return this.interval;
+		interval.subtract(multiplicand.multiply(new Interval(n)));
+		return interval;
 	}
 
 	/**
+	 * @param interval operand, changed to the result
 	 * @param power of the interval
 	 * @return power of the interval
 	 */
-	Interval pow(double power) {
+	Interval pow(Interval interval, double power) {
 		if (interval.isEmpty()) {
 			return interval;
 		}
 
 		if (power == 0) {
-			return powerOfZero();
+			return powerOfZero(interval);
 		} else if (power < 0) {
 			interval.set(interval.multiplicativeInverse().pow(-power));
 			return interval;
 		}
 
-		return powOfInteger((int) power);
+		return powOfInteger(interval, (int) power);
 	}
 
-	private Interval powOfInteger(int power) {
+	private Interval powOfInteger(Interval interval, int power) {
 		if (interval.getHigh() < 0) {
 			// [negative, negative]
 			double yl = powLow(-interval.getHigh(), power);
@@ -102,7 +96,7 @@ class IntervalAlgebra {
 		return interval;
 	}
 
-	private Interval powerOfZero() {
+	private Interval powerOfZero(Interval interval) {
 		if (interval.getLow() == 0 && interval.getHigh() == 0) {
 			// 0^0
 			interval.setEmpty();
@@ -117,11 +111,12 @@ class IntervalAlgebra {
 	/**
 	 * Power of an interval where power is also an interval
 	 * that must be a singleton, ie [n, n]
+	 * @param interval operand, changed to the result
 	 * @param other interval power.
 	 * @return this as result.
 	 * @throws PowerIsNotInteger if other is not a singleton interval.
 	 */
-	Interval pow(Interval other) throws PowerIsNotInteger {
+	Interval pow(Interval interval, Interval other) throws PowerIsNotInteger {
 		if (!other.isSingleton()) {
 			interval.setEmpty();
 			return interval;
@@ -131,42 +126,45 @@ class IntervalAlgebra {
 			throw new PowerIsNotInteger();
 		}
 
-		return pow((int) other.getLow());
+		return pow(interval, (int) other.getLow());
 	}
 
 	/**
+	 * @param interval operand, changed to the result
 	 * @return square root of the interval.
 	 */
-	Interval sqrt() {
+	Interval sqrt(Interval interval) {
 		if (interval.isEmpty()) {
 			interval.setEmpty();
 			return interval;
 		}
 
-		return nthRoot(2);
+		return nthRoot(interval, 2);
 	}
 
 	/**
 	 * Computes the nth root of the interval
 	 * if other (=n) is a singleton
+	 * @param interval operand, changed to the result
 	 * @param other interval
 	 * @return nth root of the interval.
 	 */
-	Interval nthRoot(Interval other) {
+	Interval nthRoot(Interval interval, Interval other) {
 		if (!other.isSingleton()) {
 			interval.setEmpty();
 			return interval;
 		}
 
-		return nthRoot(other.getLow());
+		return nthRoot(interval, other.getLow());
 	}
 
 	/**
 	 * Computes x^(1/n)
+	 * @param interval operand, changed to the result
 	 * @param n the root
 	 * @return nth root of the interval.
 	 */
-	Interval nthRoot(double n) {
+	Interval nthRoot(Interval interval, double n) {
 		if (interval.isEmpty() || n < 1) {
 			interval.setEmpty();
 			return interval;
@@ -7,18 +7,9 @@ import static org.geogebra.common.kernel.interval.IntervalConstants.undefined;
 import static org.geogebra.common.kernel.interval.RMath.mulHigh;
 import static org.geogebra.common.kernel.interval.RMath.mulLow;
 
-import com.google.j2objc.annotations.Weak;
+class IntervalArithmeticImpl {
 
-public class IntervalArithmeticImpl implements IntervalArithmetic {
-	@Weak
-	private final Interval interval;
-
-	public IntervalArithmeticImpl(Interval interval) {
-		this.interval = interval;
-	}
-
-	@Override
-	public Interval divide(Interval other) {
+	Interval divide(Interval interval, Interval other) {
 		if (interval.isEmpty() || other.isEmpty()) {
 			interval.setEmpty();
 			return interval;
@@ -27,24 +18,24 @@ public class IntervalArithmeticImpl implements IntervalArithmetic {
 		if (other.hasZero()) {
 			if (other.getLow() != 0) {
 				if (other.getHigh() != 0) {
-					return divisionByZero();
+					return divisionByZero(interval);
 				} else {
-					return divisionByNegative(other.getLow());
+					return divisionByNegative(interval, other.getLow());
 				}
 			} else {
 				if (other.getHigh() != 0) {
-					return divisionByPositive(other.getHigh());
+					return divisionByPositive(interval, other.getHigh());
 				} else {
 					interval.setUndefined();
 				}
 			}
 		} else {
-			return nonZero(other);
+			return nonZero(interval, other);
 		}
 		return interval;
 	}
 
-	private Interval nonZero(Interval other) {
+	private Interval nonZero(Interval interval, Interval other) {
 		double xl = interval.getLow();
   		double xh = interval.getHigh();
   		double yl = other.getLow();
@@ -71,7 +62,7 @@ public class IntervalArithmeticImpl implements IntervalArithmetic {
 		return interval;
 	}
 
-	private Interval divisionByPositive(double x) {
+	private Interval divisionByPositive(Interval interval, double x) {
 		if (interval.isZero()) {
 			return interval;
 		}
@@ -88,7 +79,7 @@ public class IntervalArithmeticImpl implements IntervalArithmetic {
 		return interval;
 	}
 
-	private Interval divisionByNegative(double x) {
+	private Interval divisionByNegative(Interval interval, double x) {
 		if (interval.isZero()) {
 			return interval;
 		}
@@ -106,7 +97,7 @@ public class IntervalArithmeticImpl implements IntervalArithmetic {
 		return interval;
 	}
 
-	private Interval divisionByZero() {
+	private Interval divisionByZero(Interval interval) {
 		if (interval.isZero()) {
 			return interval;
 		}
@@ -114,8 +105,7 @@ public class IntervalArithmeticImpl implements IntervalArithmetic {
 		return interval;
 	}
 
-	@Override
-	public Interval multiply(Interval other) {
+	Interval multiply(Interval interval, Interval other) {
 		if (interval.isEmpty() || other.isEmpty()) {
 			return empty();
 		}
@@ -2,32 +2,21 @@ package org.geogebra.common.kernel.interval;
 
 import org.geogebra.common.plugin.Operation;
 
-import com.google.j2objc.annotations.Weak;
-
 /**
  * Evaluates expression using interval arithmetic
  */
 class IntervalEvaluate {
-	@Weak
-	private final Interval interval;
-
-	/**
-	 *
-	 * @param interval to evaluate on.
-	 */
-	IntervalEvaluate(Interval interval) {
-		this.interval = interval;
-	}
 
 	/**
 	 * Executes the operation on two intervals
 	 *
+	 * @param interval operand, changed to the result
 	 * @param operation to execute.
 	 * @param other interval as parameter
 	 * @return result interval of the operation
 	 * @throws Exception division by zero
 	 */
-	Interval evaluate(Operation operation, Interval other)
+	Interval evaluate(Interval interval, Operation operation, Interval other)
 			throws Exception {
 		switch (operation) {
 		case PLUS:
@@ -54,10 +43,11 @@ class IntervalEvaluate {
 	/**
 	 * Executes unary operation on the interval.
 	 *
+	 * @param interval operand, changed to the result
 	 * @param operation to execute
 	 * @return the result interval
 	 */
-	Interval evaluate(Operation operation) {
+	Interval evaluate(Interval interval, Operation operation) {
 		switch (operation) {
 		case COS:
 			return interval.cos();
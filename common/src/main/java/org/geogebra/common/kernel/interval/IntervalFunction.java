@@ -17,8 +17,65 @@ import org.geogebra.common.util.debug.Log;
  public class IntervalFunction {
 	private static final UnsupportedOperatorChecker
 			operatorChecker = new UnsupportedOperatorChecker();
-	private static final Interval EMPTY = IntervalConstants.empty();
 	private final GeoFunction function;
+	private ExpressionNode compiledExpression;
+	private Node compiled;
+
+	/**
+	 * Node of the expression tree with its own result interval, reused
+	 * between evaluations.
+	 */
+	private abstract static class Node {
+		protected final Interval result = new Interval();
+
+		abstract Interval evaluate(Interval x) throws Exception;
+	}
+
+	private static class VariableNode extends Node {
+
+		@Override
+		Interval evaluate(Interval x) {
+			result.set(x);
+			return result;
+		}
+	}
+
+	private static class ConstantNode extends Node {
+		private final ExpressionValue value;
+
+		ConstantNode(ExpressionValue value) {
+			this.value = value;
+		}
+
+		@Override
+		Interval evaluate(Interval x) {
+			if (value == null) {
+				result.setEmpty();
+			} else {
+				double v = value.evaluateDouble();
+				result.set(v, v);
+			}
+			return result;
+		}
+	}
+
+	private static class OperationNode extends Node {
+		private final Node left;
+		private final Operation operation;
+		private final Node right;
+
+		OperationNode(Node left, Operation operation, Node right) {
+			this.left = left;
+			this.operation = operation;
+			this.right = right;
+		}
+
+		@Override
+		Interval evaluate(Interval x) throws Exception {
+			return IntervalFunction.evaluate(left.evaluate(x), operation,
+					right.evaluate(x));
+		}
+	}
 
 	/**
 	 * Constructor
@@ -37,31 +94,40 @@ import org.geogebra.common.util.debug.Log;
 	 * @throws Exception that occurs on operands (divide by zero, power is not singleton, etc)
 	 */
 	public Interval evaluate(Interval x) throws Exception {
-		ExpressionNode node = function.getFunctionExpression();
-		return evaluate(new Interval(x), node);
+		return new Interval(evaluateInPlace(x));
 	}
 
-	private Interval evaluate(Interval x, ExpressionValue ev) throws Exception {
-		if (ev == null) {
-			return EMPTY;
+	/**
+	 * Evaluates the function on a given interval without allocating
+	 * intermediate intervals.
+	 *
+	 * @param x interval to evaulate on.
+	 * @return function result on x, only valid until the next evaluation.
+	 * @throws Exception that occurs on operands (divide by zero, power is not singleton, etc)
+	 */
+	Interval evaluateInPlace(Interval x) throws Exception {
+		ExpressionNode expression = function.getFunctionExpression();
+		if (compiled == null || expression != compiledExpression) {
+			compiled = compile(expression);
+			compiledExpression = expression;
 		}
+		return compiled.evaluate(x);
+	}
+
+	private static Node compile(ExpressionValue ev) {
 		if (ev instanceof FunctionVariable) {
-			return new Interval(x);
+			return new VariableNode();
 		}
-		if (!ev.isExpressionNode()) {
-			return new Interval(ev.evaluateDouble());
+		if (ev == null || !ev.isExpressionNode()
+				|| !ev.wrap().containsFreeFunctionVariable(null)) {
+			return new ConstantNode(ev);
 		}
 		ExpressionNode node = ev.wrap();
-		if (!node.containsFreeFunctionVariable(null)) {
-			return new Interval(ev.evaluateDouble());
-		}
-
-		return evaluate(evaluate(x, node.getLeft()),
-				node.getOperation(),
-				evaluate(x, node.getRight()));
+		return new OperationNode(compile(node.getLeft()), node.getOperation(),
+				compile(node.getRight()));
 	}
 
-	private Interval evaluate(Interval left, Operation operation,
+	private static Interval evaluate(Interval left, Operation operation,
 			Interval right) throws Exception {
 
 		switch (operation) {
@@ -124,7 +190,7 @@ import org.geogebra.common.util.debug.Log;
 			}
 		}
 
-	private Interval divide(Interval left, Interval right) {
+	private static Interval divide(Interval left, Interval right) {
 		if (left.isSingleton()) {
 			return right.multiplicativeInverse().multiply(left);
 		}
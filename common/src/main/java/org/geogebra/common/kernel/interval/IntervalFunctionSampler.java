@@ -1,6 +1,6 @@
 package org.geogebra.common.kernel.interval;
 
-import java.util.List;
+import java.util.ArrayList;
 
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.kernel.geos.GeoFunction;
@@ -13,10 +13,16 @@ import org.geogebra.common.kernel.geos.GeoFunction;
  */
 public class IntervalFunctionSampler {
 
+	private final GeoFunction geoFunction;
 	private final IntervalFunction function;
+	private final IntervalTileCache cache;
+	private boolean cacheEnabled;
 	private EuclidianView view;
 	private int numberOfSamples;
 	private final LinearSpace space;
+	private final Interval x = new Interval();
+	private final Interval cachedY = new Interval();
+	private final ArrayList<IntervalTuple> tuples = new ArrayList<>();
 
 	/**
 	 * @param geoFunction function to get sampled
@@ -43,34 +49,40 @@ public class IntervalFunctionSampler {
 	}
 
 	private IntervalFunctionSampler(GeoFunction geoFunction) {
+		this.geoFunction = geoFunction;
 		this.function = new IntervalFunction(geoFunction);
+		cache = new IntervalTileCache(function);
 		space = new LinearSpace();
 	}
 
 	/**
-	 * Gets the samples with the predefined range and sample rate
+	 * Gets the samples with the predefined range and sample rate.
+	 * The tuples of the previous result are reused.
 	 *
 	 * @return the sample list
 	 */
 	public IntervalTupleList result() {
 		try {
-			return evaluateOnSpace(space);
+			return evaluateOnSpace(space, true);
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
 		return new IntervalTupleList();
 	}
 
-	private IntervalTupleList evaluateOnSpace(LinearSpace space) throws Exception {
-		List<Double> xCoords = space.values();
+	private IntervalTupleList evaluateOnSpace(LinearSpace space, boolean reuseTuples)
+			throws Exception {
 		IntervalTupleList samples = new IntervalTupleList();
 		boolean addEmpty = true;
 		int pointIndex = 0;
-		for (int i = 0; i < xCoords.size() - 1; i += 1) {
-			Interval x = new Interval(xCoords.get(i), xCoords.get(i + 1));
-			Interval y = function.evaluate(x);
+		cache.setVersion(geoFunction.getUpdateCounter());
+		for (int i = 0; i < space.size() - 1; i += 1) {
+			x.set(space.value(i), space.value(i + 1));
+			Interval y = evaluate(x);
 			if (!y.isEmpty() || addEmpty) {
-				IntervalTuple tuple = new IntervalTuple(x, y);
+				IntervalTuple tuple = reuseTuples ? reusedTuple(pointIndex)
+						: new IntervalTuple();
+				tuple.set(x, y);
 				tuple.setIndex(pointIndex);
 				samples.add(tuple);
 				pointIndex++;
@@ -84,13 +96,41 @@ public class IntervalFunctionSampler {
 		return samples;
 	}
 
+	private Interval evaluate(Interval sampleX) throws Exception {
+		if (cacheEnabled) {
+			long index = cache.indexOf(sampleX.getLow());
+			if (cache.isInRange(index)) {
+				cache.get((int) index, cachedY);
+				return cachedY;
+			}
+		}
+		return function.evaluateInPlace(sampleX);
+	}
+
+	private IntervalTuple reusedTuple(int index) {
+		if (index == tuples.size()) {
+			tuples.add(new IntervalTuple());
+		}
+		IntervalTuple tuple = tuples.get(index);
+		tuple.clearAsymptote();
+		return tuple;
+	}
+
 	/**
 	 * Updates the range on which sampler has to run.
 	 *
 	 * @param range the new (x, y) range
 	 */
 	public void update(IntervalTuple range) {
-		space.update(range.x(), calculateNumberOfSamples());
+		Interval domain = range.x();
+		int count = calculateNumberOfSamples();
+		double step = domain.getLength() / count;
+		cacheEnabled = cache.setStep(step, domain.getLow());
+		if (cacheEnabled) {
+			space.update(cache.alignToGrid(domain.getLow()), domain.getHigh(), step);
+		} else {
+			space.update(domain, count);
+		}
 	}
 
 	private int calculateNumberOfSamples() {
@@ -103,7 +143,7 @@ public class IntervalFunctionSampler {
 
 	private IntervalTupleList evaluateAtDomain(LinearSpace domain) {
 		try {
-			return evaluateOnSpace(domain);
+			return evaluateOnSpace(domain, false);
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
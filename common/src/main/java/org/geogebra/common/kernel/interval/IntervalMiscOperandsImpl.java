@@ -3,20 +3,14 @@ package org.geogebra.common.kernel.interval;
 import static java.lang.Double.NEGATIVE_INFINITY;
 import static java.lang.Double.POSITIVE_INFINITY;
 
-import com.google.j2objc.annotations.Weak;
-
-public class IntervalMiscOperandsImpl implements IntervalMiscOperands {
-	private static final Interval LOG_EXP_2 = new Interval(2, 2).log();
-	private static final Interval LOG_EXP_10 = new Interval(10, 10).log();
-	@Weak
-	private final Interval interval;
-
-	public IntervalMiscOperandsImpl(Interval interval) {
-		this.interval = interval;
-	}
-
-	@Override
-	public Interval exp() {
+class IntervalMiscOperandsImpl {
+	// not via Interval.log(): that needs this class to be initialized
+	private static final Interval LOG_EXP_2 = new Interval(RMath.logLow(2),
+			RMath.logHigh(2));
+	private static final Interval LOG_EXP_10 = new Interval(RMath.logLow(10),
+			RMath.logHigh(10));
+
+	Interval exp(Interval interval) {
 		if (!interval.isEmpty()) {
 			interval.set(RMath.expLow(interval.getLow()),
 					RMath.expHigh(interval.getHigh()));
@@ -24,8 +18,7 @@ public class IntervalMiscOperandsImpl implements IntervalMiscOperands {
 		return interval;
 	}
 
-	@Override
-	public Interval log() {
+	Interval log(Interval interval) {
 		if (!interval.isEmpty()) {
 			if (interval.getHigh() < 0) {
 				interval.setEmpty();
@@ -38,8 +31,7 @@ public class IntervalMiscOperandsImpl implements IntervalMiscOperands {
 		return interval;
 	}
 
-	@Override
-	public Interval log2() {
+	Interval log2(Interval interval) {
 		if (!interval.isEmpty()) {
 			interval.log().divide(LOG_EXP_2);
 		}
@@ -47,8 +39,7 @@ public class IntervalMiscOperandsImpl implements IntervalMiscOperands {
 		return interval;
 	}
 
-	@Override
-	public Interval log10() {
+	Interval log10(Interval interval) {
 		if (!interval.isEmpty()) {
 			interval.log().divide(LOG_EXP_10);
 		}
@@ -56,8 +47,7 @@ public class IntervalMiscOperandsImpl implements IntervalMiscOperands {
 		return interval;
 	}
 
-	@Override
-	public Interval hull(Interval other) {
+	Interval hull(Interval interval, Interval other) {
 		if (interval.isEmpty() && other.isEmpty()) {
 			interval.setEmpty();
  		} else if (interval.isEmpty()) {
@@ -70,8 +60,7 @@ public class IntervalMiscOperandsImpl implements IntervalMiscOperands {
 		return interval;
 	}
 
-	@Override
-	public Interval intersect(Interval other) {
+	Interval intersect(Interval interval, Interval other) {
 		if (interval.isEmpty() || other.isEmpty()) {
 			interval.setEmpty();
 		} else {
@@ -86,8 +75,7 @@ public class IntervalMiscOperandsImpl implements IntervalMiscOperands {
 		return interval;
 	}
 
-	@Override
-	public Interval union(Interval other) throws IntervalsNotOverlapException {
+	Interval union(Interval interval, Interval other) throws IntervalsNotOverlapException {
 		if (!interval.isOverlap(other)) {
 			throw new IntervalsNotOverlapException();
 		}
@@ -96,8 +84,7 @@ public class IntervalMiscOperandsImpl implements IntervalMiscOperands {
 		return interval;
 	}
 
-	@Override
-	public Interval difference(Interval other) throws IntervalsDifferenceException {
+	Interval difference(Interval interval, Interval other) throws IntervalsDifferenceException {
 		if (interval.isEmpty() || other.isWhole()) {
 			interval.setEmpty();
 			return interval;
@@ -123,8 +110,7 @@ public class IntervalMiscOperandsImpl implements IntervalMiscOperands {
 		return interval;
 	}
 
-	@Override
-	public Interval abs() {
+	Interval abs(Interval interval) {
 		if (interval.isEmpty() || interval.getLow() >= 0) {
 			return interval;
 		}
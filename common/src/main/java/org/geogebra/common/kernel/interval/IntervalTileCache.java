@@ -0,0 +1,205 @@
+package org.geogebra.common.kernel.interval;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.geogebra.common.kernel.arithmetic.MyDouble;
+
+/**
+ * Cache of function samples for the interval plotter.
+ *
+ * Samples lie on a grid: sample k of a zoom level with step s is the
+ * function value on [origin + k * s, origin + (k + 1) * s]. All levels share
+ * the same origin, so the samples of a level are unions of two neighbour
+ * samples of the level with half the step. Samples are evaluated in tiles of
+ * {@link #TILE_SIZE}, so panning only evaluates the newly exposed tiles.
+ * When the view gets too far from the origin in samples, all levels are
+ * dropped and the grid starts again at the view.
+ */
+class IntervalTileCache {
+	/** number of samples in a tile */
+	static final int TILE_SIZE = 64;
+	private static final int MAX_LEVELS = 8;
+	private static final int MAX_TILES_PER_LEVEL = 256;
+	private static final double STEP_PRECISION = 1E-9;
+	/** largest distance of a sample from the origin, in samples */
+	private static final long MAX_INDEX = 1L << 30;
+	/** smallest step in units in the last place of the sampled x */
+	private static final double MIN_STEP_ULPS = 1024;
+
+	private final IntervalFunction function;
+	private final ArrayList<Level> levels = new ArrayList<>();
+	private final Interval x = new Interval();
+	private Level level;
+	private int version = -1;
+
+	private static class Level {
+		private final double origin;
+		private final double step;
+		private final HashMap<Integer, Tile> tiles = new HashMap<>();
+
+		Level(double origin, double step) {
+			this.origin = origin;
+			this.step = step;
+		}
+
+		boolean hasStep(double otherStep) {
+			return Math.abs(step - otherStep) <= STEP_PRECISION * step;
+		}
+	}
+
+	private static class Tile {
+		private final double[] low = new double[TILE_SIZE];
+		private final double[] high = new double[TILE_SIZE];
+	}
+
+	/**
+	 * @param function to sample
+	 */
+	IntervalTileCache(IntervalFunction function) {
+		this.function = function;
+	}
+
+	/**
+	 * Drops all samples if the function has changed.
+	 *
+	 * @param version update counter of the function
+	 */
+	void setVersion(int version) {
+		if (this.version != version) {
+			for (Level cached : levels) {
+				cached.tiles.clear();
+			}
+			this.version = version;
+		}
+	}
+
+	/**
+	 * Selects the zoom level with the given step, creates it if needed.
+	 * The first level has its origin at start, further levels reuse it
+	 * unless start is too far from it.
+	 *
+	 * @param step width of a sample
+	 * @param start lowest x to be sampled
+	 * @return if the step is valid for sampling
+	 */
+	boolean setStep(double step, double start) {
+		if (!(step > 0) || !MyDouble.isFinite(step) || !MyDouble.isFinite(start)
+				|| step < MIN_STEP_ULPS * Math.ulp(start)) {
+			level = null;
+			return false;
+		}
+		if (!levels.isEmpty() && !(Math.abs(start - levels.get(0).origin)
+				/ step < MAX_INDEX / 2)) {
+			levels.clear();
+		}
+		level = findLevel(step);
+		if (level == null) {
+			double origin = levels.isEmpty() ? start : levels.get(0).origin;
+			level = new Level(origin, step);
+		}
+		levels.remove(level);
+		levels.add(level);
+		if (levels.size() > MAX_LEVELS) {
+			levels.remove(0);
+		}
+		return true;
+	}
+
+	private Level findLevel(double step) {
+		for (Level cached : levels) {
+			if (cached.hasStep(step)) {
+				return cached;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param value x-coordinate
+	 * @return the grid value at or just below the given x
+	 */
+	double alignToGrid(double value) {
+		return level.origin + Math.floor((value - level.origin) / level.step
+				+ STEP_PRECISION) * level.step;
+	}
+
+	/**
+	 * @param value x-coordinate on the grid
+	 * @return index of the sample starting at value, see
+	 *         {@link #isInRange(long)}
+	 */
+	long indexOf(double value) {
+		return Math.round((value - level.origin) / level.step);
+	}
+
+	/**
+	 * @param index index of a sample
+	 * @return whether the sample can be cached; samples of a view that was
+	 *         extended far from the origin have to be evaluated directly
+	 */
+	boolean isInRange(long index) {
+		return Math.abs(index) <= MAX_INDEX;
+	}
+
+	private double valueAt(int index) {
+		return level.origin + index * level.step;
+	}
+
+	/**
+	 * Gets a sample, evaluates its whole tile if not cached yet.
+	 *
+	 * @param index of the sample
+	 * @param result set to the function value of the sample
+	 * @throws Exception if the function cannot be evaluated
+	 */
+	void get(int index, Interval result) throws Exception {
+		int tileIndex = index >= 0 ? index / TILE_SIZE
+				: (index + 1) / TILE_SIZE - 1;
+		Tile tile = level.tiles.get(tileIndex);
+		if (tile == null) {
+			if (level.tiles.size() >= MAX_TILES_PER_LEVEL) {
+				level.tiles.clear();
+			}
+			tile = createTile(tileIndex);
+			level.tiles.put(tileIndex, tile);
+		}
+		int i = index - tileIndex * TILE_SIZE;
+		result.set(tile.low[i], tile.high[i]);
+	}
+
+	private Tile createTile(int tileIndex) throws Exception {
+		Tile tile = new Tile();
+		Level finer = findLevel(level.step / 2);
+		Tile left = finer == null ? null : finer.tiles.get(2 * tileIndex);
+		Tile right = finer == null ? null : finer.tiles.get(2 * tileIndex + 1);
+		for (int i = 0; i < TILE_SIZE; i++) {
+			if (left == null || right == null || !merge(tile, i,
+					i < TILE_SIZE / 2 ? left : right, (2 * i) % TILE_SIZE)) {
+				int index = tileIndex * TILE_SIZE + i;
+				x.set(valueAt(index), valueAt(index + 1));
+				Interval y = function.evaluateInPlace(x);
+				tile.low[i] = y.getLow();
+				tile.high[i] = y.getHigh();
+			}
+		}
+		return tile;
+	}
+
+	/**
+	 * Sets a sample to the hull of two finite samples of the finer level,
+	 * which encloses the function as well.
+	 */
+	private static boolean merge(Tile tile, int i, Tile finer, int j) {
+		double low = Math.min(finer.low[j], finer.low[j + 1]);
+		double high = Math.max(finer.high[j], finer.high[j + 1]);
+		if (!MyDouble.isFinite(low) || !MyDouble.isFinite(high)
+				|| finer.low[j] > finer.high[j]
+				|| finer.low[j + 1] > finer.high[j + 1]) {
+			return false;
+		}
+		tile.low[i] = low;
+		tile.high[i] = high;
+		return true;
+	}
+}
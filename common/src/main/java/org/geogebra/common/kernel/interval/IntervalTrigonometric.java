@@ -6,17 +6,9 @@ import static org.geogebra.common.kernel.interval.IntervalConstants.PI_HIGH;
 import static org.geogebra.common.kernel.interval.IntervalConstants.PI_LOW;
 import static org.geogebra.common.kernel.interval.IntervalConstants.PI_TWICE_LOW;
 
-import com.google.j2objc.annotations.Weak;
-
 class IntervalTrigonometric {
-	@Weak
-	private Interval interval;
-
-	IntervalTrigonometric(Interval interval) {
-		this.interval = interval;
-	}
 
-	Interval cos() {
+	Interval cos(Interval interval) {
 		if (interval.isUndefined()) {
 			return interval;
 		}
@@ -86,9 +78,10 @@ class IntervalTrigonometric {
 
 	/**
 	 *
+	 * @param interval operand, changed to the result
 	 * @return sine of the interval
 	 */
-	public Interval sin() {
+	public Interval sin(Interval interval) {
 		if (interval.isUndefined()) {
 			return interval;
 		} if (interval.isWhole()) {
@@ -103,27 +96,30 @@ class IntervalTrigonometric {
 
 	/**
 	 *
+	 * @param interval operand, changed to the result
 	 * @return secant of the interval
 	 */
-	public Interval sec() {
-		Interval interval = new Interval(this.interval);
-		return interval.cos().multiplicativeInverse();
+	public Interval sec(Interval interval) {
+		Interval result = new Interval(interval);
+		return result.cos().multiplicativeInverse();
 	}
 
 	/**
 	 *
+	 * @param interval operand, changed to the result
 	 * @return cotangent of the interval
 	 */
-	public Interval cot() {
-		Interval interval = new Interval(this.interval);
-		return interval.tan().multiplicativeInverse();
+	public Interval cot(Interval interval) {
+		Interval result = new Interval(interval);
+		return result.tan().multiplicativeInverse();
 	}
 
 	/**
 	 *
+	 * @param interval operand, changed to the result
 	 * @return tangent of the interval.
 	 */
-	public Interval tan() {
+	public Interval tan(Interval interval) {
 		if (interval.isEmpty() || interval.isOnlyInfinity()) {
 			interval.setEmpty();
 			return interval;
@@ -156,9 +152,10 @@ class IntervalTrigonometric {
 
 	/**
 	 *
+	 * @param interval operand, changed to the result
 	 * @return arc sine of the interval
 	 */
-	public Interval asin() {
+	public Interval asin(Interval interval) {
 		if (interval.isEmpty() || interval.getHigh() < -1 || interval.getLow() > 1) {
 			interval.setEmpty();
 		} else {
@@ -174,9 +171,10 @@ class IntervalTrigonometric {
 
 	/**
 	 *
+	 * @param interval operand, changed to the result
 	 * @return arc cosine of the interval
 	 */
-	public Interval acos() {
+	public Interval acos(Interval interval) {
 		if (interval.isEmpty() || interval.getHigh() < -1 || interval.getLow() > 1) {
 			interval.setEmpty();
 		} else {
@@ -189,9 +187,10 @@ class IntervalTrigonometric {
 
 	/**
 	 *
+	 * @param interval operand, changed to the result
 	 * @return arc tangent of the interval
 	 */
-	public Interval atan() {
+	public Interval atan(Interval interval) {
 		if (!interval.isEmpty()) {
 			interval.set(RMath.atanLow(interval.getLow()), RMath.atanHigh(interval.getHigh()));
 		}
@@ -200,9 +199,10 @@ class IntervalTrigonometric {
 
 	/**
 	 *
+	 * @param interval operand, changed to the result
 	 * @return hyperbolic sine of the interval
 	 */
-	public Interval sinh() {
+	public Interval sinh(Interval interval) {
 		if (!interval.isEmpty()) {
   			interval.set(RMath.sinhLow(interval.getLow()), RMath.sinhHigh(interval.getHigh()));
 		}
@@ -211,9 +211,10 @@ class IntervalTrigonometric {
 
 	/**
 	 *
+	 * @param interval operand, changed to the result
 	 * @return hyperbolic cosine of the interval
 	 */
-	public Interval cosh() {
+	public Interval cosh(Interval interval) {
 		if (interval.isUndefined()) {
 			return interval;
 		}
@@ -235,9 +236,10 @@ class IntervalTrigonometric {
 
 	/**
 	 *
+	 * @param interval operand, changed to the result
 	 * @return hyperbolic tangent of the interval
 	 */
-	public Interval tanh() {
+	public Interval tanh(Interval interval) {
 		if (!interval.isEmpty()) {
 			interval.set(RMath.tanhLow(interval.getLow()), RMath.tanhHigh(interval.getHigh()));
 		}
@@ -246,10 +248,11 @@ class IntervalTrigonometric {
 
 	/**
 	 *
-	 * @return 1 / sin(x)
+	 * @param interval operand, changed to the result
+	 * @return 1 / sin(interval, x)
 	 */
-	public Interval csc() {
-		Interval interval = new Interval(this.interval);
-		return interval.sin().multiplicativeInverse();
+	public Interval csc(Interval interval) {
+		Interval result = new Interval(interval);
+		return result.sin().multiplicativeInverse();
 	}
 }
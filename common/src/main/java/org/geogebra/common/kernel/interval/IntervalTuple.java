@@ -122,6 +122,10 @@ public class IntervalTuple {
 		asymptote = true;
 	}
 
+	void clearAsymptote() {
+		asymptote = false;
+	}
+
 	/**
 	 *
 	 * @param tuple to check
@@ -9,12 +9,13 @@ import java.util.List;
  * @author laszlo
  */
 public class LinearSpace {
-	public List<Double> values;
+	private double[] values;
+	private int size;
 	private double scale;
 	private double step;
 
 	public LinearSpace() {
-		values = new ArrayList<>();
+		values = new double[16];
 	}
 
 	/**
@@ -35,26 +36,78 @@ public class LinearSpace {
 	 * @param count of the interval to divide.
 	 */
 	public void update(Interval interval, int count) {
-		values.clear();
-		step = interval.getLength() / count;
-		fill(interval.getLow(), interval.getHigh(), step);
-		scale = size() > 2 ? values.get(1) - values.get(0) : 0;
+		update(interval.getLow(), interval.getHigh(),
+				interval.getLength() / count);
+	}
+
+	/**
+	 * Updates the space to values from start to end.
+	 *
+	 * @param start the first value.
+	 * @param end the value to reach.
+	 * @param step difference between two neighbour values.
+	 */
+	public void update(double start, double end, double step) {
+		size = 0;
+		this.step = step;
+		fill(start, end, step);
+		scale = size() > 2 ? values[1] - values[0] : 0;
 	}
 
 	private void fill(double start, double end, double step) {
 		double current = start;
 		while (current < end + step) {
-			values.add(current);
+			add(current);
 			current += step;
 		}
 	}
 
+	private void add(double value) {
+		ensureCapacity(size + 1);
+		values[size++] = value;
+	}
+
+	private void addFirst(double value) {
+		ensureCapacity(size + 1);
+		System.arraycopy(values, 0, values, 1, size);
+		values[0] = value;
+		size++;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > values.length) {
+			double[] newValues = new double[Math.max(capacity, 2 * values.length)];
+			System.arraycopy(values, 0, newValues, 0, size);
+			values = newValues;
+		}
+	}
+
 	/**
 	 *
-	 * @return the value list of the space.
+	 * @return copy of the value list of the space.
 	 */
 	public List<Double> values() {
-		return values;
+		List<Double> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(values[i]);
+		}
+		return list;
+	}
+
+	/**
+	 * @param index of the value
+	 * @return the value at the given index.
+	 */
+	public double value(int index) {
+		return values[index];
+	}
+
+	/**
+	 *
+	 * @return the number of values in the space.
+	 */
+	public int size() {
+		return size;
 	}
 
 	/**
@@ -74,21 +127,17 @@ public class LinearSpace {
 	public LinearSpace extendMax(double max) {
 		LinearSpace result = new LinearSpace();
 		double t = getLastValue();
-		result.values.add(getLastValue());
+		result.add(t);
 		while (t < max) {
 			t += step;
-			values.add(t);
-			result.values.add(t);
+			add(t);
+			result.add(t);
 		}
 		return result;
 	}
 
 	private double getLastValue() {
-		return values.get(size() - 1);
-	}
-
-	private int size() {
-		return values.size();
+		return values[size - 1];
 	}
 
 	/**
@@ -99,37 +148,37 @@ public class LinearSpace {
 	 */
 	public LinearSpace extendMin(double min) {
 		LinearSpace result = new LinearSpace();
-		result.values.add(getFirstValue());
+		result.add(getFirstValue());
 		double t = getFirstValue();
 		while (min < t) {
 			t -= step;
-			result.values.add(0, t);
-			values.add(0, t);
+			result.addFirst(t);
+			addFirst(t);
 		}
 		return result;
 	}
 
 	private double getFirstValue() {
-		return values.isEmpty() ? 0 : values.get(0);
+		return size == 0 ? 0 : values[0];
 	}
 
 	@Override
 	public boolean equals(Object obj) {
 		if (obj instanceof LinearSpace) {
 			LinearSpace other = ((LinearSpace) obj);
-			return values.equals(other.values);
+			return values().equals(other.values());
 		}
 		return false;
 	}
 
 	@Override
 	public String toString() {
-		return values.toString();
+		return values().toString();
 	}
 
 	@Override
 	public int hashCode() {
-		return values.hashCode();
+		return values().hashCode();
 	}
 
 	/**
@@ -140,11 +189,9 @@ public class LinearSpace {
 	 * @return number of values deleted.
 	 */
 	public int shrinkMax(double max) {
-		double t = getLastValue();
 		int count = 0;
-		while (t > max) {
-			values.remove(size() - 1);
-			t = getLastValue();
+		while (size > 0 && getLastValue() > max) {
+			size--;
 			count++;
 		}
 		return count;
@@ -159,12 +206,11 @@ public class LinearSpace {
 	 */
 	public int shrinkMin(double min) {
 		int count = 0;
-		double t = getFirstValue();
-		while (t < min) {
-			values.remove(0);
-			t = getFirstValue();
+		while (count < size && values[count] < min) {
 			count++;
 		}
+		System.arraycopy(values, count, values, 0, size - count);
+		size -= count;
 		return count;
 	}
 }
\ No newline at end of file
@@ -1,7 +1,5 @@
 package org.geogebra.common.kernel.prover;
 
-import static org.geogebra.common.cas.giac.CASgiac.CustomFunctions.setDependencies;
-
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.commands.Commands;
@@ -35,6 +35,8 @@ public class AlgoProve extends AlgoElement implements UsesCAS {
 	private GeoElement root; // input
 	private GeoBoolean bool; // output
 	private String inputFingerprint;
+	/** the asynchronous proof that is not finished yet */
+	private Prover asyncProof;
 
 	/**
 	 * Proves the given statement and gives a yes/no answer (boolean)
@@ -94,6 +96,7 @@ public class AlgoProve extends AlgoElement implements UsesCAS {
 			return;
 		}
 
+		cancelAsyncProof();
 		ProverSettings proverSettings = ProverSettings.get();
 		// Create and initialize the prover
 		Prover p = UtilFactory.getPrototype().newProver();
@@ -121,8 +124,37 @@ public class AlgoProve extends AlgoElement implements UsesCAS {
 		p.setReturnExtraNDGs(false);
 
 		// Adding benchmarking:
-		double startTime = UtilFactory.getPrototype().getMillisecondTime();
+		final double startTime = UtilFactory.getPrototype()
+				.getMillisecondTime();
+		if (proverSettings.asyncProofs) {
+			bool.setUndefinedProverOnly();
+			asyncProof = p;
+			p.setProgressTarget(bool);
+			p.computeAsync(new Prover.ProofCallback() {
+				@Override
+				public void proofFinished(Prover prover) {
+					if (prover != asyncProof) {
+						return;
+					}
+					asyncProof = null;
+					setResult(prover, startTime);
+					bool.updateRepaint();
+				}
+			});
+			return;
+		}
 		p.compute(); // the computation of the proof
+		setResult(p, startTime);
+	}
+
+	private void cancelAsyncProof() {
+		if (asyncProof != null) {
+			asyncProof.cancel();
+			asyncProof = null;
+		}
+	}
+
+	private void setResult(Prover p, double startTime) {
 		int elapsedTime = (int) (UtilFactory.getPrototype().getMillisecondTime()
 				- startTime);
 
@@ -204,4 +236,10 @@ public class AlgoProve extends AlgoElement implements UsesCAS {
 		return Prover.getTextFormat(statement, true, " ");
 	}
 
+	@Override
+	public void remove() {
+		cancelAsyncProof();
+		super.remove();
+	}
+
 }
@@ -52,6 +52,8 @@ public class AlgoProveDetails extends AlgoElement implements UsesCAS {
 	private boolean verbose = false;
 	private String inputFingerprint;
 	private Prover p;
+	/** the asynchronous proof that is not finished yet */
+	private Prover asyncProof;
 
 
 	/**
@@ -173,6 +175,7 @@ public class AlgoProveDetails extends AlgoElement implements UsesCAS {
 			return;
 		}
 
+		cancelAsyncProof();
 		// Create and initialize the prover
 		p = UtilFactory.getPrototype().newProver();
 		ProverSettings proverSettings = ProverSettings.get();
@@ -203,8 +206,40 @@ public class AlgoProveDetails extends AlgoElement implements UsesCAS {
 		p.setCaptionalgebra(verbose);
 
 		// Adding benchmarking:
-		double startTime = UtilFactory.getPrototype().getMillisecondTime();
+		final double startTime = UtilFactory.getPrototype()
+				.getMillisecondTime();
+		// the Relation tool, Discover and ShowProof need the result at once
+		if (proverSettings.asyncProofs && !relTool && !discovery
+				&& !showproof) {
+			list.setUndefined();
+			asyncProof = p;
+			p.setProgressTarget(list);
+			p.computeAsync(new Prover.ProofCallback() {
+				@Override
+				public void proofFinished(Prover prover) {
+					if (prover != asyncProof) {
+						return;
+					}
+					asyncProof = null;
+					setResult(prover, startTime);
+					list.updateRepaint();
+				}
+			});
+			return;
+		}
 		p.compute(); // the computation of the proof
+		setResult(p, startTime);
+	}
+
+	private void cancelAsyncProof() {
+		if (asyncProof != null) {
+			asyncProof.cancel();
+			asyncProof = null;
+		}
+	}
+
+	private void setResult(Prover prover, double startTime) {
+		p = prover;
 		int elapsedTime = (int) (UtilFactory.getPrototype().getMillisecondTime()
 				- startTime);
 		/*
@@ -382,4 +417,10 @@ public class AlgoProveDetails extends AlgoElement implements UsesCAS {
 		return p;
 	}
 
+	@Override
+	public void remove() {
+		cancelAsyncProof();
+		super.remove();
+	}
+
 }
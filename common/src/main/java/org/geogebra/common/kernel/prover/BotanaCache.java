@@ -0,0 +1,150 @@
+package org.geogebra.common.kernel.prover;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.algos.SymbolicParametersBotanaAlgo;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.util.Prover.ProverEngine;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Keeps track of the elements whose Botana variables and polynomials (stored
+ * in the elements and their algorithms) can be reused by the next proof over
+ * the same construction. This way repeated statements, e.g. in Discover, only
+ * compute the polynomials of new or changed objects and of the thesis.
+ * <p>
+ * An element is unchanged if its parent algorithm, its definition and its
+ * inputs are the same as for the previous proof, the value of an independent
+ * number is the same, and all its inputs are unchanged.
+ */
+public class BotanaCache {
+
+	/** forget everything above this size, removed objects are not tracked */
+	private static final int MAX_SIZE = 10000;
+
+	private final HashMap<GeoElement, Object[]> signatures = new HashMap<>();
+	private ProverEngine engine;
+	private int nextVariableID = 1;
+	private int hits;
+	private int misses;
+
+	/**
+	 * Resets the Botana data of all elements that changed since the previous
+	 * proof.
+	 *
+	 * @param geos
+	 *            elements used for the hypotheses
+	 * @param proverEngine
+	 *            engine, data of other engines is not reused
+	 * @return whether data of some elements is reused; in this case new
+	 *         variables must be numbered from {@link #getNextVariableID()}
+	 */
+	public synchronized boolean resetChanged(Collection<GeoElement> geos,
+			ProverEngine proverEngine) {
+		if (engine != proverEngine || signatures.size() > MAX_SIZE) {
+			signatures.clear();
+			engine = proverEngine;
+		}
+		HashMap<GeoElement, Boolean> unchanged = new HashMap<>();
+		boolean reused = false;
+		for (GeoElement geo : geos) {
+			if (isUnchanged(geo, unchanged)) {
+				hits++;
+				reused = true;
+			} else {
+				misses++;
+				reset(geo);
+			}
+		}
+		Log.debug("Botana cache: " + hits + " hits, " + misses + " misses");
+		return reused;
+	}
+
+	/**
+	 * Resets the Botana data of all elements and forgets them.
+	 *
+	 * @param geos
+	 *            elements used for the hypotheses
+	 */
+	public synchronized void resetAll(Collection<GeoElement> geos) {
+		signatures.clear();
+		for (GeoElement geo : geos) {
+			reset(geo);
+		}
+	}
+
+	/**
+	 * Forget all elements.
+	 */
+	public synchronized void clear() {
+		signatures.clear();
+		engine = null;
+		nextVariableID = 1;
+	}
+
+	/**
+	 * @return first variable ID that is not used by reusable data
+	 */
+	public synchronized int getNextVariableID() {
+		return nextVariableID;
+	}
+
+	/**
+	 * @param id
+	 *            next variable ID after the hypotheses were computed
+	 */
+	public synchronized void updateNextVariableID(int id) {
+		nextVariableID = Math.max(nextVariableID, id);
+	}
+
+	private boolean isUnchanged(GeoElement geo,
+			HashMap<GeoElement, Boolean> unchanged) {
+		Boolean known = unchanged.get(geo);
+		if (known != null) {
+			return known;
+		}
+		Object[] signature = getSignature(geo);
+		boolean same = Arrays.equals(signature, signatures.get(geo));
+		AlgoElement algo = geo.getParentAlgorithm();
+		if (algo != null) {
+			for (GeoElement input : algo.getInput()) {
+				same = isUnchanged(input, unchanged) && same;
+			}
+		}
+		signatures.put(geo, signature);
+		unchanged.put(geo, same);
+		return same;
+	}
+
+	private static Object[] getSignature(GeoElement geo) {
+		AlgoElement algo = geo.getParentAlgorithm();
+		if (algo == null) {
+			if (geo instanceof GeoNumeric) {
+				return new Object[] { geo.getClass(),
+						((GeoNumeric) geo).getValue() };
+			}
+			return new Object[] { geo.getClass() };
+		}
+		ArrayList<Object> signature = new ArrayList<>();
+		signature.add(algo);
+		signature.add(geo.getDefinition(StringTemplate.noLocalDefault));
+		signature.addAll(Arrays.asList(algo.getInput()));
+		return signature.toArray();
+	}
+
+	private static void reset(GeoElement geo) {
+		if (geo instanceof SymbolicParametersBotanaAlgo) {
+			((SymbolicParametersBotanaAlgo) geo).reset();
+		}
+		AlgoElement algo = geo.getParentAlgorithm();
+		if (algo instanceof SymbolicParametersBotanaAlgo) {
+			((SymbolicParametersBotanaAlgo) algo).reset();
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package org.geogebra.common.kernel.prover;
+
+import java.util.List;
+
+import org.geogebra.common.util.ExtendedBoolean;
+
+/**
+ * Proves independent statements concurrently, each worker on its own copy of
+ * the construction. Only set on platforms that have threads (JRE); callers
+ * have to prove the statements one after another if there is none.
+ */
+public abstract class ProofWorkers {
+
+	private static volatile ProofWorkers prototype;
+
+	private static final Object lock = new Object();
+
+	/**
+	 * Receives the results on the thread that called
+	 * {@link ProofWorkers#proveAll}, in the order they are finished.
+	 */
+	public interface ResultHandler {
+		/**
+		 * @param index
+		 *            index of the statement
+		 * @param result
+		 *            whether the statement is true in general, UNKNOWN if the
+		 *            prover could not decide
+		 */
+		void onResult(int index, ExtendedBoolean result);
+	}
+
+	/**
+	 * @return workers of the platform, null if statements have to be proven
+	 *         one after another
+	 */
+	public static ProofWorkers getPrototype() {
+		return prototype;
+	}
+
+	/**
+	 * @param p
+	 *            workers of the platform
+	 */
+	public static void setPrototypeIfNull(ProofWorkers p) {
+		synchronized (lock) {
+			if (prototype == null) {
+				prototype = p;
+			}
+		}
+	}
+
+	/**
+	 * @return number of statements that can be proven at the same time
+	 */
+	public abstract int getSize();
+
+	/**
+	 * Proves the statements and waits until all of them are proven or the
+	 * deadline is over; statements that are not finished until then are
+	 * cancelled and not reported.
+	 *
+	 * @param constructionXML
+	 *            XML of the construction
+	 * @param statements
+	 *            boolean commands using the labels of the construction, e.g.
+	 *            AreCollinear(A, B, C)
+	 * @param deadline
+	 *            deadline in milliseconds, as returned by
+	 *            UtilFactory.getMillisecondTime()
+	 * @param handler
+	 *            receives the results
+	 */
+	public abstract void proveAll(String constructionXML,
+			List<String> statements, double deadline, ResultHandler handler);
+}
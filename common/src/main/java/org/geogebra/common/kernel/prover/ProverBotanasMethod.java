@@ -66,6 +66,7 @@ import org.geogebra.common.kernel.scripting.CmdShowProof;
 import org.geogebra.common.main.Localization;
 import org.geogebra.common.main.ProverSettings;
 import org.geogebra.common.main.SingularWSSettings;
+import org.geogebra.common.plugin.EventType;
 import org.geogebra.common.plugin.Operation;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.ExtendedBoolean;
@@ -870,16 +871,17 @@ public class ProverBotanasMethod {
 			 * but the algos use them (e.g. intersection of two diagonals) require new variables
 			 * as well.
 			 */
-			if (geoProver.getShowproof() || true) { // This is a waste of resources. TODO.
-				for (GeoElement ge : allPredecessors) {
-					if (ge instanceof SymbolicParametersBotanaAlgo) {
-						((SymbolicParametersBotanaAlgo) ge).reset();
-					}
-					AlgoElement algo = ge.getParentAlgorithm(); // maybe this is not required
-					if (algo != null && algo instanceof SymbolicParametersBotanaAlgo) {
-						((SymbolicParametersBotanaAlgo) algo).reset();
-					}
-				}
+			/* Objects that did not change since the previous proof keep their data.
+			 * New variables must not get the IDs of the reused ones.
+			 * Proof lines show the variable names, so we start from scratch there.
+			 */
+			BotanaCache botanaCache = geoStatement.getConstruction().getBotanaCache();
+			if (geoProver.getShowproof() || !ProverSettings.get().cacheHypotheses) {
+				botanaCache.resetAll(allPredecessors);
+			} else if (botanaCache.resetChanged(allPredecessors,
+					geoProver.getProverEngine())) {
+				geoStatement.getKernel().getApplication()
+						.reserveVariableIDs(botanaCache.getNextVariableID());
 			}
 
 			Iterator<GeoElement> it;
@@ -2011,6 +2013,13 @@ public class ProverBotanasMethod {
 			rgParameters.append("&mode=prove");
 			Log.debug(rgParameters);
 			String rgResult = "";
+			if (geoProver != null) {
+				if (geoProver.isCancelled()) {
+					result = ProofResult.UNKNOWN;
+					return;
+				}
+				geoProver.fireProgress(EventType.PROVER_QE, null);
+			}
 
 			if (realgeomWS != null && realgeomWS.isAvailable()) {
 				rgResult = realgeomWS.directCommand(rgCommand, rgParameters.toString());
@@ -2106,6 +2115,10 @@ public class ProverBotanasMethod {
 			// We compute the dimension of the "positive" result, by using Tarski's
 			// solution-dimension and get-free-vars commands.
 
+			if (geoProver != null && geoProver.isCancelled()) {
+				result = ProofResult.UNKNOWN;
+				return;
+			}
 			geoStatement.getKernel().getApplication().checkTarski();
 			String rgResultPS = geoStatement.getKernel().getApplication().tarski.evalCached("(t-neg [" + rgResult + "])");
 			String rgResultP = Compute.getTarskiOutput(rgResultPS);
@@ -2538,7 +2551,6 @@ public class ProverBotanasMethod {
 
 		private void algebraicTranslation(GeoElement statement,
 										  GeoElement movingPoint, Prover prover) {
-			ProverSettings proverSettings = ProverSettings.get();
 			geoStatement = statement;
 			geoProver = prover;
 
@@ -2547,6 +2559,18 @@ public class ProverBotanasMethod {
 			 * redundant, it would be enough to set the prover here.
 			 */
 			prover.setStatement(statement);
+			try {
+				translateHypothesesAndThesis(movingPoint, prover);
+			} finally {
+				// the next proof may reuse all variables created so far
+				statement.getConstruction().getBotanaCache().updateNextVariableID(
+						statement.getKernel().getApplication().getNextVariableID());
+			}
+		}
+
+		private void translateHypothesesAndThesis(GeoElement movingPoint,
+				Prover prover) {
+			ProverSettings proverSettings = ProverSettings.get();
 			setHypotheses(movingPoint);
 			if (result != null) {
 				return;
@@ -2701,6 +2725,10 @@ public class ProverBotanasMethod {
 			/* Pappus6 is at https://www.geogebra.org/m/TEQGgRKe */
 			MAX_PERMUTATIONS = 1; // it is unnecessary to look after more readable NDGs
 		}
+		if (prover.isCancelled()) {
+			return ProofResult.UNKNOWN;
+		}
+		prover.fireProgress(EventType.PROVER_ELIMINATION, null);
 		while (!found && permutation < MAX_PERMUTATIONS) {
 
 			eliminationIdeal = PPolynomial.eliminate(
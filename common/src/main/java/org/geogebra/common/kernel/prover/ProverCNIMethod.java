@@ -41,6 +41,7 @@ import org.geogebra.common.kernel.geos.GeoSegment;
 import org.geogebra.common.kernel.geos.GeoVector;
 import org.geogebra.common.kernel.scripting.CmdShowProof;
 import org.geogebra.common.main.Localization;
+import org.geogebra.common.plugin.EventType;
 import org.geogebra.common.plugin.Operation;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.Prover;
@@ -428,6 +429,10 @@ public class ProverCNIMethod {
 		int codeLengthLines = predefinitions.length + declarationsA.length + 1;
 		rest += "][" + (codeLengthLines - 1) + "]";
 		program += rest;
+		if (prover.isCancelled()) {
+			return ProofResult.UNKNOWN;
+		}
+		prover.fireProgress(EventType.PROVER_ELIMINATION, null);
 		String elimIdeal = executeGiac(program);
 		// This is in form {{4*r_1*r_2*r_-4*r_1*r_2-4*r_1*r_-4*r_2*r_+3*r_1+3*r_2+3*r_}}
 		// or there may be multiple polynomials in the form {{...,...,...}}
@@ -593,6 +598,9 @@ public class ProverCNIMethod {
 			}
 			// Insert the divisor in the first program and check what happens:
 			program = program1 + "," + divisor + rest;
+			if (prover.isCancelled()) {
+				return ProofResult.UNKNOWN;
+			}
 			String elimIdeal2 = executeGiac(program);
 
 			if(prover.getShowproof() && prover.getShowEliminate()) {
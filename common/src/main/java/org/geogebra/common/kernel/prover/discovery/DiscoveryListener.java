@@ -0,0 +1,14 @@
+package org.geogebra.common.kernel.prover.discovery;
+
+/**
+ * Receives the theorems of Discover as soon as they are proven, before the
+ * whole discovery is finished.
+ */
+public interface DiscoveryListener {
+
+	/**
+	 * @param statement
+	 *            the proven statement as a command, e.g. AreCollinear(A, B, C)
+	 */
+	void theoremFound(String statement);
+}
@@ -0,0 +1,192 @@
+package org.geogebra.common.kernel.prover.discovery;
+
+import java.util.HashMap;
+import java.util.List;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoLine;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.kernel.geos.GeoVec3D;
+import org.geogebra.common.util.DoubleUtil;
+import org.geogebra.common.util.MyMath;
+
+/**
+ * Coordinates of the points of the discovery pool, copied once into
+ * primitive arrays, for the numerical check of many conjectures.
+ * <p>
+ * The checks give the same results as the corresponding algorithms
+ * (AreCollinear, AreConcyclic, AreParallel and AreCongruent) without creating
+ * them. Points that are not finite or not stored are checked directly.
+ */
+public class PointCoordinates {
+
+	private final HashMap<GeoPoint, Integer> index;
+	private final double[] x;
+	private final double[] y;
+	private final double[] z;
+	private final double[] inhomX;
+	private final double[] inhomY;
+	private final boolean[] finite;
+
+	/**
+	 * @param points
+	 *            points of the discovery pool, their representatives are
+	 *            stored
+	 */
+	public PointCoordinates(List<Point> points) {
+		int n = points.size();
+		index = new HashMap<>(2 * n);
+		x = new double[n];
+		y = new double[n];
+		z = new double[n];
+		inhomX = new double[n];
+		inhomY = new double[n];
+		finite = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			GeoPoint gp = points.get(i).getGeoPoint();
+			index.put(gp, i);
+			x[i] = gp.getX();
+			y[i] = gp.getY();
+			z[i] = gp.getZ();
+			inhomX[i] = gp.getInhomX();
+			inhomY[i] = gp.getInhomY();
+			finite[i] = gp.isFinite();
+		}
+	}
+
+	private int get(GeoPoint p) {
+		Integer i = index.get(p);
+		return i == null ? -1 : i;
+	}
+
+	private boolean isStored(int... points) {
+		for (int i : points) {
+			if (i < 0 || !finite[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param p1
+	 *            first point
+	 * @param p2
+	 *            second point
+	 * @param p3
+	 *            third point
+	 * @return whether the points are collinear (as AreCollinear)
+	 */
+	public boolean areCollinear(GeoPoint p1, GeoPoint p2, GeoPoint p3) {
+		int a = get(p1), b = get(p2), c = get(p3);
+		if (!isStored(a, b, c)) {
+			return GeoPoint.collinearND(p1, p2, p3);
+		}
+		// GeoPoint.collinearND: (A-B)x(A-C) == 0
+		return DoubleUtil
+				.isZero((inhomX[a] - inhomX[b]) * (inhomY[a] - inhomY[c])
+						- (inhomY[a] - inhomY[b]) * (inhomX[a] - inhomX[c]));
+	}
+
+	/**
+	 * @param p1
+	 *            first point
+	 * @param p2
+	 *            second point
+	 * @param p3
+	 *            third point
+	 * @param p4
+	 *            fourth point
+	 * @return whether the points are concyclic (as AreConcyclic)
+	 */
+	public boolean areConcyclic(GeoPoint p1, GeoPoint p2, GeoPoint p3,
+			GeoPoint p4) {
+		int a = get(p1), b = get(p2), c = get(p3), d = get(p4);
+		if (!isStored(a, b, c, d)) {
+			return GeoPoint.concyclic(p1, p2, p3, p4);
+		}
+		// GeoPoint.concyclic, using Ptolemy's theorem
+		double ab = distance(a, b);
+		double ac = distance(a, c);
+		double ad = distance(a, d);
+		double bc = distance(b, c);
+		double bd = distance(b, d);
+		double cd = distance(c, d);
+		return DoubleUtil.isZero(ab * cd + bc * ad - ac * bd,
+				Kernel.MIN_PRECISION)
+				|| DoubleUtil.isZero(ab * cd + ac * bd - bc * ad,
+						Kernel.MIN_PRECISION)
+				|| DoubleUtil.isZero(bc * ad + ac * bd - ab * cd,
+						Kernel.MIN_PRECISION);
+	}
+
+	private double distance(int a, int b) {
+		return Math.hypot(x[b] * z[a] - x[a] * z[b], y[b] * z[a] - y[a] * z[b]);
+	}
+
+	/**
+	 * @param p1
+	 *            first point of the first line
+	 * @param p2
+	 *            second point of the first line
+	 * @param p3
+	 *            first point of the second line
+	 * @param p4
+	 *            second point of the second line
+	 * @return whether the lines are parallel (as AreParallel)
+	 */
+	public boolean areParallel(GeoPoint p1, GeoPoint p2, GeoPoint p3,
+			GeoPoint p4) {
+		int a = get(p1), b = get(p2), c = get(p3), d = get(p4);
+		if (!isStored(a, b, c, d)) {
+			GeoLine g1 = new GeoLine(p1.getConstruction());
+			GeoLine g2 = new GeoLine(p1.getConstruction());
+			GeoVec3D.lineThroughPoints(p1, p2, g1);
+			GeoVec3D.lineThroughPoints(p3, p4, g2);
+			return g1.isParallel(g2);
+		}
+		// coefficients of the lines as in GeoVec3D.lineThroughPoints,
+		// compared as in GeoLine.isParallel
+		double x1 = inhomY[a] - inhomY[b];
+		double y1 = inhomX[b] - inhomX[a];
+		double x2 = inhomY[c] - inhomY[d];
+		double y2 = inhomX[d] - inhomX[c];
+		return DoubleUtil.isEqual(x2 * y1, y2 * x1);
+	}
+
+	/**
+	 * @param p1
+	 *            start point of the first segment
+	 * @param p2
+	 *            end point of the first segment
+	 * @param p3
+	 *            start point of the second segment
+	 * @param p4
+	 *            end point of the second segment
+	 * @return whether the segments are equally long (as AreCongruent)
+	 */
+	public boolean areEqualLong(GeoPoint p1, GeoPoint p2, GeoPoint p3,
+			GeoPoint p4) {
+		int a = get(p1), b = get(p2), c = get(p3), d = get(p4);
+		if (!isStored(a, b, c, d)) {
+			return DoubleUtil.isEqual(length(p1, p2), length(p3, p4));
+		}
+		return DoubleUtil.isEqual(
+				length(inhomX[a] - inhomX[b], inhomY[a] - inhomY[b]),
+				length(inhomX[c] - inhomX[d], inhomY[c] - inhomY[d]));
+	}
+
+	private static double length(GeoPoint start, GeoPoint end) {
+		if (!start.isFinite() || !end.isFinite()) {
+			return Double.NaN;
+		}
+		return length(start.getInhomX() - end.getInhomX(),
+				start.getInhomY() - end.getInhomY());
+	}
+
+	private static double length(double dx, double dy) {
+		// GeoSegment.calcLength
+		double length = MyMath.length(dx, dy);
+		return DoubleUtil.isZero(length) ? 0 : length;
+	}
+}
@@ -6,11 +6,13 @@ import java.util.Iterator;
 import java.util.Set;
 
 import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.geos.GeoBoolean;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoPoint;
 import org.geogebra.common.kernel.prover.AlgoProveDetails;
 import org.geogebra.common.kernel.prover.Combinations;
+import org.geogebra.common.util.ExtendedBoolean;
 import org.geogebra.common.util.MaxSizeHashMap;
 import org.geogebra.common.util.debug.Log;
 
@@ -41,6 +43,25 @@ public class Pool {
         return ret;
     }
 
+    public boolean isCached(String command) {
+        return algoProveDetailsCache.containsKey(command);
+    }
+
+    /*
+     * Store a result that was computed elsewhere (e.g. on a copy of the construction)
+     * in the same form as the output of ProveDetails: {true} or {false}, or {} if unknown.
+     */
+    public GeoList cacheResult(Construction cons, String command, ExtendedBoolean result) {
+        GeoList ret = new GeoList(cons);
+        if (!ExtendedBoolean.UNKNOWN.equals(result)) {
+            GeoBoolean answer = new GeoBoolean(cons);
+            answer.setValue(result.boolVal());
+            ret.add(answer);
+        }
+        algoProveDetailsCache.put(command, ret);
+        return ret;
+    }
+
     public Point getPoint(GeoPoint p1) {
         for (Point p : points) {
             HashSet<GeoPoint> points = p.getPoints();
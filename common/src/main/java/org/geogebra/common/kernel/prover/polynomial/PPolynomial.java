@@ -26,6 +26,17 @@ import org.geogebra.common.util.debug.Log;
  * 
  */
 public class PPolynomial implements Comparable<PPolynomial> {
+	/**
+	 * Products with at least this many term pairs are computed in packed
+	 * form, see {@link PPolynomialPacked}
+	 */
+	static final int PACKED_MULTIPLICATION_THRESHOLD = 64;
+	/**
+	 * Substitutions in polynomials with at least this many terms are computed
+	 * in packed form
+	 */
+	static final int PACKED_SUBSTITUTION_THRESHOLD = 32;
+
 	private TreeMap<PTerm, BigInteger> terms;
 
 	/**
@@ -45,7 +56,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		terms = new TreeMap<>(poly.getTerms());
 	}
 
-	private PPolynomial(final TreeMap<PTerm, BigInteger> terms) {
+	PPolynomial(final TreeMap<PTerm, BigInteger> terms) {
 		this.terms = terms;
 	}
 
@@ -220,9 +231,28 @@ public class PPolynomial implements Comparable<PPolynomial> {
 			}
 		}
 		*/
-		
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
+
+		if ((long) terms.size()
+				* poly.getTerms().size() >= PACKED_MULTIPLICATION_THRESHOLD) {
+			PVariableIndex index = new PVariableIndex();
+			return PPolynomialPacked.fromPPolynomial(this, index)
+					.multiply(PPolynomialPacked.fromPPolynomial(poly, index))
+					.toPPolynomial();
+		}
+		return multiplyTreeMap(poly);
+	}
+
+	/**
+	 * Multiplies the polynomial with another polynomial term by term, without
+	 * the packed form (for tests and benchmarks)
+	 *
+	 * @param poly
+	 *            the polynomial which is multiplied
+	 * @return the product
+	 */
+	PPolynomial multiplyTreeMap(final PPolynomial poly) {
 		TreeMap<PTerm, BigInteger> terms2 = poly.getTerms();
+		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
 		Iterator<Entry<PTerm, BigInteger>> it1 = terms.entrySet().iterator();
 		while (it1.hasNext()) {
 			Entry<PTerm, BigInteger> entry1 = it1.next();
@@ -271,9 +301,22 @@ public class PPolynomial implements Comparable<PPolynomial> {
 			Log.error("Invalid exponent: " + n);
 			return new PPolynomial(BigInteger.ZERO);
 		}
-		PPolynomial p = new PPolynomial(this);
-		for (int i = 1; i < n; i++) {
-			p = p.multiply(this);
+		return PPolynomialPacked.fromPPolynomial(this, new PVariableIndex())
+				.pow(n).toPPolynomial();
+	}
+
+	/**
+	 * Creates the n-th power of a polynomial by repeated multiplication,
+	 * without the packed form (for tests and benchmarks)
+	 *
+	 * @param n
+	 *            the exponent, at least 0
+	 * @return the power
+	 */
+	PPolynomial powTreeMap(int n) {
+		PPolynomial p = new PPolynomial(BigInteger.ONE);
+		for (int i = 0; i < n; i++) {
+			p = p.multiplyTreeMap(this);
 		}
 		return p;
 	}
@@ -729,7 +772,23 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		
 		if (substitutions == null)
 			return this;
-			
+
+		if (terms.size() >= PACKED_SUBSTITUTION_THRESHOLD) {
+			return PPolynomialPacked.fromPPolynomial(this, new PVariableIndex())
+					.substitute(substitutions).toPPolynomial();
+		}
+		return substituteTreeMap(substitutions);
+	}
+
+	/**
+	 * Substitutes variables in the polynomial by integer values term by term,
+	 * without the packed form (for tests and benchmarks)
+	 *
+	 * @param substitutions
+	 *            A map of the substitutions
+	 * @return a new polynomial with the variables substituted.
+	 */
+	PPolynomial substituteTreeMap(Map<PVariable, BigInteger> substitutions) {
 		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
 
 		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
@@ -1206,7 +1265,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 			Log.info("Not implemented (yet)");
 			return ExtendedBoolean.UNKNOWN; // cannot decide
 		}
-		solvableResult = cas.evaluate(solvableProgram);
+		solvableResult = cas.evaluateCached(solvableProgram);
 		if ("0".equals(solvableResult) || "false".equals(solvableResult)) {
 			return ExtendedBoolean.FALSE; // no solution
 		}
@@ -1418,7 +1477,8 @@ public class PPolynomial implements Comparable<PPolynomial> {
 				return null; // cannot decide
 			}
 
-			elimResult = cas.evaluate(elimProgram).replace("unicode95u", "_")
+			elimResult = cas.evaluateCached(elimProgram)
+					.replace("unicode95u", "_")
 					.replace("unicode91u", "[");
 
 			if (!factorized) {
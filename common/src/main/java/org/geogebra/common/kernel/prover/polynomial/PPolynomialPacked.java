@@ -0,0 +1,521 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Packed representation of a polynomial. Terms are stored as dense exponent
+ * vectors over a {@link PVariableIndex} in one flat int array, coefficients
+ * are stored as longs. When a coefficient does not fit into a long any more,
+ * all coefficients of the polynomial are switched to BigInteger.
+ *
+ * Instances are immutable from outside. The term order is not defined, use
+ * {@link #toPPolynomial()} to get the canonical form.
+ */
+public class PPolynomialPacked {
+	private static final int MIN_CAPACITY = 4;
+
+	private final PVariableIndex index;
+	/** number of exponents stored for each term */
+	private final int width;
+	/** number of terms */
+	private int size;
+	/** exponents, the i-th term is stored at i*width...(i+1)*width-1 */
+	private int[] exponents;
+	private long[] coeffs;
+	/** coefficients, if they do not fit into longs (otherwise null) */
+	private BigInteger[] bigCoeffs;
+	/** open addressing table of (term index + 1), only used while building */
+	private int[] table;
+	/** buffer for one term while building */
+	private final int[] row;
+
+	private PPolynomialPacked(PVariableIndex index, int width, int capacity) {
+		this.index = index;
+		this.width = width;
+		int cap = Math.max(capacity, MIN_CAPACITY);
+		exponents = new int[cap * width];
+		coeffs = new long[cap];
+		row = new int[width];
+	}
+
+	/**
+	 * Creates the packed form of a polynomial.
+	 *
+	 * @param poly
+	 *            polynomial
+	 * @param index
+	 *            variable table, new variables are registered here
+	 * @return packed polynomial
+	 */
+	public static PPolynomialPacked fromPPolynomial(PPolynomial poly,
+			PVariableIndex index) {
+		TreeMap<PTerm, BigInteger> terms = poly.getTerms();
+		for (PTerm t : terms.keySet()) {
+			for (PVariable v : t.getTerm().keySet()) {
+				index.indexOf(v);
+			}
+		}
+		PPolynomialPacked ret = new PPolynomialPacked(index, index.size(),
+				terms.size());
+		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
+		while (it.hasNext()) {
+			Entry<PTerm, BigInteger> entry = it.next();
+			int[] r = ret.row;
+			for (int i = 0; i < r.length; i++) {
+				r[i] = 0;
+			}
+			for (Entry<PVariable, Integer> e : entry.getKey().getTerm()
+					.entrySet()) {
+				r[index.find(e.getKey())] = e.getValue();
+			}
+			// terms are distinct, so no lookup is needed
+			ret.append(entry.getValue());
+		}
+		return ret;
+	}
+
+	/**
+	 * Creates the constant polynomial.
+	 *
+	 * @param index
+	 *            variable table
+	 * @param coeff
+	 *            constant
+	 * @return constant polynomial
+	 */
+	public static PPolynomialPacked constant(PVariableIndex index,
+			long coeff) {
+		PPolynomialPacked ret = new PPolynomialPacked(index, 0, 1);
+		if (coeff != 0) {
+			ret.addTerm(coeff);
+		}
+		return ret.finish();
+	}
+
+	/**
+	 * @return the polynomial in the usual form
+	 */
+	public PPolynomial toPPolynomial() {
+		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
+		for (int i = 0; i < size; i++) {
+			TreeMap<PVariable, Integer> vars = new TreeMap<>();
+			int off = i * width;
+			for (int v = 0; v < width; v++) {
+				int e = exponents[off + v];
+				if (e != 0) {
+					vars.put(index.get(v), e);
+				}
+			}
+			result.put(new PTerm(vars), getCoefficient(i));
+		}
+		return new PPolynomial(result);
+	}
+
+	/**
+	 * @return variable table of this polynomial
+	 */
+	public PVariableIndex getIndex() {
+		return index;
+	}
+
+	/**
+	 * @return number of terms
+	 */
+	public int getNumberOfTerms() {
+		return size;
+	}
+
+	/**
+	 * @return whether this is the zero polynomial
+	 */
+	public boolean isZero() {
+		return size == 0;
+	}
+
+	/**
+	 * @param i
+	 *            term index
+	 * @return coefficient of the i-th term
+	 */
+	public BigInteger getCoefficient(int i) {
+		return bigCoeffs != null ? bigCoeffs[i] : BigInteger.valueOf(coeffs[i]);
+	}
+
+	/**
+	 * @param i
+	 *            term index
+	 * @param variable
+	 *            variable index
+	 * @return exponent of the variable in the i-th term
+	 */
+	public int getExponent(int i, int variable) {
+		return variable < width ? exponents[i * width + variable] : 0;
+	}
+
+	/**
+	 * @param poly
+	 *            polynomial with the same variable table
+	 * @return sum
+	 */
+	public PPolynomialPacked add(PPolynomialPacked poly) {
+		PPolynomialPacked ret = new PPolynomialPacked(index,
+				Math.max(width, poly.width), size + poly.size);
+		ret.addAll(this, false);
+		ret.addAll(poly, false);
+		return ret.finish();
+	}
+
+	/**
+	 * @param poly
+	 *            polynomial with the same variable table
+	 * @return difference
+	 */
+	public PPolynomialPacked subtract(PPolynomialPacked poly) {
+		PPolynomialPacked ret = new PPolynomialPacked(index,
+				Math.max(width, poly.width), size + poly.size);
+		ret.addAll(this, false);
+		ret.addAll(poly, true);
+		return ret.finish();
+	}
+
+	/**
+	 * @return additive inverse
+	 */
+	public PPolynomialPacked negate() {
+		PPolynomialPacked ret = new PPolynomialPacked(index, width, size);
+		ret.addAll(this, true);
+		return ret.finish();
+	}
+
+	/**
+	 * @param poly
+	 *            polynomial with the same variable table
+	 * @return product
+	 */
+	public PPolynomialPacked multiply(PPolynomialPacked poly) {
+		int w = Math.max(width, poly.width);
+		PPolynomialPacked ret = new PPolynomialPacked(index, w,
+				Math.min(size * poly.size, 4 * (size + poly.size)));
+		int[] r = ret.row;
+		for (int i = 0; i < size; i++) {
+			int off1 = i * width;
+			for (int j = 0; j < poly.size; j++) {
+				int off2 = j * poly.width;
+				for (int v = 0; v < w; v++) {
+					r[v] = (v < width ? exponents[off1 + v] : 0)
+							+ (v < poly.width ? poly.exponents[off2 + v] : 0);
+				}
+				if (bigCoeffs == null && poly.bigCoeffs == null) {
+					long c1 = coeffs[i], c2 = poly.coeffs[j];
+					try {
+						ret.addTerm(Math.multiplyExact(c1, c2));
+					} catch (ArithmeticException e) {
+						ret.addTerm(BigInteger.valueOf(c1)
+								.multiply(BigInteger.valueOf(c2)));
+					}
+				} else {
+					ret.addTerm(getCoefficient(i)
+							.multiply(poly.getCoefficient(j)));
+				}
+			}
+		}
+		return ret.finish();
+	}
+
+	/**
+	 * Computes the n-th power by repeated squaring.
+	 *
+	 * @param n
+	 *            exponent
+	 * @return n-th power
+	 */
+	public PPolynomialPacked pow(int n) {
+		if (n < 0) {
+			Log.error("Invalid exponent: " + n);
+			return constant(index, 0);
+		}
+		PPolynomialPacked result = constant(index, 1);
+		PPolynomialPacked base = this;
+		int e = n;
+		while (e > 0) {
+			if ((e & 1) != 0) {
+				result = result.multiply(base);
+			}
+			e >>= 1;
+			if (e > 0) {
+				base = base.multiply(base);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Substitutes variables by integer values.
+	 *
+	 * @param substitutions
+	 *            values of the variables
+	 * @return a new polynomial with the variables substituted
+	 */
+	public PPolynomialPacked substitute(
+			Map<PVariable, BigInteger> substitutions) {
+		BigInteger[] values = new BigInteger[width];
+		boolean found = false;
+		for (Entry<PVariable, BigInteger> entry : substitutions.entrySet()) {
+			int v = index.find(entry.getKey());
+			if (v >= 0 && v < width) {
+				values[v] = entry.getValue();
+				found = true;
+			}
+		}
+		if (!found) {
+			return this;
+		}
+		PPolynomialPacked ret = new PPolynomialPacked(index, width, size);
+		int[] r = ret.row;
+		for (int i = 0; i < size; i++) {
+			int off = i * width;
+			BigInteger product = null;
+			for (int v = 0; v < width; v++) {
+				int e = exponents[off + v];
+				if (e != 0 && values[v] != null) {
+					BigInteger factor = values[v].pow(e);
+					product = product == null ? factor
+							: product.multiply(factor);
+					r[v] = 0;
+				} else {
+					r[v] = e;
+				}
+			}
+			if (product == null) {
+				ret.addTerm(bigCoeffs == null ? BigInteger.valueOf(coeffs[i])
+						: bigCoeffs[i]);
+			} else {
+				ret.addTerm(product.multiply(getCoefficient(i)));
+			}
+		}
+		return ret.finish();
+	}
+
+	/**
+	 * Substitutes a variable by another variable.
+	 *
+	 * @param oldVar
+	 *            old variable
+	 * @param newVar
+	 *            new variable
+	 * @return a new polynomial with the variable substituted
+	 */
+	public PPolynomialPacked substitute(PVariable oldVar, PVariable newVar) {
+		int oldIndex = index.find(oldVar);
+		if (oldIndex < 0 || oldIndex >= width) {
+			return this;
+		}
+		int newIndex = index.indexOf(newVar);
+		int w = Math.max(width, newIndex + 1);
+		PPolynomialPacked ret = new PPolynomialPacked(index, w, size);
+		int[] r = ret.row;
+		for (int i = 0; i < size; i++) {
+			int off = i * width;
+			for (int v = 0; v < w; v++) {
+				r[v] = v < width ? exponents[off + v] : 0;
+			}
+			r[newIndex] += r[oldIndex];
+			r[oldIndex] = 0;
+			ret.addTerm(getCoefficient(i));
+		}
+		return ret.finish();
+	}
+
+	@Override
+	public String toString() {
+		return toPPolynomial().toString();
+	}
+
+	private void addAll(PPolynomialPacked poly, boolean negate) {
+		for (int i = 0; i < poly.size; i++) {
+			int off = i * poly.width;
+			for (int v = 0; v < width; v++) {
+				row[v] = v < poly.width ? poly.exponents[off + v] : 0;
+			}
+			if (poly.bigCoeffs == null) {
+				long c = poly.coeffs[i];
+				if (!negate) {
+					addTerm(c);
+				} else if (c != Long.MIN_VALUE) {
+					addTerm(-c);
+				} else {
+					addTerm(BigInteger.valueOf(c).negate());
+				}
+			} else {
+				addTerm(negate ? poly.bigCoeffs[i].negate() : poly.bigCoeffs[i]);
+			}
+		}
+	}
+
+	/**
+	 * Adds c times the term in the row buffer.
+	 */
+	private void addTerm(long c) {
+		int i = findOrInsert();
+		if (bigCoeffs != null) {
+			bigCoeffs[i] = bigCoeffs[i].add(BigInteger.valueOf(c));
+			return;
+		}
+		try {
+			coeffs[i] = Math.addExact(coeffs[i], c);
+		} catch (ArithmeticException e) {
+			switchToBig();
+			bigCoeffs[i] = bigCoeffs[i].add(BigInteger.valueOf(c));
+		}
+	}
+
+	/**
+	 * Adds c times the term in the row buffer.
+	 */
+	private void addTerm(BigInteger c) {
+		if (bigCoeffs == null && c.bitLength() < 64) {
+			addTerm(c.longValue());
+			return;
+		}
+		int i = findOrInsert();
+		switchToBig();
+		bigCoeffs[i] = bigCoeffs[i].add(c);
+	}
+
+	/**
+	 * Appends the term in the row buffer without looking it up.
+	 */
+	private void append(BigInteger c) {
+		int i = insert();
+		if (bigCoeffs == null && c.bitLength() < 64) {
+			coeffs[i] = c.longValue();
+		} else {
+			switchToBig();
+			bigCoeffs[i] = c;
+		}
+	}
+
+	private void switchToBig() {
+		if (bigCoeffs != null) {
+			return;
+		}
+		bigCoeffs = new BigInteger[coeffs.length];
+		for (int i = 0; i < size; i++) {
+			bigCoeffs[i] = BigInteger.valueOf(coeffs[i]);
+		}
+		coeffs = null;
+	}
+
+	private int findOrInsert() {
+		if (table == null || 2 * (size + 1) > table.length) {
+			rehash(Math.max(16, Integer.highestOneBit(4 * (size + 1))));
+		}
+		int mask = table.length - 1;
+		int h = hashRow(row, 0) & mask;
+		while (true) {
+			int t = table[h];
+			if (t == 0) {
+				int i = insert();
+				table[h] = i + 1;
+				return i;
+			}
+			if (rowEquals(t - 1)) {
+				return t - 1;
+			}
+			h = (h + 1) & mask;
+		}
+	}
+
+	private int insert() {
+		if (size == (bigCoeffs != null ? bigCoeffs.length : coeffs.length)) {
+			int cap = 2 * size;
+			int[] newExponents = new int[cap * width];
+			System.arraycopy(exponents, 0, newExponents, 0, size * width);
+			exponents = newExponents;
+			if (bigCoeffs != null) {
+				BigInteger[] newBig = new BigInteger[cap];
+				System.arraycopy(bigCoeffs, 0, newBig, 0, size);
+				bigCoeffs = newBig;
+			} else {
+				long[] newCoeffs = new long[cap];
+				System.arraycopy(coeffs, 0, newCoeffs, 0, size);
+				coeffs = newCoeffs;
+			}
+		}
+		System.arraycopy(row, 0, exponents, size * width, width);
+		if (bigCoeffs != null) {
+			bigCoeffs[size] = BigInteger.ZERO;
+		} else {
+			coeffs[size] = 0;
+		}
+		return size++;
+	}
+
+	private void rehash(int capacity) {
+		table = new int[capacity];
+		int mask = capacity - 1;
+		for (int i = 0; i < size; i++) {
+			int h = hashRow(exponents, i * width) & mask;
+			while (table[h] != 0) {
+				h = (h + 1) & mask;
+			}
+			table[h] = i + 1;
+		}
+	}
+
+	private int hashRow(int[] data, int off) {
+		int h = 0;
+		for (int v = 0; v < width; v++) {
+			h = 31 * h + data[off + v];
+		}
+		return h ^ (h >>> 16);
+	}
+
+	private boolean rowEquals(int i) {
+		int off = i * width;
+		for (int v = 0; v < width; v++) {
+			if (exponents[off + v] != row[v]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the terms with zero coefficient and drops the lookup table.
+	 */
+	private PPolynomialPacked finish() {
+		table = null;
+		int j = 0;
+		for (int i = 0; i < size; i++) {
+			boolean zero = bigCoeffs != null ? bigCoeffs[i].signum() == 0
+					: coeffs[i] == 0;
+			if (zero) {
+				continue;
+			}
+			if (i != j) {
+				System.arraycopy(exponents, i * width, exponents, j * width,
+						width);
+				if (bigCoeffs != null) {
+					bigCoeffs[j] = bigCoeffs[i];
+				} else {
+					coeffs[j] = coeffs[i];
+				}
+			}
+			j++;
+		}
+		if (bigCoeffs != null) {
+			for (int i = j; i < size; i++) {
+				bigCoeffs[i] = null;
+			}
+		}
+		size = j;
+		return this;
+	}
+}
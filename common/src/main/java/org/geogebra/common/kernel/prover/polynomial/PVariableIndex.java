@@ -0,0 +1,59 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Table of variables used by packed polynomials. Each variable gets a
+ * consecutive index, so that terms can be stored as dense exponent vectors.
+ * The same table must be used for polynomials that are combined with each
+ * other.
+ */
+public class PVariableIndex {
+	private final HashMap<PVariable, Integer> indices = new HashMap<>();
+	private final ArrayList<PVariable> variables = new ArrayList<>();
+
+	/**
+	 * Returns the index of a variable, registering it if needed.
+	 *
+	 * @param v
+	 *            variable
+	 * @return index of the variable
+	 */
+	public int indexOf(PVariable v) {
+		Integer i = indices.get(v);
+		if (i != null) {
+			return i;
+		}
+		int ret = variables.size();
+		variables.add(v);
+		indices.put(v, ret);
+		return ret;
+	}
+
+	/**
+	 * @param v
+	 *            variable
+	 * @return index of the variable or -1 if it is not registered
+	 */
+	public int find(PVariable v) {
+		Integer i = indices.get(v);
+		return i == null ? -1 : i;
+	}
+
+	/**
+	 * @param index
+	 *            index
+	 * @return variable with the given index
+	 */
+	public PVariable get(int index) {
+		return variables.get(index);
+	}
+
+	/**
+	 * @return number of registered variables
+	 */
+	public int size() {
+		return variables.size();
+	}
+}
@@ -124,6 +124,7 @@ import org.geogebra.common.plugin.ScriptType;
 import org.geogebra.common.plugin.script.GgbScript;
 import org.geogebra.common.plugin.script.Script;
 import org.geogebra.common.util.AsyncOperation;
+import org.geogebra.common.util.BinaryExport;
 import org.geogebra.common.util.CopyPaste;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.GPredicate;
@@ -401,6 +402,7 @@ public abstract class App implements UpdateSelection, AppInterface, EuclidianHos
 	private int booleanSize = EuclidianConstants.DEFAULT_CHECKBOX_SIZE;
 	private boolean labelDragsEnabled = true;
 	private boolean undoRedoEnabled = true;
+	private boolean undoDeltaStates = true;
 
 	// command dictionary
 	private LowerCaseDictionary commandDict;
@@ -2879,6 +2881,22 @@ public abstract class App implements UpdateSelection, AppInterface, EuclidianHos
 		setSaved();
 	}
 
+	/**
+	 * @return whether undo states are stored as changes of the previous state
+	 */
+	public boolean isUndoDeltaStates() {
+		return undoDeltaStates;
+	}
+
+	/**
+	 * @param deltaStates
+	 *            whether undo states stored from now on should only keep the
+	 *            changes of the previous state
+	 */
+	public void setUndoDeltaStates(boolean deltaStates) {
+		undoDeltaStates = deltaStates;
+	}
+
 	/**
 	 * @param useTransparentCursorWhenDragging
 	 *            whether transparent cursor should be used while dragging
@@ -4820,14 +4838,24 @@ public abstract class App implements UpdateSelection, AppInterface, EuclidianHos
 	/**
 	 * @return next prover variable ID
 	 */
-	public int getNextVariableID() {
+	public synchronized int getNextVariableID() {
 		return nextVariableID++;
 	}
 
-	public void resetVariableNumbering() {
+	public synchronized void resetVariableNumbering() {
 		nextVariableID = 1;
 	}
 
+	/**
+	 * Makes sure that new variables get an ID of at least the given value.
+	 *
+	 * @param id
+	 *            first ID that is not in use
+	 */
+	public synchronized void reserveVariableIDs(int id) {
+		nextVariableID = Math.max(nextVariableID, id);
+	}
+
 	/**
 	 * Create a tool collection factory for this app.
 	 *
@@ -5000,6 +5028,18 @@ public abstract class App implements UpdateSelection, AppInterface, EuclidianHos
 		// needs to be implemented in subclasses
 	}
 
+	/**
+	 *
+	 * @param ext
+	 *            extension
+	 * @param content
+	 *            writes the contents of the file
+	 *
+	 */
+	public void exportBinaryToFile(String ext, BinaryExport content) {
+		// needs to be implemented in subclasses
+	}
+
 	/**
 	 * handle image as appropriate
 	 * web: show in lightbox
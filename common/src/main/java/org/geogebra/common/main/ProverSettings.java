@@ -52,6 +52,38 @@ public class ProverSettings {
 	 */
 	public boolean captionAlgebra = false;
 
+	/**
+	 * Run the engines of the AUTO prover concurrently and take the first
+	 * definitive result (Prove only, JRE only).
+	 */
+	public boolean portfolio = false;
+
+	/**
+	 * Reuse the hypotheses polynomials of unchanged objects in subsequent
+	 * proofs over the same construction. Used in Botana's method.
+	 */
+	public boolean cacheHypotheses = true;
+
+	/**
+	 * Maximal number of workers that prove the conjectures of Discover
+	 * concurrently, each on its own copy of the construction (JRE only). 0 or
+	 * 1 means the conjectures are proven one after another.
+	 */
+	public int discoveryWorkers = 4;
+
+	/**
+	 * Timeout for a whole Discover run (in seconds); conjectures that are not
+	 * proven until then are not reported. 0 means no limit.
+	 */
+	public int discoveryTimeout = 0;
+
+	/**
+	 * Prove and ProveDetails commands give an undefined result at once and
+	 * get the result of the proof later from a background thread (JRE only).
+	 * Proofs that are not finished are cancelled when their input changes.
+	 */
+	public boolean asyncProofs = false;
+
 	/**
 	 * @return singleton instance
 	 */
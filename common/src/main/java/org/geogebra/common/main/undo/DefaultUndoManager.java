@@ -45,7 +45,10 @@ public class DefaultUndoManager extends UndoManager {
      *            string builder with construction XML
      */
     private synchronized void doStoreUndoInfo(final StringBuilder undoXML) {
-        AppState appStateToAdd = new StringAppState(undoXML.toString());
+        String xml = undoXML.toString();
+        AppState appStateToAdd = app.isUndoDeltaStates()
+                ? createDeltaAppState(xml)
+                : new StringAppState(xml);
         UndoCommand command = createUndoCommand(appStateToAdd);
         maybeStoreUndoCommand(command);
         pruneStateList();
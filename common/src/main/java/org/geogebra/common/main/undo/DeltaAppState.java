@@ -0,0 +1,227 @@
+package org.geogebra.common.main.undo;
+
+import java.util.ArrayList;
+
+/**
+ * App state stored as the changed lines of the XML of a previous state.
+ * Every {@link #CHECKPOINT_INTERVAL} states, or if most lines changed, the
+ * whole XML is stored as a checkpoint instead.
+ */
+public class DeltaAppState implements AppState {
+
+	/** maximal number of deltas between two checkpoints */
+	static final int CHECKPOINT_INTERVAL = 20;
+
+	private final DeltaAppState base;
+	private final String xml;
+	private final ArrayList<Change> changes;
+	private final int depth;
+	private final long storedLength;
+
+	/**
+	 * Replaces a range of lines.
+	 */
+	private static class Change {
+		private final int start;
+		private final int removed;
+		private final String[] lines;
+
+		Change(int start, int removed, String[] lines) {
+			this.start = start;
+			this.removed = removed;
+			this.lines = lines;
+		}
+
+		void apply(ArrayList<String> target) {
+			int common = Math.min(removed, lines.length);
+			for (int i = 0; i < common; i++) {
+				target.set(start + i, lines[i]);
+			}
+			if (removed > common) {
+				target.subList(start + common, start + removed).clear();
+			}
+			for (int i = common; i < lines.length; i++) {
+				target.add(start + i, lines[i]);
+			}
+		}
+	}
+
+	private DeltaAppState(String xml) {
+		this.base = null;
+		this.xml = xml;
+		this.changes = null;
+		this.depth = 0;
+		this.storedLength = xml.length();
+	}
+
+	private DeltaAppState(DeltaAppState base, ArrayList<Change> changes,
+			long storedLength) {
+		this.base = base;
+		this.xml = null;
+		this.changes = changes;
+		this.depth = base.depth + 1;
+		this.storedLength = storedLength;
+	}
+
+	/**
+	 * @param lines
+	 *            lines of the XML, see {@link #split(String)}
+	 * @param base
+	 *            previous state, may be null
+	 * @param baseLines
+	 *            lines of the previous state
+	 * @return state storing only the lines that changed since the previous
+	 *         state, or a checkpoint
+	 */
+	public static DeltaAppState create(String[] lines, DeltaAppState base,
+			String[] baseLines) {
+		if (base == null || base.depth >= CHECKPOINT_INTERVAL) {
+			return new DeltaAppState(join(lines));
+		}
+		int prefix = 0;
+		int max = Math.min(lines.length, baseLines.length);
+		while (prefix < max && lines[prefix].equals(baseLines[prefix])) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < max - prefix
+				&& lines[lines.length - 1 - suffix]
+						.equals(baseLines[baseLines.length - 1 - suffix])) {
+			suffix++;
+		}
+		int newEnd = lines.length - suffix;
+		int oldEnd = baseLines.length - suffix;
+		ArrayList<Change> changes = new ArrayList<>();
+		if (newEnd - prefix == oldEnd - prefix) {
+			// same structure (e.g. moved objects): keep changed runs only
+			int i = prefix;
+			while (i < newEnd) {
+				if (lines[i].equals(baseLines[i])) {
+					i++;
+					continue;
+				}
+				int start = i;
+				while (i < newEnd && !lines[i].equals(baseLines[i])) {
+					i++;
+				}
+				changes.add(new Change(start, i - start,
+						copy(lines, start, i)));
+			}
+		} else {
+			changes.add(new Change(prefix, oldEnd - prefix,
+					copy(lines, prefix, newEnd)));
+		}
+		long length = 0;
+		for (Change change : changes) {
+			for (String line : change.lines) {
+				length += line.length() + 1;
+			}
+		}
+		if (2 * length > totalLength(lines)) {
+			return new DeltaAppState(join(lines));
+		}
+		return new DeltaAppState(base, changes, length);
+	}
+
+	private static String[] copy(String[] lines, int from, int to) {
+		String[] ret = new String[to - from];
+		System.arraycopy(lines, from, ret, 0, to - from);
+		return ret;
+	}
+
+	private static long totalLength(String[] lines) {
+		long length = 0;
+		for (String line : lines) {
+			length += line.length() + 1;
+		}
+		return length;
+	}
+
+	/**
+	 * @param xml
+	 *            XML
+	 * @return lines of the XML, without line breaks
+	 */
+	public static String[] split(String xml) {
+		ArrayList<String> lines = new ArrayList<>();
+		int start = 0;
+		int end = xml.indexOf('\n');
+		while (end >= 0) {
+			lines.add(xml.substring(start, end));
+			start = end + 1;
+			end = xml.indexOf('\n', start);
+		}
+		lines.add(xml.substring(start));
+		return lines.toArray(new String[0]);
+	}
+
+	private static String join(String[] lines) {
+		StringBuilder sb = new StringBuilder((int) totalLength(lines));
+		for (int i = 0; i < lines.length; i++) {
+			if (i > 0) {
+				sb.append('\n');
+			}
+			sb.append(lines[i]);
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public String getXml() {
+		if (xml != null) {
+			return xml;
+		}
+		ArrayList<DeltaAppState> chain = new ArrayList<>();
+		DeltaAppState checkpoint = this;
+		while (checkpoint.xml == null) {
+			chain.add(checkpoint);
+			checkpoint = checkpoint.base;
+		}
+		ArrayList<String> lines = new ArrayList<>();
+		for (String line : split(checkpoint.xml)) {
+			lines.add(line);
+		}
+		for (int i = chain.size() - 1; i >= 0; i--) {
+			for (Change change : chain.get(i).changes) {
+				change.apply(lines);
+			}
+		}
+		return join(lines.toArray(new String[0]));
+	}
+
+	/**
+	 * @return whether this has the same XML as the previous state
+	 */
+	public boolean isUnchanged() {
+		return changes != null && changes.isEmpty();
+	}
+
+	/**
+	 * @return whether the whole XML is stored
+	 */
+	public boolean isCheckpoint() {
+		return xml != null;
+	}
+
+	/**
+	 * @return number of characters stored by this state
+	 */
+	public long getStoredLength() {
+		return storedLength;
+	}
+
+	@Override
+	public void delete() {
+		// later states may still need this one; it is garbage collected with
+		// them
+	}
+
+	@Override
+	public boolean equalsTo(AppState state) {
+		if (state instanceof DeltaAppState
+				&& ((DeltaAppState) state).base == this) {
+			return ((DeltaAppState) state).isUnchanged();
+		}
+		return state != null && getXml().equals(state.getXml());
+	}
+}
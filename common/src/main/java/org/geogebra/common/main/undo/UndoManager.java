@@ -15,6 +15,7 @@ import org.geogebra.common.main.App;
 import org.geogebra.common.media.VideoManager;
 import org.geogebra.common.plugin.Event;
 import org.geogebra.common.plugin.EventType;
+import org.geogebra.common.util.debug.GeoGebraProfiler;
 
 import com.google.j2objc.annotations.Weak;
 
@@ -41,6 +42,9 @@ public abstract class UndoManager {
 	private boolean storeUndoInfoNeededForProperties = false;
 	private List<UndoInfoStoredListener> undoInfoStoredListeners;
 	private final List<ActionExecutor> executors = new ArrayList<>();
+	private DeltaAppState lastDeltaState;
+	private String[] lastDeltaLines;
+	private double lastUndoRedoTime;
 
 	/**
 	 * @param cons
@@ -175,8 +179,10 @@ public abstract class UndoManager {
 	 */
 	public synchronized void undo() {
 		if (undoPossible()) {
+			double start = GeoGebraProfiler.getMillisecondTime();
 			UndoCommand last = iterator.previous();
 			last.undo(this);
+			lastUndoRedoTime = GeoGebraProfiler.getMillisecondTime() - start;
 			updateUndoActions();
 		}
 	}
@@ -186,7 +192,9 @@ public abstract class UndoManager {
 	 */
 	public synchronized void redo() {
 		if (redoPossible()) {
+			double start = GeoGebraProfiler.getMillisecondTime();
 			iterator.next().redo(this);
+			lastUndoRedoTime = GeoGebraProfiler.getMillisecondTime() - start;
 			updateUndoActions();
 		}
 	}
@@ -214,6 +222,33 @@ public abstract class UndoManager {
 		return ret;
 	}
 
+	/**
+	 * Creates a state that only keeps the lines that changed since the current
+	 * state, see {@link App#isUndoDeltaStates()}.
+	 * 
+	 * @param undoXML
+	 *            construction XML
+	 * @return state for the undo list
+	 */
+	protected DeltaAppState createDeltaAppState(String undoXML) {
+		AppState current = iterator.hasPrevious() ? getCurrentUndoInfo()
+				: null;
+		DeltaAppState base = null;
+		String[] baseLines = null;
+		if (current instanceof DeltaAppState) {
+			base = (DeltaAppState) current;
+			baseLines = base == lastDeltaState ? lastDeltaLines
+					: DeltaAppState.split(base.getXml());
+		}
+		String[] lines = DeltaAppState.split(undoXML);
+		DeltaAppState state = DeltaAppState.create(lines, base, baseLines);
+		if (!state.isUnchanged()) {
+			lastDeltaState = state;
+			lastDeltaLines = lines;
+		}
+		return state;
+	}
+
 	/**
 	 * Store undo info
 	 */
@@ -343,6 +378,8 @@ public abstract class UndoManager {
 	public synchronized void clearUndoInfo() {
 		undoInfoList.clear();
 		iterator = undoInfoList.listIterator();
+		lastDeltaState = null;
+		lastDeltaLines = null;
 	}
 
 	/**
@@ -455,6 +492,31 @@ public abstract class UndoManager {
 		return this.iterator == null ? -1 : this.iterator.previousIndex();
 	}
 
+	/**
+	 * @return time of the last undo or redo in milliseconds
+	 */
+	public double getLastUndoRedoTime() {
+		return lastUndoRedoTime;
+	}
+
+	/**
+	 * @return number of characters stored for all states in the undo list,
+	 *         states not kept in memory are not counted
+	 */
+	public synchronized long getStoredLength() {
+		long length = 0;
+		for (UndoCommand command : undoInfoList) {
+			AppState state = command.getAppState();
+			if (state instanceof DeltaAppState) {
+				length += ((DeltaAppState) state).getStoredLength();
+			} else if (state instanceof StringAppState
+					&& state.getXml() != null) {
+				length += state.getXml().length();
+			}
+		}
+		return length;
+	}
+
 	/**
 	 * @param state
 	 *            checkpoint
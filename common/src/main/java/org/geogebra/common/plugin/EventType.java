@@ -204,7 +204,19 @@ public enum EventType {
 	SET_VALUES_TV("setValuesOfTV"),
 
 	/** column, true if show, false otherwise */
-	SHOW_POINTS_TV("showPointsTV");
+	SHOW_POINTS_TV("showPointsTV"),
+
+	/** a prover engine started on a statement: name of the engine */
+	PROVER_ENGINE_STARTED("proverEngineStarted"),
+
+	/** the prover started the elimination (Giac or Singular) */
+	PROVER_ELIMINATION("proverElimination"),
+
+	/** the prover started the quantifier elimination (Tarski) */
+	PROVER_QE("proverQE"),
+
+	/** an asynchronous proof finished: result of the proof */
+	PROVER_FINISHED("proverFinished");
 
 	private String eventName;
 
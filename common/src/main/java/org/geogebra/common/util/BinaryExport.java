@@ -0,0 +1,18 @@
+package org.geogebra.common.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Binary file content that is written to a stream when the file is saved.
+ */
+public interface BinaryExport {
+
+	/**
+	 * @param out
+	 *            stream of the file
+	 * @throws IOException
+	 *             if writing fails
+	 */
+	void writeTo(OutputStream out) throws IOException;
+}
@@ -0,0 +1,49 @@
+package org.geogebra.common.util;
+
+import java.util.List;
+
+/**
+ * Runs independent tasks on several threads. Only set on platforms that have
+ * threads (JRE); algorithms have to fall back to a sequential implementation
+ * if there is none.
+ */
+public abstract class ParallelExecutor {
+
+	private static volatile ParallelExecutor prototype;
+
+	private static final Object lock = new Object();
+
+	/**
+	 * @return executor of the platform, null if tasks have to be run
+	 *         sequentially
+	 */
+	public static ParallelExecutor getPrototype() {
+		return prototype;
+	}
+
+	/**
+	 * @param p
+	 *            executor of the platform
+	 */
+	public static void setPrototypeIfNull(ParallelExecutor p) {
+		synchronized (lock) {
+			if (prototype == null) {
+				prototype = p;
+			}
+		}
+	}
+
+	/**
+	 * @return number of threads used to run the tasks
+	 */
+	public abstract int getParallelism();
+
+	/**
+	 * Runs all tasks and waits until they are finished. If a task throws an
+	 * exception, it is rethrown after all tasks finished or were cancelled.
+	 *
+	 * @param tasks
+	 *            tasks, must not depend on each other
+	 */
+	public abstract void invokeAll(List<? extends Runnable> tasks);
+}
@@ -4,11 +4,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.TreeSet;
 
 import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.Macro;
 import org.geogebra.common.kernel.RelationNumerical;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.algos.AlgoDependentBoolean;
@@ -18,6 +22,7 @@ import org.geogebra.common.kernel.algos.AlgoJoinPointsSegment;
 import org.geogebra.common.kernel.algos.AlgoPointInRegion;
 import org.geogebra.common.kernel.algos.AlgoPointOnPath;
 import org.geogebra.common.kernel.algos.AlgoPolygonRegular;
+import org.geogebra.common.kernel.algos.ConstructionElement;
 import org.geogebra.common.kernel.geos.GProperty;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoLine;
@@ -25,13 +30,17 @@ import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.geogebra.common.kernel.geos.GeoPoint;
 import org.geogebra.common.kernel.geos.GeoSegment;
 import org.geogebra.common.kernel.prover.AbstractProverReciosMethod;
+import org.geogebra.common.kernel.prover.AlgoProve;
+import org.geogebra.common.kernel.prover.AlgoProveDetails;
 import org.geogebra.common.kernel.prover.ProverBotanasMethod;
 import org.geogebra.common.kernel.prover.ProverCNIMethod;
 import org.geogebra.common.kernel.prover.ProverPureSymbolicMethod;
 import org.geogebra.common.kernel.prover.polynomial.PPolynomial;
 import org.geogebra.common.kernel.scripting.CmdShowProof;
+import org.geogebra.common.main.App;
 import org.geogebra.common.main.Localization;
 import org.geogebra.common.plugin.EuclidianStyleConstants;
+import org.geogebra.common.plugin.EventType;
 import org.geogebra.common.util.debug.Log;
 
 import com.himamis.retex.editor.share.util.Unicode;
@@ -164,6 +173,31 @@ public abstract class Prover {
 	private boolean captionalgebra = false;
 	private String proof = "";
 	private boolean showEliminate = false;
+	/** the engine that gave the current result */
+	private ProverEngine decidingEngine;
+	/** time spent in each engine in milliseconds */
+	private LinkedHashMap<ProverEngine, Long> engineTimes = new LinkedHashMap<>();
+	/** object the progress events are sent for, null if none are sent */
+	private GeoElement progressTarget;
+	/**
+	 * app of the user that gets the progress events, also when the proof runs
+	 * on a copy of the construction
+	 */
+	private App progressApp;
+	/** set when the result of an asynchronous proof is not needed any more */
+	private volatile boolean cancelled = false;
+
+	/**
+	 * Receives the result of an asynchronous proof on the thread of the
+	 * kernel.
+	 */
+	public interface ProofCallback {
+		/**
+		 * @param prover
+		 *            the prover with its result, NDG conditions and proof
+		 */
+		void proofFinished(Prover prover);
+	}
 
 	public boolean getShowproof() {
 		return showproof;
@@ -294,6 +328,32 @@ public abstract class Prover {
 			this.geos = object;
 		}
 
+		/**
+		 * @param cons
+		 *            another construction with the same labels
+		 * @return this condition for the objects of the other construction,
+		 *         null if some of them are missing there
+		 */
+		public NDGCondition copyTo(Construction cons) {
+			NDGCondition copy = new NDGCondition();
+			copy.condition = condition;
+			copy.readability = readability;
+			copy.polys = polys;
+			if (geos != null) {
+				copy.geos = new GeoElement[geos.length];
+				for (int i = 0; i < geos.length; i++) {
+					String label = geos[i] == null ? null
+							: geos[i].getLabelSimple();
+					copy.geos[i] = label == null ? null
+							: cons.lookupLabel(label);
+					if (copy.geos[i] == null) {
+						return null;
+					}
+				}
+			}
+			return copy;
+		}
+
 		public StringBuilder explain(Localization loc) {
 			String cond = getCondition();
 			StringBuilder s = new StringBuilder();
@@ -665,6 +725,8 @@ public abstract class Prover {
 	 * forwarded to an engine (or more engines).
 	 */
 	public void decideStatement() {
+		decidingEngine = null;
+		engineTimes.clear();
 		// Step 1: Checking if the statement is null.
 		if (statement == null) {
 			Log.error("No statement to prove");
@@ -690,6 +752,10 @@ public abstract class Prover {
 		}
 
 		StatementFeatures.init(statement);
+		if (isCancelled()) {
+			result = ProofResult.UNKNOWN;
+			return;
+		}
 
 		// Step 3: Non-AUTO provers
 		if (engine != ProverEngine.AUTO) {
@@ -699,16 +765,25 @@ public abstract class Prover {
 
 		// Step 4: AUTO prover
 		Log.debug("Using " + engine);
-		Iterator<ProverEngine> it;
 		if (isReturnExtraNDGs()) {
-			it = proveDetailsAutoOrder.iterator();
+			proveAuto(proveDetailsAutoOrder);
 		} else {
-			it = proveAutoOrder.iterator();
+			proveAuto(proveAutoOrder);
 		}
+	}
+
+	/**
+	 * Tries the engines one after the other until one gives a usable result.
+	 *
+	 * @param order
+	 *            engines in the order of preference
+	 */
+	protected void proveAuto(List<ProverEngine> order) {
+		Iterator<ProverEngine> it = order.iterator();
 		result = ProofResult.UNKNOWN;
 		while ((result == ProofResult.UNKNOWN
 				|| result == ProofResult.TRUE_NDG_UNREADABLE)
-				&& it.hasNext()) {
+				&& it.hasNext() && !isCancelled()) {
 			ProverEngine pe = it.next();
 			if (pe == ProverEngine.OPENGEOPROVER_WU
 					|| pe == ProverEngine.OPENGEOPROVER_AREA) {
@@ -745,29 +820,182 @@ public abstract class Prover {
 	}
 
 	private void callEngine(ProverEngine currentEngine) {
+		ProofResult pr = runEngine(currentEngine);
+		if (pr == null) {
+			return;
+		}
+		result = override(pr);
+		if (pr != ProofResult.UNKNOWN) {
+			decidingEngine = currentEngine;
+		}
+	}
+
+	/**
+	 * Runs a single engine on the statement. The NDG conditions are reset,
+	 * the time spent is recorded, but the result of the prover is not
+	 * changed.
+	 *
+	 * @param currentEngine
+	 *            engine
+	 * @return result of the engine or null if the engine is not supported
+	 */
+	protected ProofResult runEngine(ProverEngine currentEngine) {
 		Log.debug("Using " + currentEngine);
+		fireProgress(EventType.PROVER_ENGINE_STARTED, currentEngine.name());
 		ndgConditions = new TreeSet<>(); // reset
+		long startTime = System.currentTimeMillis();
+		ProofResult pr = null;
 		if (currentEngine == ProverEngine.BOTANAS_PROVER) {
 			construction.getKernel().getApplication().resetVariableNumbering();
 			ProverBotanasMethod pbm = new ProverBotanasMethod();
-			result = override(pbm.prove(this));
-			return;
+			pr = pbm.prove(this);
 		} else if (currentEngine == ProverEngine.RECIOS_PROVER) {
 			construction.getKernel().getApplication().resetVariableNumbering();
-			result = override(getReciosProver().prove(this));
-			return;
+			pr = getReciosProver().prove(this);
 		} else if (currentEngine == ProverEngine.PURE_SYMBOLIC_PROVER) {
 			construction.getKernel().getApplication().resetVariableNumbering();
-			result = override(ProverPureSymbolicMethod.prove(this));
-			return;
+			pr = ProverPureSymbolicMethod.prove(this);
 		} else if (currentEngine == ProverEngine.OPENGEOPROVER_WU
 				|| currentEngine == ProverEngine.OPENGEOPROVER_AREA) {
-			result = override(openGeoProver(currentEngine));
-			return;
+			pr = openGeoProver(currentEngine);
 		} else if (currentEngine == ProverEngine.CNI_PROVER) {
-			result = override(ProverCNIMethod.prove(this));
-			return;
+			pr = ProverCNIMethod.prove(this);
+		}
+		if (pr != null) {
+			long elapsed = System.currentTimeMillis() - startTime;
+			engineTimes.put(currentEngine, elapsed);
+			Log.debug(currentEngine + " returned " + pr + " in " + elapsed
+					+ " ms");
+		}
+		return pr;
+	}
+
+	/**
+	 * @param pr
+	 *            proof result
+	 * @return whether the result is final, that is, no other engine needs to
+	 *         be tried
+	 */
+	public static boolean isDefinitive(ProofResult pr) {
+		return pr == ProofResult.TRUE || pr == ProofResult.FALSE
+				|| pr == ProofResult.TRUE_ON_COMPONENTS;
+	}
+
+	/**
+	 * Copies the input and the settings of this prover into another one
+	 * which can then work on the same statement independently.
+	 *
+	 * @param other
+	 *            another prover
+	 */
+	protected void copySettingsTo(Prover other) {
+		other.timeout = timeout;
+		other.engine = engine;
+		other.construction = construction;
+		other.statement = statement;
+		other.returnExtraNDGs = returnExtraNDGs;
+		other.showproof = showproof;
+		other.captionalgebra = captionalgebra;
+		other.showEliminate = showEliminate;
+		other.progressTarget = progressTarget;
+		other.progressApp = progressApp;
+	}
+
+	/**
+	 * Takes over the result, the NDG conditions and the proof of another
+	 * prover that worked on the same statement, possibly in a copy of the
+	 * construction. Conditions on objects that are not in this construction
+	 * make the result unreadable.
+	 *
+	 * @param other
+	 *            another prover
+	 * @param pe
+	 *            the engine used by the other prover
+	 */
+	protected void adoptResult(Prover other, ProverEngine pe) {
+		result = other.result;
+		ndgConditions = other.ndgConditions;
+		if (other.construction != construction) {
+			ndgConditions = new TreeSet<>();
+			for (NDGCondition ndg : other.ndgConditions) {
+				NDGCondition copy = ndg.copyTo(construction);
+				if (copy != null) {
+					ndgConditions.add(copy);
+				} else if (result == ProofResult.TRUE) {
+					result = ProofResult.TRUE_NDG_UNREADABLE;
+				}
+			}
+		}
+		proof = proof + other.proof;
+		decidingEngine = pe;
+	}
+
+	/**
+	 * XML of the objects the statement depends on, for proving it on a copy
+	 * of the construction. Proving commands are left out, the copy would
+	 * start proving them, too.
+	 *
+	 * @return XML of the construction
+	 */
+	public String getStatementXML() {
+		TreeSet<GeoElement> geos = statement.getAllPredecessors();
+		if (statement.isLabelSet()) {
+			geos.add(statement);
 		}
+		LinkedHashSet<ConstructionElement> elements = new LinkedHashSet<>();
+		for (int i = 0; i < construction.steps(); i++) {
+			ConstructionElement ce = construction.getConstructionElement(i);
+			if (ce instanceof AlgoProve || ce instanceof AlgoProveDetails) {
+				continue;
+			}
+			if (ce instanceof GeoElement) {
+				if (geos.contains(ce)) {
+					elements.add(ce);
+				}
+			} else if (ce instanceof AlgoElement) {
+				AlgoElement algo = (AlgoElement) ce;
+				for (int j = 0; j < algo.getOutputLength(); j++) {
+					if (geos.contains(algo.getOutput(j))) {
+						elements.add(algo);
+						break;
+					}
+				}
+			}
+		}
+		return Macro.buildMacroXML(construction.getKernel(), elements)
+				.toString();
+	}
+
+	/**
+	 * @return label of the statement, or its definition if it has no label
+	 *         (as in Prove(A == B)), to find it in a copy of the construction
+	 */
+	public String getStatementText() {
+		return statement.getLabel(StringTemplate.xmlTemplate);
+	}
+
+	/**
+	 * @param pe
+	 *            engine
+	 * @param millis
+	 *            time spent in the engine
+	 */
+	protected void recordEngineTime(ProverEngine pe, long millis) {
+		engineTimes.put(pe, millis);
+	}
+
+	/**
+	 * @return the engine that gave the current result (null if none did)
+	 */
+	public ProverEngine getDecidingEngine() {
+		return decidingEngine;
+	}
+
+	/**
+	 * @return time spent in each engine that has finished, in milliseconds
+	 */
+	public Map<ProverEngine, Long> getEngineTimes() {
+		return engineTimes;
 	}
 
 	/**
@@ -846,6 +1074,94 @@ public abstract class Prover {
 		// Will be overridden by web and desktop
 	}
 
+	/**
+	 * Starts the computation of the proof in the background. The callback is
+	 * called on the thread of the kernel when the proof is finished, unless
+	 * the proof was cancelled before. Platforms without threads compute the
+	 * proof at once.
+	 *
+	 * @param callback
+	 *            receives the result
+	 */
+	public void computeAsync(ProofCallback callback) {
+		compute();
+		deliver(callback);
+	}
+
+	/**
+	 * Passes the result to the callback and notifies the listeners, unless
+	 * the proof was cancelled. Must be called on the thread of the kernel.
+	 *
+	 * @param callback
+	 *            receives the result
+	 */
+	protected final void deliver(ProofCallback callback) {
+		if (cancelled) {
+			return;
+		}
+		callback.proofFinished(this);
+		if (progressTarget != null) {
+			progressApp.getEventDispatcher().dispatchEvent(
+					EventType.PROVER_FINISHED, progressTarget,
+					String.valueOf(result));
+		}
+	}
+
+	/**
+	 * Drops the result of an asynchronous proof; the computation is stopped
+	 * if the platform supports it.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * @return whether the proof was cancelled; the engines stop between their
+	 *         steps then
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * @param target
+	 *            object the progress events are sent for (usually the output
+	 *            of the proving command), null to send no events
+	 */
+	public void setProgressTarget(GeoElement target) {
+		this.progressTarget = target;
+		this.progressApp = target == null ? null
+				: target.getKernel().getApplication();
+	}
+
+	/**
+	 * Notifies the listeners of the user's app about the progress of the
+	 * proof. The event is dispatched on the thread of the kernel of that app,
+	 * so this can be called from any thread, also by a prover working on a
+	 * copy of the construction.
+	 *
+	 * @param type
+	 *            type of the event
+	 * @param argument
+	 *            argument of the event, may be null
+	 */
+	public void fireProgress(final EventType type, final String argument) {
+		final GeoElement target = progressTarget;
+		final App app = progressApp;
+		if (target == null || cancelled) {
+			return;
+		}
+		app.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				if (!cancelled) {
+					app.getEventDispatcher().dispatchEvent(type, target,
+							argument);
+				}
+			}
+		});
+	}
+
 	/**
 	 * Calls OpenGeoProver
 	 *
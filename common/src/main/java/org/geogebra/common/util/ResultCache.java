@@ -0,0 +1,90 @@
+package org.geogebra.common.util;
+
+/**
+ * Cache for the results of expensive external computations (Tarski calls,
+ * Giac eliminations of the prover) that can outlive the application and may
+ * be shared by several of them. Keys are command strings; commands that
+ * differ only in white space outside string literals share the same entry.
+ */
+public abstract class ResultCache {
+
+	private static volatile ResultCache shared;
+
+	/**
+	 * @return the cache shared by all applications, may be null
+	 */
+	public static ResultCache getShared() {
+		return shared;
+	}
+
+	/**
+	 * @param cache
+	 *            the cache shared by all applications, null to disable
+	 */
+	public static void setShared(ResultCache cache) {
+		shared = cache;
+	}
+
+	/**
+	 * @param key
+	 *            command
+	 * @return cached result or null
+	 */
+	public abstract String get(String key);
+
+	/**
+	 * @param key
+	 *            command
+	 * @param value
+	 *            result
+	 */
+	public abstract void put(String key, String value);
+
+	/**
+	 * @return number of successful lookups
+	 */
+	public abstract long getHits();
+
+	/**
+	 * @return number of failed lookups
+	 */
+	public abstract long getMisses();
+
+	/**
+	 * @return number of cached results
+	 */
+	public abstract int getSize();
+
+	/**
+	 * @param command
+	 *            command
+	 * @return command with each run of white space outside string literals
+	 *         replaced by a single space, trimmed
+	 */
+	public static String normalize(String command) {
+		StringBuilder sb = new StringBuilder(command.length());
+		boolean space = false;
+		boolean quoted = false;
+		for (int i = 0; i < command.length(); i++) {
+			char ch = command.charAt(i);
+			if (quoted) {
+				sb.append(ch);
+				if (ch == '\\' && i + 1 < command.length()) {
+					sb.append(command.charAt(++i));
+				} else if (ch == '"') {
+					quoted = false;
+				}
+			} else if (ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r') {
+				space = sb.length() > 0;
+			} else {
+				if (space) {
+					sb.append(' ');
+					space = false;
+				}
+				sb.append(ch);
+				quoted = ch == '"';
+			}
+		}
+		return sb.toString();
+	}
+}
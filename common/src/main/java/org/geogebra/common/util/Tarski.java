@@ -25,11 +25,19 @@ public abstract class Tarski {
 		if (tarskiResultCache.containsKey(command)) {
 			return tarskiResultCache.get(command);
 		}
-		String ret = eval(command);
+		ResultCache shared = ResultCache.getShared();
+		String ret = shared == null ? null : shared.get("tarski:" + command);
+		if (ret != null) {
+			tarskiResultCache.put(command, ret);
+			return ret;
+		}
+		ret = eval(command);
 
 		// Handle erroneous results:
 		if (ret.contains("Exception")) {
 			ret = ""; // TODO: consider calling reinit()
+		} else if (shared != null) {
+			shared.put("tarski:" + command, ret);
 		}
 
 		tarskiResultCache.put(command, ret);
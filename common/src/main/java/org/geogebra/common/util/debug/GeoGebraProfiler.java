@@ -1,5 +1,13 @@
 package org.geogebra.common.util.debug;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.geogebra.common.factories.UtilFactory;
+
 /**
  * Use GeoGebraProfiler's add methods to add the time it took to finish
  * an operation, such as a repaint or a cascade update.
@@ -20,8 +28,28 @@ public class GeoGebraProfiler {
 	private static volatile long eventTime;
 	private static volatile long cascadeTime;
 
+	private static volatile boolean algoProfiling;
+	private static final HashMap<String, AlgoUpdates> algoUpdates = new HashMap<>();
+	private static volatile boolean viewProfiling;
+	private static final HashMap<String, ViewDeliveries> viewDeliveries = new HashMap<>();
+
 	private static final Object lock = new Object();
 
+	private static class AlgoUpdates {
+		private int updates;
+		private int skips;
+		private double time;
+	}
+
+	private static class ViewDeliveries {
+		private int notifications;
+		private int calls;
+		private int deliveries;
+		private double latency;
+		private double maxLatency;
+		private double time;
+	}
+
 	/**
 	 * Display performance data about drags and repaints
 	 */
@@ -65,6 +93,218 @@ public class GeoGebraProfiler {
 		}
 	}
 
+	/**
+	 * Display performance data about algorithm updates in update cascades,
+	 * sorted by total time per algorithm class
+	 */
+	public static void printAlgoMeasurementData() {
+		ArrayList<Map.Entry<String, AlgoUpdates>> entries;
+		synchronized (lock) {
+			entries = new ArrayList<>(algoUpdates.entrySet());
+		}
+		Collections.sort(entries,
+				new Comparator<Map.Entry<String, AlgoUpdates>>() {
+					@Override
+					public int compare(Map.Entry<String, AlgoUpdates> o1,
+							Map.Entry<String, AlgoUpdates> o2) {
+						return Double.compare(o2.getValue().time,
+								o1.getValue().time);
+					}
+				});
+		StringBuilder sb = new StringBuilder("Profile Algos:");
+		for (Map.Entry<String, AlgoUpdates> entry : entries) {
+			AlgoUpdates data = entry.getValue();
+			sb.append("\n");
+			sb.append(entry.getKey());
+			sb.append(": ");
+			sb.append(data.updates);
+			sb.append(" x ");
+			sb.append(data.updates > 0 ? data.time / data.updates : 0);
+			sb.append(" = ");
+			sb.append(data.time);
+			sb.append(" ms, skipped ");
+			sb.append(data.skips);
+		}
+		Log.debug(sb.toString());
+	}
+
+	/**
+	 * @param profiling
+	 *            whether to measure algorithm updates in update cascades;
+	 *            collected data is cleared
+	 */
+	public static void setAlgoProfiling(boolean profiling) {
+		synchronized (lock) {
+			algoUpdates.clear();
+			algoProfiling = profiling;
+		}
+	}
+
+	/**
+	 * @return whether algorithm updates in update cascades are measured
+	 */
+	public static boolean isAlgoProfiling() {
+		return algoProfiling;
+	}
+
+	/**
+	 * Display performance data about notifications of views, sorted by total
+	 * time per view class
+	 */
+	public static void printViewMeasurementData() {
+		ArrayList<Map.Entry<String, ViewDeliveries>> entries;
+		synchronized (lock) {
+			entries = new ArrayList<>(viewDeliveries.entrySet());
+		}
+		Collections.sort(entries,
+				new Comparator<Map.Entry<String, ViewDeliveries>>() {
+					@Override
+					public int compare(Map.Entry<String, ViewDeliveries> o1,
+							Map.Entry<String, ViewDeliveries> o2) {
+						return Double.compare(o2.getValue().time,
+								o1.getValue().time);
+					}
+				});
+		StringBuilder sb = new StringBuilder("Profile Views:");
+		for (Map.Entry<String, ViewDeliveries> entry : entries) {
+			ViewDeliveries data = entry.getValue();
+			sb.append("\n");
+			sb.append(entry.getKey());
+			sb.append(": ");
+			sb.append(data.notifications);
+			sb.append(" notifications, ");
+			sb.append(data.calls);
+			sb.append(" calls = ");
+			sb.append(data.time);
+			sb.append(" ms, latency ");
+			sb.append(data.deliveries > 0 ? data.latency / data.deliveries : 0);
+			sb.append(" ms (max ");
+			sb.append(data.maxLatency);
+			sb.append(" ms)");
+		}
+		Log.debug(sb.toString());
+	}
+
+	/**
+	 * @param profiling
+	 *            whether to measure delivery of notifications to views;
+	 *            collected data is cleared
+	 */
+	public static void setViewProfiling(boolean profiling) {
+		synchronized (lock) {
+			viewDeliveries.clear();
+			viewProfiling = profiling;
+		}
+	}
+
+	/**
+	 * @return whether delivery of notifications to views is measured
+	 */
+	public static boolean isViewProfiling() {
+		return viewProfiling;
+	}
+
+	/**
+	 * @param viewClass
+	 *            view class
+	 * @param notifications
+	 *            number of notifications for the view
+	 * @param calls
+	 *            number of view callbacks after merging repeated notifications
+	 * @param latency
+	 *            time between the oldest notification and the end of delivery
+	 * @param time
+	 *            duration of the view callbacks
+	 */
+	public static void addViewDelivery(String viewClass, int notifications,
+			int calls, double latency, double time) {
+		synchronized (lock) {
+			ViewDeliveries data = viewDeliveries.get(viewClass);
+			if (data == null) {
+				data = new ViewDeliveries();
+				viewDeliveries.put(viewClass, data);
+			}
+			data.notifications += notifications;
+			data.calls += calls;
+			data.deliveries++;
+			data.latency += latency;
+			data.maxLatency = Math.max(data.maxLatency, latency);
+			data.time += time;
+		}
+	}
+
+	/**
+	 * @param viewClass
+	 *            view class
+	 * @return number of notifications and view callbacks since profiling was
+	 *         enabled
+	 */
+	public static int[] getViewDeliveryCount(String viewClass) {
+		synchronized (lock) {
+			ViewDeliveries data = viewDeliveries.get(viewClass);
+			return data == null ? new int[2]
+					: new int[] { data.notifications, data.calls };
+		}
+	}
+
+	/**
+	 * @return current time in milliseconds, with high resolution if the
+	 *         platform supports it
+	 */
+	public static double getMillisecondTime() {
+		UtilFactory factory = UtilFactory.getPrototype();
+		return factory == null ? System.currentTimeMillis()
+				: factory.getMillisecondTime();
+	}
+
+	/**
+	 * @param algoClass
+	 *            algorithm class
+	 * @param time
+	 *            update duration
+	 */
+	public static void addAlgoUpdate(String algoClass, double time) {
+		synchronized (lock) {
+			AlgoUpdates data = getAlgoUpdates(algoClass);
+			data.updates++;
+			data.time += time;
+		}
+	}
+
+	/**
+	 * @param algoClass
+	 *            algorithm class of an update skipped because no input
+	 *            changed
+	 */
+	public static void addAlgoSkip(String algoClass) {
+		synchronized (lock) {
+			getAlgoUpdates(algoClass).skips++;
+		}
+	}
+
+	/**
+	 * @param algoClass
+	 *            algorithm class
+	 * @return number of updates and skipped updates of the class since
+	 *         profiling was enabled
+	 */
+	public static int[] getAlgoUpdateCount(String algoClass) {
+		synchronized (lock) {
+			AlgoUpdates data = algoUpdates.get(algoClass);
+			return data == null ? new int[2]
+					: new int[] { data.updates, data.skips };
+		}
+	}
+
+	private static AlgoUpdates getAlgoUpdates(String algoClass) {
+		AlgoUpdates data = algoUpdates.get(algoClass);
+		if (data == null) {
+			data = new AlgoUpdates();
+			algoUpdates.put(algoClass, data);
+		}
+		return data;
+	}
+
 	/**
 	 * Log a repaint
 	 * 
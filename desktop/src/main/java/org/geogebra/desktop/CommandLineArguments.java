@@ -131,6 +131,29 @@ public class CommandLineArguments {
 		return strValue.equalsIgnoreCase("true");
 	}
 
+	/**
+	 * Returns the integer value of the requested argument.
+	 * 
+	 * @param name
+	 *            the argument
+	 * @param defaultValue
+	 *            default value if not defined
+	 * @return The integer value or "default" in case this argument is missing
+	 *         or has an invalid format.
+	 */
+	public int getIntValue(String name, int defaultValue) {
+		String strValue = args.get(StringUtil.toLowerCaseUS(name));
+
+		if (strValue == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(strValue.trim());
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
 	/**
 	 * Check if the requested argument is a boolean ie the value is "true" or
 	 * "false" (lettercase ignored).
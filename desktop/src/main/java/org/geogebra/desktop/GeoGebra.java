@@ -17,6 +17,7 @@ import java.awt.Toolkit;
 import java.net.URL;
 
 import org.geogebra.common.GeoGebraConstants;
+import org.geogebra.common.jre.cas.giac.GiacSessionPool;
 import org.geogebra.common.main.GeoGebraPreferencesXML;
 import org.geogebra.common.util.Util;
 import org.geogebra.common.util.debug.Log;
@@ -84,7 +85,15 @@ public class GeoGebra {
 		}
 		if (args.containsArg("startHttpServer")) {
 			Log.error("startHttpServer");
-			new GeoGebraServer(args.getStringValue("startHttpServer")).start();
+			int serverThreads = args.getIntValue("serverThreads", 1);
+			GiacSessionPool giac = GiacSessionPool.getInstance();
+			giac.setSize(args.getIntValue("giacSessions",
+					Math.max(giac.getSize(), serverThreads)));
+			AppD.setResultCacheFile(args.getStringValue("resultCache"));
+			new GeoGebraServer(args.getStringValue("startHttpServer"),
+					serverThreads,
+					args.getIntValue("serverQueue", 0),
+					args.getIntValue("serverTimeout", 0) * 1000L).start();
 			return;
 		}
 		if (args.containsArg("help") || args.containsArg("proverhelp")
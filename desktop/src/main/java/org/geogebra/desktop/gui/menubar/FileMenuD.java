@@ -14,7 +14,9 @@ import javax.swing.KeyStroke;
 import org.geogebra.common.export.pstricks.GeoGebraToAsymptote;
 import org.geogebra.common.geogebra3D.euclidian3D.printer3D.FormatCollada;
 import org.geogebra.common.geogebra3D.euclidian3D.printer3D.FormatColladaHTML;
+import org.geogebra.common.geogebra3D.euclidian3D.printer3D.FormatGLB;
 import org.geogebra.common.geogebra3D.euclidian3D.printer3D.FormatSTL;
+import org.geogebra.common.geogebra3D.euclidian3D.printer3D.FormatSTLBinary;
 import org.geogebra.common.move.events.BaseEvent;
 import org.geogebra.common.move.ggtapi.TubeAvailabilityCheckEvent;
 import org.geogebra.common.move.views.EventRenderable;
@@ -45,7 +47,8 @@ class FileMenuD extends BaseMenu implements EventRenderable {
 			loadAction, loadURLAction, exportWorksheet, shareAction,
 			exportGraphicAction, exportAnimationAction, exportPgfAction,
 			exportPSTricksAction, exportAsymptoteAction,
-			exportSTLaction, exportColladaAction, exportColladaHTMLAction,
+			exportSTLaction, exportSTLBinaryAction, exportColladaAction,
+			exportColladaHTMLAction, exportGLBAction,
 			exportCASHtmlAction, exportCASLatexAction, exportCASMapleAction, exportCASMathematicaAction, exportCASGiacAction;
 	/** load from MAT item */
 	JMenuItem loadURLMenuItem;
@@ -166,10 +169,12 @@ class FileMenuD extends BaseMenu implements EventRenderable {
 		submenu.add(exportAsymptoteAction);
 		if (app.isPrerelease()) {
 			submenu.add(exportSTLaction);
+			submenu.add(exportSTLBinaryAction);
 		}
 		if (app.is3D()) {
 			submenu.add(exportColladaAction);
 			submenu.add(exportColladaHTMLAction);
+			submenu.add(exportGLBAction);
 		}
 		submenu.addSeparator();
 		submenu.add(exportCASHtmlAction);
@@ -531,6 +536,20 @@ class FileMenuD extends BaseMenu implements EventRenderable {
 					}
 				}
 			};
+
+			exportSTLBinaryAction = new AbstractAction(
+					"STL (binary)" + Unicode.ELLIPSIS, app.getEmptyIcon()) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					try {
+						app.setExport3D(new FormatSTLBinary());
+					} catch (Exception ex) {
+						Log.debug("Problem exporting to STL");
+					}
+				}
+			};
 		}
 
 		if (app.is3D()) {
@@ -562,6 +581,20 @@ class FileMenuD extends BaseMenu implements EventRenderable {
 					}
 				}
 			};
+
+			exportGLBAction = new AbstractAction(
+					"glTF (glb)" + Unicode.ELLIPSIS, app.getEmptyIcon()) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					try {
+						app.setExport3D(new FormatGLB());
+					} catch (Exception ex) {
+						Log.debug("Export to glTF not available");
+					}
+				}
+			};
 		}
 
 		exportCASHtmlAction = new AbstractAction(loc.getMenuDefault("ExportCASHtml",
@@ -54,6 +54,7 @@ import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
 import java.awt.image.BufferedImage;
 import java.awt.image.MemoryImageSource;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
@@ -65,10 +66,12 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
+import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
@@ -139,6 +142,7 @@ import org.geogebra.common.io.layout.DockPanelData;
 import org.geogebra.common.io.layout.Perspective;
 import org.geogebra.common.io.layout.PerspectiveDecoder;
 import org.geogebra.common.javax.swing.GImageIcon;
+import org.geogebra.common.jre.cas.giac.GiacSessionPool;
 import org.geogebra.common.jre.factory.FormatFactoryJre;
 import org.geogebra.common.jre.gui.MyImageJre;
 import org.geogebra.common.jre.headless.AppDI;
@@ -146,6 +150,7 @@ import org.geogebra.common.jre.kernel.commands.CommandDispatcher3DJre;
 import org.geogebra.common.jre.kernel.commands.CommandDispatcherJre;
 import org.geogebra.common.jre.main.TemplateHelper;
 import org.geogebra.common.jre.util.Base64;
+import org.geogebra.common.jre.util.DiskResultCache;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.Macro;
@@ -154,6 +159,7 @@ import org.geogebra.common.kernel.geos.AnimationExportSlider;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoElementGraphicsAdapter;
 import org.geogebra.common.kernel.geos.GeoImage;
+import org.geogebra.common.kernel.prover.ProofWorkers;
 import org.geogebra.common.main.App;
 import org.geogebra.common.main.DialogManager;
 import org.geogebra.common.main.MyError.Errors;
@@ -171,6 +177,7 @@ import org.geogebra.common.move.ggtapi.models.json.JSONObject;
 import org.geogebra.common.move.ggtapi.models.json.JSONTokener;
 import org.geogebra.common.plugin.ScriptManager;
 import org.geogebra.common.util.AsyncOperation;
+import org.geogebra.common.util.BinaryExport;
 import org.geogebra.common.util.Charsets;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.FileExtensions;
@@ -178,6 +185,7 @@ import org.geogebra.common.util.GTimer;
 import org.geogebra.common.util.GTimerListener;
 import org.geogebra.common.util.LowerCaseDictionary;
 import org.geogebra.common.util.NormalizerMinimal;
+import org.geogebra.common.util.ResultCache;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.Util;
 import org.geogebra.common.util.debug.Log;
@@ -231,6 +239,7 @@ import org.geogebra.desktop.main.settings.updater.FontSettingsUpdaterD;
 import org.geogebra.desktop.main.undo.UndoManagerD;
 import org.geogebra.desktop.move.ggtapi.models.LoginOperationD;
 import org.geogebra.desktop.plugin.GgbAPID;
+import org.geogebra.desktop.plugin.ScriptCache;
 import org.geogebra.desktop.plugin.ScriptManagerD;
 import org.geogebra.desktop.sound.SoundManagerD;
 import org.geogebra.desktop.util.CopyPasteD;
@@ -241,6 +250,7 @@ import org.geogebra.desktop.util.ImageManagerD;
 import org.geogebra.desktop.util.ImageResourceD;
 import org.geogebra.desktop.util.LoggerD;
 import org.geogebra.desktop.util.Normalizer;
+import org.geogebra.desktop.util.ProofWorkersD;
 import org.geogebra.desktop.util.StringUtilD;
 import org.geogebra.desktop.util.UtilD;
 
@@ -291,6 +301,9 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 	 */
 	public static final int MAX_RECENT_FILES = 8;
 
+	/** size of the result cache file that triggers its compaction */
+	private static final long RESULT_CACHE_MAX_BYTES = 256L << 20;
+
 	// ==============================================================
 	// RESOURCE fields
 	// ==============================================================
@@ -752,6 +765,10 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 			StringUtil.setPrototypeIfNull(new StringUtilD());
 		}
 
+		if (ProofWorkers.getPrototype() == null) {
+			ProofWorkers.setPrototypeIfNull(new ProofWorkersD());
+		}
+
 	}
 
 	private static void handleHelpVersionArgs(CommandLineArguments args) {
@@ -799,8 +816,15 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 					+ "  --logFile=FILENAME\tset log file\n"
 					+ "  --silent\tCompletely mute logging\n"
 					+ "  --prover=OPTIONS\tset options for the prover subsystem (use --proverhelp for more information)\n"
+					+ "  --resultCache=FILE\tkeep prover and Tarski results in a file that running instances share\n"
+					+ "  --giacSessions=NUMBER\tnumber of parallel Giac sessions [number of processors, at most 4]\n"
+					+ "  --scriptOptimization=LEVEL\tRhino optimization level of JavaScript, -1 for the interpreter [0]\n"
 					+ "  --singularWS=OPTIONS\tset options for SingularWS (use --singularWShelp for more information)\n"
 					+ "  --realgeomWS=OPTIONS\tset options for RealGeomWS (use --realgeomWShelp for more information)\n"
+					+ "  --startHttpServer=SECRET\tstart a JSON API server on port 8000 instead of the GUI\n"
+					+ "  --serverThreads=NUMBER\tnumber of parallel headless instances of the server [1]\n"
+					+ "  --serverQueue=NUMBER\tmaximal number of waiting requests of the server [4 per thread]\n"
+					+ "  --serverTimeout=SECS\tdeadline of a server request in seconds [60]\n"
 					+ "  --console\tstart console mode\n"
 					+ "  --texmacs\tstart TeXmacs mode (implies --console)"
 			);
@@ -842,6 +866,18 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 							+ "      captionalgebra:BOOLEAN\tshow algebraic debug information in object captions ["
 							+ proverSettings.captionAlgebra
 							+ "] (Botana only)\n"
+							+ "      portfolio:BOOLEAN\trun the engines concurrently and take the first definitive result ["
+							+ proverSettings.portfolio
+							+ "] (Auto only)\n"
+							+ "      cachehypotheses:BOOLEAN\treuse the polynomials of unchanged objects in subsequent proofs ["
+							+ proverSettings.cacheHypotheses
+							+ "] (Botana only)\n"
+							+ "      discoveryworkers:NUMBER\tprove the conjectures of Discover on at most NUMBER copies of the construction concurrently ["
+							+ proverSettings.discoveryWorkers + "]\n"
+							+ "      discoverytimeout:SECS\tset the maximum time of a whole Discover run (in seconds, 0 means no limit) ["
+							+ proverSettings.discoveryTimeout + "]\n"
+							+ "      async:BOOLEAN\tcompute Prove and ProveDetails in the background, the result is undefined until the proof is finished ["
+							+ proverSettings.asyncProofs + "]\n"
 							+ "  Example: --prover=engine:Botana,timeout:10,fpnevercoll:true,usefixcoords:43\n");
 			AppD.exit(0);
 		}
@@ -1146,6 +1182,27 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 
 	}
 
+	/**
+	 * Makes the prover and Tarski results persistent in the given file. The
+	 * file can be shared by several running instances.
+	 *
+	 * @param file
+	 *            cache file, empty to keep results in memory only
+	 */
+	public static void setResultCacheFile(String file) {
+		if (file == null || file.isEmpty()) {
+			ResultCache.setShared(null);
+			return;
+		}
+		try {
+			ResultCache.setShared(new DiskResultCache(Paths.get(file),
+					RESULT_CACHE_MAX_BYTES));
+		} catch (IOException e) {
+			Log.error("Cannot open result cache " + file + ": "
+					+ e.getMessage());
+		}
+	}
+
 	@SuppressFBWarnings({ "DM_EXIT", "" })
 	public static void exit(int i) {
 		endTarski();
@@ -1257,6 +1314,26 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 			proverSettings.captionAlgebra = Boolean.parseBoolean(str[1]);
 			return;
 		}
+		if ("portfolio".equalsIgnoreCase(str[0])) {
+			proverSettings.portfolio = Boolean.parseBoolean(str[1]);
+			return;
+		}
+		if ("cachehypotheses".equalsIgnoreCase(str[0])) {
+			proverSettings.cacheHypotheses = Boolean.parseBoolean(str[1]);
+			return;
+		}
+		if ("discoveryworkers".equalsIgnoreCase(str[0])) {
+			proverSettings.discoveryWorkers = Integer.parseInt(str[1]);
+			return;
+		}
+		if ("discoverytimeout".equalsIgnoreCase(str[0])) {
+			proverSettings.discoveryTimeout = Integer.parseInt(str[1]);
+			return;
+		}
+		if ("async".equalsIgnoreCase(str[0])) {
+			proverSettings.asyncProofs = Boolean.parseBoolean(str[1]);
+			return;
+		}
 		Log.warn("Prover option not recognized: ".concat(option));
 	}
 
@@ -1381,6 +1458,19 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 		if (args.containsArg("regressionFile")) {
 			this.regressionFileName = args.getStringValue("regressionFile");
 		}
+		if (args.containsArg("resultCache")) {
+			setResultCacheFile(args.getStringValue("resultCache"));
+		}
+		if (args.containsArg("giacSessions")) {
+			GiacSessionPool.getInstance().setSize(args.getIntValue(
+					"giacSessions", GiacSessionPool.getInstance().getSize()));
+		}
+		if (args.containsArg("scriptOptimization")) {
+			ScriptCache cache = ((ScriptManagerD) getScriptManager())
+					.getScriptCache();
+			cache.setOptimizationLevel(args.getIntValue("scriptOptimization",
+					cache.getOptimizationLevel()));
+		}
 		if (args.containsArg("prover")) {
 			String[] proverOptions = args.getStringValue("prover").split(",");
 			for (int i = 0; i < proverOptions.length; i++) {
@@ -5369,56 +5459,12 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 	@Override
 	public void exportStringToFile(String ext, String content) {
 		try {
-			StringBuilder fileName = new StringBuilder();
-
-
-			if (this.getCurrentFile() != null) {
-				String thisFileName = removeExtension(this.getCurrentFile()).getName();
-				fileName.append(thisFileName);
-			} else {
-				fileName.append("geogebra-export");
-			}
-			fileName.append("." + ext);
-
-			JFrame parentFrame = new JFrame();
-
-			UIManager.put("OptionPane.yesButtonText", loc.getMenu("Overwrite"));
-			UIManager.put("OptionPane.noButtonText", loc.getMenu("DontOverwrite"));
-			UIManager.put("OptionPane.cancelButtonText", loc.getMenu("Cancel"));
-
-			JFileChooser fileChooser = new JFileChooser() {
-				@Override
-				public void approveSelection(){
-					File f = getSelectedFile();
-					if(f.exists() && getDialogType() == SAVE_DIALOG){
-						int result = JOptionPane.showConfirmDialog(this,
-								loc.getMenu("OverwriteFile"),loc.getMenu("Question"),
-								JOptionPane.YES_NO_CANCEL_OPTION);
-						switch(result){
-						case JOptionPane.YES_OPTION:
-							super.approveSelection();
-							return;
-						case JOptionPane.NO_OPTION:
-							return;
-						case JOptionPane.CLOSED_OPTION:
-							return;
-						case JOptionPane.CANCEL_OPTION:
-							cancelSelection();
-							return;
-						}
-					}
-					super.approveSelection();
-				}
-			};
-			fileChooser.setDialogTitle(loc.getMenu("Export"));
-			fileChooser.setSelectedFile(new File(fileName.toString()));
-			int userSelection = fileChooser.showSaveDialog(parentFrame);
-			if (userSelection == JFileChooser.APPROVE_OPTION) {
-				File fileToSave = fileChooser.getSelectedFile();
+			File fileToSave = chooseExportFile(ext);
+			if (fileToSave != null) {
 				BufferedWriter objBufferedWriter = new BufferedWriter(
 						new OutputStreamWriter(new FileOutputStream(fileToSave),
 								"UTF-8"));
-				Log.debug("Export to " + fileName);
+				Log.debug("Export to " + fileToSave.getName());
 				objBufferedWriter.write(content);
 				objBufferedWriter.close();
 			}
@@ -5430,6 +5476,77 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 			e.printStackTrace();
 		}
 	}
+
+	@Override
+	public void exportBinaryToFile(String ext, BinaryExport content) {
+		File fileToSave = chooseExportFile(ext);
+		if (fileToSave == null) {
+			return;
+		}
+		Log.debug("Export to " + fileToSave.getName());
+		try (OutputStream out = new BufferedOutputStream(
+				new FileOutputStream(fileToSave))) {
+			content.writeTo(out);
+		} catch (IOException e) {
+			Log.error("Export failed: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * @param ext
+	 *            extension
+	 * @return file chosen by the user, null if cancelled
+	 */
+	private File chooseExportFile(String ext) {
+		StringBuilder fileName = new StringBuilder();
+
+
+		if (this.getCurrentFile() != null) {
+			String thisFileName = removeExtension(this.getCurrentFile()).getName();
+			fileName.append(thisFileName);
+		} else {
+			fileName.append("geogebra-export");
+		}
+		fileName.append("." + ext);
+
+		JFrame parentFrame = new JFrame();
+
+		UIManager.put("OptionPane.yesButtonText", loc.getMenu("Overwrite"));
+		UIManager.put("OptionPane.noButtonText", loc.getMenu("DontOverwrite"));
+		UIManager.put("OptionPane.cancelButtonText", loc.getMenu("Cancel"));
+
+		JFileChooser fileChooser = new JFileChooser() {
+			@Override
+			public void approveSelection(){
+				File f = getSelectedFile();
+				if(f.exists() && getDialogType() == SAVE_DIALOG){
+					int result = JOptionPane.showConfirmDialog(this,
+							loc.getMenu("OverwriteFile"),loc.getMenu("Question"),
+							JOptionPane.YES_NO_CANCEL_OPTION);
+					switch(result){
+					case JOptionPane.YES_OPTION:
+						super.approveSelection();
+						return;
+					case JOptionPane.NO_OPTION:
+						return;
+					case JOptionPane.CLOSED_OPTION:
+						return;
+					case JOptionPane.CANCEL_OPTION:
+						cancelSelection();
+						return;
+					}
+				}
+				super.approveSelection();
+			}
+		};
+		fileChooser.setDialogTitle(loc.getMenu("Export"));
+		fileChooser.setSelectedFile(new File(fileName.toString()));
+		int userSelection = fileChooser.showSaveDialog(parentFrame);
+		if (userSelection == JFileChooser.APPROVE_OPTION) {
+			return fileChooser.getSelectedFile();
+		}
+		return null;
+	}
 	
 	@Override
 	public void handleImageExport(String base64image) {
@@ -4,7 +4,21 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.net.InetSocketAddress;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.geogebra.common.jre.cas.giac.GiacSessionPool;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.ExpressionNodeConstants.StringType;
 import org.geogebra.common.main.App;
@@ -12,6 +26,7 @@ import org.geogebra.common.move.ggtapi.models.json.JSONArray;
 import org.geogebra.common.move.ggtapi.models.json.JSONException;
 import org.geogebra.common.move.ggtapi.models.json.JSONObject;
 import org.geogebra.common.plugin.GgbAPI;
+import org.geogebra.common.util.ResultCache;
 import org.geogebra.common.util.debug.Log;
 import org.geogebra.desktop.headless.AppDNoGui;
 import org.geogebra.desktop.util.HttpRequestD;
@@ -20,132 +35,444 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 
+/**
+ * Simple HTTP server that evaluates JSON command lists.
+ *
+ * Requests are dispatched to a pool of pre-warmed headless apps (CAS and
+ * Tarski already loaded), so independent clients can be served in parallel.
+ * The number of waiting requests is bounded, each request has a deadline,
+ * and some counters are available at /v0.1/stats.
+ */
 public class GeoGebraServer {
 
-	App app;
-	GgbAPI api;
+	/** default port */
+	public static final int DEFAULT_PORT = 8000;
+	/** default per-request deadline in milliseconds */
+	public static final long DEFAULT_TIMEOUT_MILLIS = 60000;
+
 	String secret;
+	private final int poolSize;
+	private final int queueCapacity;
+	final long timeoutMillis;
+
+	/** idle headless apps */
+	final BlockingQueue<ServerInstance> idle;
+	final ThreadPoolExecutor workers;
+	private final ExecutorService replacer;
+	private HttpServer server;
+	/** number of workers blocked by requests that timed out */
+	private int abandonedWorkers;
+
+	final AtomicLong received = new AtomicLong();
+	final AtomicLong completed = new AtomicLong();
+	final AtomicLong failed = new AtomicLong();
+	final AtomicLong rejected = new AtomicLong();
+	final AtomicLong timedOut = new AtomicLong();
+	final AtomicLong totalMillis = new AtomicLong();
+	private final long startTime = System.currentTimeMillis();
+
+	/**
+	 * One headless app with its API.
+	 */
+	static class ServerInstance {
+		final App app;
+		final GgbAPI api;
+
+		ServerInstance(App app) {
+			this.app = app;
+			api = app.getGgbApi();
+		}
+	}
 
+	/**
+	 * Creates a server with a single worker (the original behavior).
+	 *
+	 * @param secret
+	 *            shared secret expected in requests (null to accept all)
+	 */
 	public GeoGebraServer(String secret) {
-		this.app = new AppDNoGui(new LocalizationD(3), false);
-		api = app.getGgbApi();
+		this(secret, 1, 0, DEFAULT_TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * @param secret
+	 *            shared secret expected in requests (null to accept all)
+	 * @param poolSize
+	 *            number of headless apps working in parallel (at least 1)
+	 * @param queueCapacity
+	 *            maximal number of requests waiting for a free app; 0 means
+	 *            4 times the pool size
+	 * @param timeoutMillis
+	 *            deadline of a request (including waiting) in milliseconds
+	 */
+	public GeoGebraServer(String secret, int poolSize, int queueCapacity,
+			long timeoutMillis) {
 		this.secret = secret;
+		this.poolSize = Math.max(1, poolSize);
+		this.queueCapacity = queueCapacity > 0 ? queueCapacity
+				: 4 * this.poolSize;
+		this.timeoutMillis = timeoutMillis > 0 ? timeoutMillis
+				: DEFAULT_TIMEOUT_MILLIS;
+		idle = new LinkedBlockingQueue<>();
+		for (int i = 0; i < this.poolSize; i++) {
+			idle.add(createInstance());
+		}
+		workers = new ThreadPoolExecutor(this.poolSize, this.poolSize, 0L,
+				TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(this.queueCapacity));
+		replacer = Executors.newSingleThreadExecutor();
+	}
+
+	/**
+	 * @return new headless app with CAS and Tarski loaded
+	 */
+	ServerInstance createInstance() {
+		App app = new AppDNoGui(new LocalizationD(3), false);
+		// warm up CAS and Tarski so that the first request is not slow
+		app.getKernel().evaluateGeoGebraCAS("1+1", null,
+				StringTemplate.defaultTemplate);
+		app.checkTarski();
+		return new ServerInstance(app);
 	}
 
 	public void start() {
-		HttpServer server;
+		start(DEFAULT_PORT);
+	}
+
+	/**
+	 * @param port
+	 *            TCP port to listen on
+	 */
+	public void start(int port) {
 		try {
-			server = HttpServer.create(new InetSocketAddress(8000), 0);
+			server = HttpServer.create(new InetSocketAddress(port), 0);
 			server.createContext("/v0.1/json", new MyHandlerJSON());
+			server.createContext("/v0.1/stats", new MyHandlerStats());
+			// exchanges only wait for workers, so the number of waiting
+			// threads is bounded by the pool and the queue
+			server.setExecutor(Executors.newCachedThreadPool());
 			server.start();
+			Log.debug("Server started with " + poolSize + " worker(s), queue "
+					+ queueCapacity + ", timeout " + timeoutMillis + " ms");
 		} catch (IOException e) {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
 		}
 	}
 
-	class MyHandlerJSON implements HttpHandler {
+	/**
+	 * Stops the HTTP server and the workers.
+	 */
+	public void stop() {
+		if (server != null) {
+			server.stop(0);
+		}
+		workers.shutdownNow();
+		replacer.shutdownNow();
+	}
+
+	/**
+	 * @return statistics of the server
+	 */
+	public JSONObject getStatistics() {
+		JSONObject stats = new JSONObject();
+		try {
+			long done = completed.get();
+			stats.put("poolSize", poolSize);
+			stats.put("queueCapacity", queueCapacity);
+			stats.put("queueDepth",
+					workers.getQueue().size());
+			stats.put("active", workers.getActiveCount());
+			stats.put("idleInstances", idle.size());
+			stats.put("received", received.get());
+			stats.put("completed", done);
+			stats.put("failed", failed.get());
+			stats.put("rejected", rejected.get());
+			stats.put("timedOut", timedOut.get());
+			stats.put("averageMillis",
+					done == 0 ? 0 : totalMillis.get() / done);
+			long uptime = Math.max(1, System.currentTimeMillis() - startTime);
+			stats.put("throughputPerSecond", done * 1000.0 / uptime);
+			GiacSessionPool giac = GiacSessionPool.getInstance();
+			JSONObject giacStats = new JSONObject();
+			giacStats.put("size", giac.getSize());
+			giacStats.put("sessions", giac.getSessionCount());
+			giacStats.put("busy", giac.getBusyCount());
+			giacStats.put("peakBusy", giac.getPeakBusyCount());
+			giacStats.put("evaluations", giac.getCheckoutCount());
+			giacStats.put("waited", giac.getWaitCount());
+			giacStats.put("averageWaitMillis", giac.getAverageWaitMillis());
+			giacStats.put("maxWaitMillis", giac.getMaxWaitMillis());
+			giacStats.put("timedOut", giac.getTimeoutCount());
+			giacStats.put("utilization", giac.getUtilization());
+			stats.put("giac", giacStats);
+			ResultCache cache = ResultCache.getShared();
+			if (cache != null) {
+				JSONObject cacheStats = new JSONObject();
+				cacheStats.put("entries", cache.getSize());
+				cacheStats.put("hits", cache.getHits());
+				cacheStats.put("misses", cache.getMisses());
+				stats.put("resultCache", cacheStats);
+			}
+		} catch (JSONException e) {
+			Log.debug(e);
+		}
+		return stats;
+	}
+
+	class MyHandlerStats implements HttpHandler {
 		@Override
 		public void handle(HttpExchange t) throws IOException {
+			writeOutput(t, getStatistics().toString(), false);
+		}
+	}
 
-			app.reset();
-			api.setRounding("10");
+	class MyHandlerJSON implements HttpHandler {
+		@Override
+		public void handle(HttpExchange t) throws IOException {
+			long start = System.currentTimeMillis();
+			received.incrementAndGet();
 
 			boolean testing = false;
 
 			String inputJSON = null;
-			String result;
 			try {
 				inputJSON = HttpRequestD.readOutput(t.getRequestBody());
 
-				
-				
 				if (inputJSON == null) {
 					// ? syntax eg
 					// http://localhost:8000/test?123=456
 					inputJSON = t.getRequestURI().getQuery();
 					testing = true;
 				}
+			} catch (Throwable e) {
+				failed.incrementAndGet();
+				Log.error(e);
+				writeError(t, e.getMessage(), testing);
+				return;
+			}
+
+			Log.debug(inputJSON);
+			try {
+				String result = compute(inputJSON);
+				completed.incrementAndGet();
+				totalMillis.addAndGet(System.currentTimeMillis() - start);
+				writeOutput(t, result, testing);
+			} catch (RejectedExecutionException e) {
+				rejected.incrementAndGet();
+				writeError(t, "Server busy", testing);
+			} catch (TimeoutException e) {
+				writeError(t, "Timeout", testing);
+			} catch (ExecutionException e) {
+				failed.incrementAndGet();
+				Throwable cause = e.getCause() == null ? e : e.getCause();
+				Log.error(cause);
+				Log.debug(inputJSON);
+				writeError(t, cause.getMessage(), testing);
+			} catch (InterruptedException e) {
+				failed.incrementAndGet();
+				Thread.currentThread().interrupt();
+				writeError(t, "Interrupted", testing);
+			}
+		}
+	}
 
-				Log.error(inputJSON);
-				JSONObject topLevel = new JSONObject(inputJSON);
-				if (secret != null) {
-					Log.debug("secret = " + topLevel.get("secret"));
+	/**
+	 * Evaluates a request on a pooled app.
+	 *
+	 * @param inputJSON
+	 *            request
+	 * @return JSON result
+	 * @throws RejectedExecutionException
+	 *             if the queue is full
+	 * @throws TimeoutException
+	 *             if the request is not done before the deadline
+	 * @throws ExecutionException
+	 *             if the evaluation failed
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the result
+	 */
+	String compute(String inputJSON) throws TimeoutException,
+			ExecutionException, InterruptedException {
+		EvaluationTask task = new EvaluationTask(inputJSON);
+		Future<String> future = workers.submit(task);
+		try {
+			return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			timedOut.incrementAndGet();
+			task.abandon();
+			future.cancel(true);
+			throw e;
+		}
+	}
 
-					if (!secret.equals(topLevel.get("secret"))) {
-						writeError(t, "Wrong secret", testing);
-						return;
-					}
+	/**
+	 * Evaluates one request on a pooled app. The app goes back to the pool
+	 * only if the evaluation ended normally or with invalid input; after any
+	 * other failure or a timeout the app is replaced by a fresh one.
+	 */
+	class EvaluationTask implements Callable<String> {
+		private final String inputJSON;
+		/** app used by the running evaluation */
+		private ServerInstance instance;
+		private boolean abandoned;
+
+		EvaluationTask(String inputJSON) {
+			this.inputJSON = inputJSON;
+		}
 
+		@Override
+		public String call() throws Exception {
+			ServerInstance taken = idle.take();
+			synchronized (this) {
+				if (abandoned) {
+					idle.add(taken);
+					return null;
 				}
-				JSONArray json = topLevel.getJSONArray("commands");
-				int i = 0;
-				JSONArray results = new JSONArray();
-				while (i < json.length()) {
-					Object testVal = json.opt(i);
-					if (!(testVal instanceof JSONObject)) {
-						Log.debug("Invalid JSON:" + testVal);
-						i++;
-						continue;
-					}
-					JSONObject test = (JSONObject) testVal;
-
-
-					
-					String cmd = test.get("cmd").toString();
-					String args = test.get("args").toString();
-					Log.debug("cmd = " + cmd);
-					Log.debug("args = " + args);
-
-					// Log.error(api.evalCommandCAS("Expand[(x+1)^2]"));
-
-					if ("evalCommand".equals(cmd)) {
-						api.evalCommand(args);
-					} else if ("evalLaTeX".equals(cmd)) {
-						api.evalLaTeX(args, 0);
-					} else if ("getValue".equals(cmd)) {
-						results.put(api.getValue(args));
-					} else if ("getValueString".equals(cmd)) {
-						results.put(api.getValueString(args, true));
-					} else if ("getLaTeXString".equals(cmd)) {
-						results.put(api.getLaTeXString(args));
-					} else if ("setRounding".equals(cmd)) {
-						api.setRounding(args);
-					} else if ("evalCommandCAS".equals(cmd)) {
-						results.put(api.evalCommandCAS(args));
-					} else if ("evalGeoGebraCAS".equals(cmd)) {
-						results.put(app.getKernel().evaluateGeoGebraCAS(args,
-								null, StringTemplate
-										.fullFigures(StringType.GEOGEBRA)));
-					} else if ("expressionEvaluatesToZero".equals(cmd)) {
-
-						String answer = app.getKernel().evaluateGeoGebraCAS(
-								"Simplify[" + args + "]", null,
-								StringTemplate.defaultTemplate);
-
-						results.put("0".equals(answer) ? "true" : "false");
-					}
-
-					i++;
+				instance = taken;
+			}
+			boolean reusable = false;
+			try {
+				String result = evaluate(taken, inputJSON);
+				reusable = true;
+				return result;
+			} catch (JSONException e) {
+				reusable = true;
+				throw e;
+			} finally {
+				release(reusable);
+			}
+		}
 
-				}
-				result = results.toString();
-			} catch (Throwable e) {
+		private synchronized void release(boolean reusable) {
+			if (abandoned) {
+				// replaced in abandon(), drop the app
+				resizeWorkers(-1);
+			} else if (reusable) {
+				idle.add(instance);
+			} else {
+				replaceInstance();
+			}
+			instance = null;
+		}
 
-				e.printStackTrace();
-				Log.debug(inputJSON);
-				writeError(t, e.getMessage(), testing);
-				return;
+		/**
+		 * Called when the deadline passed. Interrupting the worker does not
+		 * stop native code (Giac, Tarski), so the app is replaced at once and
+		 * an extra worker is started until the evaluation returns.
+		 */
+		synchronized void abandon() {
+			abandoned = true;
+			if (instance != null) {
+				replaceInstance();
+				resizeWorkers(1);
+			}
+		}
+	}
+
+	/**
+	 * Adds or removes workers standing in for blocked ones.
+	 *
+	 * @param delta
+	 *            change of the number of blocked workers
+	 */
+	synchronized void resizeWorkers(int delta) {
+		abandonedWorkers += delta;
+		int size = poolSize + abandonedWorkers;
+		if (delta > 0) {
+			workers.setMaximumPoolSize(size);
+			workers.setCorePoolSize(size);
+		} else {
+			workers.setCorePoolSize(size);
+			workers.setMaximumPoolSize(size);
+		}
+	}
+
+	void replaceInstance() {
+		replacer.execute(new Runnable() {
+			@Override
+			public void run() {
+				idle.add(createInstance());
+			}
+		});
+	}
+
+	/**
+	 * @param instance
+	 *            headless app
+	 * @param inputJSON
+	 *            request
+	 * @return JSON result
+	 * @throws JSONException
+	 *             for invalid input
+	 */
+	String evaluate(ServerInstance instance, String inputJSON)
+			throws JSONException {
+		App app = instance.app;
+		GgbAPI api = instance.api;
+
+		app.reset();
+		api.setRounding("10");
+
+		JSONObject topLevel = new JSONObject(inputJSON);
+		if (secret != null) {
+			Log.debug("secret = " + topLevel.get("secret"));
+
+			if (!secret.equals(topLevel.get("secret"))) {
+				throw new JSONException("Wrong secret");
+			}
+
+		}
+		JSONArray json = topLevel.getJSONArray("commands");
+		int i = 0;
+		JSONArray results = new JSONArray();
+		while (i < json.length()) {
+			Object testVal = json.opt(i);
+			if (!(testVal instanceof JSONObject)) {
+				Log.debug("Invalid JSON:" + testVal);
+				i++;
+				continue;
+			}
+			JSONObject test = (JSONObject) testVal;
+
+			String cmd = test.get("cmd").toString();
+			String args = test.get("args").toString();
+			Log.debug("cmd = " + cmd);
+			Log.debug("args = " + args);
+
+			if ("evalCommand".equals(cmd)) {
+				api.evalCommand(args);
+			} else if ("evalLaTeX".equals(cmd)) {
+				api.evalLaTeX(args, 0);
+			} else if ("getValue".equals(cmd)) {
+				results.put(api.getValue(args));
+			} else if ("getValueString".equals(cmd)) {
+				results.put(api.getValueString(args, true));
+			} else if ("getLaTeXString".equals(cmd)) {
+				results.put(api.getLaTeXString(args));
+			} else if ("setRounding".equals(cmd)) {
+				api.setRounding(args);
+			} else if ("evalCommandCAS".equals(cmd)) {
+				results.put(api.evalCommandCAS(args));
+			} else if ("evalGeoGebraCAS".equals(cmd)) {
+				results.put(app.getKernel().evaluateGeoGebraCAS(args, null,
+						StringTemplate.fullFigures(StringType.GEOGEBRA)));
+			} else if ("expressionEvaluatesToZero".equals(cmd)) {
+
+				String answer = app.getKernel().evaluateGeoGebraCAS(
+						"Simplify[" + args + "]", null,
+						StringTemplate.defaultTemplate);
+
+				results.put("0".equals(answer) ? "true" : "false");
 			}
 
-			// StringBuilder result = new StringBuilder("[");
+			i++;
 
-			writeOutput(t, result.toString(), testing);
-			
 		}
+		return results.toString();
 	}
 
-	private void writeOutput(HttpExchange t, String message, boolean testing) {
+	void writeOutput(HttpExchange t, String message, boolean testing) {
 		String encoding = "UTF-8";
 		try {
 			if (!testing) {
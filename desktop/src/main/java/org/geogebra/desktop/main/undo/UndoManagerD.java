@@ -99,7 +99,9 @@ public class UndoManagerD extends UndoManager {
 				try {
 					// perform the security-sensitive operation here
 					// save to file
-					AppState appStateToAdd = new FileAppState(undoXML);
+					AppState appStateToAdd = app.isUndoDeltaStates()
+							? createDeltaAppState(undoXML.toString())
+							: new FileAppState(undoXML);
 
 					// insert undo info
 					UndoCommand command = new UndoCommand(appStateToAdd);
@@ -133,10 +135,6 @@ public class UndoManagerD extends UndoManager {
 		InputStream is = null;
 
 		try {
-			// load from file
-			File tempFile = ((FileAppState) info).getFile();
-			is = new FileInputStream(tempFile);
-
 			// make sure objects are displayed in the correct View
 			app.setActiveView(App.VIEW_EUCLIDIAN);
 
@@ -170,7 +168,14 @@ public class UndoManagerD extends UndoManager {
 
 			// load undo info
 			app.getScriptManager().disableListeners();
-			((MyXMLioD) construction.getXMLio()).readZipFromMemory(is);
+			if (info instanceof FileAppState) {
+				// load from file
+				File tempFile = ((FileAppState) info).getFile();
+				is = new FileInputStream(tempFile);
+				((MyXMLioD) construction.getXMLio()).readZipFromMemory(is);
+			} else {
+				processXML(info.getXml(), false);
+			}
 			if (changed) {
 				listSelModel.setAnchorSelectionIndex(anchorIndex);
 				listSelModel.setLeadSelectionIndex(leadIndex);
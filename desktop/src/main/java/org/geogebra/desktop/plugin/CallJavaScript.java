@@ -23,15 +23,10 @@ public class CallJavaScript {
 		ContextFactory.initGlobal(SandboxContextFactory.getInstance());
 
 		// create new scope
-		Context cx = Context.enter();
+		Context cx = enterContext();
 
 		Scriptable scope = cx.initStandardObjects();
 
-		ClassShutterSetter setter = cx.getClassShutterSetter();
-		if (setter != null) {
-			setter.setClassShutter(sandboxClassShutter);
-		}
-
 		// Initialize GgbApi functions, eg ggbApplet.evalCommand()
 		GeoGebraGlobal.initStandardObjects(app, scope, null, false);
 
@@ -50,44 +45,72 @@ public class CallJavaScript {
 
 	/**
 	 * Evaluates a local script using the global scope from the current
-	 * construction.
+	 * construction. The script is compiled on its first run only.
 	 * 
 	 * @param app
 	 * @param script
 	 * @param arg
 	 */
 	public static void evalScript(App app, String script, String arg) {
-		Context cx = Context.enter();
-		cx.initStandardObjects();
-		Scriptable newScope = getScope(app, cx);
-
-		// Evaluate the script.
-		cx.evaluateString(newScope, script,
-				app.getLocalization().getMenu("ErrorAtLine"), 1, null);
-
-		Context.exit();
-
+		Context cx = enterContext();
+		try {
+			Scriptable newScope = getScope(app, cx);
+
+			// Evaluate the script.
+			((ScriptManagerD) app.getScriptManager()).getScriptCache().exec(cx,
+					newScope, script,
+					app.getLocalization().getMenu("ErrorAtLine"));
+		} finally {
+			Context.exit();
+		}
 	}
 
 	private static final SandboxClassShutter sandboxClassShutter = new SandboxClassShutter();
 
-	public static void evalFunction(NativeFunction nativeRunnable, Object[] args, App app) {
-		Context cx = Context.enter();
-		cx.initStandardObjects();
-		Scriptable newScope = getScope(app, cx);
-		// Evaluate the script.
-		nativeRunnable.call(cx, newScope, nativeRunnable, args);
+	/**
+	 * Contexts are kept for the next script of the same thread: entering a
+	 * new one for each script is expensive.
+	 */
+	private static final ThreadLocal<Context> contexts = new ThreadLocal<>();
 
-		Context.exit();
+	public static void evalFunction(NativeFunction nativeRunnable, Object[] args, App app) {
+		Context cx = enterContext();
+		try {
+			Scriptable newScope = getScope(app, cx);
+			// Evaluate the script.
+			nativeRunnable.call(cx, newScope, nativeRunnable, args);
+		} finally {
+			Context.exit();
+		}
 	}
 
-	private static Scriptable getScope(App app, Context cx) {
-		Scriptable globalScope = ((ScriptManagerD) app.getScriptManager())
-				.getGlobalScopeMap().get(app.getKernel().getConstruction());
+	/**
+	 * Enters the context of the current thread; must be followed by
+	 * {@link Context#exit()}.
+	 * 
+	 * @return sandboxed context
+	 */
+	private static Context enterContext() {
+		Context cx;
+		if (Context.getCurrentContext() != null) {
+			// nested call, e.g. a script updated an object with a script
+			cx = Context.enter();
+		} else if (contexts.get() != null) {
+			cx = contexts.get().getFactory().enterContext(contexts.get());
+		} else {
+			cx = Context.enter();
+			contexts.set(cx);
+		}
 		ClassShutterSetter setter = cx.getClassShutterSetter();
 		if (setter != null) {
 			setter.setClassShutter(sandboxClassShutter);
 		}
+		return cx;
+	}
+
+	private static Scriptable getScope(App app, Context cx) {
+		Scriptable globalScope = ((ScriptManagerD) app.getScriptManager())
+				.getGlobalScopeMap().get(app.getKernel().getConstruction());
 
 		// Create a new scope that shares the global scope
 		Scriptable newScope = cx.newObject(globalScope);
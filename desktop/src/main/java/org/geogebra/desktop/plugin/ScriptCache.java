@@ -0,0 +1,183 @@
+package org.geogebra.desktop.plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.geogebra.common.util.debug.Log;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+
+/**
+ * Compiled JavaScript of the scripts of the objects, so that a script that
+ * runs on every update of a dragged point is only parsed and compiled once.
+ * Also counts the runs and the time spent in each script.
+ */
+public class ScriptCache {
+
+	/** least recently used scripts are dropped */
+	private static final int MAX_SIZE = 256;
+
+	private int optimizationLevel = 0;
+
+	private final LinkedHashMap<String, CachedScript> scripts =
+			new LinkedHashMap<String, CachedScript>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(
+						Map.Entry<String, CachedScript> eldest) {
+					return size() > MAX_SIZE;
+				}
+			};
+
+	/**
+	 * Compiled script with its statistics.
+	 */
+	public static class CachedScript {
+		private final String source;
+		private final Script script;
+		private int runs;
+		private long nanos;
+
+		CachedScript(String source, Script script) {
+			this.source = source;
+			this.script = script;
+		}
+
+		/**
+		 * @return source code
+		 */
+		public String getSource() {
+			return source;
+		}
+
+		/**
+		 * @return number of runs
+		 */
+		public synchronized int getRuns() {
+			return runs;
+		}
+
+		/**
+		 * @return total time of all runs in nanoseconds
+		 */
+		public synchronized long getNanos() {
+			return nanos;
+		}
+
+		synchronized void addRun(long time) {
+			runs++;
+			nanos += time;
+		}
+	}
+
+	/**
+	 * Runs a script, compiles it on the first run.
+	 *
+	 * @param cx
+	 *            context of the current thread
+	 * @param scope
+	 *            scope
+	 * @param source
+	 *            source code
+	 * @param sourceName
+	 *            name of the source for error messages
+	 * @return result of the script
+	 */
+	public Object exec(Context cx, Scriptable scope, String source,
+			String sourceName) {
+		CachedScript cached = get(cx, source, sourceName);
+		long start = System.nanoTime();
+		try {
+			return cached.script.exec(cx, scope);
+		} finally {
+			cached.addRun(System.nanoTime() - start);
+		}
+	}
+
+	private CachedScript get(Context cx, String source, String sourceName) {
+		synchronized (scripts) {
+			CachedScript cached = scripts.get(source);
+			if (cached == null) {
+				cached = new CachedScript(source,
+						compile(cx, source, sourceName));
+				scripts.put(source, cached);
+			}
+			return cached;
+		}
+	}
+
+	private Script compile(Context cx, String source, String sourceName) {
+		int level = cx.getOptimizationLevel();
+		cx.setOptimizationLevel(optimizationLevel);
+		try {
+			return cx.compileString(source, sourceName, 1, null);
+		} catch (RuntimeException e) {
+			if (optimizationLevel < 0) {
+				throw e;
+			}
+			// e.g. too long for a class file, the interpreter can still run it
+			Log.debug("Script not compiled to bytecode: " + e.getMessage());
+			cx.setOptimizationLevel(-1);
+			return cx.compileString(source, sourceName, 1, null);
+		} finally {
+			cx.setOptimizationLevel(level);
+		}
+	}
+
+	/**
+	 * Sets the Rhino optimization level of the compiled scripts; the scripts
+	 * that were compiled with another level are dropped.
+	 *
+	 * @param level
+	 *            -1 for the interpreter, 0 to 9 to generate bytecode
+	 */
+	public void setOptimizationLevel(int level) {
+		synchronized (scripts) {
+			if (level != optimizationLevel) {
+				optimizationLevel = level;
+				scripts.clear();
+			}
+		}
+	}
+
+	/**
+	 * @return Rhino optimization level of the compiled scripts
+	 */
+	public int getOptimizationLevel() {
+		synchronized (scripts) {
+			return optimizationLevel;
+		}
+	}
+
+	/**
+	 * @return cached scripts, the most time consuming first
+	 */
+	public List<CachedScript> getStatistics() {
+		ArrayList<CachedScript> list;
+		synchronized (scripts) {
+			list = new ArrayList<>(scripts.values());
+		}
+		Collections.sort(list, new Comparator<CachedScript>() {
+			@Override
+			public int compare(CachedScript a, CachedScript b) {
+				return Long.compare(b.getNanos(), a.getNanos());
+			}
+		});
+		return list;
+	}
+
+	/**
+	 * Drops all compiled scripts and their statistics.
+	 */
+	public void clear() {
+		synchronized (scripts) {
+			scripts.clear();
+		}
+	}
+}
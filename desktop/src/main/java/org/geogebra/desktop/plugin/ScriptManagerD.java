@@ -13,6 +13,7 @@ import org.mozilla.javascript.Scriptable;
 public class ScriptManagerD extends ScriptManagerJre {
 
 	protected HashMap<Construction, Scriptable> globalScopeMap;
+	private final ScriptCache scriptCache = new ScriptCache();
 
 	public ScriptManagerD(App app) {
 		super(app);
@@ -23,6 +24,13 @@ public class ScriptManagerD extends ScriptManagerJre {
 		return globalScopeMap;
 	}
 
+	/**
+	 * @return compiled scripts with their run counts and times
+	 */
+	public ScriptCache getScriptCache() {
+		return scriptCache;
+	}
+
 	@Override
 	protected void evalJavaScript(String jsFunction) {
 		evalJavaScript(app, jsFunction, null);
@@ -0,0 +1,116 @@
+package org.geogebra.desktop.util;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.desktop.headless.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+
+/**
+ * Headless app with a copy of a construction, so that a statement can be
+ * proven on another thread than the one of the user's kernel: the kernel and
+ * the Botana data of the algorithms are not thread-safe. A copy is used by
+ * one thread at a time and is only reloaded if the construction changed.
+ */
+class ConstructionCopy {
+
+	/** idle copies are kept for the next proofs up to this number */
+	private static final int MAX_IDLE = 8;
+
+	private static final ConcurrentLinkedQueue<ConstructionCopy> idle =
+			new ConcurrentLinkedQueue<>();
+
+	/** headless app of the copy */
+	final AppDNoGui app;
+	private String xml;
+	private int steps;
+	private GeoElement createdStatement;
+
+	/**
+	 * Creates an empty copy.
+	 */
+	ConstructionCopy() {
+		app = new AppDNoGui(new LocalizationD(3), true);
+		// proofs are skipped while the CAS is not loaded
+		app.getKernel().evaluateGeoGebraCAS("1+1", null,
+				StringTemplate.defaultTemplate);
+		app.checkTarski();
+	}
+
+	/**
+	 * @return an idle copy or a new one
+	 */
+	static ConstructionCopy take() {
+		ConstructionCopy copy = idle.poll();
+		return copy == null ? new ConstructionCopy() : copy;
+	}
+
+	/**
+	 * Makes the copy available for other proofs. Copies used by a proof that
+	 * was abandoned midway must not be released: the proof may still be
+	 * running on them.
+	 *
+	 * @param copy
+	 *            copy that is not used any more
+	 */
+	static void release(ConstructionCopy copy) {
+		if (idle.size() < MAX_IDLE) {
+			idle.add(copy);
+		}
+	}
+
+	/**
+	 * @param constructionXML
+	 *            XML of the construction
+	 */
+	void load(String constructionXML) {
+		// provers may leave objects in the copy, e.g. intersection points
+		if (!constructionXML.equals(xml)
+				|| getConstruction().steps() != steps) {
+			xml = null;
+			app.setXML(constructionXML, true);
+			xml = constructionXML;
+			steps = getConstruction().steps();
+		}
+	}
+
+	/**
+	 * @return the construction of the copy
+	 */
+	Construction getConstruction() {
+		return app.getKernel().getConstruction();
+	}
+
+	/**
+	 * @param statement
+	 *            label of the statement or its definition, see
+	 *            {@link org.geogebra.common.util.Prover#getStatementText}
+	 * @return the statement in the copy, null if it cannot be created
+	 */
+	GeoElement getStatement(String statement) {
+		GeoElement geo = app.getKernel().lookupLabel(statement);
+		if (geo != null) {
+			return geo;
+		}
+		GeoElementND root = app.getKernel().getAlgebraProcessor()
+				.evaluateToGeoElement(statement, false);
+		if (!(root instanceof GeoElement)) {
+			return null;
+		}
+		createdStatement = (GeoElement) root;
+		return createdStatement;
+	}
+
+	/**
+	 * Removes the statement created by {@link #getStatement(String)}.
+	 */
+	void removeStatement() {
+		if (createdStatement != null) {
+			createdStatement.remove();
+			createdStatement = null;
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package org.geogebra.desktop.util;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.factories.UtilFactory;
+import org.geogebra.common.kernel.geos.GeoBoolean;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.prover.AlgoProveDetails;
+import org.geogebra.common.kernel.prover.ProofWorkers;
+import org.geogebra.common.main.ProverSettings;
+import org.geogebra.common.util.ExtendedBoolean;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Proves statements on headless copies of the construction. Each copy is used
+ * by one thread at a time; the copies are created on demand and kept for the
+ * next statements, they are only reloaded if the construction changed.
+ */
+public class ProofWorkersD extends ProofWorkers {
+
+	private static final int MAX_SIZE = 4;
+
+	private final LinkedBlockingQueue<Worker> idle = new LinkedBlockingQueue<>();
+	private ExecutorService executor;
+	private int created = 0;
+
+	/**
+	 * Copy of the construction that proves the statements.
+	 */
+	private static class Worker extends ConstructionCopy {
+
+		ExtendedBoolean prove(String constructionXML, String statement) {
+			load(constructionXML);
+			GeoElement root = getStatement(statement);
+			if (root == null) {
+				return ExtendedBoolean.UNKNOWN;
+			}
+			// not as a command: the proof has to be synchronous even if the
+			// user's proofs are asynchronous
+			AlgoProveDetails algo = new AlgoProveDetails(getConstruction(),
+					root, false, true, false);
+			try {
+				GeoList output = algo.getGeoList();
+				if (output.size() > 0) {
+					GeoElement truth = output.get(0);
+					if (truth instanceof GeoBoolean && truth.isDefined()) {
+						return ExtendedBoolean.newExtendedBoolean(
+								((GeoBoolean) truth).getBoolean());
+					}
+				}
+				return ExtendedBoolean.UNKNOWN;
+			} finally {
+				algo.remove();
+				removeStatement();
+			}
+		}
+	}
+
+	/**
+	 * @return at most as many workers as processors, but not more than
+	 *         {@link ProverSettings#discoveryWorkers}
+	 */
+	@Override
+	public int getSize() {
+		return Math.max(1,
+				Math.min(Math.min(MAX_SIZE,
+						Runtime.getRuntime().availableProcessors()),
+						ProverSettings.get().discoveryWorkers));
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			executor = Executors.newFixedThreadPool(getSize(),
+					new ThreadFactory() {
+						private int count = 0;
+
+						@Override
+						public Thread newThread(Runnable r) {
+							Thread t = new Thread(r, "proof-worker-" + count++);
+							t.setDaemon(true);
+							return t;
+						}
+					});
+		}
+		return executor;
+	}
+
+	private Worker takeWorker() throws InterruptedException {
+		Worker worker = idle.poll();
+		if (worker != null) {
+			return worker;
+		}
+		boolean create = false;
+		synchronized (this) {
+			if (created < getSize()) {
+				created++;
+				create = true;
+			}
+		}
+		if (!create) {
+			return idle.take();
+		}
+		try {
+			return new Worker();
+		} catch (RuntimeException e) {
+			synchronized (this) {
+				created--;
+			}
+			throw e;
+		}
+	}
+
+	private void releaseWorker(Worker worker) {
+		if (Thread.interrupted()) {
+			// the proof was abandoned midway, the state of this copy cannot
+			// be trusted any more
+			synchronized (this) {
+				created--;
+			}
+		} else {
+			idle.add(worker);
+		}
+	}
+
+	@Override
+	public void proveAll(final String constructionXML, List<String> statements,
+			double deadline, ResultHandler handler) {
+		CompletionService<ExtendedBoolean> completion;
+		completion = new ExecutorCompletionService<>(getExecutor());
+		HashMap<Future<ExtendedBoolean>, Integer> running = new HashMap<>();
+		for (final String statement : statements) {
+			running.put(completion.submit(new Callable<ExtendedBoolean>() {
+				@Override
+				public ExtendedBoolean call() throws Exception {
+					Worker worker = takeWorker();
+					try {
+						return worker.prove(constructionXML, statement);
+					} finally {
+						releaseWorker(worker);
+					}
+				}
+			}), running.size());
+		}
+
+		int finished = 0;
+		try {
+			while (finished < running.size()) {
+				long wait = (long) (deadline
+						- UtilFactory.getPrototype().getMillisecondTime());
+				if (wait <= 0) {
+					Log.debug("Proof workers: deadline reached, "
+							+ (running.size() - finished) + " cancelled");
+					break;
+				}
+				Future<ExtendedBoolean> done = completion.poll(wait,
+						TimeUnit.MILLISECONDS);
+				if (done == null) {
+					continue;
+				}
+				finished++;
+				ExtendedBoolean result;
+				try {
+					result = done.get();
+				} catch (ExecutionException e) {
+					Log.debug(e.getCause());
+					result = ExtendedBoolean.UNKNOWN;
+				}
+				handler.onResult(running.get(done), result);
+			}
+		} catch (InterruptedException e) {
+			Log.debug("Proof workers interrupted");
+			Thread.currentThread().interrupt();
+		} finally {
+			for (Future<ExtendedBoolean> future : running.keySet()) {
+				future.cancel(true);
+			}
+		}
+	}
+}
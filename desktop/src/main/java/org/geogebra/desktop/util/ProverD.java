@@ -1,11 +1,26 @@
 package org.geogebra.desktop.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.prover.AbstractProverReciosMethod;
 import org.geogebra.common.kernel.scripting.CmdShowProof;
+import org.geogebra.common.main.App;
 import org.geogebra.common.main.Localization;
 import org.geogebra.common.main.ProverSettings;
 import org.geogebra.common.util.Prover;
@@ -26,6 +41,41 @@ import com.ogprover.pp.GeoGebraOGPOutputProverProtocol;
  */
 public class ProverD extends Prover {
 
+	/**
+	 * Engines raced against each other in portfolio mode. The order is used
+	 * to choose between non-definitive results.
+	 */
+	private static final List<ProverEngine> PORTFOLIO_ENGINES = Arrays.asList(
+			ProverEngine.RECIOS_PROVER, ProverEngine.BOTANAS_PROVER,
+			ProverEngine.CNI_PROVER);
+
+	private static ExecutorService portfolioExecutor;
+
+	/**
+	 * Runs the asynchronous proofs one after another: the engines of
+	 * different proofs must not share the variable numbering.
+	 */
+	private static ExecutorService asyncExecutor;
+
+	private Future<?> asyncProof;
+	/** prover working on a copy of the construction for the async proof */
+	private volatile ProverD asyncCopy;
+
+	/**
+	 * Result of one engine in portfolio mode.
+	 */
+	private static class EngineRun {
+		final ProverEngine engine;
+		final Prover prover;
+		final ProofResult result;
+
+		EngineRun(ProverEngine engine, Prover prover, ProofResult result) {
+			this.engine = engine;
+			this.prover = prover;
+			this.result = result;
+		}
+	}
+
 	/**
 	 * Starts computation of the proof, based on the defined subsystem.
 	 */
@@ -61,6 +111,8 @@ public class ProverD extends Prover {
 			try {
 				t.join(50);
 			} catch (InterruptedException e) {
+				// the proof was cancelled
+				t.interrupt();
 				return;
 			}
 			if (((System.currentTimeMillis() - startTime) > getTimeout()
@@ -82,6 +134,245 @@ public class ProverD extends Prover {
 		}
 	}
 
+	private static synchronized ExecutorService getAsyncExecutor() {
+		if (asyncExecutor == null) {
+			asyncExecutor = Executors
+					.newSingleThreadExecutor(new ThreadFactory() {
+						@Override
+						public Thread newThread(Runnable r) {
+							Thread t = new Thread(r, "prover-async");
+							t.setDaemon(true);
+							return t;
+						}
+					});
+		}
+		return asyncExecutor;
+	}
+
+	/**
+	 * The statement is proven on a copy of the construction, the user may
+	 * change the construction meanwhile. The result is taken over on the
+	 * thread of the kernel.
+	 */
+	@Override
+	public void computeAsync(final ProofCallback callback) {
+		final App app = getConstruction().getApplication();
+		final String xml = getStatementXML();
+		final String statementText = getStatementText();
+		final ProverD copyProver = newCopyProver();
+		copySettingsTo(copyProver);
+		asyncCopy = copyProver;
+		if (isCancelled()) {
+			copyProver.cancel();
+		}
+		asyncProof = getAsyncExecutor().submit(new Runnable() {
+			@Override
+			public void run() {
+				if (copyProver.isCancelled()) {
+					return;
+				}
+				runOnCopy(null, copyProver, xml, statementText);
+				if (copyProver.isCancelled()) {
+					return;
+				}
+				app.invokeLater(new Runnable() {
+					@Override
+					public void run() {
+						if (isCancelled()) {
+							return;
+						}
+						adoptResult(copyProver, copyProver.getDecidingEngine());
+						for (Map.Entry<ProverEngine, Long> time : copyProver
+								.getEngineTimes().entrySet()) {
+							recordEngineTime(time.getKey(), time.getValue());
+						}
+						deliver(callback);
+					}
+				});
+			}
+		});
+	}
+
+	@Override
+	public void cancel() {
+		super.cancel();
+		ProverD copyProver = asyncCopy;
+		if (copyProver != null) {
+			copyProver.cancel();
+		}
+		if (asyncProof != null) {
+			asyncProof.cancel(true);
+		}
+	}
+
+	@Override
+	public boolean isCancelled() {
+		// timeouts and cancelled proofs interrupt the thread of the engine
+		return super.isCancelled() || Thread.currentThread().isInterrupted();
+	}
+
+	private static synchronized ExecutorService getPortfolioExecutor() {
+		if (portfolioExecutor == null) {
+			portfolioExecutor = Executors
+					.newCachedThreadPool(new ThreadFactory() {
+						private int count = 0;
+
+						@Override
+						public Thread newThread(Runnable r) {
+							Thread t = new Thread(r, "portfolio-" + count++);
+							t.setDaemon(true);
+							return t;
+						}
+					});
+		}
+		return portfolioExecutor;
+	}
+
+	/**
+	 * In portfolio mode the engines are started at the same time, the first
+	 * definitive result is used and the other engines are cancelled.
+	 */
+	@Override
+	protected void proveAuto(List<ProverEngine> order) {
+		if (!ProverSettings.get().portfolio || isReturnExtraNDGs()) {
+			super.proveAuto(order);
+			return;
+		}
+		result = ProofResult.UNKNOWN;
+		// the engines change the construction and the Botana data of its
+		// algorithms, so each of them works on its own copy
+		final String xml = getStatementXML();
+		final String statementText = getStatementText();
+		CompletionService<EngineRun> completion = new ExecutorCompletionService<>(
+				getPortfolioExecutor());
+		final long startTime = System.currentTimeMillis();
+		HashMap<ProverEngine, Future<EngineRun>> running = new HashMap<>();
+		for (final ProverEngine pe : PORTFOLIO_ENGINES) {
+			final ProverD engineProver = newCopyProver();
+			copySettingsTo(engineProver);
+			running.put(pe, completion.submit(new Callable<EngineRun>() {
+				@Override
+				public EngineRun call() {
+					return runOnCopy(pe, engineProver, xml, statementText);
+				}
+			}));
+		}
+
+		long deadline = getTimeout() > 0 ? startTime + getTimeout() * 1000L
+				: Long.MAX_VALUE;
+		ArrayList<EngineRun> finished = new ArrayList<>();
+		EngineRun winner = null;
+		try {
+			while (winner == null && finished.size() < running.size()) {
+				long wait = deadline - System.currentTimeMillis();
+				if (wait <= 0) {
+					break;
+				}
+				Future<EngineRun> done = completion.poll(wait,
+						TimeUnit.MILLISECONDS);
+				if (done == null) {
+					break;
+				}
+				EngineRun run;
+				try {
+					run = done.get();
+				} catch (ExecutionException e) {
+					Log.debug(e.getCause());
+					continue;
+				}
+				finished.add(run);
+				recordEngineTime(run.engine,
+						System.currentTimeMillis() - startTime);
+				if (isDefinitive(run.result)) {
+					winner = run;
+				}
+			}
+		} catch (InterruptedException e) {
+			Log.debug("Portfolio prover interrupted");
+		} finally {
+			for (Future<EngineRun> future : running.values()) {
+				future.cancel(true);
+			}
+		}
+
+		if (winner == null) {
+			// prefer a usable result in the order of the portfolio
+			for (ProverEngine pe : PORTFOLIO_ENGINES) {
+				for (EngineRun run : finished) {
+					if (run.engine == pe
+							&& run.result == ProofResult.TRUE_NDG_UNREADABLE
+							&& winner == null) {
+						winner = run;
+					}
+				}
+			}
+		}
+		if (winner != null) {
+			adoptResult(winner.prover, winner.engine);
+		}
+		StringBuilder sb = new StringBuilder("Portfolio: ");
+		sb.append(winner == null ? "no engine" : winner.engine.toString());
+		sb.append(" decided");
+		for (ProverEngine pe : PORTFOLIO_ENGINES) {
+			Long time = getEngineTimes().get(pe);
+			sb.append(", ");
+			sb.append(pe);
+			sb.append(": ");
+			sb.append(time == null ? "cancelled" : time + " ms");
+		}
+		Log.debug(sb.toString());
+	}
+
+	/**
+	 * @return prover for a copy of the construction
+	 */
+	protected ProverD newCopyProver() {
+		return new ProverD();
+	}
+
+	/**
+	 * Runs an engine on a copy of the construction.
+	 *
+	 * @param pe
+	 *            engine, null to decide the statement with the engines set in
+	 *            the prover
+	 * @param prover
+	 *            prover with the settings of the proof
+	 * @param xml
+	 *            XML of the construction, see {@link #getStatementXML()}
+	 * @param statementText
+	 *            statement, see {@link #getStatementText()}
+	 * @return result of the engine
+	 */
+	private static EngineRun runOnCopy(ProverEngine pe, ProverD prover, String xml,
+			String statementText) {
+		ConstructionCopy copy = ConstructionCopy.take();
+		boolean finished = false;
+		try {
+			copy.load(xml);
+			GeoElement root = copy.getStatement(statementText);
+			ProofResult pr = ProofResult.UNKNOWN;
+			if (root != null) {
+				prover.setConstruction(copy.getConstruction());
+				prover.setStatement(root);
+				if (pe == null) {
+					prover.compute();
+					pr = prover.getProofResult();
+				} else {
+					pr = prover.runEngine(pe);
+				}
+				copy.removeStatement();
+			}
+			finished = true;
+			return new EngineRun(pe, prover, pr);
+		} finally {
+			// a cancelled engine may have left the copy in any state
+			if (finished && !Thread.interrupted()) {
+				ConstructionCopy.release(copy);
+			}
+		}
+	}
+
 	private GeoElement getGeoByLabel(String label) {
 		Iterator<GeoElement> it = statement.getAllPredecessors().iterator();
 		while (it.hasNext()) {
@@ -199,6 +199,28 @@ public final class ConvexHullTest {
 		}
 	}
 
+	@Test
+	public void testArraysVsListRandomly() {
+		final int TRIALS = 10000;
+		for (int i = 0; i < TRIALS; i++) {
+			int len = rand.nextInt(100);
+			double[] xs = new double[len];
+			double[] ys = new double[len];
+			List<Point2D> points = new ArrayList<>();
+			boolean gaussian = rand.nextBoolean();
+			for (int j = 0; j < len; j++) {
+				xs[j] = gaussian ? rand.nextGaussian() : rand.nextInt(10);
+				ys[j] = gaussian ? rand.nextGaussian() : rand.nextInt(10);
+				points.add(new Point2D(xs[j], ys[j]));
+			}
+			List<Point2D> actual = new ArrayList<>();
+			for (int index : ConvexHull.makeHull(xs, ys, len)) {
+				actual.add(new Point2D(xs[index], ys[index]));
+			}
+			assertEquals(ConvexHull.makeHull(points), actual);
+		}
+	}
+
 	@Test
 	public void testHullPropertiesRandomly() {
 		final int TRIALS = 100000;
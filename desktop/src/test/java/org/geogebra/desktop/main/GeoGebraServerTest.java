@@ -0,0 +1,153 @@
+package org.geogebra.desktop.main;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.geogebra.common.move.ggtapi.models.json.JSONException;
+import org.geogebra.desktop.headless.AppDNoGui;
+import org.junit.After;
+import org.junit.Test;
+
+public class GeoGebraServerTest {
+
+	private static final String SUM = "{\"commands\":["
+			+ "{\"cmd\":\"evalCommand\",\"args\":\"a=1+2\"},"
+			+ "{\"cmd\":\"getValueString\",\"args\":\"a\"}]}";
+	private static final String BLOCK = "block";
+	private static final String FAIL = "fail";
+
+	private final List<GeoGebraServer.ServerInstance> created =
+			new ArrayList<>();
+	private final List<GeoGebraServer.ServerInstance> used =
+			new ArrayList<>();
+	private final CountDownLatch unblock = new CountDownLatch(1);
+	private final CountDownLatch blockedDone = new CountDownLatch(1);
+	private GeoGebraServer server;
+
+	/**
+	 * Server with apps that skip the CAS warm-up; the requests "block" and
+	 * "fail" wait for the test or throw.
+	 */
+	private GeoGebraServer createServer(int poolSize, long timeoutMillis) {
+		return new GeoGebraServer(null, poolSize, 0, timeoutMillis) {
+			@Override
+			ServerInstance createInstance() {
+				ServerInstance instance = new ServerInstance(
+						new AppDNoGui(new LocalizationD(3), false));
+				synchronized (created) {
+					created.add(instance);
+				}
+				return instance;
+			}
+
+			@Override
+			String evaluate(ServerInstance instance, String inputJSON)
+					throws JSONException {
+				synchronized (used) {
+					used.add(instance);
+				}
+				if (BLOCK.equals(inputJSON)) {
+					try {
+						unblock.await();
+					} catch (InterruptedException e) {
+						// like native code, ignore the interrupt
+					}
+					blockedDone.countDown();
+					return "";
+				}
+				if (FAIL.equals(inputJSON)) {
+					throw new IllegalStateException(FAIL);
+				}
+				return super.evaluate(instance, inputJSON);
+			}
+		};
+	}
+
+	@After
+	public void stopServer() {
+		unblock.countDown();
+		if (server != null) {
+			server.stop();
+		}
+	}
+
+	@Test
+	public void instancesShouldBeReused() throws Exception {
+		server = createServer(1, 60000);
+
+		assertTrue(server.compute(SUM).contains("3"));
+		assertTrue(server.compute(SUM).contains("3"));
+
+		assertEquals(1, created.size());
+		assertEquals(2, used.size());
+		assertSame(used.get(0), used.get(1));
+	}
+
+	@Test
+	public void instanceShouldBeReusedAfterInvalidInput() throws Exception {
+		server = createServer(1, 60000);
+
+		try {
+			server.compute("{}");
+			fail("invalid input accepted");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof JSONException);
+		}
+		server.compute(SUM);
+
+		assertEquals(1, created.size());
+		assertSame(used.get(0), used.get(1));
+	}
+
+	@Test
+	public void failedInstanceShouldBeReplaced() throws Exception {
+		server = createServer(1, 60000);
+
+		try {
+			server.compute(FAIL);
+			fail("failure not reported");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+		server.compute(SUM);
+
+		assertEquals(2, created.size());
+		assertNotSame(used.get(0), used.get(1));
+	}
+
+	@Test
+	public void timedOutInstanceShouldBeReplaced() throws Exception {
+		server = createServer(1, 200);
+
+		try {
+			server.compute(BLOCK);
+			fail("timeout not reported");
+		} catch (TimeoutException e) {
+			// expected
+		}
+		// served while the abandoned evaluation is still running
+		assertTrue(server.compute(SUM).contains("3"));
+		assertEquals(1, server.timedOut.get());
+		assertEquals(2, created.size());
+		assertNotSame(used.get(0), used.get(1));
+
+		unblock.countDown();
+		assertTrue(blockedDone.await(30, TimeUnit.SECONDS));
+		server.compute(SUM);
+
+		// the abandoned app does not come back to the pool
+		assertSame(used.get(1), used.get(2));
+		assertEquals(2, created.size());
+		assertEquals(1, server.idle.size());
+	}
+}
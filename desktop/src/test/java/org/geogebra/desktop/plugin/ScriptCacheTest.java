@@ -0,0 +1,81 @@
+package org.geogebra.desktop.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.EvaluatorException;
+import org.mozilla.javascript.Scriptable;
+
+public class ScriptCacheTest {
+
+	private final ScriptCache cache = new ScriptCache();
+	private Context cx;
+	private Scriptable scope;
+
+	@Before
+	public void enter() {
+		cx = Context.enter();
+		scope = cx.initStandardObjects();
+	}
+
+	@After
+	public void exit() {
+		Context.exit();
+	}
+
+	@Test
+	public void scriptShouldBeCompiledOnce() {
+		String source = "var n = (typeof n == 'undefined') ? 1 : n + 1; n";
+		for (int i = 1; i <= 5; i++) {
+			assertEquals(i, Context.toNumber(run(source)), 0);
+		}
+		run("n * 10");
+
+		List<ScriptCache.CachedScript> stats = cache.getStatistics();
+		assertEquals(2, stats.size());
+		for (ScriptCache.CachedScript script : stats) {
+			assertEquals(source.equals(script.getSource()) ? 5 : 1,
+					script.getRuns());
+		}
+	}
+
+	@Test
+	public void interpretedScriptShouldRun() {
+		cache.setOptimizationLevel(-1);
+		assertEquals(6, Context.toNumber(
+				run("var s = 0; for (var i = 1; i <= 3; i++) { s += i; } s")),
+				0);
+	}
+
+	@Test
+	public void changedLevelShouldDropCompiledScripts() {
+		run("1 + 1");
+		cache.setOptimizationLevel(0);
+		assertEquals(1, cache.getStatistics().size());
+
+		cache.setOptimizationLevel(-1);
+		assertEquals(0, cache.getStatistics().size());
+		assertEquals(2, Context.toNumber(run("1 + 1")), 0);
+		assertEquals(-1, cache.getOptimizationLevel());
+	}
+
+	@Test
+	public void syntaxErrorShouldNotBeCached() {
+		try {
+			run("var x = ;");
+			fail("syntax error expected");
+		} catch (EvaluatorException e) {
+			assertEquals(0, cache.getStatistics().size());
+		}
+	}
+
+	private Object run(String source) {
+		return cache.exec(cx, scope, source, "test");
+	}
+}
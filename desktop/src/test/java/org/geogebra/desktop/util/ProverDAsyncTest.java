@@ -0,0 +1,198 @@
+package org.geogebra.desktop.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.plugin.Event;
+import org.geogebra.common.plugin.EventListener;
+import org.geogebra.common.plugin.EventType;
+import org.geogebra.common.util.Prover;
+import org.geogebra.desktop.headless.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProverDAsyncTest {
+
+	/** runnables the provers pass to the thread of the kernel */
+	private final BlockingQueue<Runnable> kernelThread =
+			new LinkedBlockingQueue<>();
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final CountDownLatch stopped = new CountDownLatch(1);
+	private AppDNoGui app;
+	private GeoElement statement;
+	private Prover finished;
+	private volatile Construction copyConstruction;
+
+	/**
+	 * Prover of the copy: reports progress like an engine and blocks while
+	 * the blocking flag is set, until the proof is cancelled.
+	 */
+	private class CopyProver extends ProverD {
+		private final boolean blocking;
+
+		CopyProver(boolean blocking) {
+			this.blocking = blocking;
+		}
+
+		@Override
+		public void decideStatement() {
+			copyConstruction = getConstruction();
+			fireProgress(EventType.PROVER_ELIMINATION, null);
+			started.countDown();
+			while (blocking && !isCancelled()) {
+				try {
+					Thread.sleep(10);
+				} catch (InterruptedException e) {
+					break;
+				}
+			}
+			if (blocking) {
+				stopped.countDown();
+			}
+			result = ProofResult.TRUE;
+		}
+	}
+
+	private final Prover.ProofCallback callback = new Prover.ProofCallback() {
+		@Override
+		public void proofFinished(Prover prover) {
+			finished = prover;
+		}
+	};
+
+	@Before
+	public void setup() {
+		app = new AppDNoGui(new LocalizationD(3), true) {
+			@Override
+			public void invokeLater(Runnable runnable) {
+				kernelThread.add(runnable);
+			}
+		};
+		app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("A = (0, 0)", false);
+		app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("B = (1, 1)", false);
+		statement = app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("b = A == B", false)[0]
+						.toGeoElement();
+	}
+
+	@Test
+	public void resultShouldBeComputedOnCopy() throws InterruptedException {
+		Prover prover = startProof(false);
+
+		runOnKernelThread();
+
+		assertSame(prover, finished);
+		assertEquals(Prover.ProofResult.TRUE, prover.getProofResult());
+		assertNotNull(copyConstruction);
+		assertNotSame(app.getKernel().getConstruction(), copyConstruction);
+	}
+
+	@Test
+	public void runningProofShouldStopWhenCancelled()
+			throws InterruptedException {
+		Prover prover = startProof(true);
+		assertTrue(started.await(30, TimeUnit.SECONDS));
+
+		prover.cancel();
+
+		assertTrue(stopped.await(30, TimeUnit.SECONDS));
+		// the next proof is not blocked by the cancelled one
+		Prover next = startProof(false);
+		runOnKernelThread();
+		assertSame(next, finished);
+		assertTrue(kernelThread.isEmpty());
+	}
+
+	@Test
+	public void staleResultShouldNotBeDelivered() throws InterruptedException {
+		Prover prover = startProof(false);
+		Runnable delivery = kernelThread.poll(30, TimeUnit.SECONDS);
+		assertNotNull(delivery);
+
+		prover.cancel();
+		delivery.run();
+
+		assertNull(finished);
+		assertNull(prover.getProofResult());
+	}
+
+	@Test
+	public void progressShouldBeReportedToUserApp()
+			throws InterruptedException {
+		final List<Event> events = new ArrayList<>();
+		app.getEventDispatcher().addEventListener(new EventListener() {
+			@Override
+			public void sendEvent(Event evt) {
+				if (evt.type == EventType.PROVER_ELIMINATION
+						|| evt.type == EventType.PROVER_FINISHED) {
+					events.add(evt);
+				}
+			}
+
+			@Override
+			public void reset() {
+				// not needed
+			}
+		});
+		Prover prover = createProver(false);
+		prover.setProgressTarget(statement);
+		prover.computeAsync(callback);
+		assertTrue(started.await(30, TimeUnit.SECONDS));
+		// nothing is dispatched on the thread of the proof
+		assertTrue(events.isEmpty());
+
+		while (finished == null) {
+			runOnKernelThread();
+		}
+
+		assertNotSame(app, copyConstruction.getApplication());
+		assertEquals(2, events.size());
+		assertEquals(EventType.PROVER_ELIMINATION, events.get(0).type);
+		assertEquals(EventType.PROVER_FINISHED, events.get(1).type);
+		assertEquals("TRUE", events.get(1).argument);
+		for (Event event : events) {
+			assertSame(statement, event.target);
+		}
+	}
+
+	private Prover startProof(final boolean blocking) {
+		Prover prover = createProver(blocking);
+		prover.computeAsync(callback);
+		return prover;
+	}
+
+	private Prover createProver(final boolean blocking) {
+		Prover prover = new ProverD() {
+			@Override
+			protected ProverD newCopyProver() {
+				return new CopyProver(blocking);
+			}
+		};
+		prover.setProverEngine(Prover.ProverEngine.BOTANAS_PROVER);
+		prover.setConstruction(app.getKernel().getConstruction());
+		prover.setStatement(statement);
+		return prover;
+	}
+
+	private void runOnKernelThread() throws InterruptedException {
+		Runnable runnable = kernelThread.poll(30, TimeUnit.SECONDS);
+		assertNotNull(runnable);
+		runnable.run();
+	}
+}
@@ -0,0 +1,139 @@
+package org.geogebra.desktop.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.main.ProverSettings;
+import org.geogebra.common.util.Prover.ProofResult;
+import org.geogebra.common.util.Prover.ProverEngine;
+import org.geogebra.desktop.headless.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProverDPortfolioTest {
+
+	/** delay that makes the stub engine wait until it is cancelled */
+	private static final long BLOCK = -1;
+
+	private final Map<ProverEngine, ProofResult> results =
+			new ConcurrentHashMap<>();
+	private final Map<ProverEngine, Long> delays = new ConcurrentHashMap<>();
+	private final Map<ProverEngine, Boolean> cancelled =
+			new ConcurrentHashMap<>();
+	private final CountDownLatch stopped = new CountDownLatch(1);
+	private AppDNoGui app;
+	private GeoElement statement;
+	private boolean portfolio;
+
+	/**
+	 * Prover of a copy with stub engines.
+	 */
+	private class StubProver extends ProverD {
+		@Override
+		protected ProofResult runEngine(ProverEngine pe) {
+			long delay = delays.get(pe);
+			try {
+				Thread.sleep(delay == BLOCK ? 60000 : delay);
+			} catch (InterruptedException e) {
+				cancelled.put(pe, true);
+				stopped.countDown();
+				Thread.currentThread().interrupt();
+				return ProofResult.UNKNOWN;
+			}
+			return results.get(pe);
+		}
+	}
+
+	@Before
+	public void setup() {
+		portfolio = ProverSettings.get().portfolio;
+		ProverSettings.get().portfolio = true;
+		app = new AppDNoGui(new LocalizationD(3), true);
+		app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("A = (0, 0)", false);
+		app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("B = (1, 1)", false);
+		statement = app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("b = A == B", false)[0]
+						.toGeoElement();
+	}
+
+	@After
+	public void restoreSettings() {
+		ProverSettings.get().portfolio = portfolio;
+	}
+
+	@Test
+	public void firstDefinitiveEngineShouldWin() throws InterruptedException {
+		engine(ProverEngine.RECIOS_PROVER, ProofResult.UNKNOWN, 0);
+		engine(ProverEngine.BOTANAS_PROVER, ProofResult.FALSE, 100);
+		engine(ProverEngine.CNI_PROVER, ProofResult.TRUE, BLOCK);
+
+		ProverD prover = prove();
+
+		assertEquals(ProofResult.FALSE, prover.getProofResult());
+		assertEquals(ProverEngine.BOTANAS_PROVER, prover.getDecidingEngine());
+		assertTrue(stopped.await(30, TimeUnit.SECONDS));
+		assertTrue(cancelled.containsKey(ProverEngine.CNI_PROVER));
+		assertFalse(prover.getEngineTimes()
+				.containsKey(ProverEngine.CNI_PROVER));
+	}
+
+	@Test
+	public void unreadableResultShouldFollowPortfolioOrder() {
+		engine(ProverEngine.RECIOS_PROVER, ProofResult.UNKNOWN, 0);
+		engine(ProverEngine.BOTANAS_PROVER, ProofResult.TRUE_NDG_UNREADABLE,
+				300);
+		engine(ProverEngine.CNI_PROVER, ProofResult.TRUE_NDG_UNREADABLE, 0);
+
+		ProverD prover = prove();
+
+		assertEquals(ProofResult.TRUE_NDG_UNREADABLE, prover.getProofResult());
+		// CNI finished first, but Botana comes first in the portfolio
+		assertEquals(ProverEngine.BOTANAS_PROVER, prover.getDecidingEngine());
+		assertEquals(3, prover.getEngineTimes().size());
+		assertTrue(cancelled.isEmpty());
+	}
+
+	@Test
+	public void noUsableResultShouldBeUnknown() {
+		engine(ProverEngine.RECIOS_PROVER, ProofResult.UNKNOWN, 0);
+		engine(ProverEngine.BOTANAS_PROVER, ProofResult.UNKNOWN, 0);
+		engine(ProverEngine.CNI_PROVER, ProofResult.UNKNOWN, 0);
+
+		ProverD prover = prove();
+
+		assertEquals(ProofResult.UNKNOWN, prover.getProofResult());
+		assertNull(prover.getDecidingEngine());
+	}
+
+	private void engine(ProverEngine pe, ProofResult result, long delay) {
+		results.put(pe, result);
+		delays.put(pe, delay);
+	}
+
+	private ProverD prove() {
+		ProverD prover = new ProverD() {
+			@Override
+			protected ProverD newCopyProver() {
+				return new StubProver();
+			}
+		};
+		prover.setProverEngine(ProverEngine.AUTO);
+		prover.setTimeout(30);
+		prover.setConstruction(app.getKernel().getConstruction());
+		prover.setStatement(statement);
+		prover.decideStatement();
+		return prover;
+	}
+}
@@ -1,7 +1,7 @@
 package org.geogebra.web.full.gui.menubar;
 
 import org.geogebra.common.export.CASExport;
-import org.geogebra.common.geogebra3D.euclidian3D.printer3D.FormatSTL;
+import org.geogebra.common.geogebra3D.euclidian3D.printer3D.FormatSTLBinary;
 import org.geogebra.common.main.HTML5Export;
 import org.geogebra.common.plugin.EventType;
 import org.geogebra.common.util.AsyncOperation;
@@ -192,7 +192,7 @@ public class ExportMenuW extends AriaMenuBar implements MenuBarI {
 				@Override
 				public void doExecute() {
 					menu.hide();
-					app.setExport3D(new FormatSTL());
+					app.setExport3D(new FormatSTLBinary());
 				}
 			});
 
@@ -216,6 +216,16 @@ public class ExportMenuW extends AriaMenuBar implements MenuBarI {
 							}
 						});
 
+				menu.addItem(menuText(app.getLocalization()
+								.getMenuDefault("Download.GLB", "glTF (glb)")),
+						true, new MenuCommand(app) {
+							@Override
+							public void doExecute() {
+								menu.hide();
+								app.exportGLB();
+							}
+						});
+
 				menu.addItem(menuText(app.getLocalization()
 						.getMenuDefault("Download.CASView", "CAS View (.html)")), true, new MenuCommand(app) {
 					@Override
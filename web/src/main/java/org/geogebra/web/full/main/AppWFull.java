@@ -22,6 +22,7 @@ import org.geogebra.common.euclidian.smallscreen.AdjustScreen;
 import org.geogebra.common.factories.CASFactory;
 import org.geogebra.common.geogebra3D.euclidian3D.printer3D.FormatCollada;
 import org.geogebra.common.geogebra3D.euclidian3D.printer3D.FormatColladaHTML;
+import org.geogebra.common.geogebra3D.euclidian3D.printer3D.FormatGLB;
 import org.geogebra.common.gui.Layout;
 import org.geogebra.common.gui.inputfield.HasLastItem;
 import org.geogebra.common.gui.layout.DockPanel;
@@ -1988,6 +1989,11 @@ public class AppWFull extends AppW implements HasKeyboard, MenuViewListener {
 		}
 	}
 
+	@Override
+	public void exportGLB() {
+		setExport3D(new FormatGLB());
+	}
+
 	@Override
 	public EmbedManager getEmbedManager() {
 		if (embedManager == null && isWhiteboardActive()) {
@@ -364,6 +364,10 @@ public class Browser {
 			extension = "text/html";
 			header = @org.geogebra.common.util.StringUtil::htmlMarker;
 			base64encoded = false;
+		} else if (startsWith(url,
+				@org.geogebra.common.util.StringUtil::binaryMarker)) {
+			extension = "application/octet-stream";
+			header = @org.geogebra.common.util.StringUtil::binaryMarker;
 		} else {
 			$wnd.console.log("unknown extension " + url.substring(0, 30));
 			return;
@@ -49,7 +49,6 @@ public class UtilFactoryW extends UtilFactory {
 
 	@Override
 	public Reflection newReflection(Class clazz) {
-		// used by BatchedUpdateWrapper
 		// not needed currently
 		return null;
 	}
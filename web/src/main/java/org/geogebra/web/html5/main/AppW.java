@@ -1,5 +1,7 @@
 package org.geogebra.web.html5.main;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -71,6 +73,7 @@ import org.geogebra.common.plugin.EventType;
 import org.geogebra.common.plugin.ScriptManager;
 import org.geogebra.common.sound.SoundManager;
 import org.geogebra.common.util.AsyncOperation;
+import org.geogebra.common.util.BinaryExport;
 import org.geogebra.common.util.GTimer;
 import org.geogebra.common.util.GTimerListener;
 import org.geogebra.common.util.MD5EncrypterGWTImpl;
@@ -3329,6 +3332,29 @@ public abstract class AppW extends App implements SetLabels, HasLanguage {
 				extension, "Export", this);
 	}
 
+	@Override
+	public void exportBinaryToFile(String extension, BinaryExport content) {
+		// the browser needs the whole file for the download link
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			content.writeTo(out);
+		} catch (IOException e) {
+			Log.debug(e);
+			return;
+		}
+		byte[] bytes = out.toByteArray();
+		StringBuilder binary = new StringBuilder(bytes.length);
+		for (byte b : bytes) {
+			binary.append((char) (b & 0xff));
+		}
+		String url = StringUtil.binaryMarker
+				+ DomGlobal.btoa(binary.toString());
+
+		dispatchEvent(new Event(EventType.OPEN_DIALOG, null, "export3D"));
+		getFileManager().showExportAsPictureDialog(url, getExportTitle(),
+				extension, "Export", this);
+	}
+
 	/**
 	 * @return file extension of current construction
 	 */
@@ -3428,6 +3454,13 @@ public abstract class AppW extends App implements SetLabels, HasLanguage {
 		// empty for webSimple
 	}
 
+	/**
+	 * Export 3D view to binary glTF
+	 */
+	public void exportGLB() {
+		// empty for webSimple
+	}
+
 	/**
 	 * @param zoomPanel
 	 *            zoom panel